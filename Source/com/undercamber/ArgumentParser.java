@@ -36,12 +36,32 @@ final class ArgumentParser
    private String                         _resultsSubdirectoryName;
    private String                         _configuratorClassName;
    private Integer                        _threadCount;
+   private Integer                        _processCount;
    private java.util.List<String>         _testParameters;
    private java.util.List<TestEntryPoint> _entryPoints;
    private java.util.List<TagEntryPoint>  _tagEntryPoints;
    private java.util.List<String>         _testSetNames;
    private boolean                        _useGUIFlags;
    private Boolean                        _showResultsWindow;
+   private Boolean                        _fusePasses;
+   private Integer                        _residentProcessCount;
+   private Boolean                        _useWorkerPool;
+   private Boolean                        _runInProcess;
+   private Boolean                        _useDiscoveryCache;
+   private Boolean                        _useProgressEvents;
+   private Boolean                        _useVirtualThreads;
+   private Boolean                        _criticalPathFirst;
+   private Boolean                        _failFast;
+   private Boolean                        _orderConcurrentPrerequisites;
+   private Boolean                        _speculativeSiblings;
+   private Boolean                        _adaptiveThreads;
+   private Integer                        _minimumThreadCount;
+   private Integer                        _maximumThreadCount;
+   private StatusDurability               _statusDurability;
+   private Shard                          _shard;
+   private String                         _shardHistoryDirectoryName;
+   private java.util.List<String>         _mergeDirectoryNames;
+   private String                         _resumeSubdirectoryName;
 
    ArgumentParser( java.util.List<String> arguments )
    {
@@ -72,6 +92,25 @@ final class ArgumentParser
       _testSetNames = new java.util.ArrayList<String>();
       _success = true;
       _showResultsWindow = null;
+      _fusePasses = null;
+      _residentProcessCount = null;
+      _useWorkerPool = null;
+      _runInProcess = null;
+      _useDiscoveryCache = null;
+      _useProgressEvents = null;
+      _useVirtualThreads = null;
+      _criticalPathFirst = null;
+      _failFast = null;
+      _orderConcurrentPrerequisites = null;
+      _speculativeSiblings = null;
+      _adaptiveThreads = null;
+      _minimumThreadCount = null;
+      _maximumThreadCount = null;
+      _statusDurability = null;
+      _shard = null;
+      _shardHistoryDirectoryName = null;
+      _mergeDirectoryNames = new java.util.ArrayList<String>();
+      _resumeSubdirectoryName = null;
 
       for ( String argument : arguments )
       {
@@ -114,6 +153,42 @@ final class ArgumentParser
                _state = State.BETWEEN_PARAMETERS;
                break;
             }
+            case PARSING_PROCESS_COUNT:
+            {
+               _processCount = parseProcessCount( argument );
+               if ( _processCount == null )
+               {
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_RESIDENT_PROCESS_COUNT:
+            {
+               _residentProcessCount = parseProcessCount( argument );
+               if ( _residentProcessCount == null )
+               {
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_SHARD:
+            {
+               _shard = parseShard( argument );
+               if ( _shard == null )
+               {
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_SHARD_HISTORY_DIRECTORY:
+            {
+               _shardHistoryDirectoryName = argument;
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
             case PARSING_TEST_PARAMETER:
             {
                _testParameters.add( argument );
@@ -160,6 +235,12 @@ final class ArgumentParser
                _state = State.BETWEEN_PARAMETERS;
                break;
             }
+            case PARSING_MERGE_DIRECTORY:
+            {
+               _mergeDirectoryNames.add( argument );
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
             case PARSING_TEST_1_CLASS_NAME:
             {
                entryPointClassName = argument;
@@ -265,6 +346,265 @@ final class ArgumentParser
                _state = State.BETWEEN_PARAMETERS;
                break;
             }
+            case PARSING_FUSE_PASSES:
+            {
+               if ( argument.equals("true") )
+               {
+                  _fusePasses = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _fusePasses = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -fusePasses:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_WORKER_POOL:
+            {
+               if ( argument.equals("true") )
+               {
+                  _useWorkerPool = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _useWorkerPool = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -workerPool:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_IN_PROCESS:
+            {
+               if ( argument.equals("true") )
+               {
+                  _runInProcess = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _runInProcess = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -inProcess:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_DISCOVERY_CACHE:
+            {
+               if ( argument.equals("true") )
+               {
+                  _useDiscoveryCache = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _useDiscoveryCache = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -discoveryCache:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_PROGRESS_EVENTS:
+            {
+               if ( argument.equals("true") )
+               {
+                  _useProgressEvents = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _useProgressEvents = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -progressEvents:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_VIRTUAL_THREADS:
+            {
+               if ( argument.equals("true") )
+               {
+                  _useVirtualThreads = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _useVirtualThreads = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -virtualThreads:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_CRITICAL_PATH_FIRST:
+            {
+               if ( argument.equals("true") )
+               {
+                  _criticalPathFirst = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _criticalPathFirst = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -criticalPathFirst:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_FAIL_FAST:
+            {
+               if ( argument.equals("true") )
+               {
+                  _failFast = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _failFast = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -failFast:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_ORDER_PREREQUISITES:
+            {
+               if ( argument.equals("true") )
+               {
+                  _orderConcurrentPrerequisites = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _orderConcurrentPrerequisites = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -orderPrerequisites:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_SPECULATIVE_SIBLINGS:
+            {
+               if ( argument.equals("true") )
+               {
+                  _speculativeSiblings = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _speculativeSiblings = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -speculativeSiblings:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_ADAPTIVE_THREADS:
+            {
+               if ( argument.equals("true") )
+               {
+                  _adaptiveThreads = true;
+               }
+               else if ( argument.equals("false") )
+               {
+                  _adaptiveThreads = false;
+               }
+               else
+               {
+                  System.out.println( "Could not parse command-line flag for -adaptiveThreads:  \"" + argument + "\".  Should be either \"true\" or \"false\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_MINIMUM_THREAD_COUNT:
+            {
+               _minimumThreadCount = parseThreadCount( argument );
+               if ( _minimumThreadCount == null )
+               {
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_MAXIMUM_THREAD_COUNT:
+            {
+               _maximumThreadCount = parseThreadCount( argument );
+               if ( _maximumThreadCount == null )
+               {
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_STATUS_DURABILITY:
+            {
+               _statusDurability = parseStatusDurability( argument );
+               if ( _statusDurability == null )
+               {
+                  System.out.println( "Could not parse command-line flag for -statusDurability:  \"" + argument + "\".  Should be \"none\", \"periodic\", or \"testSetEnd\"." );
+                  showUsage();
+                  _success = false;
+                  return;
+               }
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
+            case PARSING_RESUME_SUBDIRECTORY_NAME:
+            {
+               _resumeSubdirectoryName = argument;
+               _state = State.BETWEEN_PARAMETERS;
+               break;
+            }
             default:
             {
                throw new IllegalArgumentException( "Internal error:  Unrecognized state:  " + _state );
@@ -343,6 +683,18 @@ final class ArgumentParser
       {
          return State.PARSING_THREAD_COUNT;
       }
+      else if ( argument.equals("-processCount") )
+      {
+         return State.PARSING_PROCESS_COUNT;
+      }
+      else if ( argument.equals("-shard") )
+      {
+         return State.PARSING_SHARD;
+      }
+      else if ( argument.equals("-shardHistory") )
+      {
+         return State.PARSING_SHARD_HISTORY_DIRECTORY;
+      }
       else if ( argument.equals("-p") )
       {
          return State.PARSING_TEST_PARAMETER;
@@ -379,10 +731,78 @@ final class ArgumentParser
       {
          return State.PARSING_TEST_SET;
       }
+      else if ( argument.equals("-merge") )
+      {
+         return State.PARSING_MERGE_DIRECTORY;
+      }
       else if ( argument.equals("-resultWindow") )
       {
          return State.PARSING_RESULTS_SCREEN;
       }
+      else if ( argument.equals("-residentProcesses") )
+      {
+         return State.PARSING_RESIDENT_PROCESS_COUNT;
+      }
+      else if ( argument.equals("-fusePasses") )
+      {
+         return State.PARSING_FUSE_PASSES;
+      }
+      else if ( argument.equals("-workerPool") )
+      {
+         return State.PARSING_WORKER_POOL;
+      }
+      else if ( argument.equals("-inProcess") )
+      {
+         return State.PARSING_IN_PROCESS;
+      }
+      else if ( argument.equals("-discoveryCache") )
+      {
+         return State.PARSING_DISCOVERY_CACHE;
+      }
+      else if ( argument.equals("-progressEvents") )
+      {
+         return State.PARSING_PROGRESS_EVENTS;
+      }
+      else if ( argument.equals("-virtualThreads") )
+      {
+         return State.PARSING_VIRTUAL_THREADS;
+      }
+      else if ( argument.equals("-criticalPathFirst") )
+      {
+         return State.PARSING_CRITICAL_PATH_FIRST;
+      }
+      else if ( argument.equals("-failFast") )
+      {
+         return State.PARSING_FAIL_FAST;
+      }
+      else if ( argument.equals("-orderPrerequisites") )
+      {
+         return State.PARSING_ORDER_PREREQUISITES;
+      }
+      else if ( argument.equals("-speculativeSiblings") )
+      {
+         return State.PARSING_SPECULATIVE_SIBLINGS;
+      }
+      else if ( argument.equals("-adaptiveThreads") )
+      {
+         return State.PARSING_ADAPTIVE_THREADS;
+      }
+      else if ( argument.equals("-minimumThreads") )
+      {
+         return State.PARSING_MINIMUM_THREAD_COUNT;
+      }
+      else if ( argument.equals("-maximumThreads") )
+      {
+         return State.PARSING_MAXIMUM_THREAD_COUNT;
+      }
+      else if ( argument.equals("-statusDurability") )
+      {
+         return State.PARSING_STATUS_DURABILITY;
+      }
+      else if ( argument.equals("-resume") )
+      {
+         return State.PARSING_RESUME_SUBDIRECTORY_NAME;
+      }
       else
       {
          System.out.println( "Unrecognized command line flag:  " + argument );
@@ -392,6 +812,26 @@ final class ArgumentParser
       }
    }
 
+   final static StatusDurability parseStatusDurability( String text )
+   {
+      if ( text.equals("none") )
+      {
+         return StatusDurability.NONE;
+      }
+      else if ( text.equals("periodic") )
+      {
+         return StatusDurability.PERIODIC;
+      }
+      else if ( text.equals("testSetEnd") )
+      {
+         return StatusDurability.TEST_SET_END;
+      }
+      else
+      {
+         return null;
+      }
+   }
+
    final Integer parseThreadCount( String  text )
    {
       int result;
@@ -419,6 +859,79 @@ final class ArgumentParser
       return result;
    }
 
+   final Integer parseProcessCount( String  text )
+   {
+      int result;
+
+      try
+      {
+         result = Integer.parseInt( text );
+      }
+      catch ( NumberFormatException numberFormatException )
+      {
+         System.out.println( "Invalid process count:  <" + text + ">" );
+         showUsage();
+         _success = false;
+         return null;
+      }
+
+      if ( result < 1 )
+      {
+         System.out.println( "Process count must be 1 or larger" );
+         showUsage();
+         _success = false;
+         return null;
+      }
+
+      return result;
+   }
+
+   final Shard parseShard( String text )
+   {
+      int separatorIndex;
+      int index;
+      int count;
+
+      separatorIndex = text.indexOf( '/' );
+
+      try
+      {
+         if ( separatorIndex == -1 )
+         {
+            throw new NumberFormatException( text );
+         }
+
+         index = Integer.parseInt( text.substring(0,separatorIndex) );
+         count = Integer.parseInt( text.substring(separatorIndex+1) );
+      }
+      catch ( NumberFormatException numberFormatException )
+      {
+         System.out.println( "Invalid shard:  <" + text + ">.  Should be index/count, for example 1/4" );
+         showUsage();
+         _success = false;
+         return null;
+      }
+
+      if ( count < 1 )
+      {
+         System.out.println( "Shard count must be 1 or larger" );
+         showUsage();
+         _success = false;
+         return null;
+      }
+
+      if ( (index<1) || (index>count) )
+      {
+         System.out.println( "Shard index must be between 1 and the shard count" );
+         showUsage();
+         _success = false;
+         return null;
+      }
+
+      return new Shard( index,
+                        count );
+   }
+
    final boolean showGUI()
    {
       if ( _tagEntryPoints.size() > 0 )
@@ -446,6 +959,11 @@ final class ArgumentParser
          return false;
       }
 
+      if ( _mergeDirectoryNames.size() > 0 )
+      {
+         return false;
+      }
+
       return true;
    }
 
@@ -495,6 +1013,16 @@ final class ArgumentParser
       return testSetNames;
    }
 
+   final java.util.List<String> getMergeDirectoryNames()
+   {
+      java.util.List<String> mergeDirectoryNames;
+
+      mergeDirectoryNames = new java.util.ArrayList<String>();
+      mergeDirectoryNames.addAll( _mergeDirectoryNames );
+
+      return mergeDirectoryNames;
+   }
+
    final String getResultsSubdirectoryName()
    {
       return _resultsSubdirectoryName;
@@ -515,11 +1043,106 @@ final class ArgumentParser
       return _threadCount;
    }
 
+   final Integer getProcessCount()
+   {
+      return _processCount;
+   }
+
    final Boolean showResultsWindow()
    {
       return _showResultsWindow;
    }
 
+   final Boolean fusePasses()
+   {
+      return _fusePasses;
+   }
+
+   final Integer getResidentProcessCount()
+   {
+      return _residentProcessCount;
+   }
+
+   final Boolean useWorkerPool()
+   {
+      return _useWorkerPool;
+   }
+
+   final Boolean runInProcess()
+   {
+      return _runInProcess;
+   }
+
+   final Boolean useDiscoveryCache()
+   {
+      return _useDiscoveryCache;
+   }
+
+   final Boolean useProgressEvents()
+   {
+      return _useProgressEvents;
+   }
+
+   final Boolean useVirtualThreads()
+   {
+      return _useVirtualThreads;
+   }
+
+   final Boolean criticalPathFirst()
+   {
+      return _criticalPathFirst;
+   }
+
+   final Boolean failFast()
+   {
+      return _failFast;
+   }
+
+   final Boolean orderConcurrentPrerequisites()
+   {
+      return _orderConcurrentPrerequisites;
+   }
+
+   final Boolean speculativeSiblings()
+   {
+      return _speculativeSiblings;
+   }
+
+   final Boolean adaptiveThreads()
+   {
+      return _adaptiveThreads;
+   }
+
+   final Integer getMinimumThreadCount()
+   {
+      return _minimumThreadCount;
+   }
+
+   final Integer getMaximumThreadCount()
+   {
+      return _maximumThreadCount;
+   }
+
+   final StatusDurability getStatusDurability()
+   {
+      return _statusDurability;
+   }
+
+   final String getResumeSubdirectoryName()
+   {
+      return _resumeSubdirectoryName;
+   }
+
+   final Shard getShard()
+   {
+      return _shard;
+   }
+
+   final String getShardHistoryDirectoryName()
+   {
+      return _shardHistoryDirectoryName;
+   }
+
    final java.util.List<String> getTestParameters()
    {
       java.util.List<String> testParameters;
@@ -572,6 +1195,14 @@ final class ArgumentParser
 
       PARSING_THREAD_COUNT            ( "threadCount"                                    ),
 
+      PARSING_PROCESS_COUNT           ( "processCount"                                   ),
+
+      PARSING_RESIDENT_PROCESS_COUNT  ( "residentProcesses"                              ),
+
+      PARSING_SHARD                   ( "shard"                                          ),
+
+      PARSING_SHARD_HISTORY_DIRECTORY ( "shardHistoryDirectory"                          ),
+
       PARSING_TEST_PARAMETER          ( "parameter"                                      ),
 
       PARSING_TEST_PARAMETER_PAIR_1   ( "parameterPair1"                                 ),
@@ -579,6 +1210,8 @@ final class ArgumentParser
 
       PARSING_TEST_SET                ( "parsing test set"                               ),
 
+      PARSING_MERGE_DIRECTORY         ( "parsing merge results directory"                ),
+
       PARSING_TAG_1                   ( "parsing tag"                                    ),
 
       PARSING_TAG_2_SETS              ( "parsing tag testSets"                           ),
@@ -600,7 +1233,37 @@ final class ArgumentParser
       PARSING_TEST_4_METHOD_NAME      ( "parsing method name for test with arguments"    ),
       PARSING_TEST_4_ARGUMENTS        ( "parsing arguments for test with arguments"      ),
 
-      PARSING_RESULTS_SCREEN          ( "parsing results screen flag"                    );
+      PARSING_RESULTS_SCREEN          ( "parsing results screen flag"                    ),
+
+      PARSING_FUSE_PASSES             ( "parsing fuse passes flag"                       ),
+
+      PARSING_WORKER_POOL             ( "parsing worker pool flag"                       ),
+
+      PARSING_IN_PROCESS              ( "parsing in-process flag"                        ),
+
+      PARSING_DISCOVERY_CACHE         ( "parsing discovery cache flag"                   ),
+
+      PARSING_PROGRESS_EVENTS         ( "parsing progress events flag"                   ),
+
+      PARSING_VIRTUAL_THREADS         ( "parsing virtual threads flag"                   ),
+
+      PARSING_CRITICAL_PATH_FIRST     ( "parsing critical path first flag"               ),
+
+      PARSING_FAIL_FAST               ( "parsing fail fast flag"                         ),
+
+      PARSING_ORDER_PREREQUISITES     ( "parsing order prerequisites flag"               ),
+
+      PARSING_SPECULATIVE_SIBLINGS    ( "parsing speculative siblings flag"              ),
+
+      PARSING_ADAPTIVE_THREADS        ( "parsing adaptive threads flag"                  ),
+
+      PARSING_MINIMUM_THREAD_COUNT    ( "minimumThreads"                                 ),
+
+      PARSING_MAXIMUM_THREAD_COUNT    ( "maximumThreads"                                 ),
+
+      PARSING_STATUS_DURABILITY       ( "parsing status durability"                      ),
+
+      PARSING_RESUME_SUBDIRECTORY_NAME( "resumeSubdirectoryName"                         );
 
       String _description;
 
@@ -628,14 +1291,34 @@ final class ArgumentParser
       System.out.println( "   -test3              testSets className methodName             run specified test.  Limit search to specified test sets.  No arguments." );
       System.out.println( "   -test4              testSets className methodName arguments   run specified test with arguments.  Limit search to specified tests." );
       System.out.println( "   -set                testSetName                               run specified test set." );
+      System.out.println( "   -merge              resultsDirectory                          merge results from earlier runs or shards instead of running tests." );
       System.out.println( "   -rootDirectory      rootOutputDirectory                       output root directory name." );
       System.out.println( "   -subdirectory       outputSubdirectoryName                    output subdirectory name,  Default built from current time and date)." );
+      System.out.println( "   -resume             resultsSubdirectoryName                   keep the tests that completed in an interrupted run and run the rest." );
       System.out.println( "   -config             configurationClassName                    configurator class name." );
       System.out.println( "   -threadCount        threadCount                               concurrent thread count." );
+      System.out.println( "   -processCount       processCount                              concurrent test set process count (second pass)." );
+      System.out.println( "   -shard              index/count                               run only this machine's share of the selected tests." );
+      System.out.println( "   -shardHistory       resultsDirectory                          balance shards using the run times in this results directory." );
+      System.out.println( "   -virtualThreads     [true|false]                              run second-pass tests on virtual threads (Java 21 or later)." );
+      System.out.println( "   -criticalPathFirst  [true|false]                              start second-pass tests with the longest remaining run time first." );
+      System.out.println( "   -failFast           [true|false]                              stop starting tests and test sets after the first failure." );
+      System.out.println( "   -orderPrerequisites [true|false]                              order concurrent subtests by their prerequisites instead of reporting an error." );
+      System.out.println( "   -speculativeSiblings [true|false]                             run independent sequential-abort subtests concurrently, keeping sequential results." );
+      System.out.println( "   -adaptiveThreads    [true|false]                              resize the second-pass thread pool from measured CPU use and queue depth (also with -criticalPathFirst)." );
+      System.out.println( "   -minimumThreads     threadCount                               smallest second-pass thread count in adaptive mode." );
+      System.out.println( "   -maximumThreads     threadCount                               largest second-pass thread count in adaptive mode." );
+      System.out.println( "   -statusDurability   [none|periodic|testSetEnd]                when to force second-pass test states to disk (default testSetEnd)." );
       System.out.println( "   -p                  parameter                                 parameter passed to test processes." );
       System.out.println( "   -pp                 flag parameter                            parameter pair passed to test processes." );
       System.out.println( "   -g                  (none)                                    automatically run tests selected in the GUI (from previous run)." );
       System.out.println( "   -resultWindow       [true|false]                              display the results window." );
+      System.out.println( "   -fusePasses         [true|false]                              reuse each discovery process for the second pass (no selection window)." );
+      System.out.println( "   -residentProcesses  processCount                              most discovery processes kept running for -fusePasses." );
+      System.out.println( "   -workerPool         [true|false]                              run both passes in reusable worker processes." );
+      System.out.println( "   -inProcess          [true|false]                              run test sets that match this JVM inside this JVM." );
+      System.out.println( "   -discoveryCache     [true|false]                              skip discovery for test sets whose inputs have not changed." );
+      System.out.println( "   -progressEvents     [true|false]                              report second-pass progress to this process over a socket." );
       System.out.println( "   -help               (none)                                    show this message and continue." );
       System.out.println( "   -forcePrerequisites (none)                                    Run all prerequisites, including previously satsified prerequisites." );
       System.out.println( "   -fp                 (none)                                    Same as -forcePrerequisites." );
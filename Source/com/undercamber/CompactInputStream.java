@@ -0,0 +1,218 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class CompactInputStream
+   extends java.io.DataInputStream
+{
+   private java.util.List<String> _strings;
+
+   CompactInputStream( java.io.InputStream inputStream )
+   {
+      super( inputStream );
+
+      _strings = new java.util.ArrayList<String>();
+   }
+
+   final int readVarInt()
+      throws java.io.IOException
+   {
+      int value;
+      int shift;
+      int nextByte;
+
+      value = 0;
+      shift = 0;
+
+      do
+      {
+         if ( shift > 28 )
+         {
+            throw new java.io.IOException( "Malformed variable-length integer" );
+         }
+
+         nextByte = readUnsignedByte();
+         value |= ( nextByte&0x7F ) << shift;
+         shift += 7;
+      }
+      while ( (nextByte&0x80) != 0 );
+
+      return value;
+   }
+
+   final <E extends Enum<E>> E readEnum( E values[] )
+      throws java.io.IOException
+   {
+      int index;
+
+      index = readVarInt();
+
+      if ( index == 0 )
+      {
+         return null;
+      }
+      else if ( index > values.length )
+      {
+         throw new java.io.IOException( "Unrecognized " + values.getClass().getComponentType().getSimpleName() + " ordinal:  " + (index-1) );
+      }
+      else
+      {
+         return values[ index-1 ];
+      }
+   }
+
+   final String readText()
+      throws java.io.IOException
+   {
+      int  length;
+      byte bytes[];
+
+      length = readVarInt();
+
+      if ( length == 0 )
+      {
+         return null;
+      }
+      else
+      {
+         bytes = new byte[ length-1 ];
+         readFully( bytes );
+
+         return new String( bytes,
+                            java.nio.charset.StandardCharsets.UTF_8 );
+      }
+   }
+
+   final String readString()
+      throws java.io.IOException
+   {
+      int    index;
+      String string;
+
+      index = readVarInt();
+
+      if ( index == 0 )
+      {
+         return null;
+      }
+      else if ( index <= _strings.size() )
+      {
+         return _strings.get( index-1 );
+      }
+      else if ( index == (_strings.size()+1) )
+      {
+         string = readText();
+         _strings.add( string );
+
+         return string;
+      }
+      else
+      {
+         throw new java.io.IOException( "Invalid string table index:  " + (index-1) );
+      }
+   }
+
+   final StackTraceElement readStackTraceElement()
+      throws java.io.IOException
+   {
+      String className;
+      String methodName;
+      String fileName;
+      int    encodedLineNumber;
+
+      className = readString();
+
+      if ( className == null )
+      {
+         return null;
+      }
+      else
+      {
+         methodName = readString();
+         fileName = readString();
+         encodedLineNumber = readVarInt();
+
+         return new StackTraceElement( className,
+                                       methodName,
+                                       fileName,
+                                       (encodedLineNumber>>>1) ^ -(encodedLineNumber&1) );
+      }
+   }
+
+   final Throwable readThrowable()
+      throws java.io.IOException
+   {
+      int               kind;
+      String            lines[];
+      RecordedThrowable recordedThrowable;
+      StackTraceElement stackTrace[];
+      int               index;
+      int               suppressedCount;
+
+      kind = readVarInt();
+
+      if ( kind == CompactOutputStream.MESSAGE )
+      {
+         lines = new String[ readVarInt() ];
+         for ( index=0; index<lines.length; index++ )
+         {
+            lines[ index ] = readText();
+         }
+
+         return new Message( lines );
+      }
+      else if ( kind == CompactOutputStream.EXCEPTION )
+      {
+         recordedThrowable = new RecordedThrowable( readString(),
+                                                    readText() );
+
+         stackTrace = new StackTraceElement[ readVarInt() ];
+         for ( index=0; index<stackTrace.length; index++ )
+         {
+            stackTrace[ index ] = readStackTraceElement();
+         }
+         recordedThrowable.setStackTrace( stackTrace );
+
+         if ( readBoolean() )
+         {
+            recordedThrowable.initCause( readThrowable() );
+         }
+
+         suppressedCount = readVarInt();
+         for ( index=0; index<suppressedCount; index++ )
+         {
+            recordedThrowable.addSuppressed( readThrowable() );
+         }
+
+         return recordedThrowable;
+      }
+      else
+      {
+         throw new java.io.IOException( "Unrecognized exception record:  " + kind );
+      }
+   }
+}
@@ -0,0 +1,202 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class CompactOutputStream
+   extends java.io.DataOutputStream
+{
+   final static int EXCEPTION = 0;
+   final static int MESSAGE   = 1;
+
+   private java.util.Map<String,Integer> _stringIndices;
+
+   CompactOutputStream( java.io.OutputStream outputStream )
+   {
+      super( outputStream );
+
+      _stringIndices = new java.util.HashMap<String,Integer>();
+   }
+
+   final void writeVarInt( int value )
+      throws java.io.IOException
+   {
+      while ( (value&~0x7F) != 0 )
+      {
+         write( (value&0x7F) | 0x80 );
+         value >>>= 7;
+      }
+
+      write( value );
+   }
+
+   final void writeEnum( Enum<?> value )
+      throws java.io.IOException
+   {
+      if ( value == null )
+      {
+         writeVarInt( 0 );
+      }
+      else
+      {
+         writeVarInt( value.ordinal()+1 );
+      }
+   }
+
+   final void writeText( String text )
+      throws java.io.IOException
+   {
+      byte bytes[];
+
+      if ( text == null )
+      {
+         writeVarInt( 0 );
+      }
+      else
+      {
+         bytes = text.getBytes( java.nio.charset.StandardCharsets.UTF_8 );
+         writeVarInt( bytes.length+1 );
+         write( bytes );
+      }
+   }
+
+   final void writeString( String string )
+      throws java.io.IOException
+   {
+      Integer index;
+
+      if ( string == null )
+      {
+         writeVarInt( 0 );
+      }
+      else
+      {
+         index = _stringIndices.get( string );
+
+         if ( index == null )
+         {
+            index = _stringIndices.size();
+            _stringIndices.put( string, index );
+
+            writeVarInt( index+1 );
+            writeText( string );
+         }
+         else
+         {
+            writeVarInt( index+1 );
+         }
+      }
+   }
+
+   final void writeStackTraceElement( StackTraceElement stackTraceElement )
+      throws java.io.IOException
+   {
+      if ( stackTraceElement == null )
+      {
+         writeString( null );
+      }
+      else
+      {
+         writeString( stackTraceElement.getClassName() );
+         writeString( stackTraceElement.getMethodName() );
+         writeString( stackTraceElement.getFileName() );
+         writeVarInt( (stackTraceElement.getLineNumber()<<1) ^ (stackTraceElement.getLineNumber()>>31) );
+      }
+   }
+
+   final void writeThrowable( Throwable throwable )
+      throws java.io.IOException
+   {
+      writeThrowable( throwable,
+                      java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<Throwable,Boolean>()) );
+   }
+
+   final private void writeThrowable( Throwable              throwable,
+                                      java.util.Set<Throwable> writtenThrowables )
+      throws java.io.IOException
+   {
+      String                    lines[];
+      StackTraceElement         stackTrace[];
+      Throwable                 cause;
+      java.util.List<Throwable> suppressedExceptions;
+
+      writtenThrowables.add( throwable );
+
+      if ( throwable instanceof Message )
+      {
+         writeVarInt( MESSAGE );
+
+         lines = ( (Message)throwable ).getLines();
+         writeVarInt( lines.length );
+         for ( String line : lines )
+         {
+            writeText( line );
+         }
+      }
+      else
+      {
+         writeVarInt( EXCEPTION );
+
+         writeString( Utilities.getClassName(throwable) );
+         writeText( throwable.getMessage() );
+
+         stackTrace = throwable.getStackTrace();
+         writeVarInt( stackTrace.length );
+         for ( StackTraceElement stackTraceElement : stackTrace )
+         {
+            writeStackTraceElement( stackTraceElement );
+         }
+
+         cause = throwable.getCause();
+         if ( (cause==null) || writtenThrowables.contains(cause) )
+         {
+            writeBoolean( false );
+         }
+         else
+         {
+            writeBoolean( true );
+            writeThrowable( cause,
+                            writtenThrowables );
+         }
+
+         suppressedExceptions = new java.util.ArrayList<Throwable>();
+         for ( Throwable suppressedException : throwable.getSuppressed() )
+         {
+            if ( !(writtenThrowables.contains(suppressedException)) )
+            {
+               suppressedExceptions.add( suppressedException );
+            }
+         }
+
+         writeVarInt( suppressedExceptions.size() );
+         for ( Throwable suppressedException : suppressedExceptions )
+         {
+            writeThrowable( suppressedException,
+                            writtenThrowables );
+         }
+      }
+   }
+}
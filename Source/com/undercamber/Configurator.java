@@ -38,7 +38,15 @@ final public class Configurator
 {
    private String                            _suiteName;
    private Integer                           _pass1ThreadCount;
+   private Integer                           _processCount;
    private Boolean                           _showResultsWindow;
+   private Boolean                           _fusePasses;
+   private Integer                           _residentProcessCount;
+   private Boolean                           _useWorkerPool;
+   private Boolean                           _runInProcess;
+   private Boolean                           _useDiscoveryCache;
+   private Boolean                           _useProgressEvents;
+   private StatusDurability                  _statusDurability;
    private String                            _resultsRootDirectoryName;
    private java.util.List<TestSetDescriptor> _testSetDescriptors;
    private String                            _configurationCallbackClassName;
@@ -63,10 +71,25 @@ final public class Configurator
 
       _pass1ThreadCount = null;
 
+      _processCount = null;
+
       _resultsRootDirectoryName = null;
 
       _showResultsWindow = null;
 
+      _fusePasses = null;
+      _residentProcessCount = null;
+
+      _useWorkerPool = null;
+
+      _runInProcess = null;
+
+      _useDiscoveryCache = null;
+
+      _useProgressEvents = null;
+
+      _statusDurability = null;
+
       _closed = false;
    }
 
@@ -292,6 +315,39 @@ final public class Configurator
       return _pass1ThreadCount;
    }
 
+   /**
+    * Set the maximum number of test set processes that run at the same time during the second pass (the verification pass).  <p>
+    *
+    * Each test set runs in its own JVM.  When this is larger than 1, test sets that do not depend on each other run concurrently.  A test
+    * set that has prerequisites in other test sets does not start until those test sets are finished.
+    *
+    * @return This Configurator, for chaining
+    *
+    * @param processCount
+    *        The number of processes.  If this is null, Undercamber will use a default value.
+    */
+   final public Configurator setProcessCount( Integer processCount )
+   {
+      if ( _closed )
+      {
+         throw new IllegalAccessError( "Do not alter the configuration after the configuration phase" );
+      }
+
+      _processCount = processCount;
+
+      return this;
+   }
+
+   /**
+    * Get the maximum number of test set processes that run at the same time during the second pass (the verification pass).
+    *
+    * @return The process count.  If this is null, Undercamber will use a default value.
+    */
+   final public Integer getProcessCount()
+   {
+      return _processCount;
+   }
+
    /**
     * Set the flag indicating whether the results window should be shown.
     *
@@ -322,6 +378,244 @@ final public class Configurator
       return _showResultsWindow;
    }
 
+   /**
+    * Set the flag indicating whether each test set's discovery process should stay alive and run the second pass.  <p>
+    *
+    * This only applies to runs that do not show the selection window.  It saves one JVM launch, and one round of class loading, per test set.
+    *
+    * @return This Configurator, for chaining
+    *
+    * @param fusePasses
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Configurator setFusePasses( Boolean fusePasses )
+   {
+      if ( _closed )
+      {
+         throw new IllegalAccessError( "Do not alter the configuration after the configuration phase" );
+      }
+
+      _fusePasses = fusePasses;
+
+      return this;
+   }
+
+   /**
+    * Should the discovery process of each test set also run its second pass?
+    *
+    * @return Indicates whether the passes should be fused.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getFusePasses()
+   {
+      return _fusePasses;
+   }
+
+   /**
+    * Set the maximum number of discovery processes that are kept running for the second pass when the passes are fused.  <p>
+    *
+    * A test set that is discovered while this many processes are already waiting is discovered and run in separate processes.
+    *
+    * @return This Configurator, for chaining
+    *
+    * @param residentProcessCount
+    *        The number of processes.  If this is null, Undercamber will use the larger of the process count and the number of available processors.
+    */
+   final public Configurator setResidentProcessCount( Integer residentProcessCount )
+   {
+      if ( _closed )
+      {
+         throw new IllegalAccessError( "Do not alter the configuration after the configuration phase" );
+      }
+
+      _residentProcessCount = residentProcessCount;
+
+      return this;
+   }
+
+   /**
+    * Get the maximum number of discovery processes that are kept running for the second pass when the passes are fused.
+    *
+    * @return The process count.  If this is null, Undercamber will use a default value.
+    */
+   final public Integer getResidentProcessCount()
+   {
+      return _residentProcessCount;
+   }
+
+   /**
+    * Set the flag indicating whether test sets should run in a pool of reusable worker processes.  <p>
+    *
+    * A worker process runs the first pass and the second pass for any test set with the same JVM command, JVM parameters, and environment, one test set at a
+    * time.  Workers stay alive until Undercamber exits, so class loading and JIT warmup are paid once per worker rather than once per pass.  Static state in
+    * the code under test is not reset between test sets, so this should only be used with test sets that do not depend on a fresh JVM.
+    *
+    * @return This Configurator, for chaining
+    *
+    * @param useWorkerPool
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Configurator setUseWorkerPool( Boolean useWorkerPool )
+   {
+      if ( _closed )
+      {
+         throw new IllegalAccessError( "Do not alter the configuration after the configuration phase" );
+      }
+
+      _useWorkerPool = useWorkerPool;
+
+      return this;
+   }
+
+   /**
+    * Should test sets run in a pool of reusable worker processes?
+    *
+    * @return Indicates whether the worker pool should be used.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getUseWorkerPool()
+   {
+      return _useWorkerPool;
+   }
+
+   /**
+    * Set the flag indicating whether test sets that match the running JVM should run inside it.  <p>
+    *
+    * A test set matches when its JVM command resolves to the running JVM, its only JVM parameter is a class path equal to the running class path (or it
+    * has no JVM parameters and inherits the same CLASSPATH), and its environment is inherited or identical.  Matching test sets run on their own thread pool
+    * inside Undercamber, and their test data is handed to Undercamber in memory.  Test sets that do not match still run in child processes.  <p>
+    *
+    * A test set timeout cannot terminate a test set that runs inside Undercamber.  It interrupts the running tests, but a test that ignores the
+    * interrupt keeps Undercamber waiting for it.
+    *
+    * @return This Configurator, for chaining
+    *
+    * @param runInProcess
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Configurator setRunInProcess( Boolean runInProcess )
+   {
+      if ( _closed )
+      {
+         throw new IllegalAccessError( "Do not alter the configuration after the configuration phase" );
+      }
+
+      _runInProcess = runInProcess;
+
+      return this;
+   }
+
+   /**
+    * Should test sets that match the running JVM run inside it?
+    *
+    * @return Indicates whether matching test sets should run in-process.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getRunInProcess()
+   {
+      return _runInProcess;
+   }
+
+   /**
+    * Set the flag indicating whether the test structure from the previous run may be reused.  <p>
+    *
+    * Undercamber fingerprints each test set's top-level class name, JVM command, JVM parameters, test parameters, environment, and the size and
+    * modification time of every file on its class path or module path.  When the fingerprint matches the one saved with the test set's previous test
+    * structure, the first pass (the discovery pass) is skipped for that test set.  Do not use this if the structure of the tests depends on anything else,
+    * such as files read by the tests during discovery.
+    *
+    * @return This Configurator, for chaining
+    *
+    * @param useDiscoveryCache
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Configurator setUseDiscoveryCache( Boolean useDiscoveryCache )
+   {
+      if ( _closed )
+      {
+         throw new IllegalAccessError( "Do not alter the configuration after the configuration phase" );
+      }
+
+      _useDiscoveryCache = useDiscoveryCache;
+
+      return this;
+   }
+
+   /**
+    * May the test structure from the previous run be reused?
+    *
+    * @return Indicates whether the discovery cache should be used.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getUseDiscoveryCache()
+   {
+      return _useDiscoveryCache;
+   }
+
+   /**
+    * Set the flag indicating whether second-pass test processes should report their progress to Undercamber as events.  <p>
+    *
+    * When this is true, each second-pass test process sends an event to Undercamber over a local socket as each test starts, changes state, records an
+    * exception, and records its timing.  Undercamber keeps the results in memory as they arrive and prints the progress itself, so the results do not
+    * have to be read back from disk when the test set completes.  This applies to test sets run in their own process; it is ignored for test sets run
+    * in process, in worker processes, or in fused processes.
+    *
+    * @return This Configurator, for chaining
+    *
+    * @param useProgressEvents
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Configurator setUseProgressEvents( Boolean useProgressEvents )
+   {
+      if ( _closed )
+      {
+         throw new IllegalAccessError( "Do not alter the configuration after the configuration phase" );
+      }
+
+      _useProgressEvents = useProgressEvents;
+
+      return this;
+   }
+
+   /**
+    * Should second-pass test processes report their progress as events?
+    *
+    * @return Indicates whether progress events should be used.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getUseProgressEvents()
+   {
+      return _useProgressEvents;
+   }
+
+   /**
+    * Set when the second-pass test states are forced to disk.  <p>
+    *
+    * Test states are kept in a memory-mapped file that every test process shares, so a state is visible to the other processes as soon as it is
+    * written, whatever this is set to.  Forcing the file only matters if the machine fails during the run.
+    *
+    * @return This Configurator, for chaining
+    *
+    * @param statusDurability
+    *        The durability policy.  If this is null, Undercamber will use a default value.
+    */
+   final public Configurator setStatusDurability( StatusDurability statusDurability )
+   {
+      if ( _closed )
+      {
+         throw new IllegalAccessError( "Do not alter the configuration after the configuration phase" );
+      }
+
+      _statusDurability = statusDurability;
+
+      return this;
+   }
+
+   /**
+    * Get the policy for forcing second-pass test states to disk.
+    *
+    * @return The durability policy.  If this is null, Undercamber will use a default value.
+    */
+   final public StatusDurability getStatusDurability()
+   {
+      return _statusDurability;
+   }
+
    /**
     * Get a new, unpopulated TestSetBuilder
     *
@@ -0,0 +1,205 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ControlConnection
+{
+   private java.net.Socket          _socket;
+   private java.io.DataInputStream  _dataInputStream;
+   private java.io.DataOutputStream _dataOutputStream;
+
+   ControlConnection( java.net.Socket socket )
+      throws java.io.IOException
+   {
+      _socket = socket;
+      _dataInputStream = new java.io.DataInputStream( new java.io.BufferedInputStream(socket.getInputStream()) );
+      _dataOutputStream = new java.io.DataOutputStream( new java.io.BufferedOutputStream(socket.getOutputStream()) );
+   }
+
+   final static ControlConnection connect( int    port,
+                                           String testSetName )
+      throws java.io.IOException
+   {
+      ControlConnection controlConnection;
+
+      controlConnection = new ControlConnection( new java.net.Socket(java.net.InetAddress.getLoopbackAddress(),
+                                                                     port) );
+
+      controlConnection._dataOutputStream.writeUTF( testSetName );
+      controlConnection._dataOutputStream.flush();
+
+      return controlConnection;
+   }
+
+   final String readTestSetName()
+      throws java.io.IOException
+   {
+      return _dataInputStream.readUTF();
+   }
+
+   final void writeMessage( ControlMessage controlMessage )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeInt( controlMessage.ordinal() );
+   }
+
+   final ControlMessage readMessage()
+      throws java.io.IOException
+   {
+      return ControlMessage.values()[ _dataInputStream.readInt() ];
+   }
+
+   final void writeProgressEvent( ProgressEvent progressEvent )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeByte( progressEvent.ordinal() );
+   }
+
+   final ProgressEvent readProgressEvent()
+      throws java.io.IOException
+   {
+      int ordinal;
+
+      ordinal = _dataInputStream.readUnsignedByte();
+
+      if ( ordinal >= ProgressEvent.values().length )
+      {
+         throw new java.io.IOException( "Unrecognized progress event:  " + ordinal );
+      }
+
+      return ProgressEvent.values()[ ordinal ];
+   }
+
+   final void writeInt( int value )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeInt( value );
+   }
+
+   final int readInt()
+      throws java.io.IOException
+   {
+      return _dataInputStream.readInt();
+   }
+
+   final void writeBoolean( boolean value )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeBoolean( value );
+   }
+
+   final boolean readBoolean()
+      throws java.io.IOException
+   {
+      return _dataInputStream.readBoolean();
+   }
+
+   final void writeLong( long value )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeLong( value );
+   }
+
+   final long readLong()
+      throws java.io.IOException
+   {
+      return _dataInputStream.readLong();
+   }
+
+   final void writeBytes( byte value[] )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeInt( value.length );
+      _dataOutputStream.write( value );
+   }
+
+   final byte[] readBytes()
+      throws java.io.IOException
+   {
+      byte value[];
+
+      value = new byte[ _dataInputStream.readInt() ];
+      _dataInputStream.readFully( value );
+
+      return value;
+   }
+
+   final void writeString( String value )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeUTF( value );
+   }
+
+   final String readString()
+      throws java.io.IOException
+   {
+      return _dataInputStream.readUTF();
+   }
+
+   final void writeResourceClaims( ResourceClaim resourceClaims[] )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeInt( resourceClaims.length );
+      for ( ResourceClaim resourceClaim : resourceClaims )
+      {
+         resourceClaim.write( _dataOutputStream );
+      }
+   }
+
+   final ResourceClaim[] readResourceClaims()
+      throws java.io.IOException
+   {
+      ResourceClaim resourceClaims[];
+      int           index;
+
+      resourceClaims = new ResourceClaim[ _dataInputStream.readInt() ];
+      for ( index=0; index<resourceClaims.length; index++ )
+      {
+         resourceClaims[ index ] = new ResourceClaim( _dataInputStream );
+      }
+
+      return resourceClaims;
+   }
+
+   final void flush()
+      throws java.io.IOException
+   {
+      _dataOutputStream.flush();
+   }
+
+   final void close()
+   {
+      try
+      {
+         _socket.close();
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+      }
+   }
+}
@@ -0,0 +1,123 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ControlServer
+{
+   private java.net.ServerSocket                   _serverSocket;
+   private java.util.Map<String,ControlConnection> _controlConnections;
+   private Thread                                  _thread;
+
+   ControlServer()
+      throws java.io.IOException
+   {
+      _controlConnections = new java.util.HashMap<String,ControlConnection>();
+
+      _serverSocket = new java.net.ServerSocket( 0,
+                                                 50,
+                                                 java.net.InetAddress.getLoopbackAddress() );
+
+      _thread = new Thread( () -> acceptThread() );
+      _thread.setDaemon( true );
+      _thread.start();
+   }
+
+   final int getPort()
+   {
+      return _serverSocket.getLocalPort();
+   }
+
+   final private void acceptThread()
+   {
+      java.net.Socket   socket;
+      ControlConnection controlConnection;
+      String            testSetName;
+
+      try
+      {
+         while ( true )
+         {
+            socket = _serverSocket.accept();
+
+            try
+            {
+               controlConnection = new ControlConnection( socket );
+
+               testSetName = controlConnection.readTestSetName();
+
+               synchronized ( this )
+               {
+                  _controlConnections.put( testSetName, controlConnection );
+
+                  notifyAll();
+               }
+            }
+            catch ( java.io.IOException ioException )
+            {
+               Utilities.printStackTrace( ioException );
+               socket.close();
+            }
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         if ( !(_serverSocket.isClosed()) )
+         {
+            Utilities.printStackTrace( ioException );
+         }
+      }
+   }
+
+   final synchronized ControlConnection getControlConnection( String  testSetName,
+                                                              Process process )
+      throws InterruptedException
+   {
+      while ( !(_controlConnections.containsKey(testSetName)) )
+      {
+         if ( !(process.isAlive()) )
+         {
+            return null;
+         }
+
+         wait( 100 );
+      }
+
+      return _controlConnections.remove( testSetName );
+   }
+
+   final void close()
+   {
+      try
+      {
+         _serverSocket.close();
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+      }
+   }
+}
@@ -0,0 +1,162 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class CriticalPath
+{
+   final private static int MAXIMUM_PREVIOUS_RUN_COUNT = 8;
+
+   private boolean                      _useAlternateRunFlag;
+   private java.util.Map<TestData,Long> _knownCosts;
+   private java.util.Map<TestData,Long> _estimates;
+   private long                         _totalKnownCost;
+   private long                         _totalKnownCount;
+
+   CriticalPath( TestData     configurationTestData,
+                 TestSet      testSet,
+                 boolean      useAlternateRunFlag,
+                 java.io.File resultsRootDirectory )
+   {
+      long averageCost;
+
+      _useAlternateRunFlag = useAlternateRunFlag;
+      _knownCosts = new java.util.HashMap<TestData,Long>();
+      _estimates = new java.util.HashMap<TestData,Long>();
+      _totalKnownCost = 0L;
+      _totalKnownCount = 0L;
+
+      addCosts( configurationTestData,
+                testSet.getPreviousRunTestData(resultsRootDirectory,
+                                               MAXIMUM_PREVIOUS_RUN_COUNT) );
+
+      if ( _totalKnownCount == 0L )
+      {
+         averageCost = 1L;
+      }
+      else
+      {
+         averageCost = Math.max( 1L, _totalKnownCost/_totalKnownCount );
+      }
+
+      addEstimates( configurationTestData,
+                    averageCost );
+   }
+
+   final PrioritizedTest prioritize( Runnable task,
+                                     TestData configurationTestData )
+   {
+      Long estimate;
+
+      if ( configurationTestData == null )
+      {
+         return new PrioritizedTest( task,
+                                     0L,
+                                     0 );
+      }
+
+      estimate = _estimates.get( configurationTestData );
+      if ( estimate == null )
+      {
+         estimate = 0L;
+      }
+
+      return new PrioritizedTest( task,
+                                  estimate,
+                                  configurationTestData.getID() );
+   }
+
+   final private void addCosts( TestData                 testData,
+                                java.util.List<TestData> previousRunTestData )
+   {
+      long elapsedTime;
+
+      for ( TestData previousRun : previousRunTestData )
+      {
+         elapsedTime = previousRun.getElapsedTime();
+         if ( elapsedTime >= 0L )
+         {
+            _knownCosts.put( testData, elapsedTime+1L );
+            _totalKnownCost += elapsedTime + 1L;
+            _totalKnownCount++;
+            break;
+         }
+      }
+
+      for ( TestData child : testData.getChildren() )
+      {
+         addCosts( child,
+                   Shard.getMatchingChildren(previousRunTestData,
+                                             child) );
+      }
+   }
+
+   final private long addEstimates( TestData testData,
+                                    long     averageCost )
+   {
+      long estimate;
+      long childEstimate;
+      long subtestEstimate;
+      Long knownCost;
+
+      subtestEstimate = 0L;
+      for ( TestData child : testData.getChildren() )
+      {
+         childEstimate = addEstimates( child,
+                                       averageCost );
+
+         if ( testData.getSubtestSequencingMode().isSequential() )
+         {
+            subtestEstimate += childEstimate;
+         }
+         else
+         {
+            subtestEstimate = Math.max( subtestEstimate, childEstimate );
+         }
+      }
+
+      if ( testData.getRun(_useAlternateRunFlag) )
+      {
+         knownCost = _knownCosts.get( testData );
+         if ( knownCost == null )
+         {
+            estimate = averageCost + subtestEstimate;
+         }
+         else
+         {
+            estimate = knownCost + subtestEstimate;
+         }
+      }
+      else
+      {
+         estimate = subtestEstimate;
+      }
+
+      _estimates.put( testData, estimate );
+
+      return estimate;
+   }
+}
@@ -278,11 +278,11 @@ final class ErrorWindow
 
          if ( error.getMessage()==null )
          {
-            text = new javafx.scene.text.Text( error.getClass().getName() );
+            text = new javafx.scene.text.Text( Utilities.getClassName(error) );
          }
          else
          {
-            text = new javafx.scene.text.Text( error.getClass().getName() + ":  " + error.getMessage() );
+            text = new javafx.scene.text.Text( Utilities.getClassName(error) + ":  " + error.getMessage() );
          }
          text.setStyle("-fx-font-weight: bold");
          javafx.scene.layout.GridPane.setConstraints( text, 1, rowIndex, 4, 1, javafx.geometry.HPos.LEFT, javafx.geometry.VPos.CENTER );
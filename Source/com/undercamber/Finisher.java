@@ -59,11 +59,15 @@ final class Finisher
       {
          testSet.getTestData().setupReferencedRequirementsOnBranch( pass1TestMap.length,
                                                                     unsupportiveTestSet );
-         if ( testSet.shouldRun(true) )
+         if ( testSet.shouldRun(true) && !(testSet.hasLiveResults()) )
          {
             testResults = testSet.getTestDataFromPersistence();
-            testSet.getTestData().transferResultsFrom( testResults );
+            if ( testResults != null )
+            {
+               testSet.getTestData().transferResultsFrom( testResults );
+            }
          }
+         testSet.restoreResumedResults( pass1TestMap );
       }
 
       unsupportiveTests = new java.util.ArrayList<TestData>();
@@ -95,6 +95,11 @@ final class Message
       }
    }
 
+   final String[] getLines()
+   {
+      return _message;
+   }
+
    final String toString( String margin )
    {
       StringBuffer stringBuffer;
@@ -0,0 +1,129 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ProcessDeadline
+{
+   final private static long GRACE_PERIOD = 10000L;
+
+   private Process _process;
+   private String  _testSetName;
+   private long    _timeout;
+   private Thread  _thread;
+   private boolean _expired;
+   private boolean _finished;
+
+   ProcessDeadline( Process process,
+                    String  testSetName,
+                    long    timeout )
+   {
+      _process = process;
+      _testSetName = testSetName;
+      _timeout = timeout;
+      _thread = null;
+      _expired = false;
+      _finished = false;
+
+      if ( timeout > 0L )
+      {
+         _thread = new Thread( () -> deadlineThread() );
+         _thread.setDaemon( true );
+         _thread.start();
+      }
+   }
+
+   final private void deadlineThread()
+   {
+      try
+      {
+         if ( !(_process.waitFor(_timeout+GRACE_PERIOD,java.util.concurrent.TimeUnit.MILLISECONDS)) )
+         {
+            synchronized ( this )
+            {
+               if ( _finished )
+               {
+                  return;
+               }
+
+               _expired = true;
+            }
+
+            System.out.println( getMessage() );
+
+            _process.destroyForcibly();
+         }
+      }
+      catch ( InterruptedException interruptedException )
+      {
+         if ( !(finished()) )
+         {
+            Utilities.printStackTrace( interruptedException );
+         }
+      }
+   }
+
+   // A worker process keeps running after its test set is done, so the
+   // deadline has to be called off instead of waiting for the process to exit
+
+   final void finish()
+   {
+      synchronized ( this )
+      {
+         _finished = true;
+      }
+
+      if ( _thread != null )
+      {
+         _thread.interrupt();
+      }
+   }
+
+   final private synchronized boolean finished()
+   {
+      return _finished;
+   }
+
+   final synchronized boolean expired()
+   {
+      return _expired;
+   }
+
+   final int getAbnormalExitCode()
+   {
+      if ( expired() || _process.isAlive() )
+      {
+         return 0;
+      }
+
+      return _process.exitValue();
+   }
+
+   final String getMessage()
+   {
+      return "Error:  Test set " + _testSetName + " was still running " + GRACE_PERIOD + " ms after its " + _timeout + " ms timeout.  Its process was terminated.";
+   }
+}
@@ -0,0 +1,184 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ProcessScheduler
+{
+   private int                                           _processCount;
+   private java.util.List<TestSet>                       _waitingTestSets;
+   private java.util.Set<TestSet>                        _runningTestSets;
+   private java.util.Map<TestSet,java.util.Set<TestSet>> _prerequisiteTestSets;
+   private java.util.concurrent.ExecutorService          _executorService;
+   private boolean                                       _stopOnFailure;
+   private boolean                                       _failed;
+
+   ProcessScheduler( int     processCount,
+                     boolean stopOnFailure )
+   {
+      _processCount = processCount;
+      _stopOnFailure = stopOnFailure;
+      _waitingTestSets = new java.util.ArrayList<TestSet>();
+      _runningTestSets = new java.util.HashSet<TestSet>();
+      _prerequisiteTestSets = new java.util.HashMap<TestSet,java.util.Set<TestSet>>();
+      _failed = false;
+   }
+
+   final void addTestSet( TestSet               testSet,
+                          java.util.Set<TestSet> prerequisiteTestSets )
+   {
+      _waitingTestSets.add( testSet );
+      _prerequisiteTestSets.put( testSet, new java.util.HashSet<TestSet>(prerequisiteTestSets) );
+   }
+
+   final boolean run( TestSetLauncher testSetLauncher )
+      throws InterruptedException,
+             InternalException
+   {
+      java.util.Set<TestSet> scheduledTestSets;
+      TestSet                testSet;
+
+      scheduledTestSets = new java.util.HashSet<TestSet>( _waitingTestSets );
+
+      for ( java.util.Set<TestSet> prerequisiteTestSets : _prerequisiteTestSets.values() )
+      {
+         prerequisiteTestSets.retainAll( scheduledTestSets );
+      }
+
+      _executorService = java.util.concurrent.Executors.newFixedThreadPool( _processCount );
+
+      try
+      {
+         synchronized ( this )
+         {
+            while ( (_waitingTestSets.size()>0) || (_runningTestSets.size()>0) )
+            {
+               while ( _runningTestSets.size() < _processCount )
+               {
+                  testSet = getNextReadyTestSet();
+                  if ( testSet == null )
+                  {
+                     break;
+                  }
+
+                  startTestSet( testSet,
+                                testSetLauncher );
+               }
+
+               if ( (_runningTestSets.size()==0) && (_waitingTestSets.size()>0) )
+               {
+                  throw new InternalException( "Internal error:  Circular dependency between test sets " + getWaitingTestSetNames() );
+               }
+
+               wait();
+            }
+
+            return !_failed;
+         }
+      }
+      finally
+      {
+         _executorService.shutdownNow();
+      }
+   }
+
+   final private TestSet getNextReadyTestSet()
+   {
+      for ( TestSet testSet : _waitingTestSets )
+      {
+         if ( _prerequisiteTestSets.get(testSet).size() == 0 )
+         {
+            return testSet;
+         }
+      }
+
+      return null;
+   }
+
+   final private void startTestSet( TestSet         testSet,
+                                    TestSetLauncher testSetLauncher )
+   {
+      _waitingTestSets.remove( testSet );
+      _runningTestSets.add( testSet );
+
+      _executorService.submit( () -> processThread(testSet,
+                                                   testSetLauncher) );
+   }
+
+   final private String getWaitingTestSetNames()
+   {
+      java.util.List<String> testSetNames;
+
+      testSetNames = new java.util.ArrayList<String>();
+
+      for ( TestSet testSet : _waitingTestSets )
+      {
+         testSetNames.add( testSet.getTestSetName() );
+      }
+
+      return Utilities.formatList( testSetNames );
+   }
+
+   final private void processThread( TestSet         testSet,
+                                     TestSetLauncher testSetLauncher )
+   {
+      try
+      {
+         testSetLauncher.launch( testSet );
+      }
+      catch ( Throwable throwable )
+      {
+         synchronized ( this )
+         {
+            if ( !(_failed && _stopOnFailure) )
+            {
+               Utilities.printStackTrace( throwable );
+            }
+
+            _failed = true;
+
+            if ( _stopOnFailure )
+            {
+               _waitingTestSets.clear();
+            }
+         }
+      }
+      finally
+      {
+         synchronized ( this )
+         {
+            _runningTestSets.remove( testSet );
+
+            for ( java.util.Set<TestSet> prerequisiteTestSets : _prerequisiteTestSets.values() )
+            {
+               prerequisiteTestSets.remove( testSet );
+            }
+
+            notifyAll();
+         }
+      }
+   }
+}
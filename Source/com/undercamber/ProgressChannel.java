@@ -0,0 +1,190 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ProgressChannel
+{
+   private ControlConnection _controlConnection;
+   private boolean           _failed;
+
+   ProgressChannel( ControlConnection controlConnection )
+   {
+      _controlConnection = controlConnection;
+      _failed = false;
+   }
+
+   final synchronized void testStarted( int sequenceIndex )
+   {
+      if ( !_failed )
+      {
+         try
+         {
+            _controlConnection.writeProgressEvent( ProgressEvent.TEST_STARTED );
+            _controlConnection.writeInt( sequenceIndex );
+         }
+         catch ( java.io.IOException ioException )
+         {
+            fail( ioException );
+         }
+      }
+   }
+
+   final synchronized void stateChanged( int       sequenceIndex,
+                                         TestState testState )
+   {
+      if ( !_failed )
+      {
+         try
+         {
+            _controlConnection.writeProgressEvent( ProgressEvent.STATE_CHANGED );
+            _controlConnection.writeInt( sequenceIndex );
+            _controlConnection.writeInt( testState.ordinal() );
+         }
+         catch ( java.io.IOException ioException )
+         {
+            fail( ioException );
+         }
+      }
+   }
+
+   final synchronized void branchStateChanged( int       firstSequenceIndex,
+                                               int       endSequenceIndex,
+                                               TestState testState )
+   {
+      if ( !_failed )
+      {
+         try
+         {
+            _controlConnection.writeProgressEvent( ProgressEvent.BRANCH_STATE_CHANGED );
+            _controlConnection.writeInt( firstSequenceIndex );
+            _controlConnection.writeInt( endSequenceIndex );
+            _controlConnection.writeInt( testState.ordinal() );
+         }
+         catch ( java.io.IOException ioException )
+         {
+            fail( ioException );
+         }
+      }
+   }
+
+   final synchronized void exceptionAdded( int       sequenceIndex,
+                                           Throwable throwable )
+   {
+      if ( !_failed )
+      {
+         try
+         {
+            try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+            {
+               try ( CompactOutputStream compactOutputStream = new CompactOutputStream(byteArrayOutputStream) )
+               {
+                  compactOutputStream.writeThrowable( throwable );
+               }
+
+               _controlConnection.writeProgressEvent( ProgressEvent.EXCEPTION_ADDED );
+               _controlConnection.writeInt( sequenceIndex );
+               _controlConnection.writeBytes( byteArrayOutputStream.toByteArray() );
+               _controlConnection.flush();
+            }
+         }
+         catch ( java.io.IOException ioException )
+         {
+            fail( ioException );
+         }
+      }
+   }
+
+   final synchronized void timingRecorded( int  sequenceIndex,
+                                           long startTime,
+                                           long stopTime,
+                                           long cpuStartTime,
+                                           long cpuStopTime )
+   {
+      if ( !_failed )
+      {
+         try
+         {
+            _controlConnection.writeProgressEvent( ProgressEvent.TIMING_RECORDED );
+            _controlConnection.writeInt( sequenceIndex );
+            _controlConnection.writeLong( startTime );
+            _controlConnection.writeLong( stopTime );
+            _controlConnection.writeLong( cpuStartTime );
+            _controlConnection.writeLong( cpuStopTime );
+            _controlConnection.flush();
+         }
+         catch ( java.io.IOException ioException )
+         {
+            fail( ioException );
+         }
+      }
+   }
+
+   final synchronized void resultsDiscarded( int sequenceIndex )
+   {
+      if ( !_failed )
+      {
+         try
+         {
+            _controlConnection.writeProgressEvent( ProgressEvent.RESULTS_DISCARDED );
+            _controlConnection.writeInt( sequenceIndex );
+         }
+         catch ( java.io.IOException ioException )
+         {
+            fail( ioException );
+         }
+      }
+   }
+
+   final synchronized void testSetComplete()
+   {
+      if ( !_failed )
+      {
+         try
+         {
+            _controlConnection.writeProgressEvent( ProgressEvent.TEST_SET_COMPLETE );
+            _controlConnection.writeInt( -1 );
+            _controlConnection.flush();
+         }
+         catch ( java.io.IOException ioException )
+         {
+            fail( ioException );
+         }
+      }
+   }
+
+   final private void fail( java.io.IOException ioException )
+   {
+      _failed = true;
+
+      Utilities.printStackTrace( ioException );
+   }
+
+   final synchronized void close()
+   {
+      _controlConnection.close();
+   }
+}
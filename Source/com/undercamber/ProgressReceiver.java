@@ -0,0 +1,261 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ProgressReceiver
+{
+   private TestSet                 _testSet;
+   private TestData                _testDataMap[];
+   private int                     _headingColumnWidth;
+   private java.io.PrintStream     _printStream;
+   private java.util.Set<TestData> _receivedTestData;
+
+   ProgressReceiver( TestSet             testSet,
+                     TestData            testDataMap[],
+                     int                 headingColumnWidth,
+                     java.io.PrintStream printStream )
+   {
+      _testSet = testSet;
+      _testDataMap = testDataMap;
+      _headingColumnWidth = headingColumnWidth;
+      _printStream = printStream;
+      _receivedTestData = new java.util.HashSet<TestData>();
+   }
+
+   final boolean receive( ControlConnection controlConnection )
+      throws java.io.IOException
+   {
+      ProgressEvent progressEvent;
+      int           sequenceIndex;
+      int           endSequenceIndex;
+      TestData      testData;
+      TestState     testState;
+      Throwable     throwable;
+      long          startTime;
+      long          stopTime;
+      long          cpuStartTime;
+      long          cpuStopTime;
+
+      _printStream.println( Utilities.padToRight(_testSet.getTestSetName() + " ",
+                                                 _headingColumnWidth+10,
+                                                 ".................................................................................................") );
+
+      while ( true )
+      {
+         try
+         {
+            progressEvent = controlConnection.readProgressEvent();
+         }
+         catch ( java.io.EOFException eofException )
+         {
+            return false;
+         }
+
+         sequenceIndex = controlConnection.readInt();
+
+         testData = getTestData( sequenceIndex );
+
+         switch ( progressEvent )
+         {
+            case TEST_STARTED:
+            {
+               break;
+            }
+            case STATE_CHANGED:
+            {
+               testState = readTestState( controlConnection );
+               if ( testData != null )
+               {
+                  testData.receiveState( testState );
+               }
+               break;
+            }
+            case EXCEPTION_ADDED:
+            {
+               throwable = readThrowable( controlConnection.readBytes() );
+               if ( testData != null )
+               {
+                  testData.receiveException( throwable );
+                  printException( testData,
+                                  throwable );
+               }
+               break;
+            }
+            case TIMING_RECORDED:
+            {
+               startTime = controlConnection.readLong();
+               stopTime = controlConnection.readLong();
+               cpuStartTime = controlConnection.readLong();
+               cpuStopTime = controlConnection.readLong();
+               if ( testData != null )
+               {
+                  testData.setTimingData( startTime,
+                                          stopTime,
+                                          cpuStartTime,
+                                          cpuStopTime );
+                  printResult( testData );
+               }
+               break;
+            }
+            case RESULTS_DISCARDED:
+            {
+               if ( testData != null )
+               {
+                  testData.clearResults();
+               }
+               break;
+            }
+            case BRANCH_STATE_CHANGED:
+            {
+               endSequenceIndex = controlConnection.readInt();
+               testState = readTestState( controlConnection );
+               for ( ; sequenceIndex<endSequenceIndex; sequenceIndex++ )
+               {
+                  testData = getTestData( sequenceIndex );
+                  if ( testData != null )
+                  {
+                     testData.receiveState( testState );
+                  }
+               }
+               break;
+            }
+            case TEST_SET_COMPLETE:
+            {
+               return true;
+            }
+            default:
+            {
+               throw new InternalError( "Unrecognized progress event:  " + progressEvent );
+            }
+         }
+      }
+   }
+
+   final private TestData getTestData( int sequenceIndex )
+   {
+      TestData testData;
+
+      if ( (sequenceIndex<0) || (sequenceIndex>=_testDataMap.length) )
+      {
+         return null;
+      }
+
+      testData = _testDataMap[ sequenceIndex ];
+
+      if ( (testData==null) || (testData.getTestSet()!=_testSet) )
+      {
+         return null;
+      }
+
+      if ( _receivedTestData.add(testData) )
+      {
+         testData.clearResults();
+      }
+
+      return testData;
+   }
+
+   final private static TestState readTestState( ControlConnection controlConnection )
+      throws java.io.IOException
+   {
+      int ordinal;
+
+      ordinal = controlConnection.readInt();
+
+      if ( (ordinal<0) || (ordinal>=TestState.values().length) )
+      {
+         throw new java.io.IOException( "Unrecognized test state in progress event:  " + ordinal );
+      }
+
+      return TestState.values()[ ordinal ];
+   }
+
+   final private static Throwable readThrowable( byte encodedThrowable[] )
+      throws java.io.IOException
+   {
+      try ( java.io.ByteArrayInputStream byteArrayInputStream = new java.io.ByteArrayInputStream(encodedThrowable) )
+      {
+         try ( CompactInputStream compactInputStream = new CompactInputStream(byteArrayInputStream) )
+         {
+            return compactInputStream.readThrowable();
+         }
+      }
+   }
+
+   final private String getMargin( TestData testData )
+   {
+      StringBuffer margin;
+
+      margin = new StringBuffer( "   " );
+
+      while ( (testData!=_testSet.getTestData()) && (testData.getParent()!=null) )
+      {
+         margin.append( "   " );
+         testData = testData.getParent();
+      }
+
+      return margin.toString();
+   }
+
+   final private void printResult( TestData testData )
+   {
+      if ( testData.getLocalExceptionCount() == 0 )
+      {
+         _printStream.println( Utilities.padToRight(getMargin(testData)+testData.getHeading(),_headingColumnWidth+3) + " passed" );
+      }
+      else
+      {
+         _printStream.println( Utilities.padToRight(getMargin(testData)+testData.getHeading(),_headingColumnWidth+3) + " failed" );
+      }
+   }
+
+   final private void printException( TestData  testData,
+                                      Throwable throwable )
+   {
+      StringBuffer stringBuffer;
+      String       margin;
+
+      stringBuffer = new StringBuffer();
+
+      margin = getMargin( testData );
+
+      if ( throwable instanceof Message )
+      {
+         ( (Message)throwable ).printMessage( margin + "      ",
+                                              stringBuffer );
+      }
+      else
+      {
+         stringBuffer.append( margin ).append( "   Error in " ).append( testData.getHeading() ).append( ":" ).append( System.lineSeparator() );
+         Utilities.printStackTrace( throwable,
+                                    margin + "      ",
+                                    stringBuffer );
+      }
+
+      _printStream.print( stringBuffer.toString() );
+   }
+}
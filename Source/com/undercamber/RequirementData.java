@@ -140,6 +140,16 @@ final class RequirementData
       }
    }
 
+   final void transferResultsFrom( RequirementData that )
+   {
+      that.setData();
+
+      _requirement = null;
+      _description = that._description;
+      _resultsText = that._resultsText;
+      _completionState = that._completionState;
+   }
+
    final public boolean equals( Object thatObject )
    {
       RequirementData that;
@@ -0,0 +1,99 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ResidentProcess
+{
+   private Process           _process;
+   private ControlConnection _controlConnection;
+   private java.io.File      _processLogFile;
+
+   ResidentProcess( Process           process,
+                    ControlConnection controlConnection,
+                    java.io.File      processLogFile )
+   {
+      _process = process;
+      _controlConnection = controlConnection;
+      _processLogFile = processLogFile;
+   }
+
+   final Process getProcess()
+   {
+      return _process;
+   }
+
+   final java.io.File getProcessLogFile()
+   {
+      return _processLogFile;
+   }
+
+   final void verify( int              headingColumnWidth,
+                      int              threadCount,
+                      boolean          useVirtualThreads,
+                      boolean          criticalPathFirst,
+                      int              resourcePort,
+                      long             testSetTimeout,
+                      boolean          failFast,
+                      boolean          orderConcurrentPrerequisites,
+                      boolean          speculativeSiblings,
+                      boolean          adaptiveThreads,
+                      int              minimumThreadCount,
+                      int              maximumThreadCount,
+                      StatusDurability statusDurability,
+                      int              progressPort )
+      throws java.io.IOException
+   {
+      _controlConnection.writeMessage( ControlMessage.VERIFY );
+      _controlConnection.writeInt( headingColumnWidth );
+      _controlConnection.writeInt( threadCount );
+      _controlConnection.writeBoolean( useVirtualThreads );
+      _controlConnection.writeBoolean( criticalPathFirst );
+      _controlConnection.writeInt( resourcePort );
+      _controlConnection.writeLong( testSetTimeout );
+      _controlConnection.writeBoolean( failFast );
+      _controlConnection.writeBoolean( orderConcurrentPrerequisites );
+      _controlConnection.writeBoolean( speculativeSiblings );
+      _controlConnection.writeBoolean( adaptiveThreads );
+      _controlConnection.writeInt( minimumThreadCount );
+      _controlConnection.writeInt( maximumThreadCount );
+      _controlConnection.writeInt( statusDurability.ordinal() );
+      _controlConnection.writeInt( progressPort );
+      _controlConnection.flush();
+   }
+
+   final void exit()
+      throws java.io.IOException
+   {
+      _controlConnection.writeMessage( ControlMessage.EXIT );
+      _controlConnection.flush();
+   }
+
+   final void close()
+   {
+      _controlConnection.close();
+   }
+}
@@ -0,0 +1,261 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ResourceBroker
+{
+   private java.net.ServerSocket _serverSocket;
+   private ResourcePool          _resourcePool;
+   private Thread                _thread;
+
+   ResourceBroker()
+      throws java.io.IOException
+   {
+      _resourcePool = new ResourcePool();
+
+      _serverSocket = new java.net.ServerSocket( 0,
+                                                 50,
+                                                 java.net.InetAddress.getLoopbackAddress() );
+
+      _thread = new Thread( () -> acceptThread() );
+      _thread.setDaemon( true );
+      _thread.start();
+   }
+
+   final int getPort()
+   {
+      return _serverSocket.getLocalPort();
+   }
+
+   final private void acceptThread()
+   {
+      java.net.Socket   socket;
+      ControlConnection controlConnection;
+
+      try
+      {
+         while ( true )
+         {
+            socket = _serverSocket.accept();
+
+            try
+            {
+               controlConnection = new ControlConnection( socket );
+
+               controlConnection.readTestSetName();
+
+               startConnectionThread( controlConnection );
+            }
+            catch ( java.io.IOException ioException )
+            {
+               Utilities.printStackTrace( ioException );
+               socket.close();
+            }
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         if ( !(_serverSocket.isClosed()) )
+         {
+            Utilities.printStackTrace( ioException );
+         }
+      }
+   }
+
+   final private void startConnectionThread( ControlConnection controlConnection )
+   {
+      Thread thread;
+
+      thread = new Thread( () -> connectionThread(controlConnection) );
+      thread.setDaemon( true );
+      thread.start();
+   }
+
+   final private void connectionThread( ControlConnection controlConnection )
+   {
+      java.util.Map<Integer,Runnable> pendingRequests;
+      java.util.List<ResourceClaim>   heldClaims;
+      ControlMessage                  controlMessage;
+      ResourceClaim                   resourceClaims[];
+
+      pendingRequests = new java.util.HashMap<Integer,Runnable>();
+      heldClaims = new java.util.ArrayList<ResourceClaim>();
+
+      try
+      {
+         while ( true )
+         {
+            controlMessage = controlConnection.readMessage();
+
+            switch ( controlMessage )
+            {
+               case ACQUIRE_RESOURCES:
+               {
+                  acquire( controlConnection,
+                           controlConnection.readInt(),
+                           controlConnection.readResourceClaims(),
+                           pendingRequests,
+                           heldClaims );
+                  break;
+               }
+               case RELEASE_RESOURCES:
+               {
+                  resourceClaims = controlConnection.readResourceClaims();
+
+                  synchronized ( controlConnection )
+                  {
+                     for ( ResourceClaim resourceClaim : resourceClaims )
+                     {
+                        removeHeldClaim( heldClaims,
+                                         resourceClaim );
+                     }
+                  }
+
+                  _resourcePool.release( resourceClaims );
+                  break;
+               }
+               default:
+               {
+                  throw new java.io.IOException( "Unexpected message from a test set:  " + controlMessage );
+               }
+            }
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         synchronized ( controlConnection )
+         {
+            for ( Runnable grantCallback : pendingRequests.values() )
+            {
+               _resourcePool.cancel( grantCallback );
+            }
+            pendingRequests.clear();
+
+            resourceClaims = heldClaims.toArray( new ResourceClaim[heldClaims.size()] );
+            heldClaims.clear();
+         }
+
+         if ( resourceClaims.length > 0 )
+         {
+            _resourcePool.release( resourceClaims );
+         }
+
+         controlConnection.close();
+      }
+   }
+
+   final private void acquire( ControlConnection               controlConnection,
+                               int                             requestID,
+                               ResourceClaim                   resourceClaims[],
+                               java.util.Map<Integer,Runnable> pendingRequests,
+                               java.util.List<ResourceClaim>   heldClaims )
+   {
+      Runnable grantCallback;
+
+      grantCallback = () -> grant( controlConnection,
+                                   requestID,
+                                   resourceClaims,
+                                   pendingRequests,
+                                   heldClaims );
+
+      synchronized ( controlConnection )
+      {
+         pendingRequests.put( requestID, grantCallback );
+      }
+
+      _resourcePool.request( resourceClaims,
+                             grantCallback );
+   }
+
+   final private void grant( ControlConnection               controlConnection,
+                             int                             requestID,
+                             ResourceClaim                   resourceClaims[],
+                             java.util.Map<Integer,Runnable> pendingRequests,
+                             java.util.List<ResourceClaim>   heldClaims )
+   {
+      boolean granted;
+
+      synchronized ( controlConnection )
+      {
+         granted = false;
+
+         if ( pendingRequests.remove(requestID) != null )
+         {
+            try
+            {
+               controlConnection.writeMessage( ControlMessage.RESOURCES_GRANTED );
+               controlConnection.writeInt( requestID );
+               controlConnection.flush();
+
+               heldClaims.addAll( java.util.Arrays.asList(resourceClaims) );
+
+               granted = true;
+            }
+            catch ( java.io.IOException ioException )
+            {
+               Utilities.printStackTrace( ioException );
+
+               // Closing the connection makes connectionThread release the rest of its claims
+               controlConnection.close();
+            }
+         }
+      }
+
+      if ( !granted )
+      {
+         _resourcePool.release( resourceClaims );
+      }
+   }
+
+   final private static void removeHeldClaim( java.util.List<ResourceClaim> heldClaims,
+                                              ResourceClaim                 resourceClaim )
+   {
+      java.util.Iterator<ResourceClaim> iterator;
+
+      iterator = heldClaims.iterator();
+      while ( iterator.hasNext() )
+      {
+         if ( iterator.next().getName().equals(resourceClaim.getName()) )
+         {
+            iterator.remove();
+            return;
+         }
+      }
+   }
+
+   final void close()
+   {
+      try
+      {
+         _serverSocket.close();
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+      }
+   }
+}
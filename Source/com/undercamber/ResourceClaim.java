@@ -0,0 +1,150 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+/**
+ * Declares that a test uses a shared resource, such as a database, a range
+ * of ports, or a license.  <br>
+ * <br>
+ * Tests claim resources in the call to {@link TestManager#initialize( SubtestSequencingMode, String, SubtestContinuationMode, Prerequisite[], Tag[], ResourceClaim[], Requirement... )}
+ * using this class.  Each resource has a capacity, which is the number of
+ * tests that can use the resource at the same time.  During the second pass,
+ * a test is started only when all of its claims can be granted, and it holds
+ * its claims until its own test code returns.  A claim does not cover the
+ * subtests of the test:  they can still be running, or not yet started, when
+ * the claim is released, so a subtest that uses the resource must claim it
+ * itself.  Tests waiting for a resource do not occupy a thread, so other
+ * tests keep running.<br>
+ * <br>
+ * Claims are shared by all of the test sets in a run, including test sets
+ * running at the same time in separate processes.  Every claim on a
+ * resource must use the same capacity.
+ */
+final public class ResourceClaim
+{
+   final private static int    CLASS_PERSISTENCE_VERSION = 0;
+   final private static String CLASS_PERSISTENCE_BRANCH  = "";
+
+   private String _name;
+   private int    _capacity;
+
+   /**
+    * Create a claim on a resource that only one test can use at a time.
+    * <br>
+    * <br>
+    * This is equivalent to <pre>
+    *    ResourceClaim( name,
+    *                   1 )
+    * </pre>
+    *
+    * @param name
+    *        The resource name.  A resource name cannot be zero length.
+    *        A resource name must start with a letter or an underscore.
+    *        A resource name can contain letters, digits, and
+    *        underscores.
+    *
+    * @throws UserError
+    *         If the name is not legal.
+    */
+   public ResourceClaim( String name )
+      throws UserError
+   {
+      this( name,
+            1 );
+   }
+
+   /**
+    * Create a claim on a resource.
+    *
+    * @param name
+    *        The resource name.  A resource name cannot be zero length.
+    *        A resource name must start with a letter or an underscore.
+    *        A resource name can contain letters, digits, and
+    *        underscores.
+    *
+    * @param capacity
+    *        The number of tests that can use the resource at the same
+    *        time.  Must be at least 1.
+    *
+    * @throws UserError
+    *         If the name or the capacity is not legal.
+    */
+   public ResourceClaim( String name,
+                         int    capacity )
+      throws UserError
+   {
+      String errorMessage;
+
+      errorMessage = Utilities.isLegalName( name );
+      if ( errorMessage != null )
+      {
+         throw new UserError( "Illegal resource name:  \"" + name + "\":  " + errorMessage );
+      }
+      if ( capacity < 1 )
+      {
+         throw new UserError( "Illegal capacity for resource \"" + name + "\":  " + capacity + ".  The capacity must be at least 1." );
+      }
+      _name = name;
+      _capacity = capacity;
+   }
+
+   ResourceClaim( java.io.DataInputStream dataInputStream )
+      throws java.io.IOException
+   {
+      if ( dataInputStream.readInt() > CLASS_PERSISTENCE_VERSION )
+      {
+         throw new java.io.IOException( "The database is from a newer version of Undercamber" );
+      }
+      if ( !(dataInputStream.readUTF().equals(CLASS_PERSISTENCE_BRANCH)) )
+      {
+         throw new java.io.IOException( "The database is from an unrecognized branch of Undercamber" );
+      }
+
+      _name = dataInputStream.readUTF();
+      _capacity = dataInputStream.readInt();
+   }
+
+   final String getName()
+   {
+      return _name;
+   }
+
+   final int getCapacity()
+   {
+      return _capacity;
+   }
+
+   final void write( java.io.DataOutputStream dataOutputStream )
+      throws java.io.IOException
+   {
+      dataOutputStream.writeInt( CLASS_PERSISTENCE_VERSION );
+      dataOutputStream.writeUTF( CLASS_PERSISTENCE_BRANCH );
+
+      dataOutputStream.writeUTF( _name );
+      dataOutputStream.writeInt( _capacity );
+   }
+}
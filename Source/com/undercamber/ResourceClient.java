@@ -0,0 +1,180 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ResourceClient
+   implements ResourceArbiter
+{
+   private ControlConnection               _controlConnection;
+   private java.util.Map<Integer,Runnable> _pendingRequests;
+   private int                             _nextRequestID;
+   private boolean                         _failed;
+   private boolean                         _closed;
+   private Thread                          _thread;
+
+   ResourceClient( int    port,
+                   String testSetName )
+      throws java.io.IOException
+   {
+      _controlConnection = ControlConnection.connect( port,
+                                                      testSetName );
+      _pendingRequests = new java.util.HashMap<Integer,Runnable>();
+      _nextRequestID = 0;
+      _failed = false;
+      _closed = false;
+
+      _thread = new Thread( () -> grantThread() );
+      _thread.setDaemon( true );
+      _thread.start();
+   }
+
+   final public void request( ResourceClaim resourceClaims[],
+                              Runnable      grantCallback )
+   {
+      int     requestID;
+      boolean granted;
+
+      synchronized ( this )
+      {
+         granted = _failed;
+
+         if ( !_failed )
+         {
+            requestID = _nextRequestID;
+            _nextRequestID++;
+
+            _pendingRequests.put( requestID, grantCallback );
+
+            try
+            {
+               _controlConnection.writeMessage( ControlMessage.ACQUIRE_RESOURCES );
+               _controlConnection.writeInt( requestID );
+               _controlConnection.writeResourceClaims( resourceClaims );
+               _controlConnection.flush();
+            }
+            catch ( java.io.IOException ioException )
+            {
+               _pendingRequests.remove( requestID );
+               granted = true;
+
+               fail( ioException );
+            }
+         }
+      }
+
+      if ( granted )
+      {
+         grantCallback.run();
+      }
+   }
+
+   final public synchronized void release( ResourceClaim resourceClaims[] )
+   {
+      if ( !_failed )
+      {
+         try
+         {
+            _controlConnection.writeMessage( ControlMessage.RELEASE_RESOURCES );
+            _controlConnection.writeResourceClaims( resourceClaims );
+            _controlConnection.flush();
+         }
+         catch ( java.io.IOException ioException )
+         {
+            fail( ioException );
+         }
+      }
+   }
+
+   final private void grantThread()
+   {
+      ControlMessage controlMessage;
+      Runnable       grantCallback;
+
+      try
+      {
+         while ( true )
+         {
+            controlMessage = _controlConnection.readMessage();
+            if ( controlMessage != ControlMessage.RESOURCES_GRANTED )
+            {
+               throw new java.io.IOException( "Unexpected message from the resource broker:  " + controlMessage );
+            }
+
+            synchronized ( this )
+            {
+               grantCallback = _pendingRequests.remove( _controlConnection.readInt() );
+            }
+
+            if ( grantCallback != null )
+            {
+               grantCallback.run();
+            }
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         synchronized ( this )
+         {
+            if ( _closed )
+            {
+               return;
+            }
+
+            fail( ioException );
+         }
+      }
+   }
+
+   final private void fail( java.io.IOException ioException )
+   {
+      java.util.List<Runnable> grantCallbacks;
+
+      if ( !_failed )
+      {
+         _failed = true;
+
+         Utilities.printStackTrace( ioException );
+         System.out.println( "Lost the connection to the resource broker.  Resource claims are no longer enforced for this test set." );
+
+         grantCallbacks = new java.util.ArrayList<Runnable>();
+         grantCallbacks.addAll( _pendingRequests.values() );
+         _pendingRequests.clear();
+
+         for ( Runnable grantCallback : grantCallbacks )
+         {
+            grantCallback.run();
+         }
+      }
+   }
+
+   final public synchronized void close()
+   {
+      _closed = true;
+
+      _controlConnection.close();
+   }
+}
@@ -0,0 +1,141 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ResourcePool
+   implements ResourceArbiter
+{
+   private java.util.Map<String,Integer>           _capacities;
+   private java.util.Map<String,Integer>           _usage;
+   private java.util.Map<Runnable,ResourceClaim[]> _waitingRequests;
+
+   ResourcePool()
+   {
+      _capacities = new java.util.HashMap<String,Integer>();
+      _usage = new java.util.HashMap<String,Integer>();
+      _waitingRequests = new java.util.LinkedHashMap<Runnable,ResourceClaim[]>();
+   }
+
+   final public void request( ResourceClaim resourceClaims[],
+                              Runnable      grantCallback )
+   {
+      boolean granted;
+
+      synchronized ( this )
+      {
+         granted = acquire( resourceClaims );
+
+         if ( !granted )
+         {
+            _waitingRequests.put( grantCallback, resourceClaims );
+         }
+      }
+
+      if ( granted )
+      {
+         grantCallback.run();
+      }
+   }
+
+   final public void release( ResourceClaim resourceClaims[] )
+   {
+      java.util.List<Runnable>                                          grantCallbacks;
+      java.util.Iterator<java.util.Map.Entry<Runnable,ResourceClaim[]>> iterator;
+      java.util.Map.Entry<Runnable,ResourceClaim[]>                     waitingRequest;
+
+      grantCallbacks = new java.util.ArrayList<Runnable>();
+
+      synchronized ( this )
+      {
+         for ( ResourceClaim resourceClaim : resourceClaims )
+         {
+            _usage.put( resourceClaim.getName(), _usage.get(resourceClaim.getName())-1 );
+         }
+
+         iterator = _waitingRequests.entrySet().iterator();
+         while ( iterator.hasNext() )
+         {
+            waitingRequest = iterator.next();
+
+            if ( acquire(waitingRequest.getValue()) )
+            {
+               grantCallbacks.add( waitingRequest.getKey() );
+               iterator.remove();
+            }
+         }
+      }
+
+      for ( Runnable grantCallback : grantCallbacks )
+      {
+         grantCallback.run();
+      }
+   }
+
+   final synchronized void cancel( Runnable grantCallback )
+   {
+      _waitingRequests.remove( grantCallback );
+   }
+
+   final public void close()
+   {
+   }
+
+   final private boolean acquire( ResourceClaim resourceClaims[] )
+   {
+      Integer capacity;
+      Integer usage;
+
+      for ( ResourceClaim resourceClaim : resourceClaims )
+      {
+         capacity = _capacities.get( resourceClaim.getName() );
+         if ( capacity == null )
+         {
+            capacity = resourceClaim.getCapacity();
+            _capacities.put( resourceClaim.getName(), capacity );
+         }
+
+         usage = _usage.get( resourceClaim.getName() );
+         if ( (usage!=null) && (usage>=capacity) )
+         {
+            return false;
+         }
+      }
+
+      for ( ResourceClaim resourceClaim : resourceClaims )
+      {
+         usage = _usage.get( resourceClaim.getName() );
+         if ( usage == null )
+         {
+            usage = 0;
+         }
+
+         _usage.put( resourceClaim.getName(), usage+1 );
+      }
+
+      return true;
+   }
+}
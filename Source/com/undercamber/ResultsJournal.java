@@ -0,0 +1,121 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package com.undercamber;
+
+final class ResultsJournal
+{
+   private java.io.DataOutputStream _dataOutputStream;
+
+   ResultsJournal( java.io.File resultsDirectory,
+                   String       testSetName,
+                   boolean      append )
+      throws java.io.IOException
+   {
+      java.io.File file;
+
+      file = getFile( resultsDirectory,
+                      testSetName );
+      file.getParentFile().mkdirs();
+
+      _dataOutputStream = new java.io.DataOutputStream( new java.io.BufferedOutputStream(new java.io.FileOutputStream(file,
+                                                                                                                      append)) );
+   }
+
+   final private static java.io.File getFile( java.io.File resultsDirectory,
+                                              String       testSetName )
+   {
+      java.io.File file;
+
+      file = new java.io.File( resultsDirectory, "UndercamberWorkingDirectory" );
+      file = new java.io.File( file, "tests" );
+      file = new java.io.File( file, testSetName+".journal" );
+
+      return file;
+   }
+
+   final static java.util.Map<Integer,byte[]> read( java.io.File resultsDirectory,
+                                                    String       testSetName )
+      throws java.io.IOException
+   {
+      java.io.File                  file;
+      java.util.Map<Integer,byte[]> records;
+      int                           sequenceIndex;
+      byte                          record[];
+
+      records = new java.util.HashMap<Integer,byte[]>();
+
+      file = getFile( resultsDirectory,
+                      testSetName );
+
+      if ( file.isFile() )
+      {
+         try ( java.io.FileInputStream fileInputStream = new java.io.FileInputStream(file) )
+         {
+            try ( java.io.BufferedInputStream bufferedInputStream = new java.io.BufferedInputStream(fileInputStream,262144) )
+            {
+               try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(bufferedInputStream) )
+               {
+                  while ( true )
+                  {
+                     try
+                     {
+                        sequenceIndex = dataInputStream.readInt();
+                        record = new byte[ dataInputStream.readInt() ];
+                        dataInputStream.readFully( record );
+                     }
+                     catch ( java.io.EOFException eofException )
+                     {
+                        break;
+                     }
+
+                     records.put( sequenceIndex, record );
+                  }
+               }
+            }
+         }
+      }
+
+      return records;
+   }
+
+   final synchronized void append( int  sequenceIndex,
+                                   byte record[] )
+      throws java.io.IOException
+   {
+      _dataOutputStream.writeInt( sequenceIndex );
+      _dataOutputStream.writeInt( record.length );
+      _dataOutputStream.write( record );
+      _dataOutputStream.flush();
+   }
+
+   final synchronized void close()
+      throws java.io.IOException
+   {
+      _dataOutputStream.close();
+   }
+}
@@ -130,6 +130,11 @@ final class ResultsTreeCell
                      _label.setText( testData.getHeading() + "  (S/C)" );
                      break;
                   }
+                  case CONCURRENT_IN_PREREQUISITE_ORDER:
+                  {
+                     _label.setText( testData.getHeading() + "  (P/O)" );
+                     break;
+                  }
                   default:
                   {
                      _label.setText( testData.getHeading() + "  (?)" );
@@ -145,6 +150,10 @@ final class ResultsTreeCell
                {
                   _label.setTextFill( javafx.scene.paint.Color.DARKGREEN );
                }
+               else if ( testData.getTestState() == TestState.TIMED_OUT )
+               {
+                  _label.setTextFill( javafx.scene.paint.Color.DARKORANGE );
+               }
                else
                {
                   _label.setTextFill( javafx.scene.paint.Color.DARKRED );
@@ -195,6 +195,11 @@ final class SelectionTreeColumnCell
                      _testDataLabel.setText( testData.getHeading() + "  (S/C)" );
                      break;
                   }
+                  case CONCURRENT_IN_PREREQUISITE_ORDER:
+                  {
+                     _testDataLabel.setText( testData.getHeading() + "  (P/O)" );
+                     break;
+                  }
                   default:
                   {
                      _testDataLabel.setText( testData.getHeading() + "  (?)" );
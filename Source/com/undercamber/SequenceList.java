@@ -136,4 +136,50 @@ final class SequenceList
    {
       return _list.size();
    }
+
+   final String getStructureFingerprint()
+      throws java.io.IOException
+   {
+      java.security.MessageDigest messageDigest;
+      int                         index;
+      TestData                    testData;
+      StringBuffer                stringBuffer;
+
+      try
+      {
+         messageDigest = java.security.MessageDigest.getInstance( "SHA-256" );
+      }
+      catch ( java.security.NoSuchAlgorithmException noSuchAlgorithmException )
+      {
+         throw new java.io.IOException( "Could not compute the structure fingerprint",
+                                        noSuchAlgorithmException );
+      }
+
+      for ( index=0; index<_list.size(); index++ )
+      {
+         testData = _list.get( index );
+
+         if ( index > 0 )  // skip dummy root -> no test set
+         {
+            updateFingerprint( messageDigest, testData.getTestSetName() );
+         }
+         updateFingerprint( messageDigest, testData.getHeading() );
+         updateFingerprint( messageDigest, Integer.toString(testData.getChildCount()) );
+      }
+
+      stringBuffer = new StringBuffer();
+      for ( byte digestByte : messageDigest.digest() )
+      {
+         stringBuffer.append( String.format("%02x",digestByte) );
+      }
+
+      return stringBuffer.toString();
+   }
+
+   final private static void updateFingerprint( java.security.MessageDigest messageDigest,
+                                                String                      text )
+   {
+      messageDigest.update( text.getBytes(java.nio.charset.StandardCharsets.UTF_8) );
+      messageDigest.update( (byte)0 );
+   }
 }
@@ -0,0 +1,423 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class Shard
+{
+   private int                                             _index;
+   private int                                             _count;
+   private java.util.List<TestData>                        _units;
+   private java.util.Map<TestData,Integer>                 _unitIndices;
+   private java.util.Map<TestData,java.util.List<Integer>> _splitRoots;
+   private int                                             _groups[];
+   private long                                            _knownCosts[];
+   private int                                             _knownCounts[];
+   private int                                             _unknownCounts[];
+
+   Shard( int index,
+          int count )
+   {
+      _index = index;
+      _count = count;
+   }
+
+   final int getIndex()
+   {
+      return _index;
+   }
+
+   final int getCount()
+   {
+      return _count;
+   }
+
+   final void select( java.util.List<TestSet> testSets,
+                      java.io.File            historyDirectory )
+      throws UserError
+   {
+      TestData                    testData;
+      java.util.List<TestData>    previousRunTestData;
+      TestData                    historyTestData;
+      java.util.List<Integer>     unitIndices;
+      int                         unitIndex;
+      long                        totalKnownCost;
+      long                        totalKnownCount;
+      long                        averageCost;
+      java.util.Map<Integer,Long> groupCosts;
+      java.util.List<Integer>     groups;
+      int                         group;
+      long                        shardCosts[];
+      int                         shardIndex;
+      int                         index;
+      java.util.Set<Integer>      selectedGroups;
+      int                         selectedUnitCount;
+      boolean                     childRuns;
+
+      if ( (historyDirectory!=null) && !(historyDirectory.isDirectory()) )
+      {
+         throw new UserError( "Error:  Shard history directory <" + historyDirectory.getPath() + "> not found.  Every shard must read the same history to get the same partition." );
+      }
+
+      _units = new java.util.ArrayList<TestData>();
+      _unitIndices = new java.util.HashMap<TestData,Integer>();
+      _splitRoots = new java.util.HashMap<TestData,java.util.List<Integer>>();
+
+      for ( TestSet testSet : testSets )
+      {
+         if ( testSet.shouldRun(true) )
+         {
+            testData = testSet.getTestData();
+
+            if ( (testData.getChildCount()==0) || testData.getSubtestSequencingMode().abortOnError() )
+            {
+               addUnit( testData );
+            }
+            else
+            {
+               unitIndices = new java.util.ArrayList<Integer>();
+
+               for ( TestData child : testData.getChildren() )
+               {
+                  if ( child.getRun(true) )
+                  {
+                     unitIndices.add( _units.size() );
+                     addUnit( child );
+                  }
+               }
+
+               _splitRoots.put( testData, unitIndices );
+            }
+         }
+      }
+
+      _groups = new int[ _units.size() ];
+      _knownCosts = new long[ _units.size() ];
+      _knownCounts = new int[ _units.size() ];
+      _unknownCounts = new int[ _units.size() ];
+
+      for ( unitIndex=0; unitIndex<_units.size(); unitIndex++ )
+      {
+         _groups[ unitIndex ] = unitIndex;
+      }
+
+      for ( unitIndex=0; unitIndex<_units.size(); unitIndex++ )
+      {
+         joinPrerequisites( unitIndex,
+                            _units.get(unitIndex) );
+      }
+
+      for ( java.util.Map.Entry<TestData,java.util.List<Integer>> splitRoot : _splitRoots.entrySet() )
+      {
+         for ( int splitRootUnitIndex : splitRoot.getValue() )
+         {
+            joinPrerequisites( splitRootUnitIndex,
+                               splitRoot.getKey().listFixedPrerequisites() );
+            joinPrerequisites( splitRootUnitIndex,
+                               splitRoot.getKey().listUnsatisfiedConditionalPrerequisites() );
+            joinPrerequisites( splitRootUnitIndex,
+                               splitRoot.getKey().listPreviouslySatisfiedConditionalPrerequisites() );
+         }
+      }
+
+      for ( TestSet testSet : testSets )
+      {
+         if ( testSet.shouldRun(true) )
+         {
+            testData = testSet.getTestData();
+
+            previousRunTestData = new java.util.ArrayList<TestData>();
+            if ( historyDirectory != null )
+            {
+               historyTestData = testSet.readResults( historyDirectory );
+               if ( historyTestData != null )
+               {
+                  previousRunTestData.add( historyTestData );
+               }
+            }
+
+            if ( _unitIndices.containsKey(testData) )
+            {
+               addCosts( _unitIndices.get(testData),
+                         testData,
+                         previousRunTestData );
+            }
+            else
+            {
+               for ( TestData child : testData.getChildren() )
+               {
+                  if ( _unitIndices.containsKey(child) )
+                  {
+                     addCosts( _unitIndices.get(child),
+                               child,
+                               getMatchingChildren(previousRunTestData,
+                                                   child) );
+                  }
+               }
+            }
+         }
+      }
+
+      totalKnownCost = 0L;
+      totalKnownCount = 0L;
+      for ( unitIndex=0; unitIndex<_units.size(); unitIndex++ )
+      {
+         totalKnownCost += _knownCosts[ unitIndex ];
+         totalKnownCount += _knownCounts[ unitIndex ];
+      }
+
+      if ( totalKnownCount == 0L )
+      {
+         averageCost = 1L;
+      }
+      else
+      {
+         averageCost = Math.max( 1L, totalKnownCost/totalKnownCount );
+      }
+
+      groupCosts = new java.util.HashMap<Integer,Long>();
+      groups = new java.util.ArrayList<Integer>();
+      for ( unitIndex=0; unitIndex<_units.size(); unitIndex++ )
+      {
+         group = findGroup( unitIndex );
+         if ( !(groupCosts.containsKey(group)) )
+         {
+            groupCosts.put( group, 0L );
+            groups.add( group );
+         }
+         groupCosts.put( group, groupCosts.get(group)+_knownCosts[unitIndex]+(_unknownCounts[unitIndex]*averageCost) );
+      }
+
+      java.util.Collections.sort( groups, (group1,group2) -> Long.compare(groupCosts.get(group2),groupCosts.get(group1)) );
+
+      shardCosts = new long[ _count ];
+      selectedGroups = new java.util.HashSet<Integer>();
+      for ( int sortedGroup : groups )
+      {
+         shardIndex = 0;
+         for ( index=1; index<_count; index++ )
+         {
+            if ( shardCosts[index] < shardCosts[shardIndex] )
+            {
+               shardIndex = index;
+            }
+         }
+
+         shardCosts[ shardIndex ] += groupCosts.get( sortedGroup );
+
+         if ( shardIndex == (_index-1) )
+         {
+            selectedGroups.add( sortedGroup );
+         }
+      }
+
+      selectedUnitCount = 0;
+      for ( unitIndex=0; unitIndex<_units.size(); unitIndex++ )
+      {
+         if ( selectedGroups.contains(findGroup(unitIndex)) )
+         {
+            selectedUnitCount++;
+         }
+         else
+         {
+            _units.get( unitIndex ).setRunOnBranch( false,
+                                                    true );
+         }
+      }
+
+      for ( TestData splitRoot : _splitRoots.keySet() )
+      {
+         childRuns = false;
+         for ( TestData child : splitRoot.getChildren() )
+         {
+            if ( child.getRun(true) )
+            {
+               childRuns = true;
+            }
+         }
+
+         if ( !childRuns )
+         {
+            splitRoot.setRun( false,
+                              true );
+         }
+      }
+
+      System.out.println( "Shard " + _index + "/" + _count + ":  running " + selectedUnitCount + " of " + _units.size() + " test groups (balanced by " + ((totalKnownCount==0L) ? "test count" : "run times from the shard history") + ")." );
+   }
+
+   final private void addUnit( TestData unit )
+   {
+      addToUnit( _units.size(),
+                 unit );
+
+      _units.add( unit );
+   }
+
+   final private void addToUnit( int      unitIndex,
+                                 TestData testData )
+   {
+      _unitIndices.put( testData, unitIndex );
+
+      for ( TestData child : testData.getChildren() )
+      {
+         addToUnit( unitIndex,
+                    child );
+      }
+   }
+
+   final private void joinPrerequisites( int      unitIndex,
+                                         TestData testData )
+   {
+      if ( testData.getRun(true) )
+      {
+         joinPrerequisites( unitIndex,
+                            testData.listFixedPrerequisites() );
+         joinPrerequisites( unitIndex,
+                            testData.listUnsatisfiedConditionalPrerequisites() );
+         joinPrerequisites( unitIndex,
+                            testData.listPreviouslySatisfiedConditionalPrerequisites() );
+      }
+
+      for ( TestData child : testData.getChildren() )
+      {
+         joinPrerequisites( unitIndex,
+                            child );
+      }
+   }
+
+   final private void joinPrerequisites( int      unitIndex,
+                                         TestData prerequisites[] )
+   {
+      for ( TestData prerequisite : prerequisites )
+      {
+         if ( prerequisite.getRun(true) )
+         {
+            if ( _unitIndices.containsKey(prerequisite) )
+            {
+               joinGroups( unitIndex,
+                           _unitIndices.get(prerequisite) );
+            }
+            else if ( _splitRoots.containsKey(prerequisite) )
+            {
+               for ( int otherUnitIndex : _splitRoots.get(prerequisite) )
+               {
+                  joinGroups( unitIndex,
+                              otherUnitIndex );
+               }
+            }
+         }
+      }
+   }
+
+   final private int findGroup( int unitIndex )
+   {
+      while ( _groups[unitIndex] != unitIndex )
+      {
+         _groups[ unitIndex ] = _groups[ _groups[unitIndex] ];
+         unitIndex = _groups[ unitIndex ];
+      }
+
+      return unitIndex;
+   }
+
+   final private void joinGroups( int unitIndex1,
+                                  int unitIndex2 )
+   {
+      int group1;
+      int group2;
+
+      group1 = findGroup( unitIndex1 );
+      group2 = findGroup( unitIndex2 );
+
+      if ( group1 < group2 )
+      {
+         _groups[ group2 ] = group1;
+      }
+      else if ( group2 < group1 )
+      {
+         _groups[ group1 ] = group2;
+      }
+   }
+
+   final private void addCosts( int                      unitIndex,
+                                TestData                 testData,
+                                java.util.List<TestData> previousRunTestData )
+   {
+      long elapsedTime;
+
+      if ( testData.getRun(true) )
+      {
+         elapsedTime = -1L;
+         for ( TestData previousRun : previousRunTestData )
+         {
+            elapsedTime = previousRun.getElapsedTime();
+            if ( elapsedTime >= 0L )
+            {
+               break;
+            }
+         }
+
+         if ( elapsedTime < 0L )
+         {
+            _unknownCounts[ unitIndex ]++;
+         }
+         else
+         {
+            _knownCosts[ unitIndex ] += elapsedTime + 1L;
+            _knownCounts[ unitIndex ]++;
+         }
+
+         for ( TestData child : testData.getChildren() )
+         {
+            addCosts( unitIndex,
+                      child,
+                      getMatchingChildren(previousRunTestData,
+                                          child) );
+         }
+      }
+   }
+
+   final static java.util.List<TestData> getMatchingChildren( java.util.List<TestData> previousRunTestData,
+                                                              TestData                 child )
+   {
+      java.util.List<TestData> matchingChildren;
+      TestData                 matchingChild;
+
+      matchingChildren = new java.util.ArrayList<TestData>();
+
+      for ( TestData previousRun : previousRunTestData )
+      {
+         matchingChild = previousRun.getMatchingChild( child );
+         if ( matchingChild != null )
+         {
+            matchingChildren.add( matchingChild );
+         }
+      }
+
+      return matchingChildren;
+   }
+}
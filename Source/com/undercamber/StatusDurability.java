@@ -0,0 +1,70 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+/**
+ * Indicates when second-pass test states are forced to disk.  <p>
+ *
+ * Test states are written to a memory-mapped status file shared by the Undercamber process and the test set processes.  Other processes see a
+ * state as soon as it is written, and the operating system keeps it if a test process crashes; forcing only protects against losing the file
+ * when the machine itself fails.
+ */
+public enum StatusDurability
+{
+   /**
+    * Never force the status file.  The operating system writes it when it chooses.
+    */
+   NONE        ( false, false ),
+   /**
+    * Force the status file about once a second while states are changing, and when each test set ends.
+    */
+   PERIODIC    ( true,  true  ),
+   /**
+    * Force the status file when each test set ends.
+    */
+   TEST_SET_END( false, true  );
+
+   private boolean _forcePeriodically;
+   private boolean _forceAtTestSetEnd;
+
+   StatusDurability( boolean forcePeriodically,
+                     boolean forceAtTestSetEnd )
+   {
+      _forcePeriodically = forcePeriodically;
+      _forceAtTestSetEnd = forceAtTestSetEnd;
+   }
+
+   final boolean forcePeriodically()
+   {
+      return _forcePeriodically;
+   }
+
+   final boolean forceAtTestSetEnd()
+   {
+      return _forceAtTestSetEnd;
+   }
+}
@@ -28,34 +28,220 @@ package com.undercamber;
 
 final class StatusFile
 {
-   final private static int RECORD_SIZE = Integer.BYTES;
+   final private static int  RECORD_SIZE    = Integer.BYTES;
+   final private static long FORCE_INTERVAL = 1000L;
 
-   private java.io.RandomAccessFile _randomAccessFile;
+   private java.io.RandomAccessFile                      _randomAccessFile;
+   private java.nio.channels.FileChannel                 _fileChannel;
+   private java.nio.MappedByteBuffer                     _mappedByteBuffer;
+   private StatusDurability                              _statusDurability;
+   private java.util.concurrent.atomic.AtomicBoolean     _dirty;
+   private java.util.concurrent.ScheduledExecutorService _forceScheduler;
+   private volatile int                                  _fence;
 
-   StatusFile( java.io.File resultsDirectory,
-               int          size )
+   StatusFile( java.io.File     resultsDirectory,
+               int              size,
+               StatusDurability statusDurability )
       throws java.io.IOException
    {
       java.io.File file;
 
-      file = new java.io.File( resultsDirectory, "UndercamberWorkingDirectory" );
-      file.mkdirs();
-      file = new java.io.File( file, "FinalStatus.dat" );
+      file = getFile( resultsDirectory );
+      file.getParentFile().mkdirs();
 
       initializeFile( file,
                       size );
 
-      _randomAccessFile = new java.io.RandomAccessFile( file, "rws" );
+      open( file,
+            statusDurability );
    }
 
-   StatusFile( java.io.File resultsDirectory )
+   StatusFile( java.io.File     resultsDirectory,
+               StatusDurability statusDurability )
       throws java.io.IOException
+   {
+      open( getFile(resultsDirectory),
+            statusDurability );
+   }
+
+   final private void open( java.io.File     file,
+                            StatusDurability statusDurability )
+      throws java.io.IOException
+   {
+      _randomAccessFile = new java.io.RandomAccessFile( file, "rw" );
+      _fileChannel = _randomAccessFile.getChannel();
+      _mappedByteBuffer = _fileChannel.map( java.nio.channels.FileChannel.MapMode.READ_WRITE,
+                                            0L,
+                                            _fileChannel.size() );
+      _statusDurability = statusDurability;
+      _dirty = new java.util.concurrent.atomic.AtomicBoolean( false );
+
+      if ( statusDurability.forcePeriodically() )
+      {
+         _forceScheduler = java.util.concurrent.Executors.newSingleThreadScheduledExecutor( runnable -> createForceThread(runnable) );
+         _forceScheduler.scheduleWithFixedDelay( () -> forceIfDirty(),
+                                                 FORCE_INTERVAL,
+                                                 FORCE_INTERVAL,
+                                                 java.util.concurrent.TimeUnit.MILLISECONDS );
+      }
+      else
+      {
+         _forceScheduler = null;
+      }
+   }
+
+   final private static Thread createForceThread( Runnable runnable )
+   {
+      Thread thread;
+
+      thread = new Thread( runnable,
+                           "Undercamber status file" );
+      thread.setDaemon( true );
+
+      return thread;
+   }
+
+   final private static java.io.File getFile( java.io.File resultsDirectory )
    {
       java.io.File file;
 
       file = new java.io.File( resultsDirectory, "UndercamberWorkingDirectory" );
       file = new java.io.File( file, "FinalStatus.dat" );
-      _randomAccessFile = new java.io.RandomAccessFile( file, "rws" );
+
+      return file;
+   }
+
+   final private static java.io.File getStructureFile( java.io.File resultsDirectory )
+   {
+      java.io.File file;
+
+      file = new java.io.File( resultsDirectory, "UndercamberWorkingDirectory" );
+      file = new java.io.File( file, "Structure.dat" );
+
+      return file;
+   }
+
+   final static void writeStructure( java.io.File resultsDirectory,
+                                     String       structureFingerprint )
+      throws java.io.IOException
+   {
+      java.io.File file;
+
+      file = getStructureFile( resultsDirectory );
+      file.getParentFile().mkdirs();
+
+      java.nio.file.Files.write( file.toPath(),
+                                 structureFingerprint.getBytes(java.nio.charset.StandardCharsets.UTF_8) );
+   }
+
+   final static boolean matches( java.io.File resultsDirectory,
+                                 int          size,
+                                 String       structureFingerprint )
+      throws java.io.IOException
+   {
+      java.io.File file;
+      java.io.File structureFile;
+
+      file = getFile( resultsDirectory );
+      structureFile = getStructureFile( resultsDirectory );
+
+      if ( !(file.isFile()) || (file.length()!=((long)size)*RECORD_SIZE) || !(structureFile.isFile()) )
+      {
+         return false;
+      }
+
+      return new String( java.nio.file.Files.readAllBytes(structureFile.toPath()),
+                         java.nio.charset.StandardCharsets.UTF_8 ).equals( structureFingerprint );
+   }
+
+   final static TestState[] read( java.io.File resultsDirectory,
+                                  int          size )
+      throws java.io.IOException
+   {
+      java.io.File file;
+      TestState    states[];
+      int          recordCount;
+      int          index;
+      int          ordinal;
+
+      states = new TestState[ size ];
+      java.util.Arrays.fill( states, TestState.NOT_RUN );
+
+      file = getFile( resultsDirectory );
+
+      if ( file.isFile() )
+      {
+         recordCount = (int)( Math.min(size,file.length()/RECORD_SIZE) );
+
+         try ( java.io.FileInputStream fileInputStream = new java.io.FileInputStream(file) )
+         {
+            try ( java.io.BufferedInputStream bufferedInputStream = new java.io.BufferedInputStream(fileInputStream,262144) )
+            {
+               try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(bufferedInputStream) )
+               {
+                  for ( index=0; index<recordCount; index++ )
+                  {
+                     ordinal = dataInputStream.readInt();
+                     if ( (ordinal>=0) && (ordinal<TestState.values().length) )
+                     {
+                        states[ index ] = TestState.values()[ ordinal ];
+                     }
+                  }
+               }
+            }
+         }
+      }
+
+      return states;
+   }
+
+   final static void merge( java.util.List<java.io.File> resultsDirectories,
+                            java.io.File                 resultsDirectory,
+                            int                          size,
+                            String                       structureFingerprint )
+      throws java.io.IOException
+   {
+      java.io.File file;
+      TestState    states[];
+      TestState    inputStates[];
+      int          index;
+
+      states = new TestState[ size ];
+      java.util.Arrays.fill( states, TestState.NOT_RUN );
+
+      for ( java.io.File inputResultsDirectory : resultsDirectories )
+      {
+         inputStates = read( inputResultsDirectory,
+                             size );
+
+         for ( index=0; index<size; index++ )
+         {
+            if ( inputStates[index].getMergePriority() > states[index].getMergePriority() )
+            {
+               states[ index ] = inputStates[ index ];
+            }
+         }
+      }
+
+      file = getFile( resultsDirectory );
+      file.getParentFile().mkdirs();
+
+      try ( java.io.FileOutputStream fileOutputStream = new java.io.FileOutputStream(file) )
+      {
+         try ( java.io.BufferedOutputStream bufferedOutputStream = new java.io.BufferedOutputStream(fileOutputStream,262144) )
+         {
+            try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(bufferedOutputStream) )
+            {
+               for ( TestState state : states )
+               {
+                  dataOutputStream.writeInt( state.ordinal() );
+               }
+            }
+         }
+      }
+
+      writeStructure( resultsDirectory,
+                      structureFingerprint );
    }
 
    final private void initializeFile( java.io.File file,
@@ -74,26 +260,107 @@ final class StatusFile
       }
    }
 
+   // MappedByteBuffer accesses are plain memory accesses, so a thread that
+   // reads a state another thread wrote is not guaranteed to see it.  Every
+   // method that writes records must call releaseFence() after its last put,
+   // as set() and setRange() do, and every method that reads records must
+   // call acquireFence() before its first get, as get() does.  The write to
+   // the volatile _fence then happens before the read of it, so a reader
+   // sees every put that came before the fence.  Other processes see the
+   // mapped pages through the operating system.
+
    final void set( int       sequenceIndex,
                    TestState state )
       throws java.io.IOException
    {
-      synchronized ( TestManager.MONITOR_HOLDER )
+      _mappedByteBuffer.putInt( getPosition(sequenceIndex),
+                                state.ordinal() );
+
+      releaseFence();
+
+      _dirty.set( true );
+   }
+
+   final void setRange( int       firstSequenceIndex,
+                        int       endSequenceIndex,
+                        TestState state )
+      throws java.io.IOException
+   {
+      int position;
+      int endPosition;
+
+      if ( endSequenceIndex > firstSequenceIndex )
       {
-         _randomAccessFile.seek( sequenceIndex * RECORD_SIZE );
+         position = getPosition( firstSequenceIndex );
+         endPosition = getPosition( endSequenceIndex-1 ) + RECORD_SIZE;
 
-         _randomAccessFile.writeInt( state.ordinal() );
+         for ( ; position<endPosition; position+=RECORD_SIZE )
+         {
+            _mappedByteBuffer.putInt( position,
+                                      state.ordinal() );
+         }
+
+         releaseFence();
+
+         _dirty.set( true );
       }
    }
 
    final TestState get( int sequenceIndex )
       throws java.io.IOException
    {
-      synchronized ( TestManager.MONITOR_HOLDER )
+      acquireFence();
+
+      return TestState.values()[ _mappedByteBuffer.getInt(getPosition(sequenceIndex)) ];
+   }
+
+   final private void releaseFence()
+   {
+      _fence = 0;
+   }
+
+   final private int acquireFence()
+   {
+      return _fence;
+   }
+
+   final private int getPosition( int sequenceIndex )
+      throws java.io.EOFException
+   {
+      if ( (sequenceIndex<0) || (((long)sequenceIndex+1)*RECORD_SIZE>_mappedByteBuffer.capacity()) )
       {
-         _randomAccessFile.seek( sequenceIndex * RECORD_SIZE );
+         throw new java.io.EOFException( "Status file ends before test " + sequenceIndex );
+      }
 
-         return TestState.values()[ _randomAccessFile.readInt() ];
+      return sequenceIndex * RECORD_SIZE;
+   }
+
+   final void checkpoint()
+   {
+      if ( _statusDurability.forceAtTestSetEnd() )
+      {
+         forceIfDirty();
       }
    }
+
+   final private void forceIfDirty()
+   {
+      if ( _dirty.getAndSet(false) )
+      {
+         _mappedByteBuffer.force();
+      }
+   }
+
+   final void close()
+      throws java.io.IOException
+   {
+      if ( _forceScheduler != null )
+      {
+         _forceScheduler.shutdownNow();
+      }
+
+      checkpoint();
+
+      _randomAccessFile.close();
+   }
 }
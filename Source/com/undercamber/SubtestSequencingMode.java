@@ -43,7 +43,14 @@ public enum SubtestSequencingMode
     * Run subtests sequentially. If a subtest fails, continue running the remaining subtests.  When <tt>SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR</tt> is specified, then Undercamber implicitly considers each
     * subtest a prerequisite to all following subtests.
     */
-   SEQUENTIAL_CONTINUE_ON_ERROR      ( false, true,  false, true  );
+   SEQUENTIAL_CONTINUE_ON_ERROR      ( false, true,  false, true  ),
+   /**
+    * Run subtests concurrently, except that a subtest does not start until the siblings containing its prerequisites
+    * (or the prerequisites of its own subtests) have finished.  Siblings with no prerequisites among each other run
+    * at the same time, so the subtests run as a dependency graph.  If a prerequisite fails, the dependent subtest is
+    * skipped, and the remaining subtests continue.
+    */
+   CONCURRENT_IN_PREREQUISITE_ORDER  ( false, false, false, true  );
 
    private boolean _isParallel;
    private boolean _isSequential;
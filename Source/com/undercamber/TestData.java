@@ -34,7 +34,7 @@ package com.undercamber;
 final public class TestData
    implements Comparable<TestData>
 {
-   final private static int    CLASS_PERSISTENCE_VERSION = 0;
+   final private static int    CLASS_PERSISTENCE_VERSION = 3;
    final private static String CLASS_PERSISTENCE_BRANCH  = "";
 
    private TestData                         _parent;
@@ -67,6 +67,9 @@ final public class TestData
    private java.util.List<Integer>          _satisfiedConditionalDependentIndices;
    private TestSet                          _testSet;
    private Tag                              _tags[];
+   private ResourceClaim                    _resourceClaims[];
+   private long                             _testTimeout;
+   private long                             _subtreeTimeout;
    private java.util.List<Requirement>      _requirements;
    private java.util.List<RequirementData>  _requirementsData;
    private java.util.List<RequirementData>  _referencedRequirementsData;
@@ -75,6 +78,7 @@ final public class TestData
    private long                             _cpuStartTime;
    private long                             _cpuStopTime;
    private DependencyWindow                 _dependencyWindow;
+   private boolean                          _resumedFailureInBranch;
    private ErrorWindow                      _errorWindow;
    private TestDetailsWindow                _testDetailsWindow;
    private RequirementsWindow               _requirementsWindow;
@@ -85,7 +89,7 @@ final public class TestData
    {
       _testManager = null;
       _parent = null;
-      _exceptions = new java.util.ArrayList<Throwable>();
+      _exceptions = new java.util.concurrent.CopyOnWriteArrayList<Throwable>();
       _listeners = new java.util.ArrayList<TestDataListener>();
       _requirements = new java.util.ArrayList<Requirement>();
       _requirementsData = new java.util.ArrayList<RequirementData>();
@@ -112,7 +116,11 @@ final public class TestData
       _satisfiedConditionalDependents = new java.util.HashSet<TestData>();
       _fixedDependents = new java.util.HashSet<TestData>();
       _dependencyWindow = null;
+      _resumedFailureInBranch = false;
       _tags = new Tag[ 0 ];
+      _resourceClaims = new ResourceClaim[ 0 ];
+      _testTimeout = 0L;
+      _subtreeTimeout = 0L;
       _startTime = -1L;
       _stopTime = -1L;
       _cpuStartTime = -1L;
@@ -125,7 +133,7 @@ final public class TestData
    {
       _testManager = testManager;
       _parent = parent;
-      _exceptions = new java.util.ArrayList<Throwable>();
+      _exceptions = new java.util.concurrent.CopyOnWriteArrayList<Throwable>();
       _listeners = new java.util.ArrayList<TestDataListener>();
       _requirements = new java.util.ArrayList<Requirement>();
       _requirementsData = new java.util.ArrayList<RequirementData>();
@@ -139,6 +147,9 @@ final public class TestData
       _resultsExpanded = true;
       _sequenceIndex = -1;
       _testSet = testSet;
+      _resourceClaims = new ResourceClaim[ 0 ];
+      _testTimeout = 0L;
+      _subtreeTimeout = 0L;
       _fixedDependents = new java.util.HashSet<TestData>();
       _unsatisfiedConditionalDependents = new java.util.HashSet<TestData>();
       _satisfiedConditionalDependents = new java.util.HashSet<TestData>();
@@ -146,6 +157,7 @@ final public class TestData
       _unsatisfiedConditionalPrerequisites = new java.util.HashSet<TestData>();
       _satisfiedConditionalPrerequisites = new java.util.HashSet<TestData>();
       _dependencyWindow = null;
+      _resumedFailureInBranch = false;
       _startTime = -1L;
       _stopTime = -1L;
       _cpuStartTime = -1L;
@@ -157,12 +169,10 @@ final public class TestData
              TestSet                 testSet )
       throws java.io.IOException
    {
-      int  arraySize;
-      byte serializedObject[];
-      int  elementCount;
-      int  index;
+      int classPersistenceVersion;
 
-      if ( dataInputStream.readInt() > CLASS_PERSISTENCE_VERSION )
+      classPersistenceVersion = dataInputStream.readInt();
+      if ( classPersistenceVersion > CLASS_PERSISTENCE_VERSION )
       {
          throw new java.io.IOException( "The database is from a newer version of Undercamber" );
       }
@@ -184,6 +194,50 @@ final public class TestData
       _requirements = new java.util.ArrayList<Requirement>();
       _requirementsData = new java.util.ArrayList<RequirementData>();
       _dependencyWindow = null;
+      _resumedFailureInBranch = false;
+
+      if ( classPersistenceVersion >= 3 )
+      {
+         read( new CompactInputStream(dataInputStream) );
+      }
+      else
+      {
+         read( dataInputStream,
+               classPersistenceVersion );
+      }
+   }
+
+   private TestData( TestData           parent,
+                     TestSet            testSet,
+                     CompactInputStream compactInputStream )
+      throws java.io.IOException
+   {
+      _parent = parent;
+      _testManager = null;
+      _testSet = testSet;
+      _fixedDependents = new java.util.HashSet<TestData>();
+      _listeners = new java.util.ArrayList<TestDataListener>();
+      _unsatisfiedConditionalDependents = new java.util.HashSet<TestData>();
+      _satisfiedConditionalDependents = new java.util.HashSet<TestData>();
+      _fixedPrerequisites = new java.util.HashSet<TestData>();
+      _unsatisfiedConditionalPrerequisites = new java.util.HashSet<TestData>();
+      _satisfiedConditionalPrerequisites = new java.util.HashSet<TestData>();
+      _requirements = new java.util.ArrayList<Requirement>();
+      _requirementsData = new java.util.ArrayList<RequirementData>();
+      _dependencyWindow = null;
+      _resumedFailureInBranch = false;
+
+      read( compactInputStream );
+   }
+
+   final private void read( java.io.DataInputStream dataInputStream,
+                            int                     classPersistenceVersion )
+      throws java.io.IOException
+   {
+      int  arraySize;
+      byte serializedObject[];
+      int  elementCount;
+      int  index;
 
       arraySize = dataInputStream.readInt();
       serializedObject = new byte[ arraySize ];
@@ -316,63 +370,168 @@ final public class TestData
          _tags = null;
       }
 
+      if ( classPersistenceVersion >= 1 )
+      {
+         _resourceClaims = new ResourceClaim[ dataInputStream.readInt() ];
+         for ( index=0; index<_resourceClaims.length; index++ )
+         {
+            _resourceClaims[ index ] = new ResourceClaim( dataInputStream );
+         }
+      }
+      else
+      {
+         _resourceClaims = new ResourceClaim[ 0 ];
+      }
+
+      if ( classPersistenceVersion >= 2 )
+      {
+         _testTimeout = dataInputStream.readLong();
+         _subtreeTimeout = dataInputStream.readLong();
+      }
+      else
+      {
+         _testTimeout = 0L;
+         _subtreeTimeout = 0L;
+      }
+
       _guiRunFlag = dataInputStream.readBoolean();
       _alternateRunFlag = dataInputStream.readBoolean();
       _sequenceIndex = dataInputStream.readInt();
       _selectionExpanded = dataInputStream.readBoolean();
       _resultsExpanded = dataInputStream.readBoolean();
 
-      _exceptions = new java.util.ArrayList<Throwable>();
+      _exceptions = new java.util.concurrent.CopyOnWriteArrayList<Throwable>();
+      readResults( dataInputStream );
+
       elementCount = dataInputStream.readInt();
       for ( index=0; index<elementCount; index++ )
       {
-         arraySize = dataInputStream.readInt();
-         serializedObject = new byte[ arraySize ];
-         dataInputStream.readFully( serializedObject );
-         try ( java.io.ByteArrayInputStream byteArrayInputStream = new java.io.ByteArrayInputStream(serializedObject) )
+         _requirementsData.add( new RequirementData(dataInputStream) );
+      }
+
+      _children = new java.util.ArrayList<TestData>();
+      elementCount = dataInputStream.readInt();
+      for ( index=0; index<elementCount; index++ )
+      {
+         _children.add( new TestData(dataInputStream,
+                                     this,
+                                     _testSet) );
+      }
+   }
+
+   final private void read( CompactInputStream compactInputStream )
+      throws java.io.IOException
+   {
+      int elementCount;
+      int index;
+
+      _callingStackTraceElement = compactInputStream.readStackTraceElement();
+
+      _arguments = compactInputStream.readText();
+
+      if ( compactInputStream.readBoolean() )
+      {
+         elementCount = compactInputStream.readVarInt();
+         _prerequisites = new java.util.ArrayList<Prerequisite>( elementCount );
+         for ( index=0; index<elementCount; index++ )
          {
-            try ( java.io.ObjectInputStream objectInputStream = new java.io.ObjectInputStream(byteArrayInputStream) )
-            {
-               try
-               {
-                  _exceptions.add( (Throwable)(objectInputStream.readObject()) );
-               }
-               catch ( ClassNotFoundException classNotFoundException )
-               {
-                  throw new java.io.IOException( "Could not read exception",
-                                                 classNotFoundException );
-               }
-            }
+            _prerequisites.add( new Prerequisite(compactInputStream) );
          }
       }
 
-      _startTime = dataInputStream.readLong();
-      _stopTime = dataInputStream.readLong();
-      _cpuStartTime = dataInputStream.readLong();
-      _cpuStopTime = dataInputStream.readLong();
+      _fixedPrerequisiteIndices = readIndices( compactInputStream );
+      _unsatisfiedConditionalPrerequisiteIndices = readIndices( compactInputStream );
+      _satisfiedConditionalPrerequisiteIndices = readIndices( compactInputStream );
+      _fixedDependentIndices = readIndices( compactInputStream );
+      _unsatisfiedConditionalDependentIndices = readIndices( compactInputStream );
+      _satisfiedConditionalDependentIndices = readIndices( compactInputStream );
 
-      elementCount = dataInputStream.readInt();
+      _subtestSequencingMode = compactInputStream.readEnum( SubtestSequencingMode.values() );
+      _subtestContinuationMode = compactInputStream.readEnum( SubtestContinuationMode.values() );
+      _testState = compactInputStream.readEnum( TestState.values() );
+
+      if ( compactInputStream.readBoolean() )
+      {
+         _tags = new Tag[ compactInputStream.readVarInt() ];
+         for ( index=0; index<_tags.length; index++ )
+         {
+            _tags[ index ] = new Tag( compactInputStream );
+         }
+      }
+      else
+      {
+         _tags = null;
+      }
+
+      _resourceClaims = new ResourceClaim[ compactInputStream.readVarInt() ];
+      for ( index=0; index<_resourceClaims.length; index++ )
+      {
+         _resourceClaims[ index ] = new ResourceClaim( compactInputStream );
+      }
+
+      _testTimeout = compactInputStream.readLong();
+      _subtreeTimeout = compactInputStream.readLong();
+
+      _guiRunFlag = compactInputStream.readBoolean();
+      _alternateRunFlag = compactInputStream.readBoolean();
+      _sequenceIndex = compactInputStream.readVarInt();
+      _selectionExpanded = compactInputStream.readBoolean();
+      _resultsExpanded = compactInputStream.readBoolean();
+
+      _exceptions = new java.util.concurrent.CopyOnWriteArrayList<Throwable>();
+      readResults( compactInputStream );
+
+      elementCount = compactInputStream.readVarInt();
       for ( index=0; index<elementCount; index++ )
       {
-         _requirementsData.add( new RequirementData(dataInputStream) );
+         _requirementsData.add( new RequirementData(compactInputStream) );
       }
 
       _children = new java.util.ArrayList<TestData>();
-      elementCount = dataInputStream.readInt();
+      elementCount = compactInputStream.readVarInt();
       for ( index=0; index<elementCount; index++ )
       {
-         _children.add( new TestData(dataInputStream,
-                                     this,
-                                     _testSet) );
+         _children.add( new TestData(this,
+                                     _testSet,
+                                     compactInputStream) );
+      }
+   }
+
+   final private static java.util.List<Integer> readIndices( CompactInputStream compactInputStream )
+      throws java.io.IOException
+   {
+      int                     elementCount;
+      java.util.List<Integer> indices;
+      int                     index;
+
+      elementCount = compactInputStream.readVarInt();
+
+      if ( elementCount == 0 )
+      {
+         return null;
+      }
+      else
+      {
+         indices = new java.util.ArrayList<Integer>( elementCount-1 );
+         for ( index=1; index<elementCount; index++ )
+         {
+            indices.add( compactInputStream.readVarInt() );
+         }
+
+         return indices;
       }
    }
 
+
    final void initialize( StackTraceElement       callingStackTraceElement,
                           SubtestSequencingMode   subtestSequencingMode,
                           SubtestContinuationMode subtestContinuationMode,
                           String                  arguments,
                           Prerequisite            prerequisites[],
                           Tag                     tags[],
+                          ResourceClaim           resourceClaims[],
+                          long                    testTimeout,
+                          long                    subtreeTimeout,
                           Requirement             requirements[] )
    {
       _testState = TestState.INITIALIZED;
@@ -388,6 +547,13 @@ final public class TestData
       _tags = new Tag[ tags.length ];
       System.arraycopy( tags, 0, _tags, 0, tags.length );
 
+      _resourceClaims = new ResourceClaim[ resourceClaims.length ];
+      System.arraycopy( resourceClaims, 0, _resourceClaims, 0, resourceClaims.length );
+
+      _testTimeout = testTimeout;
+
+      _subtreeTimeout = subtreeTimeout;
+
       _prerequisites = new java.util.ArrayList<>();
       if ( prerequisites != null )
       {
@@ -478,12 +644,77 @@ final public class TestData
       }
    }
 
+   final void detach( TestSet testSet )
+   {
+      _testManager = null;
+      _testSet = testSet;
+      _listeners = new java.util.ArrayList<TestDataListener>();
+      _requirements = new java.util.ArrayList<Requirement>();
+
+      for ( TestData child : _children )
+      {
+         child.detach( testSet );
+      }
+   }
+
    final void transferResultsFrom( TestData that )
    {
-      int      index;
-      TestData thatChild;
-      TestData thisChild;
+      copyResultsFrom( that );
+
+      if ( isUnbuiltSkippedBranch(that) )
+      {
+         for ( TestData child : _children )
+         {
+            child.transferStateToBranch( that._testState );
+         }
+      }
+      else
+      {
+         forEachMatchingChild( that,
+                               (thisChild,thatChild) -> thisChild.transferResultsFrom(thatChild) );
+      }
+   }
+
+   // The second pass does not build the subtests of a skipped test, so its
+   // results have no children there.  The descendants take the skipped
+   // state, as they do in the status file.  A test skipped after a sibling
+   // error is recorded alone, and its descendants stay NOT_RUN.
+
+   final private boolean isUnbuiltSkippedBranch( TestData that )
+   {
+      return that._testState.skipped() && !(that._testState.skippedBySiblingError()) && (that._children.size()==0) && (_children.size()>0);
+   }
+
+   final private void transferStateToBranch( TestState testState )
+   {
+      _testState = testState;
+      _exceptions.clear();
+      _startTime = -1L;
+      _stopTime = -1L;
+      _cpuStartTime = -1L;
+      _cpuStopTime = -1L;
+
+      for ( TestData child : _children )
+      {
+         child.transferStateToBranch( testState );
+      }
+   }
+
+   final private void mergeStateToBranch( TestState testState )
+   {
+      if ( testState.getMergePriority() > _testState.getMergePriority() )
+      {
+         _testState = testState;
+      }
+
+      for ( TestData child : _children )
+      {
+         child.mergeStateToBranch( testState );
+      }
+   }
 
+   final private void copyResultsFrom( TestData that )
+   {
       _testState = that._testState;
       _exceptions.clear();
       _exceptions.addAll( that._exceptions );
@@ -492,13 +723,33 @@ final public class TestData
       _cpuStartTime = that._cpuStartTime;
       _cpuStopTime = that._cpuStopTime;
 
+      for ( RequirementData thatRequirementData : that._requirementsData )
+      {
+         for ( RequirementData requirementData : _requirementsData )
+         {
+            if ( java.util.Objects.equals(requirementData.getRequirementID(),thatRequirementData.getRequirementID()) )
+            {
+               requirementData.transferResultsFrom( thatRequirementData );
+            }
+         }
+      }
+   }
+
+   final private void forEachMatchingChild( TestData                                         that,
+                                            java.util.function.BiConsumer<TestData,TestData> action )
+   {
+      int      index;
+      TestData thatChild;
+      TestData thisChild;
+
       if ( that.getChildCount() == getChildCount() )
       {
          for ( index=0; index<that._children.size(); index++ )
          {
             thatChild = that._children.get( index );
             thisChild = _children.get( index );
-            thisChild.transferResultsFrom( thatChild );
+            action.accept( thisChild,
+                           thatChild );
          }
       }
       else
@@ -510,7 +761,73 @@ final public class TestData
                                   thatChild._arguments );
             if ( thisChild != null )
             {
-               thisChild.transferResultsFrom( thatChild );
+               action.accept( thisChild,
+                              thatChild );
+            }
+         }
+      }
+   }
+
+   final long getElapsedTime()
+   {
+      if ( (_startTime<0L) || (_stopTime<_startTime) )
+      {
+         return -1L;
+      }
+
+      return _stopTime - _startTime;
+   }
+
+   final void mergeResultsFrom( TestData that )
+   {
+      java.util.List<Throwable> exceptions;
+
+      if ( that._testState.getMergePriority() > _testState.getMergePriority() )
+      {
+         exceptions = new java.util.ArrayList<Throwable>( _exceptions );
+         copyResultsFrom( that );
+         addMessagesFrom( exceptions );
+      }
+      else
+      {
+         addMessagesFrom( that._exceptions );
+      }
+
+      if ( isUnbuiltSkippedBranch(that) )
+      {
+         for ( TestData child : _children )
+         {
+            child.mergeStateToBranch( that._testState );
+         }
+      }
+      else
+      {
+         forEachMatchingChild( that,
+                               (thisChild,thatChild) -> thisChild.mergeResultsFrom(thatChild) );
+      }
+   }
+
+   final private void addMessagesFrom( java.util.List<Throwable> exceptions )
+   {
+      boolean found;
+
+      for ( Throwable exception : exceptions )
+      {
+         if ( exception instanceof Message )
+         {
+            found = false;
+            for ( Throwable existingException : _exceptions )
+            {
+               if ( (existingException instanceof Message) && java.util.Arrays.equals(((Message)existingException).getLines(),((Message)exception).getLines()) )
+               {
+                  found = true;
+                  break;
+               }
+            }
+
+            if ( !found )
+            {
+               _exceptions.add( exception );
             }
          }
       }
@@ -521,10 +838,79 @@ final public class TestData
                              long cpuStartTime,
                              long cpuStopTime )
    {
+      ProgressChannel progressChannel;
+
       _startTime = startTime;
       _stopTime = stopTime;
       _cpuStartTime = cpuStartTime;
       _cpuStopTime = cpuStopTime;
+
+      progressChannel = getProgressChannel();
+      if ( progressChannel != null )
+      {
+         progressChannel.timingRecorded( _sequenceIndex,
+                                         startTime,
+                                         stopTime,
+                                         cpuStartTime,
+                                         cpuStopTime );
+      }
+   }
+
+   final void clearResults()
+   {
+      _testState = TestState.UNINITIALIZED;
+      _exceptions.clear();
+      _startTime = -1L;
+      _stopTime = -1L;
+      _cpuStartTime = -1L;
+      _cpuStopTime = -1L;
+   }
+
+   final void receiveState( TestState testState )
+   {
+      _testState = testState;
+   }
+
+   final void receiveException( Throwable throwable )
+   {
+      _exceptions.add( throwable );
+   }
+
+   final private ProgressChannel getProgressChannel()
+   {
+      if ( _testSet == null )
+      {
+         return null;
+      }
+
+      return _testSet.getProgressChannel();
+   }
+
+   final void publishState()
+   {
+      ProgressChannel progressChannel;
+
+      progressChannel = getProgressChannel();
+      if ( progressChannel != null )
+      {
+         progressChannel.stateChanged( _sequenceIndex,
+                                       _testState );
+      }
+   }
+
+   final private void publishExceptions( java.util.List<Throwable> throwables )
+   {
+      ProgressChannel progressChannel;
+
+      progressChannel = getProgressChannel();
+      if ( progressChannel != null )
+      {
+         for ( Throwable throwable : throwables )
+         {
+            progressChannel.exceptionAdded( _sequenceIndex,
+                                            throwable );
+         }
+      }
    }
 
    /**
@@ -673,6 +1059,27 @@ final public class TestData
       return _children.get( index );
    }
 
+   final TestData getMatchingChild( TestData that )
+   {
+      if ( that._parent.getChildCount() == getChildCount() )
+      {
+         return _children.get( that.getSiblingIndex() );
+      }
+
+      for ( TestData child : _children )
+      {
+         if ( (child._callingStackTraceElement!=null) && child._callingStackTraceElement.equals(that._callingStackTraceElement) )
+         {
+            if ( (child._arguments==null) ? (that._arguments==null) : child._arguments.equals(that._arguments) )
+            {
+               return child;
+            }
+         }
+      }
+
+      return null;
+   }
+
    final void appendToSequence( SequenceList sequenceList )
    {
       _sequenceIndex = sequenceList.size();
@@ -685,6 +1092,19 @@ final public class TestData
       }
    }
 
+   final int getSequenceEnd()
+   {
+      TestData lastDescendant;
+
+      lastDescendant = this;
+      while ( lastDescendant._children.size() > 0 )
+      {
+         lastDescendant = lastDescendant._children.get( lastDescendant._children.size()-1 );
+      }
+
+      return lastDescendant._sequenceIndex + 1;
+   }
+
    /**
     * Get the test ID.  <br>
     * <br>
@@ -754,7 +1174,8 @@ final public class TestData
       }
    }
 
-   final void initializePrerequisites( boolean useAlternateRunFlag )
+   final void initializePrerequisites( boolean useAlternateRunFlag,
+                                       boolean orderConcurrentPrerequisites )
       throws UserError
    {
       TestData closestCommonAncestor;
@@ -767,7 +1188,7 @@ final public class TestData
 
          if ( closestCommonAncestor != null )
          {
-            if ( closestCommonAncestor._subtestSequencingMode.isParallel() )
+            if ( closestCommonAncestor._subtestSequencingMode.isParallel() && !orderConcurrentPrerequisites )
             {
                throw new UserError( "Error:  Race condition:  " + getHeading() + " and its prerequisite (" + prerequisite.getHeading() + ") run concurrently.  The closest common ancestor ("  + closestCommonAncestor.getHeading() + ") runs its children concurrently" );
             }
@@ -782,7 +1203,7 @@ final public class TestData
 
          if ( closestCommonAncestor != null )
          {
-            if ( closestCommonAncestor._subtestSequencingMode.isParallel() )
+            if ( closestCommonAncestor._subtestSequencingMode.isParallel() && !orderConcurrentPrerequisites )
             {
                throw new UserError( "Error:  Race condition:  " + getHeading() + " and its unsatisfied conditional prerequisite (" + prerequisite.getHeading() + ") run concurrently.  The closest common ancestor ("  + closestCommonAncestor.getHeading() + ") runs its children concurrently" );
             }
@@ -797,7 +1218,7 @@ final public class TestData
 
          if ( closestCommonAncestor != null )
          {
-            if ( closestCommonAncestor._subtestSequencingMode.isParallel() )
+            if ( closestCommonAncestor._subtestSequencingMode.isParallel() && !orderConcurrentPrerequisites )
             {
                throw new UserError( "Error:  Race condition:  " + getHeading() + " and its unsatisfied conditional prerequisite (" + prerequisite.getHeading() + ") run concurrently.  The closest common ancestor ("  + closestCommonAncestor.getHeading() + ") runs its children concurrently" );
             }
@@ -812,7 +1233,7 @@ final public class TestData
 
          if ( closestCommonAncestor != null )
          {
-            if ( closestCommonAncestor._subtestSequencingMode.isParallel() )
+            if ( closestCommonAncestor._subtestSequencingMode.isParallel() && !orderConcurrentPrerequisites )
             {
                throw new UserError( "Error:  Race condition:  " + getHeading() + " and its prerequisite (" + prerequisite.getHeading() + ") run concurrently.  The closest common ancestor ("  + closestCommonAncestor.getHeading() + ") runs its children concurrently" );
             }
@@ -827,7 +1248,7 @@ final public class TestData
 
          if ( closestCommonAncestor != null )
          {
-            if ( closestCommonAncestor._subtestSequencingMode.isParallel() )
+            if ( closestCommonAncestor._subtestSequencingMode.isParallel() && !orderConcurrentPrerequisites )
             {
                throw new UserError( "Error:  Race condition:  " + getHeading() + " and its unsatisfied conditional prerequisite (" + prerequisite.getHeading() + ") run concurrently.  The closest common ancestor ("  + closestCommonAncestor.getHeading() + ") runs its children concurrently" );
             }
@@ -842,7 +1263,7 @@ final public class TestData
 
          if ( closestCommonAncestor != null )
          {
-            if ( closestCommonAncestor._subtestSequencingMode.isParallel() )
+            if ( closestCommonAncestor._subtestSequencingMode.isParallel() && !orderConcurrentPrerequisites )
             {
                throw new UserError( "Error:  Race condition:  " + getHeading() + " and its unsatisfied conditional prerequisite (" + prerequisite.getHeading() + ") run concurrently.  The closest common ancestor ("  + closestCommonAncestor.getHeading() + ") runs its children concurrently" );
             }
@@ -855,7 +1276,7 @@ final public class TestData
 
          if ( closestCommonAncestor != null )
          {
-            if ( closestCommonAncestor._subtestSequencingMode.isParallel() )
+            if ( closestCommonAncestor._subtestSequencingMode.isParallel() && !orderConcurrentPrerequisites )
             {
                throw new UserError( "Error:  Race condition:  " + getHeading() + " and its satisfied conditional prerequisite (" + prerequisite.getHeading() + ") run concurrently.  The closest common ancestor ("  + closestCommonAncestor.getHeading() + ") runs its children concurrently" );
             }
@@ -869,7 +1290,8 @@ final public class TestData
 
       for ( TestData child : _children )
       {
-         child.initializePrerequisites( useAlternateRunFlag );
+         child.initializePrerequisites( useAlternateRunFlag,
+                                        orderConcurrentPrerequisites );
       }
    }
 
@@ -1049,6 +1471,38 @@ final public class TestData
       return _fixedDependents.size() + _unsatisfiedConditionalDependents.size() + _satisfiedConditionalDependents.size();
    }
 
+   final void addPrerequisiteTestSetsOnBranch( boolean                useAlternateRunFlag,
+                                               java.util.Set<TestSet> prerequisiteTestSets )
+   {
+      if ( getRun(useAlternateRunFlag) )
+      {
+         addPrerequisiteTestSets( _fixedPrerequisites,
+                                  prerequisiteTestSets );
+         addPrerequisiteTestSets( _unsatisfiedConditionalPrerequisites,
+                                  prerequisiteTestSets );
+         addPrerequisiteTestSets( _satisfiedConditionalPrerequisites,
+                                  prerequisiteTestSets );
+      }
+
+      for ( TestData child : _children )
+      {
+         child.addPrerequisiteTestSetsOnBranch( useAlternateRunFlag,
+                                                prerequisiteTestSets );
+      }
+   }
+
+   final private void addPrerequisiteTestSets( java.util.Set<TestData> prerequisites,
+                                               java.util.Set<TestSet>  prerequisiteTestSets )
+   {
+      for ( TestData prerequisite : prerequisites )
+      {
+         if ( prerequisite._testSet != _testSet )
+         {
+            prerequisiteTestSets.add( prerequisite._testSet );
+         }
+      }
+   }
+
    final boolean prerequisitesSucceeded()
    {
       if ( _fixedPrerequisiteIndices==null && _unsatisfiedConditionalPrerequisiteIndices==null )
@@ -1362,68 +1816,267 @@ final public class TestData
       return _testDetailsWindow;
    }
 
-   final RequirementsWindow getRequirementsWindow( boolean             results,
-                                                   javafx.stage.Window ownerWindow )
+   final RequirementsWindow getRequirementsWindow( boolean             results,
+                                                   javafx.stage.Window ownerWindow )
+   {
+      java.util.List<RequirementData> sortedRequirements;
+
+      if ( results )
+      {
+         if ( _requirementsResultsWindow == null )
+         {
+            sortedRequirements = new java.util.ArrayList<RequirementData>();
+            sortedRequirements.addAll( _requirementsData );
+            java.util.Collections.sort( sortedRequirements );
+            _requirementsResultsWindow = new RequirementsWindow( "Requirements verified by " + getHeading(),
+                                                                 true,
+                                                                 sortedRequirements,
+                                                                 ownerWindow );
+         }
+         return _requirementsResultsWindow;
+      }
+      else
+      {
+         if ( _requirementsWindow == null )
+         {
+            sortedRequirements = new java.util.ArrayList<RequirementData>();
+            sortedRequirements.addAll( _requirementsData );
+            java.util.Collections.sort( sortedRequirements );
+            _requirementsWindow = new RequirementsWindow( "Requirements verified by " + getHeading(),
+                                                          false,
+                                                          sortedRequirements,
+                                                          ownerWindow );
+         }
+         return _requirementsWindow;
+      }
+   }
+
+   final void setState( TestState testState )
+   {
+      _testState = testState;
+
+      publishState();
+
+      notifyListeners();
+   }
+
+   final void setStateOnBranch( TestState testState )
+   {
+      _testState = testState;
+
+      publishState();
+
+      notifyListeners();
+
+      for ( TestData child : _children )
+      {
+         child.setStateOnBranch( testState );
+      }
+   }
+
+   final void recordStateOnBranch( TestState state )
+   {
+      recordState( state );
+
+      for ( TestData child : _children )
+      {
+         child.recordStateOnBranch( state );
+      }
+   }
+
+   final void recordBranchState( TestState state,
+                                 int       sequenceEnd )
+   {
+      ProgressChannel progressChannel;
+
+      _testState = state;
+
+      progressChannel = getProgressChannel();
+      if ( progressChannel != null )
+      {
+         progressChannel.branchStateChanged( _sequenceIndex,
+                                             sequenceEnd,
+                                             state );
+      }
+
+      try
+      {
+         _testSet.getStatusFile().setRange( _sequenceIndex,
+                                            sequenceEnd,
+                                            state );
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+      }
+
+      notifyListeners();
+   }
+
+   final void recordTerminatedBranch( TestState unrecordedState,
+                                      boolean   useAlternateRunFlag )
+      throws java.io.IOException
+   {
+      recordTerminatedStates( unrecordedState,
+                              useAlternateRunFlag );
+
+      notifyListeners();
+   }
+
+   final private void recordTerminatedStates( TestState unrecordedState,
+                                              boolean   useAlternateRunFlag )
+      throws java.io.IOException
+   {
+      TestState recordedState;
+
+      recordedState = _testSet.getStatusFile().get( _sequenceIndex );
+
+      if ( recordedState.complete() || recordedState.skipped() )
+      {
+         _testState = recordedState;
+      }
+      else if ( getRun(useAlternateRunFlag) )
+      {
+         _testState = unrecordedState;
+      }
+      else
+      {
+         _testState = TestState.SKIPPED_BY_USER;
+      }
+
+      recordState();
+
+      for ( TestData child : _children )
+      {
+         child.recordTerminatedStates( TestState.SKIPPED_DUE_TO_PARENT_ERROR,
+                                       useAlternateRunFlag );
+      }
+   }
+
+   final void recordSkippedBranch( TestState skippedState,
+                                   boolean   useAlternateRunFlag )
+   {
+      recordSkippedStates( skippedState,
+                           useAlternateRunFlag );
+
+      notifyListeners();
+   }
+
+   final private void recordSkippedStates( TestState skippedState,
+                                           boolean   useAlternateRunFlag )
+   {
+      if ( getRun(useAlternateRunFlag) )
+      {
+         _testState = skippedState;
+      }
+      else
+      {
+         _testState = TestState.SKIPPED_BY_USER;
+      }
+
+      recordState();
+
+      for ( TestData child : _children )
+      {
+         child.recordSkippedStates( skippedState,
+                                    useAlternateRunFlag );
+      }
+   }
+
+   final void recordCrashedTests( Throwable                crashException,
+                                  java.util.List<TestData> crashedTests )
+      throws java.io.IOException
+   {
+      TestState recordedState;
+
+      recordedState = _testSet.getStatusFile().get( _sequenceIndex );
+
+      if ( recordedState == TestState.RUNNING_SUBTESTS )
+      {
+         _testSet.getStatusFile().set( _sequenceIndex,
+                                       TestState.NOT_RUN );
+
+         for ( TestData child : _children )
+         {
+            child.recordCrashedTests( crashException,
+                                      crashedTests );
+         }
+      }
+      else if ( recordedState.ran() && !(recordedState.complete()) )
+      {
+         clearResults();
+         receiveState( TestState.CRASHED );
+         receiveException( crashException );
+
+         recordState();
+
+         for ( TestData child : _children )
+         {
+            child.recordSkippedStates( TestState.SKIPPED_DUE_TO_PARENT_ERROR,
+                                       true );
+         }
+
+         notifyListeners();
+
+         crashedTests.add( this );
+      }
+   }
+
+   final void listResumableBranches( TestState                     previousStates[],
+                                     java.util.Map<Integer,byte[]> previousResults,
+                                     java.util.List<TestData>      branches )
    {
-      java.util.List<RequirementData> sortedRequirements;
-
-      if ( results )
+      if ( getRun(true) && previousStates[_sequenceIndex].ran() && previousStates[_sequenceIndex].complete() && previousResults.containsKey(_sequenceIndex) )
       {
-         if ( _requirementsResultsWindow == null )
-         {
-            sortedRequirements = new java.util.ArrayList<RequirementData>();
-            sortedRequirements.addAll( _requirementsData );
-            java.util.Collections.sort( sortedRequirements );
-            _requirementsResultsWindow = new RequirementsWindow( "Requirements verified by " + getHeading(),
-                                                                 true,
-                                                                 sortedRequirements,
-                                                                 ownerWindow );
-         }
-         return _requirementsResultsWindow;
+         branches.add( this );
       }
       else
       {
-         if ( _requirementsWindow == null )
+         for ( TestData child : _children )
          {
-            sortedRequirements = new java.util.ArrayList<RequirementData>();
-            sortedRequirements.addAll( _requirementsData );
-            java.util.Collections.sort( sortedRequirements );
-            _requirementsWindow = new RequirementsWindow( "Requirements verified by " + getHeading(),
-                                                          false,
-                                                          sortedRequirements,
-                                                          ownerWindow );
+            child.listResumableBranches( previousStates,
+                                         previousResults,
+                                         branches );
          }
-         return _requirementsWindow;
       }
    }
 
-   final void setState( TestState testState )
+   final void resume( TestState state,
+                      byte      resultsRecord[],
+                      boolean   failureInBranch )
+      throws java.io.IOException
    {
-      _testState = testState;
+      if ( resultsRecord == null )
+      {
+         _testState = state;
+      }
+      else
+      {
+         restoreResults( resultsRecord );
+      }
+
+      _resumedFailureInBranch = failureInBranch;
 
       notifyListeners();
    }
 
-   final void setStateOnBranch( TestState testState )
+   final boolean hasRecordedFailureInBranch()
+      throws java.io.IOException
    {
-      _testState = testState;
-
-      notifyListeners();
-
-      for ( TestData child : _children )
+      if ( _testSet.getStatusFile().get(_sequenceIndex).failed() )
       {
-         child.setStateOnBranch( testState );
+         return true;
       }
-   }
-
-   final void recordStateOnBranch( TestState state )
-   {
-      recordState( state );
 
       for ( TestData child : _children )
       {
-         child.recordStateOnBranch( state );
+         if ( child.hasRecordedFailureInBranch() )
+         {
+            return true;
+         }
       }
+
+      return false;
    }
 
    final void recordState()
@@ -1443,6 +2096,8 @@ final public class TestData
    {
       _testState = testState;
 
+      publishState();
+
       recordState();
    }
 
@@ -1450,6 +2105,8 @@ final public class TestData
    {
       _exceptions.add( throwable );
 
+      publishExceptions( java.util.Collections.singletonList(throwable) );
+
       notifyListeners();
    }
 
@@ -1457,21 +2114,132 @@ final public class TestData
    {
       _exceptions.addAll( throwables );
 
+      publishExceptions( throwables );
+
       notifyListeners();
    }
 
    final void addExceptions( Throwable... throwables )
    {
-      for ( Throwable throwable : throwables )
+      _exceptions.addAll( java.util.Arrays.asList(throwables) );
+
+      publishExceptions( java.util.Arrays.asList(throwables) );
+
+      notifyListeners();
+   }
+
+   final boolean isIsolatedBranch()
+   {
+      if ( (_fixedPrerequisiteIndices!=null) && (_fixedPrerequisiteIndices.size()>0) )
+      {
+         return false;
+      }
+
+      if ( (_unsatisfiedConditionalPrerequisiteIndices!=null) && (_unsatisfiedConditionalPrerequisiteIndices.size()>0) )
+      {
+         return false;
+      }
+
+      if ( (_satisfiedConditionalPrerequisiteIndices!=null) && (_satisfiedConditionalPrerequisiteIndices.size()>0) )
+      {
+         return false;
+      }
+
+      if ( (_fixedDependentIndices!=null) && (_fixedDependentIndices.size()>0) )
+      {
+         return false;
+      }
+
+      if ( (_unsatisfiedConditionalDependentIndices!=null) && (_unsatisfiedConditionalDependentIndices.size()>0) )
+      {
+         return false;
+      }
+
+      if ( (_satisfiedConditionalDependentIndices!=null) && (_satisfiedConditionalDependentIndices.size()>0) )
+      {
+         return false;
+      }
+
+      if ( _resourceClaims.length > 0 )
+      {
+         return false;
+      }
+
+      for ( TestData child : _children )
+      {
+         if ( !(child.isIsolatedBranch()) )
+         {
+            return false;
+         }
+      }
+
+      return true;
+   }
+
+   final void discardResultsOnBranch( TestState testState )
+   {
+      ProgressChannel progressChannel;
+
+      clearResults();
+
+      progressChannel = getProgressChannel();
+      if ( progressChannel != null )
       {
-         _exceptions.add( throwable );
+         progressChannel.resultsDiscarded( _sequenceIndex );
       }
 
+      recordState( testState );
+
       notifyListeners();
+
+      for ( TestData child : _children )
+      {
+         child.discardResultsOnBranch( TestState.NOT_RUN );
+      }
+   }
+
+   final void mapBranchToSibling( int                            siblingIndex,
+                                  java.util.Map<Integer,Integer> siblingIndices )
+   {
+      siblingIndices.put( _sequenceIndex, siblingIndex );
+
+      for ( TestData child : _children )
+      {
+         child.mapBranchToSibling( siblingIndex,
+                                   siblingIndices );
+      }
+   }
+
+   final void addPrerequisiteIndicesOnBranch( java.util.Set<Integer> prerequisiteIndices )
+   {
+      if ( _fixedPrerequisiteIndices != null )
+      {
+         prerequisiteIndices.addAll( _fixedPrerequisiteIndices );
+      }
+
+      if ( _unsatisfiedConditionalPrerequisiteIndices != null )
+      {
+         prerequisiteIndices.addAll( _unsatisfiedConditionalPrerequisiteIndices );
+      }
+
+      if ( _satisfiedConditionalPrerequisiteIndices != null )
+      {
+         prerequisiteIndices.addAll( _satisfiedConditionalPrerequisiteIndices );
+      }
+
+      for ( TestData child : _children )
+      {
+         child.addPrerequisiteIndicesOnBranch( prerequisiteIndices );
+      }
    }
 
    final boolean hasExceptionInBranch()
    {
+      if ( _resumedFailureInBranch )
+      {
+         return true;
+      }
+
       for ( Throwable exception : _exceptions )
       {
          if ( !(exception instanceof Message) )
@@ -1557,7 +2325,11 @@ final public class TestData
    }
 
    /**
-    * Get the exceptions captured for this test.
+    * Get the exceptions captured for this test.  <p>
+    *
+    * Exceptions read from a test data file are not instances of their original classes.  Each one keeps its message, stack
+    * trace, cause, and suppressed exceptions, and its toString() starts with the original class name.  Stack trace elements
+    * keep their class, method, file name, and line number only.
     *
     * @return The exceptions
     */
@@ -1846,6 +2618,21 @@ final public class TestData
       return found;
    }
 
+   final ResourceClaim[] getResourceClaims()
+   {
+      return _resourceClaims;
+   }
+
+   final long getTestTimeout()
+   {
+      return _testTimeout;
+   }
+
+   final long getSubtreeTimeout()
+   {
+      return _subtreeTimeout;
+   }
+
    final Tag[] listLocalTags()
    {
       Tag tags[];
@@ -2472,160 +3259,217 @@ final public class TestData
    final void write( java.io.DataOutputStream dataOutputStream )
       throws java.io.IOException
    {
-      byte serializedObject[];
+      CompactOutputStream compactOutputStream;
 
       dataOutputStream.writeInt( CLASS_PERSISTENCE_VERSION );
       dataOutputStream.writeUTF( CLASS_PERSISTENCE_BRANCH );
 
-      try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
-      {
-         try ( java.io.ObjectOutputStream objectOutputStream = new java.io.ObjectOutputStream( byteArrayOutputStream ) )
-         {
-            objectOutputStream.writeObject( _callingStackTraceElement );
-         }
+      compactOutputStream = new CompactOutputStream( dataOutputStream );
 
-         serializedObject = byteArrayOutputStream.toByteArray();
-         dataOutputStream.writeInt( serializedObject.length );
-         dataOutputStream.write( serializedObject );
-      }
+      write( compactOutputStream );
 
-      dataOutputStream.writeBoolean( _arguments != null );
-      if ( _arguments != null )
-      {
-         dataOutputStream.writeUTF( _arguments );
-      }
+      compactOutputStream.flush();
+   }
+
+   final private void write( CompactOutputStream compactOutputStream )
+      throws java.io.IOException
+   {
+      compactOutputStream.writeStackTraceElement( _callingStackTraceElement );
 
-      dataOutputStream.writeBoolean( _prerequisites != null );
+      compactOutputStream.writeText( _arguments );
+
+      compactOutputStream.writeBoolean( _prerequisites != null );
       if ( _prerequisites != null )
       {
-         dataOutputStream.writeInt( _prerequisites.size() );
+         compactOutputStream.writeVarInt( _prerequisites.size() );
          for ( Prerequisite prerequisite : _prerequisites )
          {
-            prerequisite.write( dataOutputStream );
+            prerequisite.write( compactOutputStream );
          }
       }
 
-      dataOutputStream.writeBoolean( _fixedPrerequisiteIndices != null );
-      if ( _fixedPrerequisiteIndices != null )
+      writeIndices( compactOutputStream,
+                    _fixedPrerequisiteIndices );
+      writeIndices( compactOutputStream,
+                    _unsatisfiedConditionalPrerequisiteIndices );
+      writeIndices( compactOutputStream,
+                    _satisfiedConditionalPrerequisiteIndices );
+      writeIndices( compactOutputStream,
+                    _fixedDependentIndices );
+      writeIndices( compactOutputStream,
+                    _unsatisfiedConditionalDependentIndices );
+      writeIndices( compactOutputStream,
+                    _satisfiedConditionalDependentIndices );
+
+      compactOutputStream.writeEnum( _subtestSequencingMode );
+      compactOutputStream.writeEnum( _subtestContinuationMode );
+      compactOutputStream.writeEnum( _testState );
+
+      compactOutputStream.writeBoolean( _tags != null );
+      if ( _tags != null )
       {
-         dataOutputStream.writeInt( _fixedPrerequisiteIndices.size() );
-         for ( int prerequisiteIndex : _fixedPrerequisiteIndices )
+         compactOutputStream.writeVarInt( _tags.length );
+         for ( Tag tag : _tags )
          {
-            dataOutputStream.writeInt( prerequisiteIndex );
+            tag.write( compactOutputStream );
          }
       }
 
-      dataOutputStream.writeBoolean( _unsatisfiedConditionalPrerequisiteIndices != null );
-      if ( _unsatisfiedConditionalPrerequisiteIndices != null )
+      compactOutputStream.writeVarInt( _resourceClaims.length );
+      for ( ResourceClaim resourceClaim : _resourceClaims )
       {
-         dataOutputStream.writeInt( _unsatisfiedConditionalPrerequisiteIndices.size() );
-         for ( int prerequisiteIndex : _unsatisfiedConditionalPrerequisiteIndices )
-         {
-            dataOutputStream.writeInt( prerequisiteIndex );
-         }
+         resourceClaim.write( compactOutputStream );
       }
 
-      dataOutputStream.writeBoolean( _satisfiedConditionalPrerequisiteIndices != null );
-      if ( _satisfiedConditionalPrerequisiteIndices != null )
+      compactOutputStream.writeLong( _testTimeout );
+      compactOutputStream.writeLong( _subtreeTimeout );
+
+      compactOutputStream.writeBoolean( _guiRunFlag );
+      compactOutputStream.writeBoolean( _alternateRunFlag );
+      compactOutputStream.writeVarInt( _sequenceIndex );
+      compactOutputStream.writeBoolean( _selectionExpanded );
+      compactOutputStream.writeBoolean( _resultsExpanded );
+
+      writeResults( compactOutputStream );
+
+      compactOutputStream.writeVarInt( _requirementsData.size() );
+      for ( RequirementData requirementData : _requirementsData )
       {
-         dataOutputStream.writeInt( _satisfiedConditionalPrerequisiteIndices.size() );
-         for ( int prerequisiteIndex : _satisfiedConditionalPrerequisiteIndices )
-         {
-            dataOutputStream.writeInt( prerequisiteIndex );
-         }
+         requirementData.write( compactOutputStream );
       }
 
-      dataOutputStream.writeBoolean( _fixedDependentIndices != null );
-      if ( _fixedDependentIndices != null )
+      compactOutputStream.writeVarInt( _children.size() );
+      for ( TestData child : _children )
       {
-         dataOutputStream.writeInt( _fixedDependentIndices.size() );
-         for ( int prerequisiteIndex : _fixedDependentIndices )
-         {
-            dataOutputStream.writeInt( prerequisiteIndex );
-         }
+         child.write( compactOutputStream );
       }
+   }
 
-      dataOutputStream.writeBoolean( _unsatisfiedConditionalDependentIndices != null );
-      if ( _unsatisfiedConditionalDependentIndices != null )
+   final private static void writeIndices( CompactOutputStream     compactOutputStream,
+                                           java.util.List<Integer> indices )
+      throws java.io.IOException
+   {
+      if ( indices == null )
       {
-         dataOutputStream.writeInt( _unsatisfiedConditionalDependentIndices.size() );
-         for ( int prerequisiteIndex : _unsatisfiedConditionalDependentIndices )
-         {
-            dataOutputStream.writeInt( prerequisiteIndex );
-         }
+         compactOutputStream.writeVarInt( 0 );
       }
-
-      dataOutputStream.writeBoolean( _satisfiedConditionalDependentIndices != null );
-      if ( _satisfiedConditionalDependentIndices != null )
+      else
       {
-         dataOutputStream.writeInt( _satisfiedConditionalDependentIndices.size() );
-         for ( int prerequisiteIndex : _satisfiedConditionalDependentIndices )
+         compactOutputStream.writeVarInt( indices.size()+1 );
+         for ( int index : indices )
          {
-            dataOutputStream.writeInt( prerequisiteIndex );
+            compactOutputStream.writeVarInt( index );
          }
       }
+   }
 
-      dataOutputStream.writeBoolean( _subtestSequencingMode != null );
-      if ( _subtestSequencingMode != null )
+   final private void writeResults( CompactOutputStream compactOutputStream )
+      throws java.io.IOException
+   {
+      compactOutputStream.writeVarInt( _exceptions.size() );
+      for ( Throwable throwable : _exceptions )
       {
-         dataOutputStream.writeInt( _subtestSequencingMode.ordinal() );
+         compactOutputStream.writeThrowable( throwable );
       }
 
-      dataOutputStream.writeBoolean( _subtestContinuationMode != null );
-      if ( _subtestContinuationMode != null )
-      {
-         dataOutputStream.writeInt( _subtestContinuationMode.ordinal() );
-      }
+      compactOutputStream.writeLong( _startTime );
+      compactOutputStream.writeLong( _stopTime );
+      compactOutputStream.writeLong( _cpuStartTime );
+      compactOutputStream.writeLong( _cpuStopTime );
+   }
 
-      dataOutputStream.writeInt( _testState.ordinal() );
+   final private void readResults( java.io.DataInputStream dataInputStream )
+      throws java.io.IOException
+   {
+      int  elementCount;
+      int  index;
+      byte serializedObject[];
 
-      dataOutputStream.writeBoolean( _tags != null );
-      if ( _tags != null )
+      _exceptions.clear();
+      elementCount = dataInputStream.readInt();
+      for ( index=0; index<elementCount; index++ )
       {
-         dataOutputStream.writeInt( _tags.length );
-         for ( Tag tag : _tags )
+         serializedObject = new byte[ dataInputStream.readInt() ];
+         dataInputStream.readFully( serializedObject );
+         try ( java.io.ByteArrayInputStream byteArrayInputStream = new java.io.ByteArrayInputStream(serializedObject) )
          {
-            tag.write( dataOutputStream );
+            try ( java.io.ObjectInputStream objectInputStream = new java.io.ObjectInputStream(byteArrayInputStream) )
+            {
+               try
+               {
+                  _exceptions.add( (Throwable)(objectInputStream.readObject()) );
+               }
+               catch ( ClassNotFoundException classNotFoundException )
+               {
+                  throw new java.io.IOException( "Could not read exception",
+                                                 classNotFoundException );
+               }
+            }
          }
       }
 
-      dataOutputStream.writeBoolean( _guiRunFlag );
-      dataOutputStream.writeBoolean( _alternateRunFlag );
-      dataOutputStream.writeInt( _sequenceIndex );
-      dataOutputStream.writeBoolean( _selectionExpanded );
-      dataOutputStream.writeBoolean( _resultsExpanded );
+      _startTime = dataInputStream.readLong();
+      _stopTime = dataInputStream.readLong();
+      _cpuStartTime = dataInputStream.readLong();
+      _cpuStopTime = dataInputStream.readLong();
+   }
+
+   final private void readResults( CompactInputStream compactInputStream )
+      throws java.io.IOException
+   {
+      int elementCount;
+      int index;
+
+      _exceptions.clear();
+      elementCount = compactInputStream.readVarInt();
+      for ( index=0; index<elementCount; index++ )
+      {
+         _exceptions.add( compactInputStream.readThrowable() );
+      }
+
+      _startTime = compactInputStream.readLong();
+      _stopTime = compactInputStream.readLong();
+      _cpuStartTime = compactInputStream.readLong();
+      _cpuStopTime = compactInputStream.readLong();
+   }
 
-      dataOutputStream.writeInt( _exceptions.size() );
-      for ( Throwable throwable : _exceptions )
+   final byte[] getResultsRecord()
+      throws java.io.IOException
+   {
+      try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
       {
-         try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+         try ( CompactOutputStream compactOutputStream = new CompactOutputStream(byteArrayOutputStream) )
          {
-            try ( java.io.ObjectOutputStream objectOutputStream = new java.io.ObjectOutputStream( byteArrayOutputStream ) )
-            {
-               objectOutputStream.writeObject( throwable );
-            }
-
-            serializedObject = byteArrayOutputStream.toByteArray();
-            dataOutputStream.writeInt( serializedObject.length );
-            dataOutputStream.write( serializedObject );
+            compactOutputStream.writeEnum( _testState );
+            writeResults( compactOutputStream );
          }
-      }
 
-      dataOutputStream.writeLong( _startTime );
-      dataOutputStream.writeLong( _stopTime );
-      dataOutputStream.writeLong( _cpuStartTime );
-      dataOutputStream.writeLong( _cpuStopTime );
+         return byteArrayOutputStream.toByteArray();
+      }
+   }
 
-      dataOutputStream.writeInt( _requirementsData.size() );
-      for ( RequirementData requirementData : _requirementsData )
+   final static TestState getRecordedState( byte resultsRecord[] )
+      throws java.io.IOException
+   {
+      try ( java.io.ByteArrayInputStream byteArrayInputStream = new java.io.ByteArrayInputStream(resultsRecord) )
       {
-         requirementData.write( dataOutputStream );
+         try ( CompactInputStream compactInputStream = new CompactInputStream(byteArrayInputStream) )
+         {
+            return compactInputStream.readEnum( TestState.values() );
+         }
       }
+   }
 
-      dataOutputStream.writeInt( _children.size() );
-      for ( TestData child : _children )
+   final void restoreResults( byte resultsRecord[] )
+      throws java.io.IOException
+   {
+      try ( java.io.ByteArrayInputStream byteArrayInputStream = new java.io.ByteArrayInputStream(resultsRecord) )
       {
-         child.write( dataOutputStream );
+         try ( CompactInputStream compactInputStream = new CompactInputStream(byteArrayInputStream) )
+         {
+            _testState = compactInputStream.readEnum( TestState.values() );
+            readResults( compactInputStream );
+         }
       }
    }
 
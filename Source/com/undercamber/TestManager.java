@@ -38,17 +38,25 @@ package com.undercamber;
  */
 final public class TestManager
 {
-   final static Object MONITOR_HOLDER = new Object();
-
    final private static java.lang.management.ThreadMXBean THREAD_MX_BEAN = java.lang.management.ManagementFactory.getThreadMXBean();
    final private static boolean                           TRACK_CPU_TIME = THREAD_MX_BEAN.isThreadCpuTimeSupported();
 
-   private TestUnit _testUnit;
-   private TestData _pass1TestData;
-   private TestData _testData;
-   private String   _margin;
-   private TestSet  _testSet;
-   private int      _childCompletionCount;
+   private TestUnit                                  _testUnit;
+   private TestData                                  _pass1TestData;
+   private TestData                                  _testData;
+   private String                                    _margin;
+   private TestSet                                   _testSet;
+   private java.util.concurrent.atomic.AtomicInteger _childCompletionCount;
+   private Thread                                    _testThread;
+   private boolean                                   _timedOut;
+   private boolean                                   _expired;
+   private boolean                                   _finished;
+   private java.util.concurrent.ScheduledFuture<?>   _testTimeoutFuture;
+   private java.util.concurrent.ScheduledFuture<?>   _subtreeTimeoutFuture;
+   private java.util.List<java.util.List<Integer>>   _siblingDependents;
+   private int                                       _waitingPrerequisiteCounts[];
+   private boolean                                   _speculative;
+   private boolean                                   _resumed;
 
    TestManager( TestData parentTestData,  // Called only when running tests.  During discovery and during execution.
                 TestUnit testUnit,
@@ -64,7 +72,18 @@ final public class TestManager
                                 parentTestData,
                                 testSet );
       _testData.transferConfigurationFrom( pass1TestData );
-      _childCompletionCount = 0;
+      _testData.publishState();
+      _childCompletionCount = new java.util.concurrent.atomic.AtomicInteger( 0 );
+      _testThread = null;
+      _timedOut = false;
+      _expired = false;
+      _finished = false;
+      _testTimeoutFuture = null;
+      _subtreeTimeoutFuture = null;
+      _siblingDependents = null;
+      _waitingPrerequisiteCounts = null;
+      _speculative = false;
+      _resumed = false;
    }
 
    /**
@@ -105,6 +124,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -150,6 +171,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -198,6 +221,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -242,6 +267,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -292,6 +319,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     tags,
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -338,6 +367,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     tags,
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -387,6 +418,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     tags,
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -442,6 +475,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -500,6 +535,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
@@ -537,6 +574,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -578,6 +617,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -622,6 +663,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -662,6 +705,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -708,6 +753,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     tags,
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -757,6 +804,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     tags,
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -799,6 +848,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     tags,
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -844,6 +895,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     tags,
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -895,6 +948,8 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     new Prerequisite[0],
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
                     new Requirement[0] );
    }
 
@@ -950,6 +1005,147 @@ final public class TestManager
                     SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
                     prerequisites,
                     new Tag[0],
+                    new ResourceClaim[0],
+                    null,
+                    new Requirement[0] );
+   }
+
+   /**
+    * A convenience method.  Equivalent to
+    * <pre> initialize( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR,
+    *             null,
+    *             SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+    *             new Prerequisite[0],
+    *             new Tag[0],
+    *             resourceClaims,
+    *             new Requirement[0] );</pre>
+    *
+    * @param resourceClaims
+    *        The shared resources used by this test.  See
+    *        {@link ResourceClaim}.
+    *
+    * @return Indicates whether this test should run its validation checks.
+    *         <table summary="return value table">
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;true:</td>
+    *               <td>Validation checks should be run</td>
+    *            </tr>
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;false:</td>
+    *               <td>validation checks should not be run</td>
+    *            </tr>
+    *         </table>
+    *
+    * @throws UserError
+    *         If there is a configuration error
+    *
+    * @see #initialize( SubtestSequencingMode, String, SubtestContinuationMode, Prerequisite[], Tag[], ResourceClaim[], Requirement... )
+    */
+   final public boolean initialize( ResourceClaim... resourceClaims )
+      throws UserError
+   {
+      return setup( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR,
+                    null,
+                    SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+                    new Prerequisite[0],
+                    new Tag[0],
+                    resourceClaims,
+                    null,
+                    new Requirement[0] );
+   }
+
+   /**
+    * A convenience method.  Equivalent to
+    * <pre> initialize( subtestSequencingMode,
+    *             null,
+    *             SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+    *             new Prerequisite[0],
+    *             new Tag[0],
+    *             resourceClaims,
+    *             new Requirement[0] );</pre>
+    *
+    * @param subtestSequencingMode
+    *        Indicates how subtests should be sequenced.  Has no
+    *        effect if the test has no subtests
+    * @param resourceClaims
+    *        The shared resources used by this test.  See
+    *        {@link ResourceClaim}.
+    *
+    * @return Indicates whether this test should run its validation checks.
+    *         <table summary="return value table">
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;true:</td>
+    *               <td>Validation checks should be run</td>
+    *            </tr>
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;false:</td>
+    *               <td>validation checks should not be run</td>
+    *            </tr>
+    *         </table>
+    *
+    * @throws UserError
+    *         If there is a configuration error
+    *
+    * @see #initialize( SubtestSequencingMode, String, SubtestContinuationMode, Prerequisite[], Tag[], ResourceClaim[], Requirement... )
+    */
+   final public boolean initialize( SubtestSequencingMode subtestSequencingMode,
+                                    ResourceClaim...      resourceClaims )
+      throws UserError
+   {
+      return setup( subtestSequencingMode,
+                    null,
+                    SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+                    new Prerequisite[0],
+                    new Tag[0],
+                    resourceClaims,
+                    null,
+                    new Requirement[0] );
+   }
+
+   /**
+    * A convenience method.  Equivalent to
+    * <pre> initialize( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR,
+    *             argument,
+    *             SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+    *             new Prerequisite[0],
+    *             new Tag[0],
+    *             resourceClaims,
+    *             new Requirement[0] );</pre>
+    *
+    * @param argument
+    *        A string used to provide uniqueness.
+    * @param resourceClaims
+    *        The shared resources used by this test.  See
+    *        {@link ResourceClaim}.
+    *
+    * @return Indicates whether this test should run its validation checks.
+    *         <table summary="return value table">
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;true:</td>
+    *               <td>Validation checks should be run</td>
+    *            </tr>
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;false:</td>
+    *               <td>validation checks should not be run</td>
+    *            </tr>
+    *         </table>
+    *
+    * @throws UserError
+    *         If there is a configuration error
+    *
+    * @see #initialize( SubtestSequencingMode, String, SubtestContinuationMode, Prerequisite[], Tag[], ResourceClaim[], Requirement... )
+    */
+   final public boolean initialize( String           argument,
+                                    ResourceClaim... resourceClaims )
+      throws UserError
+   {
+      return setup( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR,
+                    argument,
+                    SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+                    new Prerequisite[0],
+                    new Tag[0],
+                    resourceClaims,
+                    null,
                     new Requirement[0] );
    }
 
@@ -1013,81 +1209,350 @@ final public class TestManager
                     subtestContinuationMode,
                     prerequisites,
                     tags,
+                    new ResourceClaim[0],
+                    null,
                     requirements );
    }
 
-   final private boolean setup(  SubtestSequencingMode   subtestSequencingMode,
-                                 String                  argument,
-                                 SubtestContinuationMode subtestContinuationMode,
-                                 Prerequisite            prerequisites[],
-                                 Tag                     tags[],
-                                 Requirement             requirements[] )
-      throws UserError
-   {
-      if ( _testData.getTestState().initialized() )
-      {
-         throw new UserError( "Error:  Must call TestManager.initialize(...) first.  State = " + _testData.getTestState() + "; expected state = " + TestState.UNINITIALIZED + "." );
-      }
-
-      if ( subtestSequencingMode == null )
-      {
-         subtestSequencingMode = SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR;
-      }
-
-      if ( subtestContinuationMode == null )
-      {
-         subtestContinuationMode = SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL;
-      }
-
-      if ( prerequisites == null )
-      {
-         prerequisites = new Prerequisite[ 0 ];
-      }
-
-      if ( tags == null )
-      {
-         tags = new Tag[ 0 ];
-      }
-
-      if ( requirements == null )
-      {
-         requirements = new Requirement[ 0 ];
-      }
-
-      _testData.initialize( Thread.currentThread().getStackTrace()[3],
-                            subtestSequencingMode,
-                            subtestContinuationMode,
-                            argument,
-                            prerequisites,
-                            tags,
-                            requirements );
-
-      return _testSet.getExecutionMode().verify();
-   }
-
    /**
-    * A convenience method.  This just returns the arguments as an
-    * array.  This is useful for building arguments to the
-    * <tt>initialize(...)</tt> function.
+    * Initialize the test manager.  <br>
+    * <br>
+    * Each test is given a unique TestManager object, and the test should call one of the overloaded versions of this method just once.  <p>
     *
+    * The verification should be performed conditionally, based on the return value from <tt>initialize</tt>.
+    *
+    * @param subtestSequencingMode
+    *        Indicates how subtests should be sequenced.  Has no Effect if the test has no subtests
+    * @param argument
+    *        A string used to provide uniqueness.  <br>
+    *        Undercamber does not have a way to discover the arguments of the test methods, so different tests whose signature differs only in the argument list are indistinguishable to Undercamber. This
+    *        argument can provide uniqueness.<br>
+    *        <br>
+    *        Also, different calls to the same test will have identical signatures, and this argument can be used to provide uniqueness.<br>
+    *        <br>
+    *        Not all tests that are indistinguishable to Undercamber need to be made unique via this parameter.  This is needed only for:
+    *        <ul>
+    *           <li>Uniquely specifying prerequisites</li>
+    *           <li>Uniquely specifying tests on the Undercamber
+    *           command line</li>
+    *        </ul>
+    * @param subtestContinuationMode
+    *        Indicates how the subtests should be handled if this test fails.
     * @param prerequisites
-    *        The Prerequisites to be stuffed into an array
+    *        The prerequisites to this test
+    * @param tags
+    *        The tags on this test.  Tags are used to group tests so that a group can be specified on the Undercamber command line.
+    * @param resourceClaims
+    *        The shared resources used by this test.  During the second pass, this test is started only when all of its claims can be granted.  The claims are released when this test's own test code returns, not when its subtests finish, so subtests that use a resource must claim it themselves.  See {@link ResourceClaim}.
+    * @param requirements
+    *        The requirements that this test will either verify or help verify.
     *
-    * @return The array of prerequisites
+    * @return Indicates whether this test should run its validation checks. During the first pass (the discovery pass), this will be false. During the second pass (the validation pass), this will be
+    *         true.
+    *         <table summary="return value table">
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;true:</td>
+    *               <td>Validation checks should be run</td>
+    *            </tr>
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;false:</td>
+    *               <td>validation checks should not be run</td>
+    *            </tr>
+    *         </table>
+    *
+    * @throws UserError
+    *         If there is a configuration error
     */
-   final public static Prerequisite[] toArray( Prerequisite... prerequisites )
+   final public boolean initialize( SubtestSequencingMode   subtestSequencingMode,
+                                    String                  argument,
+                                    SubtestContinuationMode subtestContinuationMode,
+                                    Prerequisite            prerequisites[],
+                                    Tag                     tags[],
+                                    ResourceClaim           resourceClaims[],
+                                    Requirement...          requirements )
+      throws UserError
    {
-      return prerequisites;
+      return setup( subtestSequencingMode,
+                    argument,
+                    subtestContinuationMode,
+                    prerequisites,
+                    tags,
+                    resourceClaims,
+                    null,
+                    requirements );
    }
 
    /**
-    * A convenience method.  This just returns the arguments as an
-    * array.  This is useful for building arguments to the
-    * <tt>initialize(...)</tt> function.
-    *
-    * @param tags
-    *        The Tags to be stuffed into an array
-    *
+    * A convenience method.  Equivalent to
+    * <pre> initialize( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR,
+    *             null,
+    *             SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+    *             new Prerequisite[0],
+    *             new Tag[0],
+    *             new ResourceClaim[0],
+    *             testTimeout,
+    *             requirements );</pre>
+    *
+    * @param testTimeout
+    *        The limits on how long this test can run.  See
+    *        {@link TestTimeout}.
+    * @param requirements
+    *        The requirements that this test will either verify or
+    *        help verify.
+    *
+    * @return Indicates whether this test should run its validation checks.
+    *         <table summary="return value table">
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;true:</td>
+    *               <td>Validation checks should be run</td>
+    *            </tr>
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;false:</td>
+    *               <td>validation checks should not be run</td>
+    *            </tr>
+    *         </table>
+    *
+    * @throws UserError
+    *         If there is a configuration error
+    *
+    * @see #initialize( SubtestSequencingMode, String, SubtestContinuationMode, Prerequisite[], Tag[], ResourceClaim[], TestTimeout, Requirement... )
+    */
+   final public boolean initialize( TestTimeout    testTimeout,
+                                    Requirement... requirements )
+      throws UserError
+   {
+      return setup( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR,
+                    null,
+                    SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+                    new Prerequisite[0],
+                    new Tag[0],
+                    new ResourceClaim[0],
+                    testTimeout,
+                    requirements );
+   }
+
+   /**
+    * A convenience method.  Equivalent to
+    * <pre> initialize( subtestSequencingMode,
+    *             null,
+    *             SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+    *             new Prerequisite[0],
+    *             new Tag[0],
+    *             new ResourceClaim[0],
+    *             testTimeout,
+    *             requirements );</pre>
+    *
+    * @param subtestSequencingMode
+    *        Indicates how subtests should be sequenced.  Has no
+    *        effect if the test has no subtests
+    * @param testTimeout
+    *        The limits on how long this test can run.  See
+    *        {@link TestTimeout}.
+    * @param requirements
+    *        The requirements that this test will either verify or
+    *        help verify.
+    *
+    * @return Indicates whether this test should run its validation checks.
+    *         <table summary="return value table">
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;true:</td>
+    *               <td>Validation checks should be run</td>
+    *            </tr>
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;false:</td>
+    *               <td>validation checks should not be run</td>
+    *            </tr>
+    *         </table>
+    *
+    * @throws UserError
+    *         If there is a configuration error
+    *
+    * @see #initialize( SubtestSequencingMode, String, SubtestContinuationMode, Prerequisite[], Tag[], ResourceClaim[], TestTimeout, Requirement... )
+    */
+   final public boolean initialize( SubtestSequencingMode subtestSequencingMode,
+                                    TestTimeout           testTimeout,
+                                    Requirement...        requirements )
+      throws UserError
+   {
+      return setup( subtestSequencingMode,
+                    null,
+                    SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL,
+                    new Prerequisite[0],
+                    new Tag[0],
+                    new ResourceClaim[0],
+                    testTimeout,
+                    requirements );
+   }
+
+   /**
+    * Initialize the test manager.  <br>
+    * <br>
+    * Each test is given a unique TestManager object, and the test should call one of the overloaded versions of this method just once.  <p>
+    *
+    * The verification should be performed conditionally, based on the return value from <tt>initialize</tt>.
+    *
+    * @param subtestSequencingMode
+    *        Indicates how subtests should be sequenced.  Has no Effect if the test has no subtests
+    * @param argument
+    *        A string used to provide uniqueness.  <br>
+    *        Undercamber does not have a way to discover the arguments of the test methods, so different tests whose signature differs only in the argument list are indistinguishable to Undercamber. This
+    *        argument can provide uniqueness.<br>
+    *        <br>
+    *        Also, different calls to the same test will have identical signatures, and this argument can be used to provide uniqueness.<br>
+    *        <br>
+    *        Not all tests that are indistinguishable to Undercamber need to be made unique via this parameter.  This is needed only for:
+    *        <ul>
+    *           <li>Uniquely specifying prerequisites</li>
+    *           <li>Uniquely specifying tests on the Undercamber
+    *           command line</li>
+    *        </ul>
+    * @param subtestContinuationMode
+    *        Indicates how the subtests should be handled if this test fails.
+    * @param prerequisites
+    *        The prerequisites to this test
+    * @param tags
+    *        The tags on this test.  Tags are used to group tests so that a group can be specified on the Undercamber command line.
+    * @param resourceClaims
+    *        The shared resources used by this test.  During the second pass, this test is started only when all of its claims can be granted.  The claims are released when this test's own test code returns, not when its subtests finish, so subtests that use a resource must claim it themselves.  See {@link ResourceClaim}.
+    * @param testTimeout
+    *        The limits on how long this test, and this test together with its subtests, can run during the second pass.  If this is null, the test is not limited.  See {@link TestTimeout}.
+    * @param requirements
+    *        The requirements that this test will either verify or help verify.
+    *
+    * @return Indicates whether this test should run its validation checks. During the first pass (the discovery pass), this will be false. During the second pass (the validation pass), this will be
+    *         true.
+    *         <table summary="return value table">
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;true:</td>
+    *               <td>Validation checks should be run</td>
+    *            </tr>
+    *            <tr>
+    *               <td>&nbsp;&nbsp;&nbsp;false:</td>
+    *               <td>validation checks should not be run</td>
+    *            </tr>
+    *         </table>
+    *
+    * @throws UserError
+    *         If there is a configuration error
+    */
+   final public boolean initialize( SubtestSequencingMode   subtestSequencingMode,
+                                    String                  argument,
+                                    SubtestContinuationMode subtestContinuationMode,
+                                    Prerequisite            prerequisites[],
+                                    Tag                     tags[],
+                                    ResourceClaim           resourceClaims[],
+                                    TestTimeout             testTimeout,
+                                    Requirement...          requirements )
+      throws UserError
+   {
+      return setup( subtestSequencingMode,
+                    argument,
+                    subtestContinuationMode,
+                    prerequisites,
+                    tags,
+                    resourceClaims,
+                    testTimeout,
+                    requirements );
+   }
+
+   final private boolean setup(  SubtestSequencingMode   subtestSequencingMode,
+                                 String                  argument,
+                                 SubtestContinuationMode subtestContinuationMode,
+                                 Prerequisite            prerequisites[],
+                                 Tag                     tags[],
+                                 ResourceClaim           resourceClaims[],
+                                 TestTimeout             testTimeout,
+                                 Requirement             requirements[] )
+      throws UserError
+   {
+      java.util.Set<String> resourceNames;
+
+      if ( _testData.getTestState().initialized() )
+      {
+         throw new UserError( "Error:  Must call TestManager.initialize(...) first.  State = " + _testData.getTestState() + "; expected state = " + TestState.UNINITIALIZED + "." );
+      }
+
+      if ( subtestSequencingMode == null )
+      {
+         subtestSequencingMode = SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR;
+      }
+
+      if ( subtestContinuationMode == null )
+      {
+         subtestContinuationMode = SubtestContinuationMode.SKIP_SUBTESTS_IF_LOCAL_TESTS_FAIL;
+      }
+
+      if ( prerequisites == null )
+      {
+         prerequisites = new Prerequisite[ 0 ];
+      }
+
+      if ( tags == null )
+      {
+         tags = new Tag[ 0 ];
+      }
+
+      if ( resourceClaims == null )
+      {
+         resourceClaims = new ResourceClaim[ 0 ];
+      }
+
+      resourceNames = new java.util.HashSet<String>();
+      for ( ResourceClaim resourceClaim : resourceClaims )
+      {
+         if ( !(resourceNames.add(resourceClaim.getName())) )
+         {
+            throw new UserError( "Error:  Resource \"" + resourceClaim.getName() + "\" is claimed more than once by the same test." );
+         }
+      }
+
+      if ( testTimeout == null )
+      {
+         testTimeout = new TestTimeout( 0L );
+      }
+
+      if ( requirements == null )
+      {
+         requirements = new Requirement[ 0 ];
+      }
+
+      _testData.initialize( Thread.currentThread().getStackTrace()[3],
+                            subtestSequencingMode,
+                            subtestContinuationMode,
+                            argument,
+                            prerequisites,
+                            tags,
+                            resourceClaims,
+                            testTimeout.getTestTimeout(),
+                            testTimeout.getSubtreeTimeout(),
+                            requirements );
+
+      return _testSet.getExecutionMode().verify();
+   }
+
+   /**
+    * A convenience method.  This just returns the arguments as an
+    * array.  This is useful for building arguments to the
+    * <tt>initialize(...)</tt> function.
+    *
+    * @param prerequisites
+    *        The Prerequisites to be stuffed into an array
+    *
+    * @return The array of prerequisites
+    */
+   final public static Prerequisite[] toArray( Prerequisite... prerequisites )
+   {
+      return prerequisites;
+   }
+
+   /**
+    * A convenience method.  This just returns the arguments as an
+    * array.  This is useful for building arguments to the
+    * <tt>initialize(...)</tt> function.
+    *
+    * @param tags
+    *        The Tags to be stuffed into an array
+    *
     * @return The array of Tags
     */
    final public static Tag[] toArray( Tag... tags )
@@ -1132,13 +1597,28 @@ final public class TestManager
             {
                case CONCURRENT:
                {
-                  concurrentChildCallback( headingColumnWidth );
+                  if ( _testSet.orderConcurrentPrerequisites() )
+                  {
+                     orderedChildCallback( child,
+                                           headingColumnWidth );
+                  }
+                  else
+                  {
+                     concurrentChildCallback( headingColumnWidth );
+                  }
                   break;
                }
                case SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR:
                {
-                  sequentialChildCallbackWithAbort( child,
-                                                    headingColumnWidth );
+                  if ( _speculative )
+                  {
+                     speculativeChildCallback( headingColumnWidth );
+                  }
+                  else
+                  {
+                     sequentialChildCallbackWithAbort( child,
+                                                       headingColumnWidth );
+                  }
                   break;
                }
                case SEQUENTIAL_CONTINUE_ON_ERROR:
@@ -1147,6 +1627,12 @@ final public class TestManager
                                                        headingColumnWidth );
                   break;
                }
+               case CONCURRENT_IN_PREREQUISITE_ORDER:
+               {
+                  orderedChildCallback( child,
+                                        headingColumnWidth );
+                  break;
+               }
                default:
                {
                   addException( new InternalException("Internal error:  unrecognized SubtestSequencingMode:  "+_testData.getSubtestSequencingMode()) );
@@ -1164,16 +1650,7 @@ final public class TestManager
 
    final private void concurrentChildCallback( int headingColumnWidth )
    {
-      boolean done;
-
-      synchronized( MONITOR_HOLDER )
-      {
-         _childCompletionCount++;
-
-         done = _childCompletionCount >= getChildCount();
-      }
-
-      if ( done )
+      if ( _childCompletionCount.incrementAndGet() == getChildCount() )
       {
          finish( headingColumnWidth,
                  null,
@@ -1221,10 +1698,41 @@ final public class TestManager
       else
       {
          nextChild = getChild( childIndex + 1 );
-         synchronized( MONITOR_HOLDER )
+         nextChild.submitTest( headingColumnWidth );
+      }
+   }
+
+   final private void speculativeChildCallback( int headingColumnWidth )
+   {
+      int     childCount;
+      boolean failed;
+      int     index;
+
+      if ( _childCompletionCount.incrementAndGet() == getChildCount() )
+      {
+         childCount = getChildCount();
+
+         failed = false;
+         for ( index=0; index<childCount; index++ )
          {
-            nextChild.submitTest( headingColumnWidth );
+            if ( failed )
+            {
+               _testData.getChild( index ).discardResultsOnBranch( TestState.SKIPPED_DUE_TO_SIBLING_ERROR );
+
+               if ( _testSet.getExecutionMode().displayProgress() && printProgress() )
+               {
+                  System.out.println( Utilities.padToRight(getChild(index)._margin+_testData.getChild(index).getHeading(),headingColumnWidth) + " discarded" );
+               }
+            }
+            else if ( _testData.getChild(index).hasExceptionInBranch() )
+            {
+               failed = true;
+            }
          }
+
+         finish( headingColumnWidth,
+                 null,
+                 null );
       }
    }
 
@@ -1248,11 +1756,35 @@ final public class TestManager
       else
       {
          nextChild = getChild( childIndex + 1 );
-         synchronized( MONITOR_HOLDER )
+         nextChild.submitTest( headingColumnWidth );
+      }
+   }
+
+   final private void orderedChildCallback( TestManager finishedChild,
+                                            int         headingColumnWidth )
+   {
+      java.util.List<TestManager> readyChildren;
+
+      readyChildren = new java.util.ArrayList<TestManager>();
+
+      synchronized ( this )
+      {
+         for ( int dependentIndex : _siblingDependents.get(finishedChild.getSiblingIndex()) )
          {
-            nextChild.submitTest( headingColumnWidth );
+            _waitingPrerequisiteCounts[ dependentIndex ]--;
+            if ( _waitingPrerequisiteCounts[dependentIndex] == 0 )
+            {
+               readyChildren.add( getChild(dependentIndex) );
+            }
          }
       }
+
+      for ( TestManager child : readyChildren )
+      {
+         child.submitTest( headingColumnWidth );
+      }
+
+      concurrentChildCallback( headingColumnWidth );
    }
 
    final void testThread( int headingColumnWidth )
@@ -1260,15 +1792,29 @@ final public class TestManager
       long              cpuStartTime;
       long              cpuStopTime;
       long              threadID;
+      int               index;
       long              startTime;
       long              stopTime;
       UserError         userError;
       InternalException internalError;
+      ProgressChannel   progressChannel;
 
       try
       {
          if ( shouldVerify() )
          {
+            progressChannel = _testSet.getProgressChannel();
+            if ( progressChannel != null )
+            {
+               progressChannel.testStarted( _testData.getID() );
+            }
+
+            if ( _testSet.getExecutionMode().recordStatus() )
+            {
+               _testSet.getStatusFile().set( _testData.getID(),
+                                             TestState.INITIALIZED );
+            }
+
             cpuStartTime = -1L;
             cpuStopTime = -1L;
 
@@ -1279,24 +1825,41 @@ final public class TestManager
                cpuStartTime = THREAD_MX_BEAN.getThreadCpuTime( threadID );
             }
 
+            startTimeouts();
+
             try
             {
                _testUnit.runTest( this );
             }
             catch ( Throwable throwable )
             {
-               addException( throwable );
+               if ( !(timedOut() && (throwable instanceof InterruptedException)) )
+               {
+                  addException( throwable );
+               }
             }
 
+            stopTestTimeout();
+
             if ( TRACK_CPU_TIME )
             {
                cpuStopTime = THREAD_MX_BEAN.getThreadCpuTime( threadID );
             }
             stopTime = System.nanoTime();
 
-            if ( _testSet.getExecutionMode().displayProgress() )
+            if ( TRACK_CPU_TIME )
             {
-               if ( _testData.getLocalExceptionCount() == 0 )
+               _testSet.recordThreadUsage( cpuStopTime-cpuStartTime,
+                                           stopTime-startTime );
+            }
+
+            if ( _testSet.getExecutionMode().displayProgress() && printProgress() )
+            {
+               if ( timedOut() )
+               {
+                  System.out.println( Utilities.padToRight(_margin+_testData.getHeading(),headingColumnWidth) + " timed out" );
+               }
+               else if ( _testData.getLocalExceptionCount() == 0 )
                {
                   System.out.println( Utilities.padToRight(_margin+_testData.getHeading(),headingColumnWidth) + " passed" );
                }
@@ -1339,6 +1902,14 @@ final public class TestManager
             }
             else
             {
+               if ( timedOut() )
+               {
+                  for ( index=0; index<getChildCount(); index++ )
+                  {
+                     getChild( index ).recordBranchState( TestState.SKIPPED_DUE_TO_PARENT_ERROR );
+                  }
+               }
+
                finish( headingColumnWidth,
                        userError,
                        internalError );
@@ -1362,33 +1933,61 @@ final public class TestManager
                       InternalException internalError )
    {
       TestManager parent;
-
-      if ( _testData.getLocalExceptionCount() > 0 )
-      {
-         _testData.setState( TestState.COMPLETE_FAILED );
-      }
-      else if ( userError != null )
-      {
-         System.out.println( userError.getMessage() );
-         _testData.setState( TestState.COMPLETE_FAILED );
-      }
-      else if ( internalError != null )
-      {
-         Utilities.printStackTrace( internalError );
-         _testData.setState( TestState.COMPLETE_FAILED );
-      }
-      else if ( _testData.getTestState() == null )
+
+      synchronized ( this )
       {
-         _testData.setState( TestState.COMPLETE_FAILED );
+         _finished = true;
+
+         if ( _subtreeTimeoutFuture != null )
+         {
+            _subtreeTimeoutFuture.cancel( false );
+            _subtreeTimeoutFuture = null;
+         }
       }
-      else if ( !(_testData.getTestState().skipped()) )
+
+      if ( !_resumed )
       {
-         _testData.setState( TestState.COMPLETE_SUCCEEDED );
+         if ( timedOut() )
+         {
+            _testData.setState( TestState.TIMED_OUT );
+         }
+         else if ( _testData.getLocalExceptionCount() > 0 )
+         {
+            _testData.setState( TestState.COMPLETE_FAILED );
+         }
+         else if ( userError != null )
+         {
+            System.out.println( userError.getMessage() );
+            _testData.setState( TestState.COMPLETE_FAILED );
+         }
+         else if ( internalError != null )
+         {
+            Utilities.printStackTrace( internalError );
+            _testData.setState( TestState.COMPLETE_FAILED );
+         }
+         else if ( _testData.getTestState() == null )
+         {
+            _testData.setState( TestState.COMPLETE_FAILED );
+         }
+         else if ( !(_testData.getTestState().skipped()) )
+         {
+            _testData.setState( TestState.COMPLETE_SUCCEEDED );
+         }
+
+         if ( _testSet.getExecutionMode().recordStatus() )
+         {
+            _testSet.journalResults( _testData );
+
+            _testData.recordState();
+         }
       }
 
-      if ( _testSet.getExecutionMode().recordStatus() )
+      if ( _testData.getTestState().failed() && _testSet.startFailingFast() )
       {
-         _testData.recordState();
+         if ( _testSet.getExecutionMode().displayProgress() )
+         {
+            System.out.println( "Fail fast:  " + _testData.getHeading() + " failed.  Skipping the tests that have not started." );
+         }
       }
 
       parent = getParent();
@@ -1410,6 +2009,11 @@ final public class TestManager
    {
       _testData.setState( TestState.RUNNING_SUBTESTS );
 
+      if ( _testSet.getExecutionMode().recordStatus() )
+      {
+         _testData.recordState();
+      }
+
       if ( _testSet.getExecutionMode().isDiscovery() )
       {
          for ( TestManager child : listChildren() )
@@ -1419,10 +2023,26 @@ final public class TestManager
       }
       else
       {
-         if ( _testData.getSubtestSequencingMode().isSequential() )
+         if ( (_testData.getSubtestSequencingMode()==SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR) && _testSet.speculativeSiblings() && childrenAreIsolated() )
+         {
+            _speculative = true;
+
+            for ( TestManager child : listChildren() )
+            {
+               child.submitTest( headingColumnWidth );
+            }
+         }
+         else if ( _testData.getSubtestSequencingMode().isSequential() )
          {
             getChild( 0 ).submitTest( headingColumnWidth );
          }
+         else if ( (_testData.getSubtestSequencingMode()==SubtestSequencingMode.CONCURRENT_IN_PREREQUISITE_ORDER) || _testSet.orderConcurrentPrerequisites() )
+         {
+            for ( TestManager child : findSiblingOrder() )
+            {
+               child.submitTest( headingColumnWidth );
+            }
+         }
          else
          {
             for ( TestManager child : listChildren() )
@@ -1433,6 +2053,86 @@ final public class TestManager
       }
    }
 
+   final private boolean childrenAreIsolated()
+   {
+      for ( TestManager child : listChildren() )
+      {
+         if ( (child._pass1TestData==null) || !(child._pass1TestData.isIsolatedBranch()) )
+         {
+            return false;
+         }
+      }
+
+      return true;
+   }
+
+   final private java.util.List<TestManager> findSiblingOrder()
+   {
+      TestManager                    children[];
+      java.util.Map<Integer,Integer> siblingIndices;
+      java.util.Set<Integer>         prerequisiteSiblings;
+      java.util.Set<Integer>         prerequisiteIndices;
+      java.util.List<TestManager>    readyChildren;
+      int                            index;
+
+      children = listChildren();
+
+      siblingIndices = new java.util.HashMap<Integer,Integer>();
+      for ( index=0; index<children.length; index++ )
+      {
+         if ( children[index]._pass1TestData != null )
+         {
+            children[ index ]._pass1TestData.mapBranchToSibling( index,
+                                                                 siblingIndices );
+         }
+      }
+
+      readyChildren = new java.util.ArrayList<TestManager>();
+
+      synchronized ( this )
+      {
+         _siblingDependents = new java.util.ArrayList<java.util.List<Integer>>();
+         _waitingPrerequisiteCounts = new int[ children.length ];
+
+         for ( index=0; index<children.length; index++ )
+         {
+            _siblingDependents.add( new java.util.ArrayList<Integer>() );
+         }
+
+         for ( index=0; index<children.length; index++ )
+         {
+            prerequisiteSiblings = new java.util.HashSet<Integer>();
+
+            if ( children[index]._pass1TestData != null )
+            {
+               prerequisiteIndices = new java.util.HashSet<Integer>();
+               children[ index ]._pass1TestData.addPrerequisiteIndicesOnBranch( prerequisiteIndices );
+
+               for ( int prerequisiteIndex : prerequisiteIndices )
+               {
+                  if ( siblingIndices.containsKey(prerequisiteIndex) && (siblingIndices.get(prerequisiteIndex)!=index) )
+                  {
+                     prerequisiteSiblings.add( siblingIndices.get(prerequisiteIndex) );
+                  }
+               }
+            }
+
+            for ( int prerequisiteSibling : prerequisiteSiblings )
+            {
+               _siblingDependents.get( prerequisiteSibling ).add( index );
+            }
+
+            _waitingPrerequisiteCounts[ index ] = prerequisiteSiblings.size();
+            if ( prerequisiteSiblings.size() == 0 )
+            {
+               readyChildren.add( children[index] );
+            }
+         }
+      }
+
+      return readyChildren;
+   }
+
    final private boolean shouldRunSubtests()
    {
       if ( _testData.getSubtestContinuationMode().skipSubtestsIfLocalTestsFail() )
@@ -1447,26 +2147,36 @@ final public class TestManager
    }
 
    final private boolean shouldVerify()
+      throws java.io.IOException
    {
+      if ( resume() )
+      {
+         return false;
+      }
+
+      if ( isExpired() )
+      {
+         recordBranchState( TestState.SKIPPED_DUE_TO_PARENT_ERROR );
+         return false;
+      }
+
       if ( _testSet.getExecutionMode().useConfigurationTestDataRunFlag() )
       {
          if ( _pass1TestData.getRun(_testSet.useAlternateRun()) )
          {
             if ( _pass1TestData.prerequisitesSucceeded() )
             {
-               return true;
+               return checkFailFast();
             }
             else
             {
-               _testData.recordState( TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR );
-               recordChildrenStates( TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR );
+               recordBranchState( TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR );
                return false;
             }
          }
          else
          {
-            _testData.recordState( TestState.SKIPPED_BY_USER );
-            recordChildrenStates( TestState.SKIPPED_BY_USER );
+            recordBranchState( TestState.SKIPPED_BY_USER );
             return false;
          }
       }
@@ -1476,39 +2186,242 @@ final public class TestManager
          {
             if ( _pass1TestData.prerequisitesSucceeded() )
             {
-               return true;
+               return checkFailFast();
             }
             else
             {
-               _testData.recordState( TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR );
-               recordChildrenStates( TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR );
+               recordBranchState( TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR );
                return false;
             }
          }
          else
          {
-            return true;
+            return checkFailFast();
+         }
+      }
+   }
+
+   final private boolean resume()
+      throws java.io.IOException
+   {
+      TestState recordedState;
+
+      if ( (_pass1TestData==null) || !(_testSet.getExecutionMode().recordStatus()) )
+      {
+         return false;
+      }
+
+      recordedState = _testSet.getStatusFile().get( _testData.getID() );
+
+      if ( !(recordedState.ran() && recordedState.complete()) )
+      {
+         return false;
+      }
+
+      _testData.resume( recordedState,
+                        _testSet.getResumedResults(_testData.getID()),
+                        _pass1TestData.hasRecordedFailureInBranch() );
+
+      _resumed = true;
+
+      return true;
+   }
+
+   final private boolean checkFailFast()
+   {
+      if ( _testSet.isFailingFast() )
+      {
+         recordBranchState( TestState.SKIPPED_DUE_TO_FAIL_FAST );
+         return false;
+      }
+
+      return true;
+   }
+
+   final private void startTimeouts()
+   {
+      long testTimeout;
+      long subtreeTimeout;
+
+      if ( _pass1TestData == null )
+      {
+         testTimeout = 0L;
+         subtreeTimeout = 0L;
+      }
+      else
+      {
+         testTimeout = _pass1TestData.getTestTimeout();
+         subtreeTimeout = _pass1TestData.getSubtreeTimeout();
+      }
+
+      synchronized ( this )
+      {
+         _testThread = Thread.currentThread();
+
+         if ( testTimeout > 0L )
+         {
+            _testTimeoutFuture = _testSet.scheduleTimeout( () -> testTimedOut(testTimeout),
+                                                           testTimeout );
+         }
+
+         if ( subtreeTimeout > 0L )
+         {
+            _subtreeTimeoutFuture = _testSet.scheduleTimeout( () -> expire("Error:  " + _testData.getHeading() + " and its subtests timed out after " + subtreeTimeout + " ms."),
+                                                              subtreeTimeout );
+         }
+      }
+
+      if ( isExpired() )
+      {
+         synchronized ( this )
+         {
+            timeOut( "Error:  " + _testData.getHeading() + " was interrupted because an enclosing timeout expired." );
+         }
+      }
+   }
+
+   final private void stopTestTimeout()
+   {
+      synchronized ( this )
+      {
+         _testThread = null;
+
+         if ( _testTimeoutFuture != null )
+         {
+            _testTimeoutFuture.cancel( false );
+            _testTimeoutFuture = null;
+         }
+
+         Thread.interrupted();
+      }
+   }
+
+   final private void testTimedOut( long testTimeout )
+   {
+      synchronized ( this )
+      {
+         if ( _testThread != null )
+         {
+            timeOut( "Error:  " + _testData.getHeading() + " timed out after " + testTimeout + " ms." );
          }
       }
    }
 
-   final private void recordChildrenStates( TestState childState )
+   final void expire( String message )
    {
+      synchronized ( this )
+      {
+         if ( _finished )
+         {
+            return;
+         }
+
+         _expired = true;
+
+         timeOut( message );
+      }
+
       for ( TestData child : _testData.getChildren() )
       {
-         child.recordStateOnBranch( childState );
+         child.getTestManager().interruptBranch( message );
       }
    }
 
-   final void submitTest( int headingColumnWidth )
+   final private void interruptBranch( String message )
    {
-      synchronized ( MONITOR_HOLDER )
+      synchronized ( this )
       {
-         _testSet.submitConcurrentTest( this,
-                                        headingColumnWidth );
+         if ( _testThread != null )
+         {
+            timeOut( message );
+         }
+      }
+
+      for ( TestData child : _testData.getChildren() )
+      {
+         child.getTestManager().interruptBranch( message );
+      }
+   }
+
+   final private void timeOut( String message )
+   {
+      java.util.concurrent.TimeoutException timeoutException;
+      java.util.List<StackTraceElement>     stackTrace;
+
+      if ( !_timedOut )
+      {
+         _timedOut = true;
+
+         timeoutException = new java.util.concurrent.TimeoutException( message );
+
+         stackTrace = new java.util.ArrayList<StackTraceElement>();
+         if ( _testThread != null )
+         {
+            for ( StackTraceElement stackTraceElement : _testThread.getStackTrace() )
+            {
+               if ( !(stackTraceElement.getClassName().contains("$$Lambda")) )
+               {
+                  stackTrace.add( stackTraceElement );
+               }
+            }
+
+            _testThread.interrupt();
+         }
+         timeoutException.setStackTrace( stackTrace.toArray(new StackTraceElement[0]) );
+
+         addException( timeoutException );
+      }
+   }
+
+   final private synchronized boolean timedOut()
+   {
+      return _timedOut;
+   }
+
+   final private synchronized boolean expired()
+   {
+      return _expired;
+   }
+
+   final private boolean isExpired()
+   {
+      TestManager testManager;
+
+      for ( testManager=this; testManager!=null; testManager=testManager.getParent() )
+      {
+         if ( testManager.expired() )
+         {
+            return true;
+         }
+      }
+
+      return false;
+   }
+
+   final private void recordBranchState( TestState state )
+   {
+      if ( _pass1TestData == null )
+      {
+         _testData.recordState( state );
+
+         for ( TestData child : _testData.getChildren() )
+         {
+            child.recordStateOnBranch( state );
+         }
+      }
+      else
+      {
+         _testData.recordBranchState( state,
+                                      _pass1TestData.getSequenceEnd() );
       }
    }
 
+   final void submitTest( int headingColumnWidth )
+   {
+      _testSet.submitConcurrentTest( this,
+                                     headingColumnWidth );
+   }
+
    final int getSiblingIndex()
    {
       return _testData.getSiblingIndex();
@@ -1565,7 +2478,7 @@ final public class TestManager
    {
       if ( _testSet.getExecutionMode().canAcceptPrerequisites() )
       {
-         synchronized ( MONITOR_HOLDER )
+         synchronized ( _testData )
          {
             _testData.addPrerequisite( prerequisite );
          }
@@ -1594,7 +2507,7 @@ final public class TestManager
    {
       if ( _testData.getTestState() == null )
       {
-         synchronized ( MONITOR_HOLDER )
+         synchronized ( _testData )
          {
             _testData.addChild( testUnit,
                                 _margin + "   " );
@@ -1623,18 +2536,18 @@ final public class TestManager
    {
       StringBuffer stringBuffer;
 
-      synchronized ( MONITOR_HOLDER )
-      {
-         _testData.addException( throwable );
-      }
+      _testData.addException( throwable );
 
-      stringBuffer = new StringBuffer();
+      if ( printProgress() )
+      {
+         stringBuffer = new StringBuffer();
 
-      stringBuffer.append( _margin ).append( "   Error in " ).append( _testData.getHeading() ).append( ":" ).append( System.lineSeparator() );;
-      Utilities.printStackTrace( throwable,
-                                 _margin + "      ",
-                                 stringBuffer );
-      System.out.print( stringBuffer.toString() );
+         stringBuffer.append( _margin ).append( "   Error in " ).append( _testData.getHeading() ).append( ":" ).append( System.lineSeparator() );;
+         Utilities.printStackTrace( throwable,
+                                    _margin + "      ",
+                                    stringBuffer );
+         System.out.print( stringBuffer.toString() );
+      }
    }
 
    /**
@@ -1649,22 +2562,22 @@ final public class TestManager
    {
       StringBuffer stringBuffer;
 
-      synchronized ( MONITOR_HOLDER )
+      _testData.addExceptions( throwables );
+
+      if ( printProgress() )
       {
-         _testData.addExceptions( throwables );
-      }
+         stringBuffer = new StringBuffer();
 
-      stringBuffer = new StringBuffer();
+         for ( Throwable throwable : throwables )
+         {
+            stringBuffer.append( _margin ).append( "   Error in " ).append( _testData.getHeading() ).append( ":" ).append( System.lineSeparator() );;
+            Utilities.printStackTrace( throwable,
+                                       _margin + "      ",
+                                       stringBuffer );
+         }
 
-      for ( Throwable throwable : throwables )
-      {
-         stringBuffer.append( _margin ).append( "   Error in " ).append( _testData.getHeading() ).append( ":" ).append( System.lineSeparator() );;
-         Utilities.printStackTrace( throwable,
-                                    _margin + "      ",
-                                    stringBuffer );
+         System.out.print( stringBuffer.toString() );
       }
-
-      System.out.print( stringBuffer.toString() );
    }
 
    /**
@@ -1679,22 +2592,22 @@ final public class TestManager
    {
       StringBuffer stringBuffer;
 
-      synchronized( MONITOR_HOLDER )
+      _testData.addExceptions( throwables );
+
+      if ( printProgress() )
       {
-         _testData.addExceptions( throwables );
-      }
+         stringBuffer = new StringBuffer();
 
-      stringBuffer = new StringBuffer();
+         for ( Throwable throwable : throwables )
+         {
+            stringBuffer.append( _margin ).append( "   Error in " ).append( _testData.getHeading() ).append( ":" ).append( System.lineSeparator() );;
+            Utilities.printStackTrace( throwable,
+                                       _margin + "      ",
+                                       stringBuffer );
+         }
 
-      for ( Throwable throwable : throwables )
-      {
-         stringBuffer.append( _margin ).append( "   Error in " ).append( _testData.getHeading() ).append( ":" ).append( System.lineSeparator() );;
-         Utilities.printStackTrace( throwable,
-                                    _margin + "      ",
-                                    stringBuffer );
+         System.out.print( stringBuffer.toString() );
       }
-
-      System.out.print( stringBuffer.toString() );
    }
 
    /**
@@ -1708,12 +2621,9 @@ final public class TestManager
       StringBuffer stringBuffer;
       int          index;
 
-      synchronized ( MONITOR_HOLDER )
-      {
-         _testData.addException( new Message(message) );
-      }
+      _testData.addException( new Message(message) );
 
-      if ( message.length > 0 )
+      if ( (message.length>0) && printProgress() )
       {
          stringBuffer = new StringBuffer();
 
@@ -1739,12 +2649,9 @@ final public class TestManager
       StringBuffer stringBuffer;
       int          index;
 
-      synchronized ( MONITOR_HOLDER )
-      {
-         _testData.addException( new Message(message) );
-      }
+      _testData.addException( new Message(message) );
 
-      if ( message.size() > 0 )
+      if ( (message.size()>0) && printProgress() )
       {
          stringBuffer = new StringBuffer();
 
@@ -1767,12 +2674,17 @@ final public class TestManager
     */
    final public void addMessage( String message )
    {
-      synchronized ( MONITOR_HOLDER )
+      _testData.addException( new Message(message) );
+
+      if ( printProgress() )
       {
-         _testData.addException( new Message(message) );
+         System.out.println( _margin + "      - " + message );
       }
+   }
 
-      System.out.println( _margin + "      - " + message );
+   final private boolean printProgress()
+   {
+      return _testSet.getProgressChannel() == null;
    }
 
    /**
@@ -1796,10 +2708,7 @@ final public class TestManager
    {
       if ( _testData.getTestState().canAcceptConfiguration() )
       {
-         synchronized( MONITOR_HOLDER )
-         {
-            _testSet.addCompletionCallback( completionCallback );
-         }
+         _testSet.addCompletionCallback( completionCallback );
       }
       else
       {
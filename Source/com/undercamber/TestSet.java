@@ -30,29 +30,48 @@ final class TestSet
 {
    final private static int    CLASS_PERSISTENCE_VERSION = 0;
    final private static String CLASS_PERSISTENCE_BRANCH  = "";
-
-   private String                               _testUnitClassName;
-   private String                               _testSetName;
-   private String                               _testSuiteName;
-   private String                               _jvmCommand;
-   private int                                  _threadCount;
-   private java.util.List<String>               _jvmParameters;
-   private java.util.Map<String,String>         _environmentVariables;
-   private ExecutionMode                        _executionMode;
-   private WatchdogThread                       _watchdogThread;
-   private java.util.List<CompletionCallback>   _completionCallbacks;
-   private int                                  _configuredIndex;
-   private java.util.concurrent.ExecutorService _executorService;
-   private TestUnit                             _testUnit;
-   private TestManager                          _rootTestManager;
-   private TestData                             _testData;
-   private java.io.File                         _resultsDirectory;
-   private java.io.File                         _pass1StatusFile;
-   private StatusFile                           _statusFile;
-   private TestSetWindow                        _testSetWindow;
-   private java.util.List<String>               _testParameters;
-   private java.util.List<String>               _configurationTestParameters;
-   private java.util.List<String>               _commandLineTestParameters;
+   final         static String WORKER_FLAG               = "-worker";
+
+   private String                                           _testUnitClassName;
+   private String                                           _testSetName;
+   private String                                           _testSuiteName;
+   private String                                           _jvmCommand;
+   private int                                              _threadCount;
+   private java.util.List<String>                           _jvmParameters;
+   private java.util.Map<String,String>                     _environmentVariables;
+   private ExecutionMode                                    _executionMode;
+   private WatchdogThread                                   _watchdogThread;
+   private java.util.List<CompletionCallback>               _completionCallbacks;
+   private int                                              _configuredIndex;
+   private java.util.concurrent.ExecutorService             _executorService;
+   private TestUnit                                         _testUnit;
+   private TestManager                                      _rootTestManager;
+   private TestData                                         _testData;
+   private java.io.File                                     _resultsDirectory;
+   private java.io.File                                     _pass1StatusFile;
+   private StatusFile                                       _statusFile;
+   private TestSetWindow                                    _testSetWindow;
+   private java.util.List<String>                           _testParameters;
+   private java.util.List<String>                           _configurationTestParameters;
+   private java.util.List<String>                           _commandLineTestParameters;
+   private boolean                                          _shutDown;
+   private TestSet                                          _parentTestSet;
+   private TestData                                         _inProcessResults;
+   private String                                           _discoveryFingerprint;
+   private ProgressChannel                                  _progressChannel;
+   private boolean                                          _liveResults;
+   private java.util.concurrent.Semaphore                   _concurrencyLimit;
+   private CriticalPath                                     _criticalPath;
+   private ResourceArbiter                                  _resourceArbiter;
+   private java.util.concurrent.ScheduledThreadPoolExecutor _timeoutScheduler;
+   private boolean                                          _failFast;
+   private boolean                                          _failingFast;
+   private boolean                                          _orderConcurrentPrerequisites;
+   private boolean                                          _speculativeSiblings;
+   private ThreadCountController                            _threadCountController;
+   private ResultsJournal                                   _resultsJournal;
+   private java.util.Map<Integer,byte[]>                    _resumedResults;
+   private java.util.Map<Integer,TestState>                 _resumedStates;
 
    TestSet( java.util.concurrent.ExecutorService executorService,
             java.util.Map<String,String>         environmentVariables,
@@ -76,7 +95,7 @@ final class TestSet
          throw new NullPointerException( "Internal error:  Test name cannot be null" );
       }
 
-      _completionCallbacks = new java.util.ArrayList<CompletionCallback>();
+      _completionCallbacks = new java.util.concurrent.CopyOnWriteArrayList<CompletionCallback>();
       _executionMode = ExecutionMode.PASS_1_DISCOVERY;
       _testParameters = new java.util.ArrayList<String>();
       _jvmParameters = new java.util.ArrayList<String>();
@@ -90,6 +109,23 @@ final class TestSet
       _commandLineTestParameters = commandLineTestParameters;
       _configurationTestParameters = configurationTestParameters;
       _executorService = executorService;
+      _parentTestSet = null;
+      _inProcessResults = null;
+      _discoveryFingerprint = null;
+      _progressChannel = null;
+      _liveResults = false;
+      _concurrencyLimit = null;
+      _criticalPath = null;
+      _resourceArbiter = null;
+      _timeoutScheduler = null;
+      _failFast = false;
+      _failingFast = false;
+      _orderConcurrentPrerequisites = false;
+      _speculativeSiblings = false;
+      _threadCountController = null;
+      _resultsJournal = null;
+      _resumedResults = new java.util.HashMap<Integer,byte[]>();
+      _resumedStates = new java.util.HashMap<Integer,TestState>();
 
       _testParameters.addAll( commandLineTestParameters );
       if ( configurationTestParameters != null )
@@ -127,9 +163,22 @@ final class TestSet
                     String                       testSetName,
                     String                       testUnitClassName,
                     int                          threadCount,
+                    boolean                      useVirtualThreads,
+                    boolean                      criticalPathFirst,
+                    int                          resourcePort,
+                    long                         testSetTimeout,
+                    boolean                      failFast,
+                    boolean                      orderConcurrentPrerequisites,
+                    boolean                      speculativeSiblings,
+                    boolean                      adaptiveThreads,
+                    int                          minimumThreadCount,
+                    int                          maximumThreadCount,
+                    StatusDurability             statusDurability,
                     int                          headingColumnWidth,
                     java.util.List<String>       commandLineTestParameters,
-                    java.util.List<String>       configurationTestParameters )
+                    java.util.List<String>       configurationTestParameters,
+                    TestSet                      parentTestSet,
+                    ProgressChannel              progressChannel )
       throws java.io.IOException,
              UserError,
              InternalException
@@ -140,7 +189,7 @@ final class TestSet
       String   value;
       TestData configurationTestData;
 
-      _completionCallbacks = new java.util.ArrayList<CompletionCallback>();
+      _completionCallbacks = new java.util.concurrent.CopyOnWriteArrayList<CompletionCallback>();
 
       _environmentVariables = environmentVariables;
       _jvmCommand = jvmCommand;
@@ -154,9 +203,68 @@ final class TestSet
       _threadCount = threadCount;
       _commandLineTestParameters = commandLineTestParameters;
       _configurationTestParameters = configurationTestParameters;
+      _parentTestSet = parentTestSet;
+      _inProcessResults = null;
+      _discoveryFingerprint = null;
+      _progressChannel = progressChannel;
+      _liveResults = false;
+      _criticalPath = null;
+      _resourceArbiter = null;
+      _timeoutScheduler = null;
+      _failFast = failFast;
+      _failingFast = false;
+      _orderConcurrentPrerequisites = orderConcurrentPrerequisites;
+      _speculativeSiblings = speculativeSiblings;
+      _resumedStates = new java.util.HashMap<Integer,TestState>();
+
+      if ( executionMode == ExecutionMode.PASS_2_VERIFICATION )
+      {
+         configurationTestData = readTestData( getTestConfigurationFile() );
+      }
+      else
+      {
+         configurationTestData = null;
+      }
+
+      _executorService = createExecutorService( threadCount,
+                                                useVirtualThreads,
+                                                criticalPathFirst && (configurationTestData!=null),
+                                                adaptiveThreads );
+
+      if ( adaptiveThreads && !useVirtualThreads )
+      {
+         _threadCountController = new ThreadCountController( (java.util.concurrent.ThreadPoolExecutor)_executorService,
+                                                             minimumThreadCount,
+                                                             maximumThreadCount );
+      }
+      else
+      {
+         _threadCountController = null;
+      }
+
+      if ( useVirtualThreads )
+      {
+         _concurrencyLimit = new java.util.concurrent.Semaphore( threadCount );
+      }
+      else
+      {
+         _concurrencyLimit = null;
+      }
+
       if ( executionMode.verify() )
       {
-         _statusFile = new StatusFile( getLocalResultsDirectory() );
+         _statusFile = new StatusFile( getLocalResultsDirectory(),
+                                       statusDurability );
+         _resumedResults = ResultsJournal.read( getLocalResultsDirectory(),
+                                                _testSetName );
+         _resultsJournal = new ResultsJournal( getLocalResultsDirectory(),
+                                               _testSetName,
+                                               true );
+      }
+      else
+      {
+         _resumedResults = new java.util.HashMap<Integer,byte[]>();
+         _resultsJournal = null;
       }
       _watchdogThread = new WatchdogThread( resultsDirectory,
                                             _testSetName );
@@ -164,41 +272,87 @@ final class TestSet
       _testParameters.addAll( commandLineTestParameters );
       _testParameters.addAll( configurationTestParameters );
 
-      _executorService = java.util.concurrent.Executors.newFixedThreadPool( threadCount );
-
-      switch ( executionMode )
+      try
       {
-         case PASS_1_DISCOVERY:
-         {
-            _rootTestManager = new TestManager( null,
-                                                createAndGetTestUnit(),
-                                                this,
-                                                null,
-                                                "" );
-            break;
-         }
-         case PASS_2_VERIFICATION:
+         switch ( executionMode )
          {
-            configurationTestData = readTestData( getTestConfigurationFile() );
+            case PASS_1_DISCOVERY:
+            {
+               _rootTestManager = new TestManager( null,
+                                                   createAndGetTestUnit(),
+                                                   this,
+                                                   null,
+                                                   "" );
+               break;
+            }
+            case PASS_2_VERIFICATION:
+            {
+               if ( configurationTestData == null )
+               {
+                  throw new UserError( "Error:  Could not read the first-pass results of test set " + _testSetName + " from " + getTestConfigurationFile().getPath() + ".  Run the first pass again." );
+               }
 
-            System.out.println( Utilities.padToRight(_testSetName + " ",
-                                                     headingColumnWidth+10,
-                                                     ".................................................................................................") );
+               if ( criticalPathFirst && !useVirtualThreads )
+               {
+                  _criticalPath = new CriticalPath( configurationTestData,
+                                                    this,
+                                                    useAlternateRun(),
+                                                    _resultsDirectory.getParentFile() );
+               }
 
-            _rootTestManager = new TestManager( null,
-                                                createAndGetTestUnit(),
-                                                this,
-                                                configurationTestData,
-                                                "   " );
-            break;
+               if ( resourcePort == -1 )
+               {
+                  _resourceArbiter = new ResourcePool();
+               }
+               else
+               {
+                  _resourceArbiter = new ResourceClient( resourcePort,
+                                                         _testSetName );
+               }
+
+               _timeoutScheduler = new java.util.concurrent.ScheduledThreadPoolExecutor( 1,
+                                                                                         runnable -> createTimeoutThread(runnable) );
+               _timeoutScheduler.setRemoveOnCancelPolicy( true );
+
+               if ( _progressChannel == null )
+               {
+                  System.out.println( Utilities.padToRight(_testSetName + " ",
+                                                           headingColumnWidth+10,
+                                                           ".................................................................................................") );
+               }
+
+               _rootTestManager = new TestManager( null,
+                                                   createAndGetTestUnit(),
+                                                   this,
+                                                   configurationTestData,
+                                                   "   " );
+
+               if ( testSetTimeout > 0L )
+               {
+                  scheduleTimeout( () -> _rootTestManager.expire("Error:  Test set " + _testSetName + " timed out after " + testSetTimeout + " ms."),
+                                   testSetTimeout );
+               }
+               break;
+            }
+            default:
+            {
+               throw new InternalException( "Unrecognized ExecutionMode:  " + executionMode );
+            }
          }
-         default:
+
+         _rootTestManager.submitTest( headingColumnWidth + 3 );
+      }
+      catch ( Throwable throwable )
+      {
+         if ( executionMode.isDiscovery() )
          {
-            throw new InternalException( "Unrecognized ExecutionMode:  " + executionMode );
+            writePass1StatusFile( false );
          }
-      }
 
-      _rootTestManager.submitTest( headingColumnWidth + 3 );
+         shutdown();
+
+         throw throwable;
+      }
    }
 
    final private TestUnit createAndGetTestUnit()
@@ -263,6 +417,294 @@ final class TestSet
       return _statusFile;
    }
 
+   final void setProgressChannel( ProgressChannel progressChannel )
+   {
+      _progressChannel = progressChannel;
+   }
+
+   final ProgressChannel getProgressChannel()
+   {
+      return _progressChannel;
+   }
+
+   final void setLiveResults( boolean liveResults )
+   {
+      _liveResults = liveResults;
+   }
+
+   final boolean hasLiveResults()
+   {
+      return _liveResults;
+   }
+
+   final void journalResults( TestData testData )
+   {
+      try
+      {
+         _resultsJournal.append( testData.getID(),
+                                 testData.getResultsRecord() );
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+      }
+   }
+
+   final void journalCrashedTests( java.util.List<TestData> crashedTests )
+      throws java.io.IOException
+   {
+      java.util.Map<Integer,byte[]> results;
+      ResultsJournal                resultsJournal;
+
+      results = ResultsJournal.read( getLocalResultsDirectory(),
+                                     _testSetName );
+
+      for ( TestData testData : crashedTests )
+      {
+         results.put( testData.getID(),
+                      testData.getResultsRecord() );
+      }
+
+      resultsJournal = new ResultsJournal( getLocalResultsDirectory(),
+                                           _testSetName,
+                                           false );
+      try
+      {
+         for ( java.util.Map.Entry<Integer,byte[]> entry : results.entrySet() )
+         {
+            resultsJournal.append( entry.getKey(),
+                                   entry.getValue() );
+         }
+      }
+      finally
+      {
+         resultsJournal.close();
+      }
+   }
+
+   final byte[] getResumedResults( int sequenceIndex )
+   {
+      return _resumedResults.get( sequenceIndex );
+   }
+
+   final int loadResumedResults( java.io.File previousResultsDirectory,
+                                 TestState    previousStates[] )
+      throws java.io.IOException
+   {
+      java.util.Map<Integer,byte[]> previousResults;
+      java.util.List<TestData>      branches;
+      int                           sequenceIndex;
+
+      _resumedResults.clear();
+      _resumedStates.clear();
+
+      previousResults = ResultsJournal.read( previousResultsDirectory,
+                                             _testSetName );
+
+      branches = new java.util.ArrayList<TestData>();
+      _testData.listResumableBranches( previousStates,
+                                       previousResults,
+                                       branches );
+
+      for ( TestData branch : branches )
+      {
+         for ( sequenceIndex=branch.getID(); sequenceIndex<branch.getSequenceEnd(); sequenceIndex++ )
+         {
+            _resumedStates.put( sequenceIndex, previousStates[sequenceIndex] );
+            if ( previousResults.containsKey(sequenceIndex) && (TestData.getRecordedState(previousResults.get(sequenceIndex))==previousStates[sequenceIndex]) )
+            {
+               _resumedResults.put( sequenceIndex, previousResults.get(sequenceIndex) );
+            }
+         }
+      }
+
+      return _resumedStates.size();
+   }
+
+   final void startResultsJournal()
+      throws java.io.IOException
+   {
+      ResultsJournal resultsJournal;
+
+      for ( java.util.Map.Entry<Integer,TestState> entry : _resumedStates.entrySet() )
+      {
+         _statusFile.set( entry.getKey(),
+                          entry.getValue() );
+      }
+
+      resultsJournal = new ResultsJournal( getLocalResultsDirectory(),
+                                           _testSetName,
+                                           false );
+      try
+      {
+         for ( java.util.Map.Entry<Integer,byte[]> entry : _resumedResults.entrySet() )
+         {
+            resultsJournal.append( entry.getKey(),
+                                   entry.getValue() );
+         }
+      }
+      finally
+      {
+         resultsJournal.close();
+      }
+   }
+
+   final void restoreResumedResults( TestData testDataMap[] )
+   {
+      TestData testData;
+
+      if ( _resumedStates.size() > 0 )
+      {
+         try
+         {
+            for ( java.util.Map.Entry<Integer,TestState> entry : _resumedStates.entrySet() )
+            {
+               testData = testDataMap[ entry.getKey() ];
+
+               testData.receiveState( entry.getValue() );
+
+               if ( _resumedResults.containsKey(entry.getKey()) )
+               {
+                  testData.restoreResults( _resumedResults.get(entry.getKey()) );
+               }
+            }
+         }
+         catch ( java.io.IOException ioException )
+         {
+            Utilities.printStackTrace( ioException );
+         }
+
+         writeTestData( getBinaryResultsFile(),
+                        _testData );
+      }
+   }
+
+   final void closeStatusFile()
+      throws java.io.IOException
+   {
+      if ( _statusFile != null )
+      {
+         _statusFile.close();
+      }
+   }
+
+   final boolean matchesRunningJVM()
+      throws java.io.IOException
+   {
+      String       classPath;
+      java.io.File runningJVM;
+      java.io.File jvm;
+
+      if ( (_environmentVariables!=null) && !(_environmentVariables.equals(System.getenv())) )
+      {
+         return false;
+      }
+
+      if ( _jvmParameters.size() == 0 )
+      {
+         classPath = System.getenv( "CLASSPATH" );
+         if ( classPath == null )
+         {
+            classPath = ".";
+         }
+      }
+      else if ( (_jvmParameters.size()==2) && (_jvmParameters.get(0).equals("-cp") || _jvmParameters.get(0).equals("-classpath") || _jvmParameters.get(0).equals("--class-path")) )
+      {
+         classPath = _jvmParameters.get( 1 );
+      }
+      else
+      {
+         return false;
+      }
+
+      if ( !(classPath.equals(System.getProperty("java.class.path"))) )
+      {
+         return false;
+      }
+
+      runningJVM = new java.io.File( System.getProperty("java.home"), "bin" );
+      runningJVM = new java.io.File( runningJVM, new java.io.File(_jvmCommand).getName() );
+
+      if ( new java.io.File(_jvmCommand).getParent() != null )
+      {
+         jvm = new java.io.File( _jvmCommand );
+      }
+      else
+      {
+         jvm = null;
+         for ( String directoryName : System.getenv().getOrDefault("PATH","").split(java.io.File.pathSeparator) )
+         {
+            if ( (jvm==null) && new java.io.File(directoryName,_jvmCommand).canExecute() )
+            {
+               jvm = new java.io.File( directoryName, _jvmCommand );
+            }
+         }
+      }
+
+      return (jvm!=null) && runningJVM.exists() && jvm.getCanonicalFile().equals( runningJVM.getCanonicalFile() );
+   }
+
+   final void runInProcess( ExecutionMode    executionMode,
+                            int              headingColumnWidth,
+                            int              threadCount,
+                            boolean          useVirtualThreads,
+                            boolean          criticalPathFirst,
+                            int              resourcePort,
+                            long             testSetTimeout,
+                            boolean          failFast,
+                            boolean          orderConcurrentPrerequisites,
+                            boolean          speculativeSiblings,
+                            boolean          adaptiveThreads,
+                            int              minimumThreadCount,
+                            int              maximumThreadCount,
+                            StatusDurability statusDurability )
+      throws InterruptedException,
+             java.io.IOException
+   {
+      TestSet testSet;
+
+      _inProcessResults = null;
+
+      try
+      {
+         testSet = new TestSet( _environmentVariables,
+                                _jvmCommand,
+                                _jvmParameters,
+                                executionMode,
+                                _resultsDirectory,
+                                _testSuiteName,
+                                _configuredIndex,
+                                _testSetName,
+                                _testUnitClassName,
+                                threadCount,
+                                useVirtualThreads,
+                                criticalPathFirst,
+                                resourcePort,
+                                testSetTimeout,
+                                failFast,
+                                orderConcurrentPrerequisites,
+                                speculativeSiblings,
+                                adaptiveThreads,
+                                minimumThreadCount,
+                                maximumThreadCount,
+                                statusDurability,
+                                headingColumnWidth,
+                                _commandLineTestParameters,
+                                _configurationTestParameters,
+                                this,
+                                null );
+      }
+      catch ( Throwable throwable )
+      {
+         Utilities.printStackTrace( throwable );
+         return;
+      }
+
+      testSet.waitForShutdown();
+
+      testSet.closeStatusFile();
+   }
+
    final int getConfiguredIndex()
    {
       return _configuredIndex;
@@ -388,41 +830,261 @@ final class TestSet
       return _testSetWindow;
    }
 
-   final void submitConcurrentTest( TestManager testManager,
-                                    int         headingColumnWidth )
+   final private static java.util.concurrent.ExecutorService createExecutorService( int     threadCount,
+                                                                                    boolean useVirtualThreads,
+                                                                                    boolean criticalPathFirst,
+                                                                                    boolean adaptiveThreads )
+      throws UserError
    {
-      _executorService.submit( () -> testManager.testThread(headingColumnWidth) );
-   }
+      java.util.concurrent.BlockingQueue<Runnable> queue;
+      java.util.concurrent.ThreadPoolExecutor      threadPoolExecutor;
 
-   final void appendToSequence( SequenceList sequenceList )
-   {
-      _testData.appendToSequence( sequenceList );
-   }
+      if ( useVirtualThreads )
+      {
+         try
+         {
+            return (java.util.concurrent.ExecutorService)( java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null) );
+         }
+         catch ( NoSuchMethodException noSuchMethodException )
+         {
+            throw new UserError( "Error:  Virtual threads require Java 21 or later.  This test set is running on Java " + System.getProperty("java.version") + "." );
+         }
+         catch ( IllegalAccessException | java.lang.reflect.InvocationTargetException callException )
+         {
+            throw new UserError( "Error:  Could not create virtual threads on Java " + System.getProperty("java.version") + ".  " + callException.getCause() );
+         }
+      }
+      else if ( criticalPathFirst || adaptiveThreads )
+      {
+         if ( criticalPathFirst )
+         {
+            queue = new java.util.concurrent.PriorityBlockingQueue<Runnable>();
+         }
+         else
+         {
+            queue = new java.util.concurrent.LinkedBlockingQueue<Runnable>();
+         }
 
-   final void initializePrerequisites( boolean useAlternateRunFlag )
-      throws UserError
-   {
-      _testData.initializePrerequisites( useAlternateRunFlag );
-   }
+         threadPoolExecutor = new java.util.concurrent.ThreadPoolExecutor( threadCount,
+                                                                           threadCount,
+                                                                           0L,
+                                                                           java.util.concurrent.TimeUnit.MILLISECONDS,
+                                                                           queue );
+         threadPoolExecutor.prestartAllCoreThreads();
 
-   final void addCompletionCallback( CompletionCallback completionCallback )
-   {
-      _completionCallbacks.add( completionCallback );
+         return threadPoolExecutor;
+      }
+      else
+      {
+         return new java.util.concurrent.ForkJoinPool( threadCount,
+                                                       java.util.concurrent.ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                                                       null,
+                                                       false );
+      }
    }
 
-   final void callCompletionListeners()
+   final void submitConcurrentTest( TestManager testManager,
+                                    int         headingColumnWidth )
    {
-      for ( CompletionCallback completionCallback : _completionCallbacks )
+      Runnable      task;
+      ResourceClaim resourceClaims[];
+
+      if ( _concurrencyLimit == null )
       {
-         completionCallback.testComplete( _testData );
+         task = () -> testManager.testThread( headingColumnWidth );
+      }
+      else
+      {
+         task = () -> limitedTestThread( testManager,
+                                         headingColumnWidth );
+      }
+
+      resourceClaims = getResourceClaims( testManager );
+
+      if ( resourceClaims.length == 0 )
+      {
+         dispatchTest( testManager,
+                       task );
+      }
+      else
+      {
+         _resourceArbiter.request( resourceClaims,
+                                   () -> dispatchTest(testManager,
+                                                      () -> claimingTestThread(task,
+                                                                               resourceClaims)) );
       }
    }
 
-   final void savePass1ConfigurationData()
+   final private ResourceClaim[] getResourceClaims( TestManager testManager )
    {
-      java.io.File testConfigurationFile;
+      TestData pass1TestData;
 
-      testConfigurationFile = getTestConfigurationFile();
+      pass1TestData = testManager.getPass1TestData();
+
+      if ( (_resourceArbiter==null) || (pass1TestData==null) || !(pass1TestData.getRun(useAlternateRun())) )
+      {
+         return new ResourceClaim[ 0 ];
+      }
+
+      return pass1TestData.getResourceClaims();
+   }
+
+   final private void claimingTestThread( Runnable      task,
+                                          ResourceClaim resourceClaims[] )
+   {
+      try
+      {
+         task.run();
+      }
+      finally
+      {
+         _resourceArbiter.release( resourceClaims );
+      }
+   }
+
+   final private void dispatchTest( TestManager testManager,
+                                    Runnable    task )
+   {
+      if ( java.util.concurrent.ForkJoinTask.getPool() == _executorService )
+      {
+         java.util.concurrent.ForkJoinTask.adapt( task ).fork();
+      }
+      else if ( _criticalPath != null )
+      {
+         _executorService.execute( _criticalPath.prioritize(task,
+                                                            testManager.getPass1TestData()) );
+      }
+      else
+      {
+         _executorService.submit( task );
+      }
+   }
+
+   final java.util.concurrent.ScheduledFuture<?> scheduleTimeout( Runnable task,
+                                                                  long     timeout )
+   {
+      if ( _timeoutScheduler == null )
+      {
+         return null;
+      }
+
+      return _timeoutScheduler.schedule( task,
+                                         timeout,
+                                         java.util.concurrent.TimeUnit.MILLISECONDS );
+   }
+
+   final boolean startFailingFast()
+   {
+      synchronized ( this )
+      {
+         if ( !_failFast || _failingFast )
+         {
+            return false;
+         }
+
+         _failingFast = true;
+
+         return true;
+      }
+   }
+
+   final boolean orderConcurrentPrerequisites()
+   {
+      return _orderConcurrentPrerequisites;
+   }
+
+   final boolean speculativeSiblings()
+   {
+      return _speculativeSiblings;
+   }
+
+   final void recordThreadUsage( long cpuTime,
+                                 long wallTime )
+   {
+      if ( _threadCountController != null )
+      {
+         _threadCountController.recordUsage( cpuTime,
+                                             wallTime );
+      }
+   }
+
+   final boolean isFailingFast()
+   {
+      synchronized ( this )
+      {
+         return _failingFast;
+      }
+   }
+
+   final private static Thread createTimeoutThread( Runnable runnable )
+   {
+      Thread thread;
+
+      thread = new Thread( runnable,
+                           "Undercamber timeouts" );
+      thread.setDaemon( true );
+
+      return thread;
+   }
+
+   final private void limitedTestThread( TestManager testManager,
+                                         int         headingColumnWidth )
+   {
+      _concurrencyLimit.acquireUninterruptibly();
+
+      try
+      {
+         testManager.testThread( headingColumnWidth );
+      }
+      finally
+      {
+         _concurrencyLimit.release();
+      }
+   }
+
+   final void appendToSequence( SequenceList sequenceList )
+   {
+      _testData.appendToSequence( sequenceList );
+   }
+
+   final void initializePrerequisites( boolean useAlternateRunFlag,
+                                       boolean orderConcurrentPrerequisites )
+      throws UserError
+   {
+      _testData.initializePrerequisites( useAlternateRunFlag,
+                                         orderConcurrentPrerequisites );
+   }
+
+   final java.util.Set<TestSet> getPrerequisiteTestSets( boolean useAlternateRunFlag )
+   {
+      java.util.Set<TestSet> prerequisiteTestSets;
+
+      prerequisiteTestSets = new java.util.HashSet<TestSet>();
+
+      _testData.addPrerequisiteTestSetsOnBranch( useAlternateRunFlag,
+                                                 prerequisiteTestSets );
+
+      return prerequisiteTestSets;
+   }
+
+   final void addCompletionCallback( CompletionCallback completionCallback )
+   {
+      _completionCallbacks.add( completionCallback );
+   }
+
+   final void callCompletionListeners()
+   {
+      for ( CompletionCallback completionCallback : _completionCallbacks )
+      {
+         completionCallback.testComplete( _testData );
+      }
+   }
+
+   final void savePass1ConfigurationData()
+   {
+      java.io.File testConfigurationFile;
+
+      testConfigurationFile = getTestConfigurationFile();
 
       testConfigurationFile.getParentFile().mkdirs();
 
@@ -430,6 +1092,221 @@ final class TestSet
                      _testData );
    }
 
+   final boolean readDiscoveryCache()
+   {
+      java.io.File discoveryCacheFile;
+      TestData     testData;
+      TestData     previousRunTestData;
+
+      discoveryCacheFile = getDiscoveryCacheFile();
+
+      try
+      {
+         _discoveryFingerprint = computeDiscoveryFingerprint();
+
+         if ( discoveryCacheFile.exists() )
+         {
+            try ( java.io.FileInputStream fileInputStream = new java.io.FileInputStream(discoveryCacheFile) )
+            {
+               try ( java.io.BufferedInputStream bufferedInputStream = new java.io.BufferedInputStream(fileInputStream,262144) )
+               {
+                  try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(bufferedInputStream) )
+                  {
+                     if ( !(dataInputStream.readUTF().equals(_discoveryFingerprint)) )
+                     {
+                        return false;
+                     }
+
+                     testData = readTestResults( dataInputStream );
+                  }
+               }
+            }
+
+            previousRunTestData = readTestData( getTestConfigurationFile() );
+            if ( previousRunTestData != null )
+            {
+               testData.transferConfigurationFromPreviousRun( previousRunTestData );
+            }
+
+            _testData = testData;
+
+            return true;
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+         _discoveryFingerprint = null;
+      }
+
+      return false;
+   }
+
+   final void writeDiscoveryCache()
+   {
+      java.io.File discoveryCacheFile;
+
+      if ( _discoveryFingerprint != null )
+      {
+         discoveryCacheFile = getDiscoveryCacheFile();
+
+         discoveryCacheFile.getParentFile().mkdirs();
+
+         try ( java.io.FileOutputStream fileOutputStream = new java.io.FileOutputStream(discoveryCacheFile) )
+         {
+            try ( java.io.BufferedOutputStream bufferedOutputStream = new java.io.BufferedOutputStream(fileOutputStream,262144) )
+            {
+               try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(bufferedOutputStream) )
+               {
+                  dataOutputStream.writeUTF( _discoveryFingerprint );
+
+                  writeTestData( dataOutputStream,
+                                 _testData );
+               }
+            }
+         }
+         catch ( Throwable throwable )
+         {
+            Utilities.printStackTrace( throwable );
+            discoveryCacheFile.delete();
+         }
+      }
+   }
+
+   final private String computeDiscoveryFingerprint()
+      throws java.io.IOException
+   {
+      java.security.MessageDigest  messageDigest;
+      java.util.Map<String,String> environmentVariables;
+      java.util.List<String>       classPathEntries;
+      int                          index;
+      StringBuffer                 stringBuffer;
+
+      try
+      {
+         messageDigest = java.security.MessageDigest.getInstance( "SHA-256" );
+      }
+      catch ( java.security.NoSuchAlgorithmException noSuchAlgorithmException )
+      {
+         throw new java.io.IOException( "Could not compute the discovery fingerprint",
+                                        noSuchAlgorithmException );
+      }
+
+      if ( _environmentVariables == null )
+      {
+         environmentVariables = new java.util.TreeMap<String,String>( System.getenv() );
+      }
+      else
+      {
+         environmentVariables = new java.util.TreeMap<String,String>( _environmentVariables );
+      }
+
+      updateFingerprint( messageDigest, Undercamber.VERSION );
+      updateFingerprint( messageDigest, _testUnitClassName );
+      updateFingerprint( messageDigest, _jvmCommand );
+
+      for ( String jvmParameter : _jvmParameters )
+      {
+         updateFingerprint( messageDigest, jvmParameter );
+      }
+
+      for ( String testParameter : _testParameters )
+      {
+         updateFingerprint( messageDigest, testParameter );
+      }
+
+      for ( String name : environmentVariables.keySet() )
+      {
+         updateFingerprint( messageDigest, name );
+         updateFingerprint( messageDigest, environmentVariables.get(name) );
+      }
+
+      classPathEntries = new java.util.ArrayList<String>();
+      for ( index=0; index<(_jvmParameters.size()-1); index++ )
+      {
+         switch ( _jvmParameters.get(index) )
+         {
+            case "-cp":
+            case "-classpath":
+            case "--class-path":
+            case "-p":
+            case "--module-path":
+            {
+               classPathEntries.addAll( java.util.Arrays.asList(_jvmParameters.get(index+1).split(java.io.File.pathSeparator)) );
+               break;
+            }
+            default:
+            {
+               break;
+            }
+         }
+      }
+
+      if ( classPathEntries.isEmpty() )
+      {
+         classPathEntries.addAll( java.util.Arrays.asList(environmentVariables.getOrDefault("CLASSPATH",".").split(java.io.File.pathSeparator)) );
+      }
+
+      for ( String classPathEntry : classPathEntries )
+      {
+         if ( classPathEntry.endsWith("*") )
+         {
+            updateFingerprint( messageDigest,
+                               new java.io.File(classPathEntry.substring(0,classPathEntry.length()-1)) );
+         }
+         else
+         {
+            updateFingerprint( messageDigest,
+                               new java.io.File(classPathEntry) );
+         }
+      }
+
+      stringBuffer = new StringBuffer();
+      for ( byte digestByte : messageDigest.digest() )
+      {
+         stringBuffer.append( String.format("%02x",digestByte) );
+      }
+
+      return stringBuffer.toString();
+   }
+
+   final private static void updateFingerprint( java.security.MessageDigest messageDigest,
+                                                String                      text )
+   {
+      messageDigest.update( text.getBytes(java.nio.charset.StandardCharsets.UTF_8) );
+      messageDigest.update( (byte)0 );
+   }
+
+   final private static void updateFingerprint( java.security.MessageDigest messageDigest,
+                                                java.io.File                file )
+   {
+      java.io.File files[];
+
+      updateFingerprint( messageDigest, file.getAbsolutePath() );
+
+      if ( file.isDirectory() )
+      {
+         files = file.listFiles();
+         if ( files != null )
+         {
+            java.util.Arrays.sort( files );
+            for ( java.io.File child : files )
+            {
+               updateFingerprint( messageDigest, child );
+            }
+         }
+      }
+      else if ( file.exists() )
+      {
+         updateFingerprint( messageDigest, Long.toString(file.length()) );
+         updateFingerprint( messageDigest, Long.toString(file.lastModified()) );
+      }
+      else
+      {
+         updateFingerprint( messageDigest, "-" );
+      }
+   }
+
    final java.util.Set<String> getTagNames()
    {
       java.util.Set<String> tagNames;
@@ -444,10 +1321,6 @@ final class TestSet
    final void readPass1TestData()
       throws java.io.IOException
    {
-      java.io.File testDataFile;
-
-      testDataFile = getTestConfigurationFile();
-
       _testData = readTestResults( getTestConfigurationFile() );
    }
 
@@ -480,32 +1353,52 @@ final class TestSet
          {
             try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(bufferedInputStream) )
             {
-               if ( dataInputStream.readInt() > Undercamber.PERSISTENCE_VERSION )
-               {
-                  throw new java.io.IOException( "The database is from a newer version of Undercamber" );
-               }
-               if ( !(dataInputStream.readUTF().equals(Undercamber.PERSISTENCE_BRANCH)) )
-               {
-                  throw new java.io.IOException( "The database is from an unrecognized branch of Undercamber" );
-               }
-
-               if ( dataInputStream.readInt() > CLASS_PERSISTENCE_VERSION )
-               {
-                  throw new java.io.IOException( "The database is from a newer version of Undercamber" );
-               }
-               if ( !(dataInputStream.readUTF().equals(CLASS_PERSISTENCE_BRANCH)) )
-               {
-                  throw new java.io.IOException( "The database is from an unrecognized branch of Undercamber" );
-               }
-
-               return new TestData( dataInputStream,
-                                    null,
-                                    this );
+               return readTestResults( dataInputStream );
             }
          }
       }
    }
 
+   final private TestData readTestResults( java.io.DataInputStream dataInputStream )
+      throws java.io.IOException
+   {
+      if ( dataInputStream.readInt() > Undercamber.PERSISTENCE_VERSION )
+      {
+         throw new java.io.IOException( "The database is from a newer version of Undercamber" );
+      }
+      if ( !(dataInputStream.readUTF().equals(Undercamber.PERSISTENCE_BRANCH)) )
+      {
+         throw new java.io.IOException( "The database is from an unrecognized branch of Undercamber" );
+      }
+
+      if ( dataInputStream.readInt() > CLASS_PERSISTENCE_VERSION )
+      {
+         throw new java.io.IOException( "The database is from a newer version of Undercamber" );
+      }
+      if ( !(dataInputStream.readUTF().equals(CLASS_PERSISTENCE_BRANCH)) )
+      {
+         throw new java.io.IOException( "The database is from an unrecognized branch of Undercamber" );
+      }
+
+      return new TestData( dataInputStream,
+                           null,
+                           this );
+   }
+
+   final private void receiveDiscoveredTestData( TestData testData )
+   {
+      testData.detach( this );
+
+      _testData = testData;
+   }
+
+   final private void receiveResults( TestData testData )
+   {
+      testData.detach( this );
+
+      _inProcessResults = testData;
+   }
+
    final private void writeTestData( java.io.File persistenceFile,
                                      TestData     testData )
    {
@@ -520,13 +1413,8 @@ final class TestSet
          {
             try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(bufferedOutputStream) )
             {
-               dataOutputStream.writeInt( Undercamber.PERSISTENCE_VERSION );
-               dataOutputStream.writeUTF( Undercamber.PERSISTENCE_BRANCH );
-
-               dataOutputStream.writeInt( CLASS_PERSISTENCE_VERSION );
-               dataOutputStream.writeUTF( CLASS_PERSISTENCE_BRANCH );
-
-               testData.write( dataOutputStream );
+               writeTestData( dataOutputStream,
+                              testData );
             }
          }
       }
@@ -536,6 +1424,19 @@ final class TestSet
       }
    }
 
+   final private void writeTestData( java.io.DataOutputStream dataOutputStream,
+                                     TestData                 testData )
+      throws java.io.IOException
+   {
+      dataOutputStream.writeInt( Undercamber.PERSISTENCE_VERSION );
+      dataOutputStream.writeUTF( Undercamber.PERSISTENCE_BRANCH );
+
+      dataOutputStream.writeInt( CLASS_PERSISTENCE_VERSION );
+      dataOutputStream.writeUTF( CLASS_PERSISTENCE_BRANCH );
+
+      testData.write( dataOutputStream );
+   }
+
    final boolean shouldRun( boolean useAlternateRunFlag )
    {
       return _testData.getRun( useAlternateRunFlag );
@@ -573,100 +1474,324 @@ final class TestSet
                _testData.transferConfigurationFromPreviousRun( previousRunTestData );
             }
 
-            testConfigurationFile.getParentFile().mkdirs();
+            if ( _parentTestSet == null )
+            {
+               testConfigurationFile.getParentFile().mkdirs();
 
-            writeTestData( testConfigurationFile,
-                           _testData );
+               writeTestData( testConfigurationFile,
+                              _testData );
+            }
+            else
+            {
+               _parentTestSet.receiveDiscoveredTestData( _testData );
+            }
 
             failed = writePass1StatusFile( true );
 
-            shutdown();
-         }
-         else
-         {
-            _testData = _rootTestManager.getTestData();
+            shutdown();
+         }
+         else
+         {
+            _testData = _rootTestManager.getTestData();
+
+            _testData.requirementsCallback();
+
+            writeTestData( getBinaryResultsFile(),
+                           _rootTestManager.getTestData() );
+
+            _statusFile.checkpoint();
+
+            _resultsJournal.close();
+
+            if ( _threadCountController != null )
+            {
+               writeAdaptiveThreadCount( _threadCountController.getThreadCount() );
+            }
+
+            callCompletionListeners();
+
+            if ( _parentTestSet != null )
+            {
+               _parentTestSet.receiveResults( _rootTestManager.getTestData() );
+            }
+
+            if ( _progressChannel != null )
+            {
+               _progressChannel.testSetComplete();
+               _progressChannel.close();
+            }
+
+            shutdown();
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+      }
+      finally
+      {
+         if ( failed )
+         {
+            shutdown();
+         }
+      }
+   }
+
+   final void failureCallback( Throwable throwable )
+   {
+      writePass1StatusFile( false );
+
+      Utilities.printStackTrace( throwable );
+
+      shutdown();
+   }
+
+   final private boolean writePass1StatusFile( boolean okay )
+   {
+      try
+      {
+         try ( java.io.FileOutputStream fileOutputStream = new java.io.FileOutputStream(getPass1StatusFile()) )
+         {
+            try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(fileOutputStream) )
+            {
+               dataOutputStream.writeBoolean( okay );
+               return false;
+            }
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         ioException.printStackTrace();
+         return true;
+      }
+   }
+
+   final boolean readPass1StatusFile()
+   {
+      try
+      {
+         try ( java.io.FileInputStream fileInputStream = new java.io.FileInputStream(getPass1StatusFile()) )
+         {
+            try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(fileInputStream) )
+            {
+               return dataInputStream.readBoolean();
+            }
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         ioException.printStackTrace();
+         return false;
+      }
+   }
+
+   final int computeHeadingColumnWidth( int maximumHeadingColumnWidth )
+   {
+      return _testData.getHeadingColumnWidth( maximumHeadingColumnWidth,
+                                              "" );
+   }
+
+   final TestData getTestData()
+   {
+      return _testData;
+   }
+
+   final TestData getTestDataFromPersistence()
+   {
+      if ( _inProcessResults != null )
+      {
+         return _inProcessResults;
+      }
+
+      return readTestData( getBinaryResultsFile() );
+   }
+
+   final java.util.List<TestData> getPreviousRunTestData( java.io.File resultsRootDirectory,
+                                                          int          maximumRunCount )
+   {
+      java.io.File                 resultsDirectories[];
+      java.io.File                 binaryResultsFile;
+      java.util.List<java.io.File> binaryResultsFiles;
+      java.util.List<TestData>     previousRunTestData;
+      TestData                     testData;
 
-            _testData.requirementsCallback();
+      binaryResultsFiles = new java.util.ArrayList<java.io.File>();
+      previousRunTestData = new java.util.ArrayList<TestData>();
 
-            writeTestData( getBinaryResultsFile(),
-                           _rootTestManager.getTestData() );
+      resultsDirectories = resultsRootDirectory.listFiles();
+      if ( resultsDirectories == null )
+      {
+         return previousRunTestData;
+      }
 
-            callCompletionListeners();
+      for ( java.io.File resultsDirectory : resultsDirectories )
+      {
+         if ( !(resultsDirectory.equals(_resultsDirectory)) )
+         {
+            binaryResultsFile = getBinaryResultsFile( resultsDirectory );
 
-            shutdown();
+            if ( binaryResultsFile.isFile() )
+            {
+               binaryResultsFiles.add( binaryResultsFile );
+            }
          }
       }
-      finally
+
+      java.util.Collections.sort( binaryResultsFiles, (file1,file2) -> (file1.lastModified()==file2.lastModified()) ? file2.compareTo(file1) : Long.compare(file2.lastModified(),file1.lastModified()) );
+
+      for ( java.io.File previousRunFile : binaryResultsFiles )
       {
-         if ( failed )
+         if ( previousRunTestData.size() >= maximumRunCount )
          {
-            shutdown();
+            break;
+         }
+
+         testData = readTestData( previousRunFile );
+         if ( testData != null )
+         {
+            previousRunTestData.add( testData );
          }
       }
+
+      return previousRunTestData;
    }
 
-   final void failureCallback( Throwable throwable )
+   final Integer getPreviousAdaptiveThreadCount( java.io.File resultsRootDirectory )
    {
-      writePass1StatusFile( false );
+      java.io.File                 resultsDirectories[];
+      java.io.File                 reportFile;
+      java.util.List<java.io.File> reportFiles;
+      Integer                      threadCount;
 
-      Utilities.printStackTrace( throwable );
+      reportFiles = new java.util.ArrayList<java.io.File>();
 
-      shutdown();
-   }
+      resultsDirectories = resultsRootDirectory.listFiles();
+      if ( resultsDirectories == null )
+      {
+         return null;
+      }
 
-   final private boolean writePass1StatusFile( boolean okay )
-   {
-      try
+      for ( java.io.File resultsDirectory : resultsDirectories )
       {
-         try ( java.io.FileOutputStream fileOutputStream = new java.io.FileOutputStream(getPass1StatusFile()) )
+         if ( !(resultsDirectory.equals(_resultsDirectory)) )
          {
-            try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(fileOutputStream) )
+            reportFile = new java.io.File( resultsDirectory, "TestReport.xml" );
+
+            if ( reportFile.isFile() )
             {
-               dataOutputStream.writeBoolean( okay );
-               return false;
+               reportFiles.add( reportFile );
             }
          }
       }
-      catch ( java.io.IOException ioException )
+
+      java.util.Collections.sort( reportFiles, (file1,file2) -> (file1.lastModified()==file2.lastModified()) ? file2.compareTo(file1) : Long.compare(file2.lastModified(),file1.lastModified()) );
+
+      for ( java.io.File previousReportFile : reportFiles )
       {
-         ioException.printStackTrace();
-         return true;
+         threadCount = readAdaptiveThreadCount( previousReportFile );
+         if ( threadCount != null )
+         {
+            return threadCount;
+         }
       }
+
+      return null;
    }
 
-   final boolean readPass1StatusFile()
+   final private Integer readAdaptiveThreadCount( java.io.File reportFile )
    {
-      try
+      javax.xml.stream.XMLStreamReader reader;
+      int                              depth;
+      String                           testSetName;
+
+      try ( java.io.FileInputStream fileInputStream = new java.io.FileInputStream(reportFile) )
       {
-         try ( java.io.FileInputStream fileInputStream = new java.io.FileInputStream(getPass1StatusFile()) )
+         reader = javax.xml.stream.XMLInputFactory.newInstance().createXMLStreamReader( fileInputStream );
+
+         try
          {
-            try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(fileInputStream) )
+            depth = 0;
+            testSetName = null;
+
+            while ( reader.hasNext() )
             {
-               return dataInputStream.readBoolean();
+               switch ( reader.next() )
+               {
+                  case javax.xml.stream.XMLStreamConstants.START_ELEMENT:
+                  {
+                     depth++;
+
+                     if ( (depth==3) && reader.getLocalName().equals("name") )
+                     {
+                        testSetName = reader.getElementText();
+                        depth--;
+                     }
+                     else if ( (depth==3) && reader.getLocalName().equals("adaptiveThreadCount") && _testSetName.equals(testSetName) )
+                     {
+                        return Integer.parseInt( reader.getElementText().trim() );
+                     }
+                     break;
+                  }
+                  case javax.xml.stream.XMLStreamConstants.END_ELEMENT:
+                  {
+                     if ( (depth==2) && _testSetName.equals(testSetName) )
+                     {
+                        return null;
+                     }
+
+                     depth--;
+                     break;
+                  }
+                  default:
+                  {
+                     break;
+                  }
+               }
             }
+
+            return null;
+         }
+         finally
+         {
+            reader.close();
          }
       }
-      catch ( java.io.IOException ioException )
+      catch ( java.io.IOException | javax.xml.stream.XMLStreamException | NumberFormatException exception )
       {
-         ioException.printStackTrace();
-         return false;
+         return null;
       }
    }
 
-   final int computeHeadingColumnWidth( int maximumHeadingColumnWidth )
+   final TestData readResults( java.io.File resultsDirectory )
    {
-      return _testData.getHeadingColumnWidth( maximumHeadingColumnWidth,
-                                              "" );
+      return readTestData( getBinaryResultsFile(resultsDirectory) );
    }
 
-   final TestData getTestData()
+   final void mergeResults( java.util.List<java.io.File> resultsDirectories )
    {
-      return _testData;
-   }
+      java.io.File binaryResultsFile;
+      TestData     testResults;
 
-   final TestData getTestDataFromPersistence()
-   {
-      return readTestData( getBinaryResultsFile() );
+      for ( java.io.File resultsDirectory : resultsDirectories )
+      {
+         binaryResultsFile = getBinaryResultsFile( resultsDirectory );
+
+         if ( binaryResultsFile.isFile() )
+         {
+            testResults = readTestData( binaryResultsFile );
+            if ( testResults != null )
+            {
+               _testData.mergeResultsFrom( testResults );
+            }
+         }
+      }
+
+      binaryResultsFile = getBinaryResultsFile();
+
+      binaryResultsFile.getParentFile().mkdirs();
+
+      writeTestData( binaryResultsFile,
+                     _testData );
    }
 
    final java.io.File getTestConfigurationFile()
@@ -682,6 +1807,19 @@ final class TestSet
       return configurationFile;
    }
 
+   final private java.io.File getDiscoveryCacheFile()
+   {
+      java.io.File discoveryCacheFile;
+
+      discoveryCacheFile = new java.io.File( System.getProperty("user.home") );
+      discoveryCacheFile = new java.io.File( discoveryCacheFile, ".Undercamber" );
+      discoveryCacheFile = new java.io.File( discoveryCacheFile, _testSuiteName );
+      discoveryCacheFile = new java.io.File( discoveryCacheFile, "tests" );
+      discoveryCacheFile = new java.io.File( discoveryCacheFile, _testSetName+".discovery" );
+
+      return discoveryCacheFile;
+   }
+
    final java.io.File getPass1StatusFile()
    {
       java.io.File pass1StatusFile;
@@ -694,17 +1832,83 @@ final class TestSet
       return pass1StatusFile;
    }
 
+   final java.io.File getProcessLogFile()
+   {
+      java.io.File processLogFile;
+
+      processLogFile = new java.io.File( getLocalResultsDirectory(), "UndercamberWorkingDirectory" );
+      processLogFile = new java.io.File( processLogFile, "executive" );
+      processLogFile.mkdirs();
+      processLogFile = new java.io.File( processLogFile, _testSetName+".log" );
+
+      return processLogFile;
+   }
+
    final private java.io.File getBinaryResultsFile()
+   {
+      return getBinaryResultsFile( getLocalResultsDirectory() );
+   }
+
+   final private java.io.File getBinaryResultsFile( java.io.File resultsDirectory )
    {
       java.io.File binaryResultsFile;
 
-      binaryResultsFile = new java.io.File( getLocalResultsDirectory(), "UndercamberWorkingDirectory" );
+      binaryResultsFile = new java.io.File( resultsDirectory, "UndercamberWorkingDirectory" );
       binaryResultsFile = new java.io.File( binaryResultsFile, "tests" );
       binaryResultsFile = new java.io.File( binaryResultsFile, _testSetName+".dat" );
 
       return binaryResultsFile;
    }
 
+   final private java.io.File getAdaptiveThreadCountFile()
+   {
+      java.io.File adaptiveThreadCountFile;
+
+      adaptiveThreadCountFile = new java.io.File( getLocalResultsDirectory(), "UndercamberWorkingDirectory" );
+      adaptiveThreadCountFile = new java.io.File( adaptiveThreadCountFile, "tests" );
+      adaptiveThreadCountFile = new java.io.File( adaptiveThreadCountFile, _testSetName+".threads" );
+
+      return adaptiveThreadCountFile;
+   }
+
+   final private void writeAdaptiveThreadCount( int threadCount )
+   {
+      java.io.File adaptiveThreadCountFile;
+
+      adaptiveThreadCountFile = getAdaptiveThreadCountFile();
+      adaptiveThreadCountFile.getParentFile().mkdirs();
+
+      try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(new java.io.FileOutputStream(adaptiveThreadCountFile)) )
+      {
+         dataOutputStream.writeInt( threadCount );
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+      }
+   }
+
+   final private Integer readAdaptiveThreadCount()
+   {
+      java.io.File adaptiveThreadCountFile;
+
+      adaptiveThreadCountFile = getAdaptiveThreadCountFile();
+      if ( !(adaptiveThreadCountFile.isFile()) )
+      {
+         return null;
+      }
+
+      try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(new java.io.FileInputStream(adaptiveThreadCountFile)) )
+      {
+         return dataInputStream.readInt();
+      }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
+         return null;
+      }
+   }
+
    final java.io.File getLocalResultsDirectory()
    {
       return _resultsDirectory;
@@ -713,19 +1917,60 @@ final class TestSet
    final void shutdown()
    {
       _executorService.shutdown();
+      if ( _resourceArbiter != null )
+      {
+         _resourceArbiter.close();
+      }
+      if ( _timeoutScheduler != null )
+      {
+         _timeoutScheduler.shutdownNow();
+      }
+      if ( _threadCountController != null )
+      {
+         _threadCountController.stop();
+      }
       if ( _watchdogThread != null )
       {
          _watchdogThread.stop();
       }
+
+      synchronized ( this )
+      {
+         _shutDown = true;
+
+         notifyAll();
+      }
+   }
+
+   final void waitForShutdown()
+      throws InterruptedException
+   {
+      synchronized ( this )
+      {
+         while ( !_shutDown )
+         {
+            wait();
+         }
+      }
+
+      _executorService.awaitTermination( 36524,
+                                         java.util.concurrent.TimeUnit.DAYS );
    }
 
    final void writeToXML( Undercamber         undercamber,
                           String              margin,
                           java.io.PrintStream printStream )
    {
+      Integer adaptiveThreadCount;
+
       printStream.println( margin + "<testSet>" );
       printStream.println( margin + "   <name>" + _testSetName + "</name>" );
       printStream.println( margin + "   <pass2ThreadCount>" + undercamber.getPass2ThreadCount(_configuredIndex) + "</pass2ThreadCount>" );
+      adaptiveThreadCount = readAdaptiveThreadCount();
+      if ( adaptiveThreadCount != null )
+      {
+         printStream.println( margin + "   <adaptiveThreadCount>" + adaptiveThreadCount + "</adaptiveThreadCount>" );
+      }
       printStream.println( margin + "   <jvmCommand>" + _jvmCommand + "</jvmCommand>" );
 
       printStream.println( margin + "   <javaParameters>" );
@@ -762,13 +2007,109 @@ final class TestSet
       System.out.println(   "            ( 9) <test unit class name>" );
       System.out.println(   "            (10) <command line test parameter count>" );
       System.out.println(   "            (11) <thread count>" );
+      System.out.println(   "            (12) <control port, or -1>" );
+      System.out.println(   "            (13) <progress port, or -1>" );
+      System.out.println(   "            (14) <use virtual threads (true or false)>" );
+      System.out.println(   "            (15) <critical path first (true or false)>" );
+      System.out.println(   "            (16) <resource broker port, or -1>" );
+      System.out.println(   "            (17) <test set timeout in milliseconds, or 0>" );
+      System.out.println(   "            (18) <fail fast (true or false)>" );
+      System.out.println(   "            (19) <order concurrent prerequisites (true or false)>" );
+      System.out.println(   "            (20) <speculative siblings (true or false)>" );
+      System.out.println(   "            (21) <adaptive threads (true or false)>" );
+      System.out.println(   "            (22) <minimum thread count>" );
+      System.out.println(   "            (23) <maximum thread count>" );
+      System.out.println(   "            (24) <status durability (ordinal)>" );
       System.out.println(   "                 {<environment variable name, environment variable value>...}" );
       System.out.println(   "                 {<JVM parameters>...}" );
       System.out.println(   "                 {<command line test parameter>...}" );
       System.out.println(   "                 {<configuration test parameter>...}" );
+      System.out.println(   "" );
+      System.out.println(   "       or:  " + WORKER_FLAG + " <control port> <worker name>" );
    }
 
    final public static void main( String arguments[] )
+   {
+      if ( (arguments.length==3) && arguments[0].equals(WORKER_FLAG) )
+      {
+         runWorker( arguments );
+      }
+      else
+      {
+         runTestSet( arguments );
+      }
+   }
+
+   final private static void runWorker( String arguments[] )
+   {
+      ControlConnection   controlConnection;
+      java.io.PrintStream standardOutput;
+      java.io.PrintStream standardError;
+      String              jobArguments[];
+      String              processLogFileName;
+      int                 index;
+
+      standardOutput = System.out;
+      standardError = System.err;
+
+      try
+      {
+         controlConnection = ControlConnection.connect( Integer.parseInt(arguments[1]),
+                                                        arguments[2] );
+
+         try
+         {
+            while ( controlConnection.readMessage() == ControlMessage.RUN )
+            {
+               jobArguments = new String[ controlConnection.readInt() ];
+               for ( index=0; index<jobArguments.length; index++ )
+               {
+                  jobArguments[ index ] = controlConnection.readString();
+               }
+
+               processLogFileName = controlConnection.readString();
+
+               if ( processLogFileName.length() == 0 )
+               {
+                  runTestSet( jobArguments );
+               }
+               else
+               {
+                  try ( java.io.PrintStream logStream = new java.io.PrintStream(new java.io.FileOutputStream(processLogFileName),
+                                                                                true) )
+                  {
+                     System.setOut( logStream );
+                     System.setErr( logStream );
+
+                     runTestSet( jobArguments );
+                  }
+                  finally
+                  {
+                     System.setOut( standardOutput );
+                     System.setErr( standardError );
+                  }
+               }
+
+               controlConnection.writeMessage( ControlMessage.DONE );
+               controlConnection.flush();
+            }
+         }
+         finally
+         {
+            controlConnection.close();
+         }
+      }
+      catch ( NumberFormatException NumberFormatException )
+      {
+         showUsageMessage();
+      }
+      catch ( Throwable throwable )
+      {
+         Utilities.printStackTrace( throwable );
+      }
+   }
+
+   final private static void runTestSet( String arguments[] )
    {
       int                          environmentVariableCount;
       java.util.Map<String,String> environmentVariables;
@@ -783,6 +2124,19 @@ final class TestSet
       String                       testUnitClassName;
       int                          commandLineTestParameterCount;
       int                          threadCount;
+      boolean                      useVirtualThreads;
+      boolean                      criticalPathFirst;
+      int                          resourcePort;
+      long                         testSetTimeout;
+      boolean                      failFast;
+      boolean                      orderConcurrentPrerequisites;
+      boolean                      speculativeSiblings;
+      boolean                      adaptiveThreads;
+      int                          minimumThreadCount;
+      int                          maximumThreadCount;
+      StatusDurability             statusDurability;
+      int                          controlPort;
+      int                          progressPort;
       int                          argumentIndex;
       int                          index;
       java.util.List<String>       jvmParameters;
@@ -790,8 +2144,10 @@ final class TestSet
       java.util.List<String>       configurationTestParameters;
       TestSet                      testSet;
       boolean                      cleanup;
+      ControlConnection            controlConnection;
+      ProgressChannel              progressChannel;
 
-      if ( arguments.length < 11 )
+      if ( arguments.length < 25 )
       {
          showUsageMessage();
       }
@@ -832,7 +2188,33 @@ final class TestSet
 
             threadCount = Integer.parseInt( arguments[11] );
 
-            argumentIndex = 11;
+            controlPort = Integer.parseInt( arguments[12] );
+
+            progressPort = Integer.parseInt( arguments[13] );
+
+            useVirtualThreads = arguments[ 14 ].equals( "true" );
+
+            criticalPathFirst = arguments[ 15 ].equals( "true" );
+
+            resourcePort = Integer.parseInt( arguments[16] );
+
+            testSetTimeout = Long.parseLong( arguments[17] );
+
+            failFast = arguments[ 18 ].equals( "true" );
+
+            orderConcurrentPrerequisites = arguments[ 19 ].equals( "true" );
+
+            speculativeSiblings = arguments[ 20 ].equals( "true" );
+
+            adaptiveThreads = arguments[ 21 ].equals( "true" );
+
+            minimumThreadCount = Integer.parseInt( arguments[22] );
+
+            maximumThreadCount = Integer.parseInt( arguments[23] );
+
+            statusDurability = StatusDurability.values()[ Integer.parseInt(arguments[24]) ];
+
+            argumentIndex = 25;
 
             if ( environmentVariables != null )
             {
@@ -863,6 +2245,16 @@ final class TestSet
                configurationTestParameters.add( arguments[index] );
             }
 
+            if ( progressPort == -1 )
+            {
+               progressChannel = null;
+            }
+            else
+            {
+               progressChannel = new ProgressChannel( ControlConnection.connect(progressPort,
+                                                                                testSetName) );
+            }
+
             testSet = null;
             cleanup = false;
 
@@ -878,9 +2270,22 @@ final class TestSet
                                       testSetName,
                                       testUnitClassName,
                                       threadCount,
+                                      useVirtualThreads,
+                                      criticalPathFirst,
+                                      resourcePort,
+                                      testSetTimeout,
+                                      failFast,
+                                      orderConcurrentPrerequisites,
+                                      speculativeSiblings,
+                                      adaptiveThreads,
+                                      minimumThreadCount,
+                                      maximumThreadCount,
+                                      statusDurability,
                                       headingColumnWidth,
                                       commandLineTestParameters,
-                                      configurationTestParameters );
+                                      configurationTestParameters,
+                                      null,
+                                      progressChannel );
             }
             catch ( Throwable throwable )
             {
@@ -897,6 +2302,97 @@ final class TestSet
                   }
                }
             }
+
+            if ( (controlPort!=-1) && (testSet!=null) && !cleanup )
+            {
+               testSet.waitForShutdown();
+
+               controlConnection = ControlConnection.connect( controlPort,
+                                                              testSetName );
+
+               try
+               {
+                  if ( controlConnection.readMessage() == ControlMessage.VERIFY )
+                  {
+                     headingColumnWidth = controlConnection.readInt();
+
+                     threadCount = controlConnection.readInt();
+
+                     useVirtualThreads = controlConnection.readBoolean();
+
+                     criticalPathFirst = controlConnection.readBoolean();
+
+                     resourcePort = controlConnection.readInt();
+
+                     testSetTimeout = controlConnection.readLong();
+
+                     failFast = controlConnection.readBoolean();
+
+                     orderConcurrentPrerequisites = controlConnection.readBoolean();
+
+                     speculativeSiblings = controlConnection.readBoolean();
+
+                     adaptiveThreads = controlConnection.readBoolean();
+
+                     minimumThreadCount = controlConnection.readInt();
+
+                     maximumThreadCount = controlConnection.readInt();
+
+                     statusDurability = StatusDurability.values()[ controlConnection.readInt() ];
+
+                     progressPort = controlConnection.readInt();
+
+                     if ( progressPort == -1 )
+                     {
+                        progressChannel = null;
+                     }
+                     else
+                     {
+                        progressChannel = new ProgressChannel( ControlConnection.connect(progressPort,
+                                                                                         testSetName) );
+                     }
+
+                     testSet = new TestSet( environmentVariables,
+                                            jvmCommand,
+                                            jvmParameters,
+                                            ExecutionMode.PASS_2_VERIFICATION,
+                                            resultsDirectory,
+                                            testSuiteName,
+                                            configuredIndex,
+                                            testSetName,
+                                            testUnitClassName,
+                                            threadCount,
+                                            useVirtualThreads,
+                                            criticalPathFirst,
+                                            resourcePort,
+                                            testSetTimeout,
+                                            failFast,
+                                            orderConcurrentPrerequisites,
+                                            speculativeSiblings,
+                                            adaptiveThreads,
+                                            minimumThreadCount,
+                                            maximumThreadCount,
+                                            statusDurability,
+                                            headingColumnWidth,
+                                            commandLineTestParameters,
+                                            configurationTestParameters,
+                                            null,
+                                            progressChannel );
+
+                     testSet.waitForShutdown();
+                  }
+               }
+               finally
+               {
+                  controlConnection.close();
+               }
+            }
+            else if ( (testSet!=null) && !cleanup )
+            {
+               testSet.waitForShutdown();
+
+               testSet.closeStatusFile();
+            }
          }
          catch ( NumberFormatException NumberFormatException )
          {
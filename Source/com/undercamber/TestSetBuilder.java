@@ -41,6 +41,15 @@ final public class TestSetBuilder
    private String                       _testSuiteName;
    private String                       _jvmDirectoryName;
    private Integer                      _pass2ThreadCount;
+   private Boolean                      _useVirtualThreads;
+   private Boolean                      _criticalPathFirst;
+   private Long                         _testSetTimeout;
+   private Boolean                      _failFast;
+   private Boolean                      _orderConcurrentPrerequisites;
+   private Boolean                      _speculativeSiblings;
+   private Boolean                      _adaptiveThreads;
+   private Integer                      _minimumThreadCount;
+   private Integer                      _maximumThreadCount;
    private java.util.List<String>       _testParameters;
    private java.util.List<String>       _javaParameters;
    private java.util.Map<String,String> _environmentVariables;
@@ -56,6 +65,15 @@ final public class TestSetBuilder
       _className = null;
       _jvmDirectoryName = null;
       _pass2ThreadCount = null;
+      _useVirtualThreads = null;
+      _criticalPathFirst = null;
+      _testSetTimeout = null;
+      _failFast = null;
+      _orderConcurrentPrerequisites = null;
+      _speculativeSiblings = null;
+      _adaptiveThreads = null;
+      _minimumThreadCount = null;
+      _maximumThreadCount = null;
       _testParameters = new java.util.ArrayList<String>();
       _javaParameters = new java.util.ArrayList<String>();
       _environmentVariables = null;
@@ -81,6 +99,15 @@ final public class TestSetBuilder
       _className = original._className;
       _jvmDirectoryName = original._jvmDirectoryName;
       _pass2ThreadCount = original._pass2ThreadCount;
+      _useVirtualThreads = original._useVirtualThreads;
+      _criticalPathFirst = original._criticalPathFirst;
+      _testSetTimeout = original._testSetTimeout;
+      _failFast = original._failFast;
+      _orderConcurrentPrerequisites = original._orderConcurrentPrerequisites;
+      _speculativeSiblings = original._speculativeSiblings;
+      _adaptiveThreads = original._adaptiveThreads;
+      _minimumThreadCount = original._minimumThreadCount;
+      _maximumThreadCount = original._maximumThreadCount;
       _testParameters = new java.util.ArrayList<String>();
       _testParameters.addAll( original._testParameters );
       _javaParameters = new java.util.ArrayList<String>();
@@ -346,6 +373,237 @@ final public class TestSetBuilder
       return _pass2ThreadCount;
    }
 
+   /**
+    * Set the flag indicating whether the second pass should resize its thread pool while it runs.  <p>
+    *
+    * When this flag is set, Undercamber compares the CPU time of finished tests to their elapsed time, and grows the
+    * pool when tests wait on I/O while others are queued, or shrinks it when tests are CPU bound.  The pool stays
+    * between the minimum and maximum thread counts.  The final size is recorded in the XML report, and the next run
+    * starts from it.  This flag is ignored when tests run on virtual threads.
+    *
+    * @param adaptiveThreads
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public void setAdaptiveThreads( Boolean adaptiveThreads )
+   {
+      _adaptiveThreads = adaptiveThreads;
+   }
+
+   /**
+    * Does the second pass resize its thread pool while it runs?
+    *
+    * @return The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getAdaptiveThreads()
+   {
+      return _adaptiveThreads;
+   }
+
+   /**
+    * Set the smallest thread count used by an adaptive second pass.
+    *
+    * @param minimumThreadCount
+    *        The thread count.  If this is null, Undercamber will use a default value.
+    */
+   final public void setMinimumThreadCount( Integer minimumThreadCount )
+   {
+      _minimumThreadCount = minimumThreadCount;
+   }
+
+   /**
+    * Get the smallest thread count used by an adaptive second pass.
+    *
+    * @return The thread count.  If this is null, Undercamber will use a default value.
+    */
+   final public Integer getMinimumThreadCount()
+   {
+      return _minimumThreadCount;
+   }
+
+   /**
+    * Set the largest thread count used by an adaptive second pass.
+    *
+    * @param maximumThreadCount
+    *        The thread count.  If this is null, Undercamber will use a default value.
+    */
+   final public void setMaximumThreadCount( Integer maximumThreadCount )
+   {
+      _maximumThreadCount = maximumThreadCount;
+   }
+
+   /**
+    * Get the largest thread count used by an adaptive second pass.
+    *
+    * @return The thread count.  If this is null, Undercamber will use a default value.
+    */
+   final public Integer getMaximumThreadCount()
+   {
+      return _maximumThreadCount;
+   }
+
+   /**
+    * Set the flag indicating whether the second pass should run tests on virtual threads.  <p>
+    *
+    * Each test runs on its own virtual thread, so a test that is waiting (sleeping, or blocked on I/O) does not hold a
+    * platform thread.  The second-pass thread count still limits the number of tests that run at once, so raise it
+    * for test sets that spend most of their time waiting.  Virtual threads require the test set to run on Java 21 or
+    * later.
+    *
+    * @param useVirtualThreads
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public void setUseVirtualThreads( Boolean useVirtualThreads )
+   {
+      _useVirtualThreads = useVirtualThreads;
+   }
+
+   /**
+    * Should the second pass run tests on virtual threads?
+    *
+    * @return The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getUseVirtualThreads()
+   {
+      return _useVirtualThreads;
+   }
+
+   /**
+    * Set the flag indicating whether the second pass should start the tests with the longest remaining run time first.
+    * <p>
+    *
+    * Tests that are ready to run are started in order of the estimated run time of their remaining subtree, using the
+    * run times from previous runs in the results directory.  Tests without a previous run time are estimated from the
+    * number of tests in their subtrees.  Long branches start early, and short tests fill in the remaining threads.
+    * This has no effect when the second pass runs on virtual threads.
+    *
+    * @param criticalPathFirst
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public void setCriticalPathFirst( Boolean criticalPathFirst )
+   {
+      _criticalPathFirst = criticalPathFirst;
+   }
+
+   /**
+    * Should the second pass start the tests with the longest remaining run time first?
+    *
+    * @return The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getCriticalPathFirst()
+   {
+      return _criticalPathFirst;
+   }
+
+   /**
+    * Set the limit on how long the second pass of this test set can run.  <p>
+    *
+    * When the limit is reached, Undercamber interrupts the running tests, records them as {@link TestState#TIMED_OUT},
+    * and skips the tests that have not started yet.  If the test set is still running ten seconds later because a test
+    * ignored the interrupt, Undercamber terminates the test set's process and records the tests that did not finish as
+    * skipped.  A test set that runs inside the Undercamber process cannot be terminated, so it relies on the interrupt
+    * alone.
+    *
+    * @param testSetTimeout
+    *        The limit, in milliseconds.  If this is null or zero, the test set is not limited.
+    *
+    * @see TestTimeout
+    */
+   final public void setTestSetTimeout( Long testSetTimeout )
+   {
+      _testSetTimeout = testSetTimeout;
+   }
+
+   /**
+    * Get the limit on how long the second pass of this test set can run.
+    *
+    * @return The limit, in milliseconds.  If this is null or zero, the test set is not limited.
+    */
+   final public Long getTestSetTimeout()
+   {
+      return _testSetTimeout;
+   }
+
+   /**
+    * Set the flag indicating whether the second pass should stop starting tests after the first failure.  <p>
+    *
+    * When a test in this test set fails, the tests that are already running finish, and the tests that have not
+    * started yet are recorded as {@link TestState#SKIPPED_DUE_TO_FAIL_FAST} without being run.  Test sets that have
+    * not started yet are skipped the same way.  Use this when the first failure matters more than a complete report.
+    *
+    * @param failFast
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public void setFailFast( Boolean failFast )
+   {
+      _failFast = failFast;
+   }
+
+   /**
+    * Should the second pass stop starting tests after the first failure?
+    *
+    * @return The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getFailFast()
+   {
+      return _failFast;
+   }
+
+   /**
+    * Set the flag indicating whether a prerequisite between concurrent subtests should order them instead of being
+    * reported as an error.  <p>
+    *
+    * Normally, Undercamber reports a race condition when a test and its prerequisite have a closest common ancestor
+    * that runs its subtests {@link SubtestSequencingMode#CONCURRENT concurrently}.  When this flag is set, that
+    * ancestor runs its subtests as though it used {@link SubtestSequencingMode#CONCURRENT_IN_PREREQUISITE_ORDER}:  the
+    * subtest containing the dependent test waits for the subtest containing the prerequisite, and the other subtests
+    * still run concurrently.
+    *
+    * @param orderConcurrentPrerequisites
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public void setOrderConcurrentPrerequisites( Boolean orderConcurrentPrerequisites )
+   {
+      _orderConcurrentPrerequisites = orderConcurrentPrerequisites;
+   }
+
+   /**
+    * Should a prerequisite between concurrent subtests order them instead of being reported as an error?
+    *
+    * @return The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getOrderConcurrentPrerequisites()
+   {
+      return _orderConcurrentPrerequisites;
+   }
+
+   /**
+    * Set the flag indicating whether the subtests of a {@link SubtestSequencingMode#SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR}
+    * test can run concurrently.  <p>
+    *
+    * When this flag is set, and no test in the subtests' branches has a prerequisite, a dependent, or a {@link
+    * ResourceClaim}, the subtests start at the same time instead of one after another.  When they have all finished,
+    * the subtests that follow the first failed subtest are recorded as {@link TestState#SKIPPED_DUE_TO_SIBLING_ERROR},
+    * and their results are discarded, so the report matches a sequential run.  The subtests must not depend on each
+    * other's side effects.
+    *
+    * @param speculativeSiblings
+    *        The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public void setSpeculativeSiblings( Boolean speculativeSiblings )
+   {
+      _speculativeSiblings = speculativeSiblings;
+   }
+
+   /**
+    * Can the subtests of a {@link SubtestSequencingMode#SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR} test run concurrently?
+    *
+    * @return The flag.  If this is null, Undercamber will use a default value.
+    */
+   final public Boolean getSpeculativeSiblings()
+   {
+      return _speculativeSiblings;
+   }
+
    ////////////////////////////////////////////////////////////////////////////////////////////////
 
    /**
@@ -1639,6 +1897,15 @@ final public class TestSetBuilder
                                                                _testSuiteName,
                                                                _jvmDirectoryName,
                                                                _pass2ThreadCount,
+                                                               _useVirtualThreads,
+                                                               _criticalPathFirst,
+                                                               _testSetTimeout,
+                                                               _failFast,
+                                                               _orderConcurrentPrerequisites,
+                                                               _speculativeSiblings,
+                                                               _adaptiveThreads,
+                                                               _minimumThreadCount,
+                                                               _maximumThreadCount,
                                                                testParameters,
                                                                javaParameters,
                                                                environmentVariables) );
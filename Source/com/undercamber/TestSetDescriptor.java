@@ -33,6 +33,15 @@ final class TestSetDescriptor
    private String                       _testSuiteName;
    private String                       _jvmDirectoryName;
    private Integer                      _pass2ThreadCount;
+   private Boolean                      _useVirtualThreads;
+   private Boolean                      _criticalPathFirst;
+   private Long                         _testSetTimeout;
+   private Boolean                      _failFast;
+   private Boolean                      _orderConcurrentPrerequisites;
+   private Boolean                      _speculativeSiblings;
+   private Boolean                      _adaptiveThreads;
+   private Integer                      _minimumThreadCount;
+   private Integer                      _maximumThreadCount;
    private java.util.List<String>       _testParameters;
    private java.util.List<String>       _jvmParameters;
    private java.util.Map<String,String> _environmentVariables;
@@ -43,6 +52,15 @@ final class TestSetDescriptor
                       String                       testSuiteName,
                       String                       jvmDirectoryName,
                       Integer                      pass2ThreadCount,
+                      Boolean                      useVirtualThreads,
+                      Boolean                      criticalPathFirst,
+                      Long                         testSetTimeout,
+                      Boolean                      failFast,
+                      Boolean                      orderConcurrentPrerequisites,
+                      Boolean                      speculativeSiblings,
+                      Boolean                      adaptiveThreads,
+                      Integer                      minimumThreadCount,
+                      Integer                      maximumThreadCount,
                       java.util.List<String>       testParameters,
                       java.util.List<String>       jvmParameters,
                       java.util.Map<String,String> environmentVariables )
@@ -58,6 +76,24 @@ final class TestSetDescriptor
 
       _pass2ThreadCount = pass2ThreadCount;
 
+      _useVirtualThreads = useVirtualThreads;
+
+      _criticalPathFirst = criticalPathFirst;
+
+      _testSetTimeout = testSetTimeout;
+
+      _failFast = failFast;
+
+      _orderConcurrentPrerequisites = orderConcurrentPrerequisites;
+
+      _speculativeSiblings = speculativeSiblings;
+
+      _adaptiveThreads = adaptiveThreads;
+
+      _minimumThreadCount = minimumThreadCount;
+
+      _maximumThreadCount = maximumThreadCount;
+
       _testParameters = testParameters;
 
       _jvmParameters = jvmParameters;
@@ -124,6 +160,51 @@ final class TestSetDescriptor
       return _pass2ThreadCount;
    }
 
+   final Boolean getUseVirtualThreads()
+   {
+      return _useVirtualThreads;
+   }
+
+   final Boolean getCriticalPathFirst()
+   {
+      return _criticalPathFirst;
+   }
+
+   final Long getTestSetTimeout()
+   {
+      return _testSetTimeout;
+   }
+
+   final Boolean getFailFast()
+   {
+      return _failFast;
+   }
+
+   final Boolean getOrderConcurrentPrerequisites()
+   {
+      return _orderConcurrentPrerequisites;
+   }
+
+   final Boolean getSpeculativeSiblings()
+   {
+      return _speculativeSiblings;
+   }
+
+   final Boolean getAdaptiveThreads()
+   {
+      return _adaptiveThreads;
+   }
+
+   final Integer getMinimumThreadCount()
+   {
+      return _minimumThreadCount;
+   }
+
+   final Integer getMaximumThreadCount()
+   {
+      return _maximumThreadCount;
+   }
+
    final TestSet getTestSet( java.util.List<String>               commandLineParameters,
                              int                                  index,
                              int                                  threadCount,
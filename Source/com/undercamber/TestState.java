@@ -75,7 +75,24 @@ public enum TestState
    /**
     * The test ran to completion with errors
     */
-   COMPLETE_FAILED                  ( true,  true,       false,  false,               false,                     false,                 true,    false,  true,                false );
+   COMPLETE_FAILED                  ( true,  true,       false,  false,               false,                     false,                 true,    false,  true,                false ),
+   /**
+    * The test was stopped because it ran longer than its {@link
+    * TestTimeout}, or longer than the timeout of an ancestor or of
+    * the test set
+    */
+   TIMED_OUT                        ( true,  true,       false,  false,               false,                     false,                 true,    false,  true,                false ),
+   /**
+    * The test was skipped because fail-fast mode was on and another
+    * test failed first
+    */
+   SKIPPED_DUE_TO_FAIL_FAST         ( false, true,       true,   false,               false,                     false,                 false,   false,  false,               false ),
+   /**
+    * The test was running when its test JVM terminated abnormally,
+    * for example because of a native crash or an
+    * <tt>OutOfMemoryError</tt>
+    */
+   CRASHED                          ( true,  true,       false,  false,               false,                     false,                 true,    false,  true,                false );
 
    private boolean _ran;
    private boolean _initialized;
@@ -275,6 +292,11 @@ public enum TestState
       return _success;
    }
 
+   final boolean failed()
+   {
+      return _ran && _complete && !_success;
+   }
+
    final boolean displayInShortReport()
    {
       return _displayInShortReport;
@@ -284,4 +306,19 @@ public enum TestState
    {
       return _canAcceptConfiguration;
    }
+
+   final int getMergePriority()
+   {
+      if ( _ran )
+      {
+         return _success ? 3 : 4;
+      }
+
+      if ( _skipped )
+      {
+         return ( this == SKIPPED_BY_USER ) ? 1 : 2;
+      }
+
+      return 0;
+   }
 }
@@ -0,0 +1,113 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+/**
+ * Limits how long a test can run during the second pass.  <br>
+ * <br>
+ * Tests set their timeouts in the call to {@link TestManager#initialize( SubtestSequencingMode, String, SubtestContinuationMode, Prerequisite[], Tag[], ResourceClaim[], TestTimeout, Requirement... )}
+ * using this class.  There are two limits, both measured from the time the
+ * test starts:
+ * <ul>
+ *    <li>The test timeout limits the test's own test code.</li>
+ *    <li>The subtree timeout limits the test together with all of its
+ *    subtests.</li>
+ * </ul>
+ * When a limit is reached, Undercamber interrupts the threads running the
+ * affected tests, records them as {@link TestState#TIMED_OUT}, and skips the
+ * affected subtests that have not started yet.  Interruption is
+ * cooperative:  a test that ignores the interrupt keeps its thread until it
+ * returns.  Use {@link TestSetBuilder#setTestSetTimeout} to bound the whole
+ * test set, including tests that ignore the interrupt.
+ */
+final public class TestTimeout
+{
+   private long _testTimeout;
+   private long _subtreeTimeout;
+
+   /**
+    * Limit the test's own test code.  The subtests are not limited.  <br>
+    * <br>
+    * This is equivalent to <pre>
+    *    TestTimeout( testTimeout,
+    *                 0 )
+    * </pre>
+    *
+    * @param testTimeout
+    *        The limit, in milliseconds.  Zero means no limit.
+    *
+    * @throws UserError
+    *         If the limit is negative.
+    */
+   public TestTimeout( long testTimeout )
+      throws UserError
+   {
+      this( testTimeout,
+            0L );
+   }
+
+   /**
+    * Limit the test's own test code, and the test together with all of its
+    * subtests.
+    *
+    * @param testTimeout
+    *        The limit on the test's own test code, in milliseconds.  Zero
+    *        means no limit.
+    *
+    * @param subtreeTimeout
+    *        The limit on the test and all of its subtests, in
+    *        milliseconds.  Zero means no limit.
+    *
+    * @throws UserError
+    *         If either limit is negative.
+    */
+   public TestTimeout( long testTimeout,
+                       long subtreeTimeout )
+      throws UserError
+   {
+      if ( testTimeout < 0L )
+      {
+         throw new UserError( "Error:  Illegal test timeout:  " + testTimeout + ".  The timeout cannot be negative." );
+      }
+      if ( subtreeTimeout < 0L )
+      {
+         throw new UserError( "Error:  Illegal subtree timeout:  " + subtreeTimeout + ".  The timeout cannot be negative." );
+      }
+      _testTimeout = testTimeout;
+      _subtreeTimeout = subtreeTimeout;
+   }
+
+   final long getTestTimeout()
+   {
+      return _testTimeout;
+   }
+
+   final long getSubtreeTimeout()
+   {
+      return _subtreeTimeout;
+   }
+}
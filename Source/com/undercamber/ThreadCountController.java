@@ -0,0 +1,175 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ThreadCountController
+{
+   final private static int    SAMPLE_INTERVAL       = 1000;
+   final private static double MINIMUM_CPU_RATIO     = 0.05;
+   final private static double SATURATED_UTILIZATION = 0.9;
+
+   private java.util.concurrent.ThreadPoolExecutor _threadPoolExecutor;
+   private int                                     _minimumThreadCount;
+   private int                                     _maximumThreadCount;
+   private java.util.concurrent.atomic.AtomicLong  _cpuTime;
+   private java.util.concurrent.atomic.AtomicLong  _wallTime;
+   private boolean                                 _continue;
+   private Thread                                  _thread;
+
+   ThreadCountController( java.util.concurrent.ThreadPoolExecutor threadPoolExecutor,
+                          int                                     minimumThreadCount,
+                          int                                     maximumThreadCount )
+   {
+      _threadPoolExecutor = threadPoolExecutor;
+      _minimumThreadCount = minimumThreadCount;
+      _maximumThreadCount = maximumThreadCount;
+      _cpuTime = new java.util.concurrent.atomic.AtomicLong();
+      _wallTime = new java.util.concurrent.atomic.AtomicLong();
+
+      _continue = true;
+
+      _thread = new Thread( () -> controllerThread() );
+      _thread.setDaemon( true );
+      _thread.start();
+   }
+
+   final void recordUsage( long cpuTime,
+                           long wallTime )
+   {
+      _cpuTime.addAndGet( cpuTime );
+      _wallTime.addAndGet( wallTime );
+   }
+
+   final int getThreadCount()
+   {
+      return _threadPoolExecutor.getMaximumPoolSize();
+   }
+
+   final void stop()
+   {
+      _continue = false;
+
+      _thread.interrupt();
+   }
+
+   final private void controllerThread()
+   {
+      long previousCPUTime;
+      long previousWallTime;
+      long previousSampleTime;
+      long cpuTime;
+      long wallTime;
+      long sampleTime;
+
+      previousCPUTime = 0L;
+      previousWallTime = 0L;
+      previousSampleTime = System.nanoTime();
+
+      while ( _continue )
+      {
+         try
+         {
+            Thread.sleep( SAMPLE_INTERVAL );
+         }
+         catch ( InterruptedException interruptedException )
+         {
+            return;
+         }
+
+         cpuTime = _cpuTime.get();
+         wallTime = _wallTime.get();
+         sampleTime = System.nanoTime();
+
+         if ( wallTime > previousWallTime )
+         {
+            adjust( cpuTime - previousCPUTime,
+                    wallTime - previousWallTime,
+                    sampleTime - previousSampleTime,
+                    _threadPoolExecutor.getQueue().size() );
+         }
+
+         previousCPUTime = cpuTime;
+         previousWallTime = wallTime;
+         previousSampleTime = sampleTime;
+      }
+   }
+
+   final private void adjust( long cpuTime,
+                              long wallTime,
+                              long sampleTime,
+                              int  queueDepth )
+   {
+      int    processorCount;
+      int    threadCount;
+      double utilization;
+      double cpuRatio;
+      int    newThreadCount;
+
+      processorCount = Runtime.getRuntime().availableProcessors();
+
+      threadCount = getThreadCount();
+
+      utilization = ((double)cpuTime) / (((double)sampleTime)*processorCount);
+
+      if ( utilization >= SATURATED_UTILIZATION )
+      {
+         newThreadCount = Math.min( threadCount, Math.max(processorCount,threadCount-Math.max(1,threadCount/4)) );
+      }
+      else if ( queueDepth > 0 )
+      {
+         cpuRatio = Math.min( 1.0, Math.max(MINIMUM_CPU_RATIO,((double)cpuTime)/wallTime) );
+
+         newThreadCount = (int)Math.ceil( processorCount/cpuRatio );
+
+         if ( newThreadCount > threadCount )
+         {
+            newThreadCount = threadCount + Math.max( 1, (newThreadCount-threadCount)/2 );
+         }
+         else
+         {
+            newThreadCount = threadCount;
+         }
+      }
+      else
+      {
+         newThreadCount = threadCount;
+      }
+
+      newThreadCount = Math.max( _minimumThreadCount, Math.min(_maximumThreadCount,newThreadCount) );
+
+      if ( newThreadCount > threadCount )
+      {
+         _threadPoolExecutor.setMaximumPoolSize( newThreadCount );
+         _threadPoolExecutor.setCorePoolSize( newThreadCount );
+      }
+      else if ( newThreadCount < threadCount )
+      {
+         _threadPoolExecutor.setCorePoolSize( newThreadCount );
+         _threadPoolExecutor.setMaximumPoolSize( newThreadCount );
+      }
+   }
+}
@@ -0,0 +1,109 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class ThreadOutputStream
+   extends java.io.OutputStream
+{
+   final private static InheritableThreadLocal<java.io.OutputStream> _threadOutputStream = new InheritableThreadLocal<java.io.OutputStream>();
+
+   private java.io.OutputStream _defaultOutputStream;
+
+   private ThreadOutputStream( java.io.OutputStream defaultOutputStream )
+   {
+      _defaultOutputStream = defaultOutputStream;
+   }
+
+   final static synchronized void install()
+   {
+      if ( !(System.out instanceof ThreadPrintStream) )
+      {
+         System.setOut( new ThreadPrintStream(System.out) );
+         System.setErr( new ThreadPrintStream(System.err) );
+      }
+   }
+
+   final static void redirect( java.io.OutputStream outputStream )
+   {
+      if ( outputStream == null )
+      {
+         _threadOutputStream.remove();
+      }
+      else
+      {
+         _threadOutputStream.set( outputStream );
+      }
+   }
+
+   final private java.io.OutputStream getOutputStream()
+   {
+      java.io.OutputStream outputStream;
+
+      outputStream = _threadOutputStream.get();
+
+      if ( outputStream == null )
+      {
+         return _defaultOutputStream;
+      }
+      else
+      {
+         return outputStream;
+      }
+   }
+
+   final public void write( int value )
+      throws java.io.IOException
+   {
+      getOutputStream().write( value );
+   }
+
+   final public void write( byte buffer[],
+                            int  offset,
+                            int  length )
+      throws java.io.IOException
+   {
+      getOutputStream().write( buffer,
+                               offset,
+                               length );
+   }
+
+   final public void flush()
+      throws java.io.IOException
+   {
+      getOutputStream().flush();
+   }
+
+   final private static class ThreadPrintStream
+      extends java.io.PrintStream
+   {
+      ThreadPrintStream( java.io.PrintStream defaultPrintStream )
+      {
+         super( new ThreadOutputStream(defaultPrintStream),
+                true );
+      }
+   }
+}
@@ -39,6 +39,7 @@ final public class Undercamber
    final        static String                            DEADLOCK_FILE_NAME             = "UndercamberMain";
    final        static int                               PERSISTENCE_VERSION            = 0;
    final        static String                            PERSISTENCE_BRANCH             = "";
+   final private static int                               LOST_WORKER_EXIT_CODE          = -1;
    final        static javafx.scene.input.KeyCombination CONTROL_A_KEYBOARD_COMBINATION = new javafx.scene.input.KeyCodeCombination( javafx.scene.input.KeyCode.A,
                                                                                                                                      javafx.scene.input.KeyCombination.ModifierValue.UP,
                                                                                                                                      javafx.scene.input.KeyCombination.ModifierValue.DOWN,
@@ -46,23 +47,35 @@ final public class Undercamber
                                                                                                                                      javafx.scene.input.KeyCombination.ModifierValue.UP,
                                                                                                                                      javafx.scene.input.KeyCombination.ModifierValue.UP );
 
-   private javafx.stage.Stage                   _primaryStage;
-   private SequenceList                         _sequenceList;
-   private Configurator                         _configurator;
-   private ArgumentParser                       _argumentParser;
-   private String                               _resultsSubdirectoryName;
-   private StatusFile                           _statusFile;
-   private TestData                             _dummyRoot;
-   private java.util.List<TestSetDescriptor>    _testSetDescriptors;
-   private java.util.List<TestSet>              _pass1TestSets;
-   private int                                  _pass1ThreadCount;
-   private WatchdogThread                       _watchdogThread;
-   private long                                 _discoveryStartTime;
-   private int                                  _pass1CallbackCounter;
-   private Process                              _testProcess;
-   private java.util.concurrent.ExecutorService _executorService;
-   private SelectionWindow                      _selectionWindow;
-   private Integer                              _environmentVariableThreadCount;
+   private javafx.stage.Stage                     _primaryStage;
+   private SequenceList                           _sequenceList;
+   private Configurator                           _configurator;
+   private ArgumentParser                         _argumentParser;
+   private String                                 _resultsSubdirectoryName;
+   private StatusFile                             _statusFile;
+   private TestData                               _dummyRoot;
+   private java.util.List<TestSetDescriptor>      _testSetDescriptors;
+   private java.util.List<TestSet>                _pass1TestSets;
+   private int                                    _pass1ThreadCount;
+   private WatchdogThread                         _watchdogThread;
+   private long                                   _discoveryStartTime;
+   private int                                    _pass1CallbackCounter;
+   private java.util.Set<Process>                 _testProcesses;
+   private int                                    _processCount;
+   private ControlServer                          _controlServer;
+   private ControlServer                          _progressServer;
+   private ResourceBroker                         _resourceBroker;
+   private WorkerPool                             _workerPool;
+   private boolean                                _runInProcess;
+   private boolean                                _useDiscoveryCache;
+   private boolean                                _failingFast;
+   private java.util.Map<TestSet,ResidentProcess> _residentProcesses;
+   private int                                    _residentProcessCount;
+   private java.util.concurrent.Semaphore         _residentProcessPermits;
+   private java.util.concurrent.ExecutorService   _executorService;
+   private SelectionWindow                        _selectionWindow;
+   private Integer                                _environmentVariableThreadCount;
+   private Integer                                _environmentVariableProcessCount;
 
    /**
     * JavaFX entry point
@@ -75,12 +88,14 @@ final public class Undercamber
 
       _pass1CallbackCounter = 0;
       _primaryStage = primaryStage;
+      _testProcesses = java.util.Collections.synchronizedSet( new java.util.HashSet<Process>() );
 
       javafx.application.Platform.setImplicitExit( false );
 
       try
       {
          _environmentVariableThreadCount = getEnvironmentVariableThreadCount();
+         _environmentVariableProcessCount = getEnvironmentVariableProcessCount();
       }
       catch ( UserError userError )
       {
@@ -118,6 +133,42 @@ final public class Undercamber
 
          _pass1ThreadCount = fetchPass1ThreadCount();
 
+         _processCount = fetchProcessCount();
+
+         _runInProcess = runInProcess();
+
+         if ( _runInProcess && (_processCount>1) )
+         {
+            ThreadOutputStream.install();
+         }
+
+         _useDiscoveryCache = useDiscoveryCache();
+
+         if ( useProgressEvents() )
+         {
+            _progressServer = new ControlServer();
+         }
+
+         if ( _processCount > 1 )
+         {
+            _resourceBroker = new ResourceBroker();
+         }
+
+         _residentProcesses = java.util.Collections.synchronizedMap( new java.util.HashMap<TestSet,ResidentProcess>() );
+
+         _residentProcessCount = fetchResidentProcessCount();
+
+         _residentProcessPermits = new java.util.concurrent.Semaphore( _residentProcessCount );
+
+         if ( useWorkerPool() )
+         {
+            _workerPool = new WorkerPool( _testProcesses );
+         }
+         else if ( fusePasses() && !(_argumentParser.showGUI()) )
+         {
+            _controlServer = new ControlServer();
+         }
+
          _executorService = java.util.concurrent.Executors.newFixedThreadPool( _pass1ThreadCount );
 
          _testSetDescriptors = new java.util.ArrayList<TestSetDescriptor>();
@@ -315,6 +366,38 @@ final public class Undercamber
       }
    }
 
+   final Integer getEnvironmentVariableProcessCount()
+      throws UserError
+   {
+      String text;
+      int    processCount;
+
+      text = System.getenv( "UNDERCAMBER_PROCESS_COUNT" );
+
+      if ( text == null )
+      {
+         return null;
+      }
+      else
+      {
+         try
+         {
+            processCount = Integer.parseInt( text );
+
+            if ( processCount < 1 )
+            {
+               throw new UserError( "Error:  Invalid process count in environment variable \"UNDERCAMBER_PROCESS_COUNT\":  " + processCount + ".  Must be at least 1" );
+            }
+
+            return processCount;
+         }
+         catch ( NumberFormatException numberFormatException )
+         {
+            throw new UserError( "Error:  Invalid process count in environment variable \"UNDERCAMBER_PROCESS_COUNT\":  " + text );
+         }
+      }
+   }
+
    final int getPass1ThreadCount()
    {
       return _pass1ThreadCount;
@@ -344,6 +427,65 @@ final public class Undercamber
       return Runtime.getRuntime().availableProcessors();
    }
 
+   final int getProcessCount()
+   {
+      return _processCount;
+   }
+
+   final private int getResourcePort()
+   {
+      if ( _resourceBroker == null )
+      {
+         return -1;
+      }
+
+      return _resourceBroker.getPort();
+   }
+
+   final private java.io.File getShardHistoryDirectory()
+   {
+      if ( _argumentParser.getShardHistoryDirectoryName() == null )
+      {
+         return null;
+      }
+
+      return new java.io.File( _argumentParser.getShardHistoryDirectoryName() );
+   }
+
+   final private int getProgressPort()
+   {
+      if ( _progressServer == null )
+      {
+         return -1;
+      }
+
+      return _progressServer.getPort();
+   }
+
+   final private int fetchProcessCount()
+   {
+      Integer processCount;
+
+      processCount = _argumentParser.getProcessCount();
+      if ( processCount != null )
+      {
+         return processCount;
+      }
+
+      processCount = _configurator.getProcessCount();
+      if ( processCount != null )
+      {
+         return processCount;
+      }
+
+      if ( _environmentVariableProcessCount != null )
+      {
+         return _environmentVariableProcessCount;
+      }
+
+      return 1;
+   }
+
    final int getPass2ThreadCount( Integer configuredIndex )
    {
       Integer threadCount;
@@ -377,25 +519,28 @@ final public class Undercamber
       return Runtime.getRuntime().availableProcessors();
    }
 
-   final private boolean showResultsGUI()
+   final boolean useVirtualThreads( Integer configuredIndex )
       throws UserError
    {
-      Boolean showResultsWindow;
+      Boolean useVirtualThreads;
       String  environmentText;
 
-      showResultsWindow = _argumentParser.showResultsWindow();
-      if ( showResultsWindow != null )
+      useVirtualThreads = _argumentParser.useVirtualThreads();
+      if ( useVirtualThreads != null )
       {
-         return showResultsWindow;
+         return useVirtualThreads;
       }
 
-      showResultsWindow = _configurator.getShowResultsWindow();
-      if ( showResultsWindow != null )
+      if ( configuredIndex != null )
       {
-         return showResultsWindow;
+         useVirtualThreads = _testSetDescriptors.get( configuredIndex ).getUseVirtualThreads();
+         if ( useVirtualThreads != null )
+         {
+            return useVirtualThreads;
+         }
       }
 
-      environmentText = System.getenv( "UNDERCAMBER_SHOW_RESULTS_WINDOW" );
+      environmentText = System.getenv( "UNDERCAMBER_VIRTUAL_THREADS" );
       if ( environmentText != null )
       {
          if ( environmentText.equals("true") )
@@ -408,486 +553,1981 @@ final public class Undercamber
          }
          else
          {
-            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_SHOW_RESULTS_WINDOW:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_VIRTUAL_THREADS:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
          }
       }
 
-      return true;
+      return false;
    }
 
-   final private void runPass1()
+   final long getTestSetTimeout( Integer configuredIndex )
+      throws UserError
    {
-      String  elapsedTimeString;
-      boolean okay;
+      Long testSetTimeout;
 
-      _discoveryStartTime = System.currentTimeMillis();
-
-      Runtime.getRuntime().addShutdownHook( new Thread(()->shutdownHook()) );
-
-      try
+      if ( configuredIndex != null )
       {
-         try
+         testSetTimeout = _testSetDescriptors.get( configuredIndex ).getTestSetTimeout();
+         if ( testSetTimeout != null )
          {
-            for ( TestSet testSet : _pass1TestSets )
+            if ( testSetTimeout < 0L )
             {
-               runProcess( testSet,
-                           ExecutionMode.PASS_1_DISCOVERY,
-                           100 );
-
-               okay = testSet.readPass1StatusFile();
-
-               if ( okay )
-               {
-                  testSet.readPass1TestData();
-               }
-               else
-               {
-                  shutdown();
-                  return;
-               }
+               throw new UserError( "Error:  Invalid test set timeout for test set " + _testSetDescriptors.get(configuredIndex).getTestSetName() + ":  " + testSetTimeout + ".  The timeout cannot be negative." );
             }
+            return testSetTimeout;
          }
-         catch ( Throwable throwable )
+      }
+
+      return 0L;
+   }
+
+   final boolean criticalPathFirst( Integer configuredIndex )
+      throws UserError
+   {
+      Boolean criticalPathFirst;
+      String  environmentText;
+
+      criticalPathFirst = _argumentParser.criticalPathFirst();
+      if ( criticalPathFirst != null )
+      {
+         return criticalPathFirst;
+      }
+
+      if ( configuredIndex != null )
+      {
+         criticalPathFirst = _testSetDescriptors.get( configuredIndex ).getCriticalPathFirst();
+         if ( criticalPathFirst != null )
          {
-            Utilities.printStackTrace( throwable );
+            return criticalPathFirst;
          }
-
-         finishPass1();
       }
-      catch ( Throwable throwable )
+
+      environmentText = System.getenv( "UNDERCAMBER_CRITICAL_PATH_FIRST" );
+      if ( environmentText != null )
       {
-         Utilities.printStackTrace( throwable );
-         shutdown();
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_CRITICAL_PATH_FIRST:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
       }
+
+      return false;
    }
 
-   final private void finishPass1()
+   final boolean failFast( Integer configuredIndex )
+      throws UserError
    {
-      boolean showGUI;
+      Boolean failFast;
+      String  environmentText;
 
-      showGUI = _argumentParser.showGUI();
+      failFast = _argumentParser.failFast();
+      if ( failFast != null )
+      {
+         return failFast;
+      }
 
-      _dummyRoot = new TestData( _pass1TestSets );
+      if ( configuredIndex != null )
+      {
+         failFast = _testSetDescriptors.get( configuredIndex ).getFailFast();
+         if ( failFast != null )
+         {
+            return failFast;
+         }
+      }
 
-      _sequenceList = new SequenceList();
+      environmentText = System.getenv( "UNDERCAMBER_FAIL_FAST" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_FAIL_FAST:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
 
-      _dummyRoot.appendToSequence( _sequenceList );
+      return false;
+   }
 
-      try
+   final boolean orderConcurrentPrerequisites( Integer configuredIndex )
+      throws UserError
+   {
+      Boolean orderConcurrentPrerequisites;
+      String  environmentText;
+
+      orderConcurrentPrerequisites = _argumentParser.orderConcurrentPrerequisites();
+      if ( orderConcurrentPrerequisites != null )
       {
-         _sequenceList.initializeDependencies();
+         return orderConcurrentPrerequisites;
+      }
 
-         for ( TestSet testSet : _pass1TestSets )
+      if ( configuredIndex != null )
+      {
+         orderConcurrentPrerequisites = _testSetDescriptors.get( configuredIndex ).getOrderConcurrentPrerequisites();
+         if ( orderConcurrentPrerequisites != null )
          {
-            testSet.initializePrerequisites( !showGUI );
+            return orderConcurrentPrerequisites;
          }
       }
-      catch ( Throwable throwable )
+
+      environmentText = System.getenv( "UNDERCAMBER_ORDER_PREREQUISITES" );
+      if ( environmentText != null )
       {
-         Utilities.printStackTrace( throwable );
-         shutdown();
-         return;
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_ORDER_PREREQUISITES:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
       }
 
-      _dummyRoot.setRunOnBranch( false,
-                                 true );
+      return false;
+   }
 
-      System.out.println( "Finished discovering test structure for " + (_sequenceList.size()-1) + " tests in " + (System.currentTimeMillis()-_discoveryStartTime) + " ms." );
+   final boolean adaptiveThreads( Integer configuredIndex )
+      throws UserError
+   {
+      Boolean adaptiveThreads;
+      String  environmentText;
 
-      if ( showGUI )
+      adaptiveThreads = _argumentParser.adaptiveThreads();
+      if ( adaptiveThreads != null )
       {
-         javafx.application.Platform.runLater( () -> selectionWindowThread() );
+         return adaptiveThreads;
       }
-      else
+
+      if ( configuredIndex != null )
       {
-         runPass2FromCommandLine();
+         adaptiveThreads = _testSetDescriptors.get( configuredIndex ).getAdaptiveThreads();
+         if ( adaptiveThreads != null )
+         {
+            return adaptiveThreads;
+         }
       }
-   }
 
-   final private void selectionWindowThread()
-   {
-      _selectionWindow = new SelectionWindow( _configurator.getSuiteName(),
-                                              _primaryStage,
-                                              _pass1TestSets,
-                                              _dummyRoot,
-                                              _argumentParser.getTestParameters(),
-                                              this );
+      environmentText = System.getenv( "UNDERCAMBER_ADAPTIVE_THREADS" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_ADAPTIVE_THREADS:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
+
+      return false;
    }
 
-   final private void runPass2FromCommandLine()
+   final int getMinimumThreadCount( Integer configuredIndex )
    {
-      java.util.Set<String>          badTestSetNames;
-      java.util.Set<TagEntryPoint>   badTagEntryPoints;
-      java.util.List<TestEntryPoint> badTestEntryPoints;
-      boolean                        foundEntryPoint;
-      java.util.Set<TestData>        entryPoints;
-      TestSet                        testSet;
-      boolean                        foundTag;
-      boolean                        found;
-      boolean                        okay;
+      Integer threadCount;
 
-      if ( _argumentParser.useGUIFlags() )
+      threadCount = _argumentParser.getMinimumThreadCount();
+      if ( threadCount != null )
       {
-         runGUISelectedTests();
+         return threadCount;
       }
-      else
-      {
+
+      if ( configuredIndex != null )
+      {
+         threadCount = _testSetDescriptors.get( configuredIndex ).getMinimumThreadCount();
+         if ( threadCount != null )
+         {
+            return threadCount;
+         }
+      }
+
+      return 1;
+   }
+
+   final int getMaximumThreadCount( Integer configuredIndex )
+   {
+      Integer threadCount;
+
+      threadCount = _argumentParser.getMaximumThreadCount();
+      if ( threadCount != null )
+      {
+         return threadCount;
+      }
+
+      if ( configuredIndex != null )
+      {
+         threadCount = _testSetDescriptors.get( configuredIndex ).getMaximumThreadCount();
+         if ( threadCount != null )
+         {
+            return threadCount;
+         }
+      }
+
+      return Math.max( getPass2ThreadCount(configuredIndex),
+                       4*Runtime.getRuntime().availableProcessors() );
+   }
+
+   final private int getStartingThreadCount( TestSet testSet )
+      throws InternalException,
+             UserError
+   {
+      int     threadCount;
+      int     minimumThreadCount;
+      int     maximumThreadCount;
+      Integer previousThreadCount;
+
+      threadCount = getPass2ThreadCount( testSet.getConfiguredIndex() );
+
+      if ( !adaptiveThreads(testSet.getConfiguredIndex()) )
+      {
+         return threadCount;
+      }
+
+      minimumThreadCount = getMinimumThreadCount( testSet.getConfiguredIndex() );
+      maximumThreadCount = getMaximumThreadCount( testSet.getConfiguredIndex() );
+
+      if ( minimumThreadCount > maximumThreadCount )
+      {
+         throw new UserError( "Error:  The minimum thread count for test set " + testSet.getTestSetName() + " (" + minimumThreadCount + ") is larger than its maximum thread count (" + maximumThreadCount + ")." );
+      }
+
+      previousThreadCount = testSet.getPreviousAdaptiveThreadCount( getResultsRootDirectory() );
+      if ( previousThreadCount != null )
+      {
+         threadCount = previousThreadCount;
+      }
+
+      return Math.max( minimumThreadCount, Math.min(maximumThreadCount,threadCount) );
+   }
+
+   final boolean speculativeSiblings( Integer configuredIndex )
+      throws UserError
+   {
+      Boolean speculativeSiblings;
+      String  environmentText;
+
+      speculativeSiblings = _argumentParser.speculativeSiblings();
+      if ( speculativeSiblings != null )
+      {
+         return speculativeSiblings;
+      }
+
+      if ( configuredIndex != null )
+      {
+         speculativeSiblings = _testSetDescriptors.get( configuredIndex ).getSpeculativeSiblings();
+         if ( speculativeSiblings != null )
+         {
+            return speculativeSiblings;
+         }
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_SPECULATIVE_SIBLINGS" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_SPECULATIVE_SIBLINGS:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
+
+      return false;
+   }
+
+   final private boolean showResultsGUI()
+      throws UserError
+   {
+      Boolean showResultsWindow;
+      String  environmentText;
+
+      showResultsWindow = _argumentParser.showResultsWindow();
+      if ( showResultsWindow != null )
+      {
+         return showResultsWindow;
+      }
+
+      showResultsWindow = _configurator.getShowResultsWindow();
+      if ( showResultsWindow != null )
+      {
+         return showResultsWindow;
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_SHOW_RESULTS_WINDOW" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_SHOW_RESULTS_WINDOW:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
+
+      return true;
+   }
+
+   final private boolean fusePasses()
+      throws UserError
+   {
+      Boolean fusePasses;
+      String  environmentText;
+
+      fusePasses = _argumentParser.fusePasses();
+      if ( fusePasses != null )
+      {
+         return fusePasses;
+      }
+
+      fusePasses = _configurator.getFusePasses();
+      if ( fusePasses != null )
+      {
+         return fusePasses;
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_FUSE_PASSES" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_FUSE_PASSES:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
+
+      return false;
+   }
+
+   final private int fetchResidentProcessCount()
+      throws UserError
+   {
+      Integer residentProcessCount;
+      String  environmentText;
+
+      residentProcessCount = _argumentParser.getResidentProcessCount();
+      if ( residentProcessCount != null )
+      {
+         return residentProcessCount;
+      }
+
+      residentProcessCount = _configurator.getResidentProcessCount();
+      if ( residentProcessCount != null )
+      {
+         return residentProcessCount;
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_RESIDENT_PROCESS_COUNT" );
+      if ( environmentText != null )
+      {
+         try
+         {
+            residentProcessCount = Integer.parseInt( environmentText );
+         }
+         catch ( NumberFormatException numberFormatException )
+         {
+            throw new UserError( "Error:  Invalid process count in environment variable \"UNDERCAMBER_RESIDENT_PROCESS_COUNT\":  " + environmentText );
+         }
+
+         if ( residentProcessCount < 1 )
+         {
+            throw new UserError( "Error:  Invalid process count in environment variable \"UNDERCAMBER_RESIDENT_PROCESS_COUNT\":  " + residentProcessCount + ".  Must be at least 1" );
+         }
+
+         return residentProcessCount;
+      }
+
+      // Waiting processes use memory but no processor time, so the process count alone would keep
+      // almost every test set unfused
+
+      return Math.max( _processCount,
+                       Runtime.getRuntime().availableProcessors() );
+   }
+
+   final private boolean useWorkerPool()
+      throws UserError
+   {
+      Boolean useWorkerPool;
+      String  environmentText;
+
+      useWorkerPool = _argumentParser.useWorkerPool();
+      if ( useWorkerPool != null )
+      {
+         return useWorkerPool;
+      }
+
+      useWorkerPool = _configurator.getUseWorkerPool();
+      if ( useWorkerPool != null )
+      {
+         return useWorkerPool;
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_WORKER_POOL" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_WORKER_POOL:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
+
+      return false;
+   }
+
+   final private boolean runInProcess()
+      throws UserError
+   {
+      Boolean runInProcess;
+      String  environmentText;
+
+      runInProcess = _argumentParser.runInProcess();
+      if ( runInProcess != null )
+      {
+         return runInProcess;
+      }
+
+      runInProcess = _configurator.getRunInProcess();
+      if ( runInProcess != null )
+      {
+         return runInProcess;
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_IN_PROCESS" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_IN_PROCESS:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
+
+      return false;
+   }
+
+   final private boolean useDiscoveryCache()
+      throws UserError
+   {
+      Boolean useDiscoveryCache;
+      String  environmentText;
+
+      useDiscoveryCache = _argumentParser.useDiscoveryCache();
+      if ( useDiscoveryCache != null )
+      {
+         return useDiscoveryCache;
+      }
+
+      useDiscoveryCache = _configurator.getUseDiscoveryCache();
+      if ( useDiscoveryCache != null )
+      {
+         return useDiscoveryCache;
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_DISCOVERY_CACHE" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_DISCOVERY_CACHE:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
+
+      return false;
+   }
+
+   final private boolean useProgressEvents()
+      throws UserError
+   {
+      Boolean useProgressEvents;
+      String  environmentText;
+
+      useProgressEvents = _argumentParser.useProgressEvents();
+      if ( useProgressEvents != null )
+      {
+         return useProgressEvents;
+      }
+
+      useProgressEvents = _configurator.getUseProgressEvents();
+      if ( useProgressEvents != null )
+      {
+         return useProgressEvents;
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_PROGRESS_EVENTS" );
+      if ( environmentText != null )
+      {
+         if ( environmentText.equals("true") )
+         {
+            return true;
+         }
+         else if ( environmentText.equals("false") )
+         {
+            return false;
+         }
+         else
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_PROGRESS_EVENTS:  <" + environmentText + ">.  Should be either \"true\" or \"false\"." );
+         }
+      }
+
+      return false;
+   }
+
+   final private StatusDurability getStatusDurability()
+      throws UserError
+   {
+      StatusDurability statusDurability;
+      String           environmentText;
+
+      statusDurability = _argumentParser.getStatusDurability();
+      if ( statusDurability != null )
+      {
+         return statusDurability;
+      }
+
+      statusDurability = _configurator.getStatusDurability();
+      if ( statusDurability != null )
+      {
+         return statusDurability;
+      }
+
+      environmentText = System.getenv( "UNDERCAMBER_STATUS_DURABILITY" );
+      if ( environmentText != null )
+      {
+         statusDurability = ArgumentParser.parseStatusDurability( environmentText );
+         if ( statusDurability == null )
+         {
+            throw new UserError( "Error:  Invalid value for environment variable UNDERCAMBER_STATUS_DURABILITY:  <" + environmentText + ">.  Should be \"none\", \"periodic\", or \"testSetEnd\"." );
+         }
+         return statusDurability;
+      }
+
+      return StatusDurability.TEST_SET_END;
+   }
+
+   final private boolean isInProcess( TestSet testSet )
+      throws java.io.IOException
+   {
+      return _runInProcess && testSet.matchesRunningJVM();
+   }
+
+   final private void runPass1()
+   {
+      ProcessScheduler processScheduler;
+      boolean          okay;
+
+      _discoveryStartTime = System.currentTimeMillis();
+
+      Runtime.getRuntime().addShutdownHook( new Thread(()->shutdownHook()) );
+
+      try
+      {
+         processScheduler = new ProcessScheduler( _processCount,
+                                                  true );
+
+         for ( TestSet testSet : _pass1TestSets )
+         {
+            processScheduler.addTestSet( testSet,
+                                         new java.util.HashSet<TestSet>() );
+         }
+
+         okay = processScheduler.run( testSet -> discoverTestSet(testSet) );
+
+         if ( okay )
+         {
+            finishPass1();
+         }
+         else
+         {
+            shutdown();
+         }
+      }
+      catch ( Throwable throwable )
+      {
+         Utilities.printStackTrace( throwable );
+         shutdown();
+      }
+   }
+
+   final private void discoverTestSet( TestSet testSet )
+      throws InternalException,
+             UserError,
+             java.io.IOException
+   {
+      boolean inProcess;
+      boolean okay;
+
+      if ( _useDiscoveryCache && testSet.readDiscoveryCache() )
+      {
+         return;
+      }
+
+      testSet.getPass1StatusFile().delete();
+
+      inProcess = isInProcess( testSet );
+
+      if ( (_controlServer==null) || inProcess )
+      {
+         runProcess( testSet,
+                     ExecutionMode.PASS_1_DISCOVERY,
+                     100 );
+      }
+      else if ( _residentProcessPermits.tryAcquire() )
+      {
+         startResidentProcess( testSet );
+      }
+      else
+      {
+         System.out.println( "Warning:  All " + _residentProcessCount + " resident processes are in use.  Test set " + testSet.getTestSetName() + " is discovered and run in separate processes.  Use -residentProcesses to keep more discovery processes running." );
+
+         runProcess( testSet,
+                     ExecutionMode.PASS_1_DISCOVERY,
+                     100 );
+      }
+
+      okay = testSet.readPass1StatusFile();
+
+      if ( okay )
+      {
+         if ( !inProcess )
+         {
+            testSet.readPass1TestData();
+         }
+
+         if ( _useDiscoveryCache )
+         {
+            testSet.writeDiscoveryCache();
+         }
+      }
+      else
+      {
+         destroyTestProcesses();
+
+         throw new UserError( "Error:  Could not discover the test structure of test set " + testSet.getTestSetName() );
+      }
+   }
+
+   final private void startResidentProcess( TestSet testSet )
+      throws InternalException,
+             UserError
+   {
+      java.io.File      processLogFile;
+      Process           testProcess;
+      ControlConnection controlConnection;
+      boolean           resident;
+
+      processLogFile = getProcessLogFile( testSet );
+
+      resident = false;
+
+      try
+      {
+         testProcess = startProcess( testSet,
+                                     ExecutionMode.PASS_1_DISCOVERY,
+                                     100,
+                                     _controlServer.getPort(),
+                                     -1,
+                                     processLogFile );
+
+         controlConnection = _controlServer.getControlConnection( testSet.getTestSetName(),
+                                                                  testProcess );
+
+         if ( controlConnection == null )
+         {
+            waitForProcess( testProcess,
+                            processLogFile );
+         }
+         else
+         {
+            _residentProcesses.put( testSet, new ResidentProcess(testProcess,
+                                                                 controlConnection,
+                                                                 processLogFile) );
+            resident = true;
+         }
+      }
+      catch ( java.io.IOException | InterruptedException exception )
+      {
+         Utilities.printStackTrace( exception );
+      }
+      finally
+      {
+         if ( !resident )
+         {
+            _residentProcessPermits.release();
+         }
+      }
+   }
+
+   final private void finishPass1()
+   {
+      boolean showGUI;
+
+      showGUI = _argumentParser.showGUI();
+
+      _dummyRoot = new TestData( _pass1TestSets );
+
+      _sequenceList = new SequenceList();
+
+      _dummyRoot.appendToSequence( _sequenceList );
+
+      try
+      {
+         _sequenceList.initializeDependencies();
+
+         checkResourceClaims( _dummyRoot,
+                              new java.util.HashMap<String,Integer>() );
+
+         for ( TestSet testSet : _pass1TestSets )
+         {
+            testSet.initializePrerequisites( !showGUI,
+                                             orderConcurrentPrerequisites(testSet.getConfiguredIndex()) );
+         }
+      }
+      catch ( Throwable throwable )
+      {
+         Utilities.printStackTrace( throwable );
+         shutdown();
+         return;
+      }
+
+      _dummyRoot.setRunOnBranch( false,
+                                 true );
+
+      System.out.println( "Finished discovering test structure for " + (_sequenceList.size()-1) + " tests in " + (System.currentTimeMillis()-_discoveryStartTime) + " ms." );
+
+      if ( showGUI )
+      {
+         javafx.application.Platform.runLater( () -> selectionWindowThread() );
+      }
+      else
+      {
+         runPass2FromCommandLine();
+      }
+   }
+
+   final private static void checkResourceClaims( TestData                      testData,
+                                                  java.util.Map<String,Integer> capacities )
+      throws UserError
+   {
+      Integer capacity;
+
+      for ( ResourceClaim resourceClaim : testData.getResourceClaims() )
+      {
+         capacity = capacities.get( resourceClaim.getName() );
+         if ( capacity == null )
+         {
+            capacities.put( resourceClaim.getName(), resourceClaim.getCapacity() );
+         }
+         else if ( capacity != resourceClaim.getCapacity() )
+         {
+            throw new UserError( "Error:  Resource \"" + resourceClaim.getName() + "\" is claimed with capacity " + capacity + " and with capacity " + resourceClaim.getCapacity() + ".  Every claim on a resource must use the same capacity." );
+         }
+      }
+
+      for ( TestData child : testData.getChildren() )
+      {
+         checkResourceClaims( child,
+                              capacities );
+      }
+   }
+
+   final private void selectionWindowThread()
+   {
+      _selectionWindow = new SelectionWindow( _configurator.getSuiteName(),
+                                              _primaryStage,
+                                              _pass1TestSets,
+                                              _dummyRoot,
+                                              _argumentParser.getTestParameters(),
+                                              this );
+   }
+
+   final private void runPass2FromCommandLine()
+   {
+      java.util.Set<String>          badTestSetNames;
+      java.util.Set<TagEntryPoint>   badTagEntryPoints;
+      java.util.List<TestEntryPoint> badTestEntryPoints;
+      boolean                        foundEntryPoint;
+      java.util.Set<TestData>        entryPoints;
+      TestSet                        testSet;
+      boolean                        foundTag;
+      boolean                        found;
+      boolean                        okay;
+
+      if ( _argumentParser.getMergeDirectoryNames().size() > 0 )
+      {
+         mergeResults();
+      }
+      else if ( _argumentParser.useGUIFlags() )
+      {
+         runGUISelectedTests();
+      }
+      else
+      {
+         try
+         {
+            if ( _argumentParser.runAllTests() )
+            {
+               _dummyRoot.setRunOnBranch( true,
+                                          true );
+            }
+
+            badTestSetNames = new java.util.HashSet<String>();
+            badTagEntryPoints = new java.util.HashSet<TagEntryPoint>();
+            badTestEntryPoints = new java.util.ArrayList<TestEntryPoint>();
+
+            for ( TestEntryPoint testEntryPoint : _argumentParser.getEntryPoints() )
+            {
+               foundEntryPoint = false;
+
+               if ( testEntryPoint.getTestSetNames() == null )
+               {
+                  entryPoints = _dummyRoot.findEntryPoints( testEntryPoint );
+                  for ( TestData entryPoint : entryPoints )
+                  {
+                     foundEntryPoint = true;
+                     entryPoint.setRunOnBranch( true,
+                                                true );
+                  }
+               }
+               else
+               {
+                  for ( String testSetName : testEntryPoint.getTestSetNames() )
+                  {
+                     testSet = getPass1TestSet( testSetName );
+                     if ( testSet == null )
+                     {
+                        badTestSetNames.add( testSetName );
+                     }
+                     else
+                     {
+                        entryPoints = testSet.getTestData().findEntryPoints( testEntryPoint );
+                        for ( TestData entryPoint : entryPoints )
+                        {
+                           foundEntryPoint = true;
+                           entryPoint.setRunOnBranch( true,
+                                                      true );
+                        }
+                     }
+                  }
+               }
+
+               if ( !foundEntryPoint )
+               {
+                  badTestEntryPoints.add( testEntryPoint );
+               }
+            }
+
+            for ( TagEntryPoint tagEntryPoint : _argumentParser.getTagEntryPoints() )
+            {
+               for ( String tagName : tagEntryPoint.getTagNames() )
+               {
+                  if ( tagEntryPoint.getTestSetNames() == null )
+                  {
+                     foundTag = _dummyRoot.setAlternateRunFlagOnBranch( tagName );
+                  }
+                  else
+                  {
+                     foundTag = false;
+
+                     for ( String testSetName : tagEntryPoint.getTestSetNames() )
+                     {
+                        testSet = getPass1TestSet( testSetName );
+                        if ( testSet == null )
+                        {
+                           badTestSetNames.add( testSetName );
+                        }
+                        else
+                        {
+                           found = testSet.getTestData().setAlternateRunFlagOnBranch( tagName );
+                           if ( found )
+                           {
+                              foundTag = true;
+                           }
+                        }
+                     }
+                  }
+
+                  if ( !foundTag )
+                  {
+                     badTagEntryPoints.add( tagEntryPoint );
+                  }
+               }
+            }
+
+            for ( String testSetName : _argumentParser.getTestSetNames() )
+            {
+               testSet = getPass1TestSet( testSetName );
+
+               if ( testSet == null )
+               {
+                  badTestSetNames.add( testSetName );
+               }
+               else
+               {
+                  testSet.getTestData().setRunOnBranch( true,
+                                                        true );
+               }
+            }
+
+            okay = check( badTestEntryPoints,
+                          badTestSetNames,
+                          badTagEntryPoints );
+
+            if ( okay )
+            {
+               runPass2();
+            }
+            else
+            {
+               shutdown();
+            }
+         }
+         catch ( Throwable throwable )
+         {
+            Utilities.printStackTrace( throwable );
+            shutdown();
+         }
+      }
+   }
+
+   final boolean check( java.util.List<TestEntryPoint> badTestEntryPoints,
+                        java.util.Set<String>          badTestSetNames,
+                        java.util.Set<TagEntryPoint>   badTagEntryPoints )
+   {
+      boolean                okay;
+      java.util.List<String> stringList;
+
+      okay = true;
+
+      if ( badTestEntryPoints.size() > 0 )
+      {
+         okay = false;
+
+         if ( badTestEntryPoints.size() == 1 )
+         {
+            System.out.println( "Test " + badTestEntryPoints.get(0) + " (specified on command line) not found" );
+         }
+         else
+         {
+            stringList = new java.util.ArrayList<String>();
+
+            for ( TestEntryPoint testEntryPoint : badTestEntryPoints )
+            {
+               stringList.add( testEntryPoint.toString() );
+            }
+
+            System.out.println( "Tests " + Utilities.formatList(stringList) + " (specified on command line) not found" );
+         }
+      }
+
+      if ( badTestSetNames.size() > 0 )
+      {
+         okay = false;
+
+         stringList = new java.util.ArrayList<String>();
+         stringList.addAll( badTestSetNames );
+         java.util.Collections.sort( stringList );
+
+         if ( stringList.size() == 1 )
+         {
+            System.out.println( "Test set " + stringList.get(0) + " (specified on command line) not found" );
+         }
+         else
+         {
+            System.out.println( "Test sets " + Utilities.formatList(stringList) + " (specified on command line) not found" );
+         }
+      }
+
+      if ( badTagEntryPoints.size() > 0 )
+      {
+         okay = false;
+
+         for ( TagEntryPoint tagEntryPoint : badTagEntryPoints )
+         {
+            tagEntryPoint.showErrorMessage( this );
+         }
+      }
+
+      return okay;
+   }
+
+   final void runTag( String tagName )
+   {
+      _dummyRoot.setAlternateRunFlagOnBranch( tagName );
+
+      runPass2();
+   }
+
+   final void runAllTests()
+   {
+      _dummyRoot.setRunOnBranch( true,
+                                 true );
+
+      runPass2();
+   }
+
+   final void runGUISelectedTests()
+   {
+      _dummyRoot.transferGUIRunFlags();
+
+      runPass2();
+   }
+
+   final void runTest( TestData testData,
+                       boolean  runSubtests )
+   {
+      if ( runSubtests )
+      {
+         testData.setRunOnBranch( true,
+                                  true );
+      }
+      else
+      {
+         testData.setRun( true,
+                          true );
+      }
+
+      runPass2();
+   }
+
+   final private void runPass2()
+   {
+      int headingColumnWidth;
+
+      if ( _argumentParser.forcePrerequisites() )
+      {
+         _dummyRoot.forcePrerequisitesOnBranch( true );
+      }
+
+      if ( _argumentParser.getShard() != null )
+      {
          try
          {
-            if ( _argumentParser.runAllTests() )
+            _argumentParser.getShard().select( _pass1TestSets,
+                                               getShardHistoryDirectory() );
+         }
+         catch ( Exception exception )
+         {
+            Utilities.printStackTrace( exception );
+            shutdown();
+            return;
+         }
+      }
+
+      javafx.application.Platform.runLater( () -> _primaryStage.hide() );
+
+      savePass1Configurations();
+
+      headingColumnWidth = computeHeadingColumnWidth();
+
+      try
+      {
+         if ( _argumentParser.getResumeSubdirectoryName() != null )
+         {
+            loadResumedResults();
+         }
+
+         _statusFile = new StatusFile( getResultsDirectory(),
+                                       _sequenceList.size(),
+                                       getStatusDurability() );
+         StatusFile.writeStructure( getResultsDirectory(),
+                                    _sequenceList.getStructureFingerprint() );
+         for ( TestSet testSet : _pass1TestSets )
+         {
+            testSet.setStatusFile( _statusFile );
+            testSet.startResultsJournal();
+         }
+
+         if ( _selectionWindow != null )
+         {
+            javafx.application.Platform.runLater( () -> _selectionWindow.saveAndClose(null) );
+         }
+
+         ( new Thread(()->pass2Thread(headingColumnWidth)) ).start();
+      }
+      catch ( Exception exception )
+      {
+         Utilities.printStackTrace( exception );
+         shutdown();
+      }
+   }
+
+   final private void loadResumedResults()
+      throws InternalException,
+             UserError,
+             java.io.IOException
+   {
+      java.io.File previousResultsDirectory;
+      TestState    previousStates[];
+      int          resumedCount;
+
+      previousResultsDirectory = new java.io.File( getResultsRootDirectory(), _argumentParser.getResumeSubdirectoryName() );
+      if ( !(previousResultsDirectory.isDirectory()) )
+      {
+         throw new UserError( "Error:  Results directory <" + previousResultsDirectory.getPath() + "> not found" );
+      }
+
+      if ( !(StatusFile.matches(previousResultsDirectory,_sequenceList.size(),_sequenceList.getStructureFingerprint())) )
+      {
+         throw new UserError( "Error:  Cannot resume <" + previousResultsDirectory.getPath() + ">.  It has no second-pass status, or the test structure has changed since it ran." );
+      }
+
+      previousStates = StatusFile.read( previousResultsDirectory,
+                                        _sequenceList.size() );
+
+      resumedCount = 0;
+      for ( TestSet testSet : _pass1TestSets )
+      {
+         if ( testSet.shouldRun(true) )
+         {
+            resumedCount += testSet.loadResumedResults( previousResultsDirectory,
+                                                        previousStates );
+         }
+      }
+
+      System.out.println( "Resuming " + previousResultsDirectory.getPath() + ":  " + resumedCount + " test" + ((resumedCount==1)?"":"s") + " completed earlier and will not run again." );
+   }
+
+   final private void pass2Thread( int headingColumnWidth )
+   {
+      boolean          skippedResultsScreen;
+      Timer            timer;
+      ProcessScheduler processScheduler;
+      String           elapsedTimeString;
+
+      Runtime.getRuntime().addShutdownHook( new Thread(()->shutdownHook()) );
+
+      skippedResultsScreen = true;
+      try
+      {
+         timer = new Timer();
+
+         try
+         {
+            _dummyRoot.setStateOnBranch( TestState.NOT_RUN );
+
+            synchronized ( this )
             {
-               _dummyRoot.setRunOnBranch( true,
-                                          true );
+               _failingFast = false;
             }
 
-            badTestSetNames = new java.util.HashSet<String>();
-            badTagEntryPoints = new java.util.HashSet<TagEntryPoint>();
-            badTestEntryPoints = new java.util.ArrayList<TestEntryPoint>();
+            processScheduler = new ProcessScheduler( _processCount,
+                                                     false );
 
-            for ( TestEntryPoint testEntryPoint : _argumentParser.getEntryPoints() )
+            for ( TestSet testSet : _pass1TestSets )
             {
-               foundEntryPoint = false;
-
-               if ( testEntryPoint.getTestSetNames() == null )
+               if ( testSet.shouldRun(true) )
                {
-                  entryPoints = _dummyRoot.findEntryPoints( testEntryPoint );
-                  for ( TestData entryPoint : entryPoints )
-                  {
-                     foundEntryPoint = true;
-                     entryPoint.setRunOnBranch( true,
-                                                true );
-                  }
+                  processScheduler.addTestSet( testSet,
+                                               testSet.getPrerequisiteTestSets(true) );
                }
                else
                {
-                  for ( String testSetName : testEntryPoint.getTestSetNames() )
-                  {
-                     testSet = getPass1TestSet( testSetName );
-                     if ( testSet == null )
-                     {
-                        badTestSetNames.add( testSetName );
-                     }
-                     else
-                     {
-                        entryPoints = testSet.getTestData().findEntryPoints( testEntryPoint );
-                        for ( TestData entryPoint : entryPoints )
-                        {
-                           foundEntryPoint = true;
-                           entryPoint.setRunOnBranch( true,
-                                                      true );
-                        }
-                     }
-                  }
+                  releaseResidentProcess( testSet );
                }
+            }
+
+            processScheduler.run( testSet -> launchTestSet(testSet,
+                                                           headingColumnWidth) );
+         }
+         catch ( Throwable throwable )
+         {
+            Utilities.printStackTrace( throwable );
+         }
+
+         elapsedTimeString = timer.getElapsedTimeString();
+
+         skippedResultsScreen = !showResultsGUI();
+
+         new Finisher( _configurator.getSuiteName(),
+                       _pass1ThreadCount,
+                       _pass1TestSets,
+                       getResultsDirectory(),
+                       headingColumnWidth,
+                       _sequenceList.getTestDataMap(),
+                       elapsedTimeString,
+                       showResultsGUI(),
+                       _argumentParser.getTestParameters(),
+                       _primaryStage,
+                       this );
+      }
+      catch ( Throwable throwable )
+      {
+         Utilities.printStackTrace( throwable );
+      }
+      finally
+      {
+         if ( skippedResultsScreen )
+         {
+            shutdown();
+         }
+      }
+   }
+
+   final private void mergeResults()
+   {
+      int headingColumnWidth;
+
+      javafx.application.Platform.runLater( () -> _primaryStage.hide() );
+
+      headingColumnWidth = computeHeadingColumnWidth();
+
+      ( new Thread(()->mergeThread(headingColumnWidth)) ).start();
+   }
+
+   final private void mergeThread( int headingColumnWidth )
+   {
+      boolean                      skippedResultsScreen;
+      Timer                        timer;
+      java.util.List<java.io.File> resultsDirectories;
+      java.io.File                 resultsDirectory;
+      String                       structureFingerprint;
+      String                       elapsedTimeString;
+
+      skippedResultsScreen = true;
+      try
+      {
+         timer = new Timer();
+
+         structureFingerprint = _sequenceList.getStructureFingerprint();
+
+         resultsDirectories = new java.util.ArrayList<java.io.File>();
+         for ( String resultsDirectoryName : _argumentParser.getMergeDirectoryNames() )
+         {
+            resultsDirectory = new java.io.File( resultsDirectoryName );
+            if ( !(resultsDirectory.isDirectory()) )
+            {
+               throw new UserError( "Error:  Results directory <" + resultsDirectoryName + "> not found" );
+            }
+            if ( !(StatusFile.matches(resultsDirectory,_sequenceList.size(),structureFingerprint)) )
+            {
+               throw new UserError( "Error:  Cannot merge <" + resultsDirectoryName + ">.  It has no second-pass status, or its test structure differs from the current test structure." );
+            }
+            resultsDirectories.add( resultsDirectory );
+         }
+
+         System.out.println( "Merging results from " + resultsDirectories.size() + " results director" + ((resultsDirectories.size()==1)?"y":"ies") + "." );
+
+         _dummyRoot.setStateOnBranch( TestState.NOT_RUN );
+
+         for ( TestSet testSet : _pass1TestSets )
+         {
+            testSet.mergeResults( resultsDirectories );
+         }
+
+         StatusFile.merge( resultsDirectories,
+                           getResultsDirectory(),
+                           _sequenceList.size(),
+                           structureFingerprint );
+
+         elapsedTimeString = timer.getElapsedTimeString();
+
+         skippedResultsScreen = !showResultsGUI();
+
+         new Finisher( _configurator.getSuiteName(),
+                       _pass1ThreadCount,
+                       _pass1TestSets,
+                       getResultsDirectory(),
+                       headingColumnWidth,
+                       _sequenceList.getTestDataMap(),
+                       elapsedTimeString,
+                       showResultsGUI(),
+                       _argumentParser.getTestParameters(),
+                       _primaryStage,
+                       this );
+      }
+      catch ( Throwable throwable )
+      {
+         Utilities.printStackTrace( throwable );
+      }
+      finally
+      {
+         if ( skippedResultsScreen )
+         {
+            shutdown();
+         }
+      }
+   }
 
-               if ( !foundEntryPoint )
-               {
-                  badTestEntryPoints.add( testEntryPoint );
-               }
-            }
+   final private void launchTestSet( TestSet testSet,
+                                     int     headingColumnWidth )
+      throws InternalException,
+             UserError,
+             java.io.IOException
+   {
+      boolean skip;
 
-            for ( TagEntryPoint tagEntryPoint : _argumentParser.getTagEntryPoints() )
-            {
-               for ( String tagName : tagEntryPoint.getTagNames() )
-               {
-                  if ( tagEntryPoint.getTestSetNames() == null )
-                  {
-                     foundTag = _dummyRoot.setAlternateRunFlagOnBranch( tagName );
-                  }
-                  else
-                  {
-                     foundTag = false;
+      synchronized ( this )
+      {
+         skip = _failingFast;
+      }
 
-                     for ( String testSetName : tagEntryPoint.getTestSetNames() )
-                     {
-                        testSet = getPass1TestSet( testSetName );
-                        if ( testSet == null )
-                        {
-                           badTestSetNames.add( testSetName );
-                        }
-                        else
-                        {
-                           found = testSet.getTestData().setAlternateRunFlagOnBranch( tagName );
-                           if ( found )
-                           {
-                              foundTag = true;
-                           }
-                        }
-                     }
-                  }
+      if ( skip )
+      {
+         System.out.println( "Fail fast:  skipping test set " + testSet.getTestSetName() + "." );
 
-                  if ( !foundTag )
-                  {
-                     badTagEntryPoints.add( tagEntryPoint );
-                  }
-               }
-            }
+         releaseResidentProcess( testSet );
 
-            for ( String testSetName : _argumentParser.getTestSetNames() )
-            {
-               testSet = getPass1TestSet( testSetName );
+         testSet.getTestData().recordSkippedBranch( TestState.SKIPPED_DUE_TO_FAIL_FAST,
+                                                    true );
 
-               if ( testSet == null )
-               {
-                  badTestSetNames.add( testSetName );
-               }
-               else
-               {
-                  testSet.getTestData().setRunOnBranch( true,
-                                                        true );
-               }
+         testSet.getStatusFile().checkpoint();
+
+         testSet.setLiveResults( true );
+      }
+      else
+      {
+         verifyTestSet( testSet,
+                        headingColumnWidth );
+
+         if ( failFast(testSet.getConfiguredIndex()) && testSet.getTestData().hasRecordedFailureInBranch() )
+         {
+            synchronized ( this )
+            {
+               _failingFast = true;
             }
+         }
+      }
+   }
 
-            okay = check( badTestEntryPoints,
-                          badTestSetNames,
-                          badTagEntryPoints );
+   final private void verifyTestSet( TestSet testSet,
+                                     int     headingColumnWidth )
+      throws InternalException,
+             UserError
+   {
+      ResidentProcess residentProcess;
+      long            testSetTimeout;
+      ProcessDeadline processDeadline;
+      int             exitCode;
 
-            if ( okay )
+      residentProcess = _residentProcesses.remove( testSet );
+
+      if ( residentProcess == null )
+      {
+         exitCode = runProcess( testSet,
+                                ExecutionMode.PASS_2_VERIFICATION,
+                                headingColumnWidth );
+      }
+      else
+      {
+         exitCode = 0;
+
+         try
+         {
+            testSetTimeout = getTestSetTimeout( testSet.getConfiguredIndex() );
+
+            residentProcess.verify( headingColumnWidth,
+                                    getStartingThreadCount(testSet),
+                                    useVirtualThreads(testSet.getConfiguredIndex()),
+                                    criticalPathFirst(testSet.getConfiguredIndex()),
+                                    getResourcePort(),
+                                    testSetTimeout,
+                                    failFast(testSet.getConfiguredIndex()),
+                                    orderConcurrentPrerequisites(testSet.getConfiguredIndex()),
+                                    speculativeSiblings(testSet.getConfiguredIndex()),
+                                    adaptiveThreads(testSet.getConfiguredIndex()),
+                                    getMinimumThreadCount(testSet.getConfiguredIndex()),
+                                    getMaximumThreadCount(testSet.getConfiguredIndex()),
+                                    getStatusDurability(),
+                                    getProgressPort() );
+
+            processDeadline = new ProcessDeadline( residentProcess.getProcess(),
+                                                   testSet.getTestSetName(),
+                                                   testSetTimeout );
+
+            if ( _progressServer == null )
             {
-               runPass2();
+               waitForProcess( residentProcess.getProcess(),
+                               residentProcess.getProcessLogFile() );
+
+               checkDeadline( testSet,
+                              processDeadline );
+
+               exitCode = processDeadline.getAbnormalExitCode();
             }
             else
             {
-               shutdown();
+               exitCode = receiveProgressEvents( testSet,
+                                                 residentProcess.getProcess(),
+                                                 processDeadline,
+                                                 headingColumnWidth,
+                                                 residentProcess.getProcessLogFile() );
             }
          }
          catch ( Throwable throwable )
          {
             Utilities.printStackTrace( throwable );
-            shutdown();
          }
+         finally
+         {
+            residentProcess.close();
+
+            _residentProcessPermits.release();
+         }
+      }
+
+      while ( recoverCrashedTests(testSet,
+                                  exitCode) )
+      {
+         exitCode = runProcess( testSet,
+                                ExecutionMode.PASS_2_VERIFICATION,
+                                headingColumnWidth );
       }
    }
 
-   final boolean check( java.util.List<TestEntryPoint> badTestEntryPoints,
-                        java.util.Set<String>          badTestSetNames,
-                        java.util.Set<TagEntryPoint>   badTagEntryPoints )
+   final private boolean recoverCrashedTests( TestSet testSet,
+                                              int     exitCode )
+      throws InternalException,
+             UserError
    {
-      boolean                okay;
-      java.util.List<String> stringList;
+      String                   exitDescription;
+      Exception                crashException;
+      java.util.List<TestData> crashedTests;
+      boolean                  relaunch;
 
-      okay = true;
+      if ( exitCode == 0 )
+      {
+         exitDescription = "";
+      }
+      else
+      {
+         exitDescription = " (exit code " + exitCode + ")";
+      }
 
-      if ( badTestEntryPoints.size() > 0 )
+      crashException = new Exception( "Error:  The test JVM for test set " + testSet.getTestSetName() + " terminated abnormally" + exitDescription + " while this test was running." );
+      crashException.setStackTrace( new StackTraceElement[0] );
+
+      crashedTests = new java.util.ArrayList<TestData>();
+
+      try
       {
-         okay = false;
+         if ( isInProcess(testSet) )
+         {
+            return false;
+         }
 
-         if ( badTestEntryPoints.size() == 1 )
+         testSet.getTestData().recordCrashedTests( crashException,
+                                                   crashedTests );
+
+         if ( crashedTests.size() > 0 )
          {
-            System.out.println( "Test " + badTestEntryPoints.get(0) + " (specified on command line) not found" );
+            testSet.journalCrashedTests( crashedTests );
+
+            System.out.println( "Error:  The test JVM for test set " + testSet.getTestSetName() + " terminated abnormally" + exitDescription + ".  " + crashedTests.size() + " running test" + ((crashedTests.size()==1)?" was":"s were") + " recorded as crashed.  Relaunching the remaining tests." );
+
+            relaunch = true;
          }
-         else
+         else if ( exitCode != 0 )
          {
-            stringList = new java.util.ArrayList<String>();
+            testSet.getTestData().recordTerminatedBranch( TestState.CRASHED,
+                                                          true );
 
-            for ( TestEntryPoint testEntryPoint : badTestEntryPoints )
+            if ( testSet.getTestData().getTestState() == TestState.CRASHED )
             {
-               stringList.add( testEntryPoint.toString() );
+               crashException = new Exception( "Error:  The test JVM for test set " + testSet.getTestSetName() + " terminated abnormally" + exitDescription + "." );
+               crashException.setStackTrace( new StackTraceElement[0] );
+               testSet.getTestData().addException( crashException );
             }
 
-            System.out.println( "Tests " + Utilities.formatList(stringList) + " (specified on command line) not found" );
-         }
-      }
-
-      if ( badTestSetNames.size() > 0 )
-      {
-         okay = false;
+            System.out.println( "Error:  The test JVM for test set " + testSet.getTestSetName() + " terminated abnormally" + exitDescription + "." );
 
-         stringList = new java.util.ArrayList<String>();
-         stringList.addAll( badTestSetNames );
-         java.util.Collections.sort( stringList );
+            testSet.setLiveResults( true );
 
-         if ( stringList.size() == 1 )
-         {
-            System.out.println( "Test set " + stringList.get(0) + " (specified on command line) not found" );
+            relaunch = false;
          }
          else
          {
-            System.out.println( "Test sets " + Utilities.formatList(stringList) + " (specified on command line) not found" );
+            return false;
          }
-      }
 
-      if ( badTagEntryPoints.size() > 0 )
-      {
-         okay = false;
+         testSet.getStatusFile().checkpoint();
 
-         for ( TagEntryPoint tagEntryPoint : badTagEntryPoints )
-         {
-            tagEntryPoint.showErrorMessage( this );
-         }
+         testSet.loadResumedResults( getResultsDirectory(),
+                                     StatusFile.read(getResultsDirectory(),
+                                                     _sequenceList.size()) );
+
+         return relaunch;
       }
+      catch ( java.io.IOException ioException )
+      {
+         Utilities.printStackTrace( ioException );
 
-      return okay;
+         return false;
+      }
    }
 
-   final void runTag( String tagName )
+   final private void releaseResidentProcess( TestSet testSet )
    {
-      _dummyRoot.setAlternateRunFlagOnBranch( tagName );
+      ResidentProcess residentProcess;
 
-      runPass2();
-   }
+      residentProcess = _residentProcesses.remove( testSet );
 
-   final void runAllTests()
-   {
-      _dummyRoot.setRunOnBranch( true,
-                                 true );
+      if ( residentProcess != null )
+      {
+         try
+         {
+            residentProcess.exit();
 
-      runPass2();
+            waitForProcess( residentProcess.getProcess(),
+                            residentProcess.getProcessLogFile() );
+         }
+         catch ( Throwable throwable )
+         {
+            Utilities.printStackTrace( throwable );
+         }
+         finally
+         {
+            residentProcess.close();
+
+            _residentProcessPermits.release();
+         }
+      }
    }
 
-   final void runGUISelectedTests()
+   final private int runProcess( TestSet       testSet,
+                                 ExecutionMode executionMode,
+                                 int           headingColumnWidth )
+      throws InternalException,
+             UserError
    {
-      _dummyRoot.transferGUIRunFlags();
+      int                          exitCode;
+      java.io.File                 processLogFile;
+      int                          threadCount;
+      boolean                      useVirtualThreads;
+      boolean                      criticalPathFirst;
+      long                         testSetTimeout;
+      boolean                      failFast;
+      boolean                      orderConcurrentPrerequisites;
+      boolean                      speculativeSiblings;
+      boolean                      adaptiveThreads;
+      int                          minimumThreadCount;
+      int                          maximumThreadCount;
+      Process                      testProcess;
+      ProcessDeadline              processDeadline;
+      java.util.Map<String,String> userEnvironmentVariables;
+      java.util.List<String>       processArguments;
+      WorkerProcess                workerProcess;
+      boolean                      workerLost;
 
-      runPass2();
-   }
+      exitCode = 0;
 
-   final void runTest( TestData testData,
-                       boolean  runSubtests )
-   {
-      if ( runSubtests )
+      processLogFile = getProcessLogFile( testSet );
+
+      if ( executionMode == ExecutionMode.PASS_2_VERIFICATION )
       {
-         testData.setRunOnBranch( true,
-                                  true );
+         testSetTimeout = getTestSetTimeout( testSet.getConfiguredIndex() );
       }
       else
       {
-         testData.setRun( true,
-                          true );
+         testSetTimeout = 0L;
       }
 
-      runPass2();
-   }
+      try
+      {
+         if ( isInProcess(testSet) )
+         {
+            if ( executionMode == ExecutionMode.PASS_1_DISCOVERY )
+            {
+               threadCount = getPass1ThreadCount();
+               useVirtualThreads = false;
+               criticalPathFirst = false;
+               failFast = false;
+               orderConcurrentPrerequisites = false;
+               speculativeSiblings = false;
+               adaptiveThreads = false;
+               minimumThreadCount = threadCount;
+               maximumThreadCount = threadCount;
+            }
+            else
+            {
+               threadCount = getStartingThreadCount( testSet );
+               useVirtualThreads = useVirtualThreads( testSet.getConfiguredIndex() );
+               criticalPathFirst = criticalPathFirst( testSet.getConfiguredIndex() );
+               failFast = failFast( testSet.getConfiguredIndex() );
+               orderConcurrentPrerequisites = orderConcurrentPrerequisites( testSet.getConfiguredIndex() );
+               speculativeSiblings = speculativeSiblings( testSet.getConfiguredIndex() );
+               adaptiveThreads = adaptiveThreads( testSet.getConfiguredIndex() );
+               minimumThreadCount = getMinimumThreadCount( testSet.getConfiguredIndex() );
+               maximumThreadCount = getMaximumThreadCount( testSet.getConfiguredIndex() );
+            }
 
-   final private void runPass2()
-   {
-      int headingColumnWidth;
+            if ( processLogFile == null )
+            {
+               testSet.runInProcess( executionMode,
+                                     headingColumnWidth,
+                                     threadCount,
+                                     useVirtualThreads,
+                                     criticalPathFirst,
+                                     getResourcePort(),
+                                     testSetTimeout,
+                                     failFast,
+                                     orderConcurrentPrerequisites,
+                                     speculativeSiblings,
+                                     adaptiveThreads,
+                                     minimumThreadCount,
+                                     maximumThreadCount,
+                                     getStatusDurability() );
+            }
+            else
+            {
+               try ( java.io.PrintStream logStream = new java.io.PrintStream(new java.io.FileOutputStream(processLogFile),
+                                                                             true) )
+               {
+                  ThreadOutputStream.redirect( logStream );
+
+                  testSet.runInProcess( executionMode,
+                                        headingColumnWidth,
+                                        threadCount,
+                                        useVirtualThreads,
+                                        criticalPathFirst,
+                                        getResourcePort(),
+                                        testSetTimeout,
+                                        failFast,
+                                        orderConcurrentPrerequisites,
+                                        speculativeSiblings,
+                                        adaptiveThreads,
+                                        minimumThreadCount,
+                                        maximumThreadCount,
+                                        getStatusDurability() );
+               }
+               finally
+               {
+                  ThreadOutputStream.redirect( null );
+               }
 
-      if ( _argumentParser.forcePrerequisites() )
-      {
-         _dummyRoot.forcePrerequisitesOnBranch( true );
-      }
+               printProcessLog( processLogFile );
+            }
+         }
+         else if ( (_workerPool==null) && (_progressServer!=null) && (executionMode==ExecutionMode.PASS_2_VERIFICATION) )
+         {
+            exitCode = runProcessWithProgressEvents( testSet,
+                                                     headingColumnWidth,
+                                                     testSetTimeout,
+                                                     processLogFile );
+         }
+         else if ( _workerPool == null )
+         {
+            testProcess = startProcess( testSet,
+                                        executionMode,
+                                        headingColumnWidth,
+                                        -1,
+                                        -1,
+                                        processLogFile );
 
-      javafx.application.Platform.runLater( () -> _primaryStage.hide() );
+            processDeadline = new ProcessDeadline( testProcess,
+                                                   testSet.getTestSetName(),
+                                                   testSetTimeout );
 
-      savePass1Configurations();
+            waitForProcess( testProcess,
+                            processLogFile );
 
-      headingColumnWidth = computeHeadingColumnWidth();
+            checkDeadline( testSet,
+                           processDeadline );
 
-      try
-      {
-         _statusFile = new StatusFile( getResultsDirectory(),
-                                       _sequenceList.size() );
-         for ( TestSet testSet : _pass1TestSets )
-         {
-            testSet.setStatusFile( _statusFile );
+            exitCode = processDeadline.getAbnormalExitCode();
          }
+         else
+         {
+            userEnvironmentVariables = testSet.getEnvironmentVariables();
+
+            processArguments = buildProcessArguments( testSet,
+                                                      executionMode,
+                                                      userEnvironmentVariables,
+                                                      headingColumnWidth,
+                                                      -1,
+                                                      -1 );
+
+            workerProcess = _workerPool.getWorkerProcess( testSet,
+                                                          processArguments,
+                                                          userEnvironmentVariables );
+
+            processDeadline = new ProcessDeadline( workerProcess.getProcess(),
+                                                   testSet.getTestSetName(),
+                                                   testSetTimeout );
+
+            workerLost = false;
+
+            try
+            {
+               _workerPool.run( workerProcess,
+                                processDeadline,
+                                testSet,
+                                processArguments,
+                                processLogFile );
+            }
+            catch ( java.io.IOException ioException )
+            {
+               if ( !(processDeadline.expired()) )
+               {
+                  Utilities.printStackTrace( ioException );
+
+                  workerLost = true;
+               }
+            }
 
-         if ( _selectionWindow != null )
-         {
-            javafx.application.Platform.runLater( () -> _selectionWindow.saveAndClose(null) );
-         }
+            if ( processLogFile != null )
+            {
+               printProcessLog( processLogFile );
+            }
 
-         ( new Thread(()->pass2Thread(headingColumnWidth)) ).start();
+            checkDeadline( testSet,
+                           processDeadline );
+
+            exitCode = processDeadline.getAbnormalExitCode();
+
+            // A worker never exits on its own, so losing one is abnormal even with a zero exit value
+
+            if ( workerLost && (exitCode==0) )
+            {
+               exitCode = LOST_WORKER_EXIT_CODE;
+            }
+         }
       }
-      catch ( Exception exception )
+      catch ( Throwable throwable )
       {
-         Utilities.printStackTrace( exception );
-         shutdown();
+         Utilities.printStackTrace( throwable );
       }
+
+      return exitCode;
    }
 
-   final private void pass2Thread( int headingColumnWidth )
+   final private int runProcessWithProgressEvents( TestSet      testSet,
+                                                   int          headingColumnWidth,
+                                                   long         testSetTimeout,
+                                                   java.io.File processLogFile )
+      throws InternalException,
+             UserError,
+             InterruptedException,
+             java.io.IOException
    {
-      boolean skippedResultsScreen;
-      Timer   timer;
-      boolean runThisProcess;
-      String  elapsedTimeString;
+      Process         testProcess;
+      ProcessDeadline processDeadline;
+
+      testProcess = startProcess( testSet,
+                                  ExecutionMode.PASS_2_VERIFICATION,
+                                  headingColumnWidth,
+                                  -1,
+                                  _progressServer.getPort(),
+                                  processLogFile );
+
+      processDeadline = new ProcessDeadline( testProcess,
+                                             testSet.getTestSetName(),
+                                             testSetTimeout );
+
+      return receiveProgressEvents( testSet,
+                                    testProcess,
+                                    processDeadline,
+                                    headingColumnWidth,
+                                    processLogFile );
+   }
 
-      Runtime.getRuntime().addShutdownHook( new Thread(()->shutdownHook()) );
+   final private int receiveProgressEvents( TestSet         testSet,
+                                            Process         testProcess,
+                                            ProcessDeadline processDeadline,
+                                            int             headingColumnWidth,
+                                            java.io.File    processLogFile )
+      throws InterruptedException,
+             java.io.IOException
+   {
+      java.io.ByteArrayOutputStream progressOutput;
+      java.io.PrintStream           progressStream;
+      ControlConnection             progressConnection;
+      ProgressReceiver              progressReceiver;
 
-      skippedResultsScreen = true;
-      try
+      testSet.setLiveResults( false );
+
+      if ( processLogFile == null )
       {
-         timer = new Timer();
+         progressOutput = null;
+         progressStream = System.out;
+      }
+      else
+      {
+         progressOutput = new java.io.ByteArrayOutputStream();
+         progressStream = new java.io.PrintStream( progressOutput,
+                                                   true );
+      }
 
+      progressConnection = _progressServer.getControlConnection( testSet.getTestSetName(),
+                                                                 testProcess );
+
+      if ( progressConnection != null )
+      {
          try
          {
-            _dummyRoot.setStateOnBranch( TestState.NOT_RUN );
+            progressReceiver = new ProgressReceiver( testSet,
+                                                     _sequenceList.getTestDataMap(),
+                                                     headingColumnWidth,
+                                                     progressStream );
 
-            for ( TestSet testSet : _pass1TestSets )
-            {
-               if ( testSet.shouldRun(true) )
-               {
-                  runThisProcess = true;
-               }
-               else
-               {
-                  runThisProcess = false;
-               }
+            testSet.setLiveResults( progressReceiver.receive(progressConnection) );
+         }
+         catch ( java.io.IOException ioException )
+         {
+            testSet.setLiveResults( false );
 
-               if ( runThisProcess )
-               {
-                  runProcess( testSet,
-                              ExecutionMode.PASS_2_VERIFICATION,
-                              headingColumnWidth );
-               }
+            if ( !(processDeadline.expired()) )
+            {
+               Utilities.printStackTrace( ioException );
             }
          }
-         catch ( Throwable throwable )
+         finally
          {
-            Utilities.printStackTrace( throwable );
+            progressConnection.close();
          }
+      }
 
-         elapsedTimeString = timer.getElapsedTimeString();
+      waitForProcess( testProcess,
+                      null );
 
-         skippedResultsScreen = !showResultsGUI();
+      if ( processLogFile != null )
+      {
+         synchronized ( System.out )
+         {
+            System.out.print( progressOutput.toString() );
 
-         new Finisher( _configurator.getSuiteName(),
-                       _pass1ThreadCount,
-                       _pass1TestSets,
-                       getResultsDirectory(),
-                       headingColumnWidth,
-                       _sequenceList.getTestDataMap(),
-                       elapsedTimeString,
-                       showResultsGUI(),
-                       _argumentParser.getTestParameters(),
-                       _primaryStage,
-                       this );
+            printProcessLog( processLogFile );
+         }
       }
-      catch ( Throwable throwable )
+
+      checkDeadline( testSet,
+                     processDeadline );
+
+      return processDeadline.getAbnormalExitCode();
+   }
+
+   final private void checkDeadline( TestSet         testSet,
+                                     ProcessDeadline processDeadline )
+      throws java.io.IOException
+   {
+      java.util.concurrent.TimeoutException timeoutException;
+
+      if ( processDeadline.expired() )
       {
-         Utilities.printStackTrace( throwable );
+         testSet.getTestData().recordTerminatedBranch( TestState.TIMED_OUT,
+                                                       true );
+
+         timeoutException = new java.util.concurrent.TimeoutException( processDeadline.getMessage() );
+         timeoutException.setStackTrace( new StackTraceElement[0] );
+         testSet.getTestData().addException( timeoutException );
+
+         testSet.setLiveResults( true );
       }
-      finally
+   }
+
+   final private java.io.File getProcessLogFile( TestSet testSet )
+   {
+      if ( _processCount > 1 )
       {
-         if ( skippedResultsScreen )
-         {
-            shutdown();
-         }
+         return testSet.getProcessLogFile();
+      }
+      else
+      {
+         return null;
       }
    }
 
-   final private void runProcess( TestSet       testSet,
-                                  ExecutionMode executionMode,
-                                  int           headingColumnWidth )
+   final private Process startProcess( TestSet       testSet,
+                                       ExecutionMode executionMode,
+                                       int           headingColumnWidth,
+                                       int           controlPort,
+                                       int           progressPort,
+                                       java.io.File  processLogFile )
       throws InternalException,
-             UserError
+             UserError,
+             java.io.IOException
    {
       java.util.Map<String,String> userEnvironmentVariables;
       java.util.List<String>       processArguments;
       ProcessBuilder               processBuilder;
       java.util.Map<String,String> processEnvironmentVariables;
+      Process                      testProcess;
 
       userEnvironmentVariables = testSet.getEnvironmentVariables();
 
       processArguments = buildProcessArguments( testSet,
                                                 executionMode,
                                                 userEnvironmentVariables,
-                                                headingColumnWidth );
+                                                headingColumnWidth,
+                                                controlPort,
+                                                progressPort );
 
       processBuilder = new ProcessBuilder( processArguments );
-      processBuilder.inheritIO();
+
+      if ( processLogFile == null )
+      {
+         processBuilder.inheritIO();
+      }
+      else
+      {
+         processBuilder.redirectInput( ProcessBuilder.Redirect.INHERIT );
+         processBuilder.redirectOutput( processLogFile );
+         processBuilder.redirectErrorStream( true );
+      }
 
       if ( userEnvironmentVariables != null )
       {
@@ -899,23 +2539,52 @@ final public class Undercamber
          }
       }
 
+      testProcess = processBuilder.start();
+
+      _testProcesses.add( testProcess );
+
+      return testProcess;
+   }
+
+   final private void waitForProcess( Process      testProcess,
+                                      java.io.File processLogFile )
+      throws InterruptedException,
+             java.io.IOException
+   {
       try
       {
-         _testProcess = processBuilder.start();
+         testProcess.waitFor( 36524,
+                              java.util.concurrent.TimeUnit.DAYS );
+      }
+      finally
+      {
+         _testProcesses.remove( testProcess );
+      }
 
-         _testProcess.waitFor( 36524,
-                               java.util.concurrent.TimeUnit.DAYS );
+      if ( processLogFile != null )
+      {
+         printProcessLog( processLogFile );
       }
-      catch ( Throwable throwable )
+   }
+
+   final private void printProcessLog( java.io.File processLogFile )
+      throws java.io.IOException
+   {
+      synchronized ( System.out )
       {
-         Utilities.printStackTrace( throwable );
+         java.nio.file.Files.copy( processLogFile.toPath(),
+                                   System.out );
+
+         System.out.flush();
       }
    }
 
    final private java.util.List<String> buildProcessArguments( TestSet                      testSet,
                                                                ExecutionMode                executionMode,
                                                                java.util.Map<String,String> userEnvironmentVariables,
-                                                               int                          headingColumnWidth )
+                                                               int                          headingColumnWidth,
+                                                               int                          controlPort,
+                                                               int                          progressPort )
       throws InternalException,
              UserError
    {
@@ -965,7 +2634,7 @@ final public class Undercamber
          }
          case PASS_2_VERIFICATION:
          {
-            processArguments.add( Integer.toString(getPass2ThreadCount(configuredIndex)) );        // 11
+            processArguments.add( Integer.toString(getStartingThreadCount(testSet)) );             // 11
             break;
          }
          default:
@@ -974,6 +2643,38 @@ final public class Undercamber
          }
       }
 
+      processArguments.add( Integer.toString(controlPort) );                                       // 12
+      processArguments.add( Integer.toString(progressPort) );                                      // 13
+
+      if ( executionMode == ExecutionMode.PASS_2_VERIFICATION )
+      {
+         processArguments.add( Boolean.toString(useVirtualThreads(configuredIndex)) );             // 14
+         processArguments.add( Boolean.toString(criticalPathFirst(configuredIndex)) );             // 15
+         processArguments.add( Integer.toString(getResourcePort()) );                              // 16
+         processArguments.add( Long.toString(getTestSetTimeout(configuredIndex)) );                // 17
+         processArguments.add( Boolean.toString(failFast(configuredIndex)) );                      // 18
+         processArguments.add( Boolean.toString(orderConcurrentPrerequisites(configuredIndex)) );  // 19
+         processArguments.add( Boolean.toString(speculativeSiblings(configuredIndex)) );           // 20
+         processArguments.add( Boolean.toString(adaptiveThreads(configuredIndex)) );               // 21
+         processArguments.add( Integer.toString(getMinimumThreadCount(configuredIndex)) );         // 22
+         processArguments.add( Integer.toString(getMaximumThreadCount(configuredIndex)) );         // 23
+         processArguments.add( Integer.toString(getStatusDurability().ordinal()) );                // 24
+      }
+      else
+      {
+         processArguments.add( Boolean.toString(false) );                                          // 14
+         processArguments.add( Boolean.toString(false) );                                          // 15
+         processArguments.add( "-1" );                                                             // 16
+         processArguments.add( "0" );                                                              // 17
+         processArguments.add( Boolean.toString(false) );                                          // 18
+         processArguments.add( Boolean.toString(false) );                                          // 19
+         processArguments.add( Boolean.toString(false) );                                          // 20
+         processArguments.add( Boolean.toString(false) );                                          // 21
+         processArguments.add( "1" );                                                              // 22
+         processArguments.add( "1" );                                                              // 23
+         processArguments.add( Integer.toString(StatusDurability.TEST_SET_END.ordinal()) );        // 24
+      }
+
       if ( userEnvironmentVariables != null )
       {
          for ( String name : userEnvironmentVariables.keySet() )
@@ -1056,15 +2757,23 @@ final public class Undercamber
 
    final private void shutdownHook()
    {
-      if ( _testProcess != null )
+      destroyTestProcesses();
+   }
+
+   final private void destroyTestProcesses()
+   {
+      synchronized ( _testProcesses )
       {
-         try
-         {
-            _testProcess.destroyForcibly();
-         }
-         catch ( Throwable throwable )
+         for ( Process testProcess : _testProcesses )
          {
-            throwable.printStackTrace( System.out );
+            try
+            {
+               testProcess.destroyForcibly();
+            }
+            catch ( Throwable throwable )
+            {
+               throwable.printStackTrace( System.out );
+            }
          }
       }
    }
@@ -1101,6 +2810,26 @@ final public class Undercamber
          _executorService.shutdownNow();
       }
 
+      if ( _controlServer != null )
+      {
+         _controlServer.close();
+      }
+
+      if ( _progressServer != null )
+      {
+         _progressServer.close();
+      }
+
+      if ( _resourceBroker != null )
+      {
+         _resourceBroker.close();
+      }
+
+      if ( _workerPool != null )
+      {
+         _workerPool.close();
+      }
+
       if ( _pass1TestSets != null )
       {
          for ( TestSet testSet : _pass1TestSets )
@@ -1189,6 +2918,14 @@ final public class Undercamber
     *              <td>Automatically run specified test and subtests.  Limit search for test to specified testSets.  With arguments.</td>
     *           </tr>
     *           <tr>
+    *              <td>-merge</td>
+    *              <td><i>resultsDirectory</i></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Instead of running tests, merge the results in <i>resultsDirectory</i> into the results for this run.  May be repeated to merge the results of several shards or runs.</td>
+    *           </tr>
+    *           <tr>
     *              <td>-rootDirectory</td>
     *              <td><i>directoryName</i></td>
     *              <td></td>
@@ -1205,6 +2942,14 @@ final public class Undercamber
     *              <td>Output subdirectory name,  Default built from current time and date)</td>
     *           </tr>
     *           <tr>
+    *              <td>-resume</td>
+    *              <td><i>name</i></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Resume the interrupted run whose results are in subdirectory <i>name</i>.  Tests that completed in that run are not run again; their results are copied into the results for this run.</td>
+    *           </tr>
+    *           <tr>
     *              <td>-config</td>
     *              <td><i>className</i></td>
     *              <td></td>
@@ -1237,6 +2982,150 @@ final public class Undercamber
     *              <td>Concurrent thread count</td>
     *           </tr>
     *           <tr>
+    *              <td>-processCount</td>
+    *              <td><i>processCount</i></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Maximum number of test set processes that run concurrently in the second pass</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-fusePasses</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>On runs without the selection window, keep each discovery process running and use it for the second pass</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-residentProcesses</td>
+    *              <td><i>processCount</i></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Maximum number of discovery processes kept running for the second pass with -fusePasses</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-workerPool</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Run both passes in long-lived worker processes, shared by test sets with the same JVM command, JVM parameters, and environment</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-inProcess</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Run test sets whose JVM command, class path, and environment match this JVM inside this JVM, instead of in a child process.  The test set timeout cannot terminate these test sets; it only interrupts their running tests</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-discoveryCache</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Reuse the test structure from the previous run when a test set's class path, parameters, and environment have not changed</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-progressEvents</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Have second-pass test processes report each test's progress and results to Undercamber over a local socket, instead of printing the progress themselves and leaving the results to be read back from disk</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-shard</td>
+    *              <td><i>index</i><tt>/</tt><i>count</i></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Run only shard <i>index</i> (1 to <i>count</i>) of the selected tests.  Test sets, or the top-level subtests of a test set, are divided into <i>count</i> balanced shards using the run times in the <tt>-shardHistory</tt> directory, or the number of tests when no history is given.  Tests connected by prerequisites are kept in the same shard.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-shardHistory</td>
+    *              <td><i>resultsDirectory</i></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Balance the shards using the run times in the results directory of one earlier run, for example the output of <tt>-merge</tt> for the previous run.  Every shard must be given the same directory.  The run stops if the directory is not found.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-virtualThreads</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Run each second-pass test on its own virtual thread (Java 21 or later).  The thread count still limits how many tests run at once.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-criticalPathFirst</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Start the second-pass tests that are ready to run in order of the estimated run time of their remaining subtrees, longest first.  Estimates come from previous runs under the results root directory, or from the number of tests when no previous run time is found.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-failFast</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Stop at the first failed second-pass test.  Running tests finish; tests and test sets that have not started are recorded as skipped without being run.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-orderPrerequisites</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>When a test and its prerequisite have a closest common ancestor that runs its subtests concurrently, start the subtest containing the test after the subtest containing the prerequisite finishes, instead of reporting a race condition.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-speculativeSiblings</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Run the subtests of a sequential-abort test concurrently when none of their tests have prerequisites, dependents, or resource claims.  The results of the subtests that follow the first failed subtest are discarded, and those subtests are recorded as skipped, as in a sequential run.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-adaptiveThreads</td>
+    *              <td><tt>true</tt> or <tt>false</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Resize the second-pass thread pool while tests run, from the ratio of test CPU time to elapsed time and the number of queued tests.  The final size is recorded in the XML report, and the next run starts from it.  With -criticalPathFirst, the priority-ordered pool is resized the same way.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-minimumThreads</td>
+    *              <td><i>threadCount</i></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Smallest second-pass thread count in adaptive mode.  Default 1.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-maximumThreads</td>
+    *              <td><i>threadCount</i></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>Largest second-pass thread count in adaptive mode.  Default four times the processor count.</td>
+    *           </tr>
+    *           <tr>
+    *              <td>-statusDurability</td>
+    *              <td><tt>none</tt>, <tt>periodic</tt>, or <tt>testSetEnd</tt></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td></td>
+    *              <td>When to force the memory-mapped second-pass status file to disk:  never, about once a second, or when each test set ends.  Default <tt>testSetEnd</tt>.</td>
+    *           </tr>
+    *           <tr>
     *              <td>-p</td>
     *              <td><i>parameter</i></td>
     *              <td></td>
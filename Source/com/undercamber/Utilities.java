@@ -737,6 +737,18 @@ final public class Utilities
       printStream.print( stringBuffer.toString() );
    }
 
+   final static String getClassName( Throwable throwable )
+   {
+      if ( throwable instanceof RecordedThrowable )
+      {
+         return ( (RecordedThrowable)throwable ).getClassName();
+      }
+      else
+      {
+         return throwable.getClass().getName();
+      }
+   }
+
    /**
     * Print (to <tt>System.out</tt>) a formatted stack trace for the provided <tt>Throwable</tt>.  <p>
     *
@@ -820,15 +832,15 @@ final public class Utilities
 
       if ( throwable.getMessage() == null )
       {
-         stringBuffer.append( margin ).append( "-- " ).append( throwable.getClass().getName() ).append( System.lineSeparator() );
+         stringBuffer.append( margin ).append( "-- " ).append( getClassName(throwable) ).append( System.lineSeparator() );
       }
       else if ( throwable.getMessage().length() == 0 )
       {
-         stringBuffer.append( margin ).append( "-- " ).append( throwable.getClass().getName() ).append( System.lineSeparator() );
+         stringBuffer.append( margin ).append( "-- " ).append( getClassName(throwable) ).append( System.lineSeparator() );
       }
       else
       {
-         stringBuffer.append( margin ).append( "-- " ).append( throwable.getClass().getName() ).append( ":  " ).append( throwable.getMessage() ).append( System.lineSeparator() );
+         stringBuffer.append( margin ).append( "-- " ).append( getClassName(throwable) ).append( ":  " ).append( throwable.getMessage() ).append( System.lineSeparator() );
       }
 
       columnWidths = new ColumnWidths( 0, 0, 0, 0 );
@@ -927,15 +939,15 @@ final public class Utilities
       {
          if ( cause.getMessage() == null )
          {
-            stringBuffer.append( margin ).append( indentation ).append( "- Caused by " ).append( cause.getClass().getName() ).append( System.lineSeparator() );
+            stringBuffer.append( margin ).append( indentation ).append( "- Caused by " ).append( getClassName(cause) ).append( System.lineSeparator() );
          }
          else if ( cause.getMessage().length() == 0 )
          {
-            stringBuffer.append( margin ).append( indentation ).append( "- Caused by " ).append( cause.getClass().getName() ).append( System.lineSeparator() );
+            stringBuffer.append( margin ).append( indentation ).append( "- Caused by " ).append( getClassName(cause) ).append( System.lineSeparator() );
          }
          else
          {
-            stringBuffer.append( margin ).append( indentation ).append( "- Caused by " ).append( cause.getClass().getName() ).append( ":  " ).append( cause.getMessage() ).append( System.lineSeparator() );
+            stringBuffer.append( margin ).append( indentation ).append( "- Caused by " ).append( getClassName(cause) ).append( ":  " ).append( cause.getMessage() ).append( System.lineSeparator() );
          }
          printStackTrace( cause,
                           margin,
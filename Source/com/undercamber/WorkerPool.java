@@ -0,0 +1,276 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class WorkerPool
+{
+   private ControlServer                                       _controlServer;
+   private java.util.Set<Process>                              _testProcesses;
+   private java.util.Map<String,java.util.List<WorkerProcess>> _idleWorkerProcesses;
+   private int                                                 _workerProcessCount;
+
+   WorkerPool( java.util.Set<Process> testProcesses )
+      throws java.io.IOException
+   {
+      _testProcesses = testProcesses;
+
+      _idleWorkerProcesses = new java.util.HashMap<String,java.util.List<WorkerProcess>>();
+
+      _workerProcessCount = 0;
+
+      _controlServer = new ControlServer();
+   }
+
+   final WorkerProcess getWorkerProcess( TestSet                      testSet,
+                                         java.util.List<String>       processArguments,
+                                         java.util.Map<String,String> userEnvironmentVariables )
+      throws java.io.IOException,
+             InterruptedException
+   {
+      java.util.List<String> command;
+      String                 key;
+      WorkerProcess          workerProcess;
+
+      command = processArguments.subList( 0, getCommandLength(testSet) );
+
+      if ( userEnvironmentVariables == null )
+      {
+         key = command.toString();
+      }
+      else
+      {
+         key = command.toString() + new java.util.TreeMap<String,String>( userEnvironmentVariables );
+      }
+
+      workerProcess = acquireWorkerProcess( key,
+                                            testSet.getTestSetName() );
+
+      if ( workerProcess == null )
+      {
+         workerProcess = startWorkerProcess( testSet,
+                                             command,
+                                             userEnvironmentVariables,
+                                             key );
+      }
+
+      return workerProcess;
+   }
+
+   final void run( WorkerProcess          workerProcess,
+                   ProcessDeadline        processDeadline,
+                   TestSet                testSet,
+                   java.util.List<String> processArguments,
+                   java.io.File           processLogFile )
+      throws java.io.IOException,
+             InterruptedException
+   {
+      boolean okay;
+
+      okay = false;
+
+      try
+      {
+         workerProcess.run( testSet.getTestSetName(),
+                            processArguments.subList(getCommandLength(testSet),processArguments.size()),
+                            processLogFile );
+
+         okay = true;
+      }
+      finally
+      {
+         processDeadline.finish();
+
+         if ( okay && !(processDeadline.expired()) )
+         {
+            releaseWorkerProcess( workerProcess );
+         }
+         else
+         {
+            destroyWorkerProcess( workerProcess );
+
+            workerProcess.getProcess().waitFor();
+         }
+      }
+   }
+
+   final private static int getCommandLength( TestSet testSet )
+   {
+      return testSet.getJVMParameters().size() + 2;
+   }
+
+   final private synchronized WorkerProcess acquireWorkerProcess( String key,
+                                                                  String testSetName )
+   {
+      java.util.List<WorkerProcess> workerProcesses;
+
+      workerProcesses = _idleWorkerProcesses.get( key );
+
+      if ( (workerProcesses==null) || workerProcesses.isEmpty() )
+      {
+         return null;
+      }
+
+      for ( WorkerProcess workerProcess : workerProcesses )
+      {
+         if ( testSetName.equals(workerProcess.getLastTestSetName()) )
+         {
+            workerProcesses.remove( workerProcess );
+
+            return workerProcess;
+         }
+      }
+
+      return workerProcesses.remove( workerProcesses.size()-1 );
+   }
+
+   final private synchronized void releaseWorkerProcess( WorkerProcess workerProcess )
+   {
+      java.util.List<WorkerProcess> workerProcesses;
+
+      workerProcesses = _idleWorkerProcesses.get( workerProcess.getKey() );
+
+      if ( workerProcesses == null )
+      {
+         workerProcesses = new java.util.ArrayList<WorkerProcess>();
+         _idleWorkerProcesses.put( workerProcess.getKey(), workerProcesses );
+      }
+
+      workerProcesses.add( workerProcess );
+   }
+
+   final private synchronized String getNextWorkerName()
+   {
+      _workerProcessCount++;
+
+      return "worker " + _workerProcessCount;
+   }
+
+   final private WorkerProcess startWorkerProcess( TestSet                      testSet,
+                                                   java.util.List<String>       command,
+                                                   java.util.Map<String,String> userEnvironmentVariables,
+                                                   String                       key )
+      throws java.io.IOException,
+             InterruptedException
+   {
+      String                       workerName;
+      java.util.List<String>       workerArguments;
+      ProcessBuilder               processBuilder;
+      java.util.Map<String,String> processEnvironmentVariables;
+      Process                      process;
+      ControlConnection            controlConnection;
+
+      workerName = getNextWorkerName();
+
+      workerArguments = new java.util.ArrayList<String>();
+      workerArguments.addAll( command );
+      workerArguments.add( TestSet.WORKER_FLAG );
+      workerArguments.add( Integer.toString(_controlServer.getPort()) );
+      workerArguments.add( workerName );
+
+      processBuilder = new ProcessBuilder( workerArguments );
+
+      processBuilder.inheritIO();
+
+      if ( userEnvironmentVariables != null )
+      {
+         processEnvironmentVariables = processBuilder.environment();
+         processEnvironmentVariables.clear();
+         for ( String name : userEnvironmentVariables.keySet() )
+         {
+            processEnvironmentVariables.put( name, userEnvironmentVariables.get(name) );
+         }
+      }
+
+      process = processBuilder.start();
+
+      _testProcesses.add( process );
+
+      controlConnection = _controlServer.getControlConnection( workerName,
+                                                               process );
+
+      if ( controlConnection == null )
+      {
+         _testProcesses.remove( process );
+
+         throw new java.io.IOException( "Could not start a worker process for test set " + testSet.getTestSetName() );
+      }
+
+      return new WorkerProcess( process,
+                                controlConnection,
+                                key );
+   }
+
+   final private void destroyWorkerProcess( WorkerProcess workerProcess )
+   {
+      workerProcess.close();
+
+      workerProcess.getProcess().destroyForcibly();
+
+      _testProcesses.remove( workerProcess.getProcess() );
+   }
+
+   final void close()
+   {
+      java.util.List<WorkerProcess> workerProcesses;
+
+      workerProcesses = new java.util.ArrayList<WorkerProcess>();
+
+      synchronized ( this )
+      {
+         for ( java.util.List<WorkerProcess> idleWorkerProcesses : _idleWorkerProcesses.values() )
+         {
+            workerProcesses.addAll( idleWorkerProcesses );
+         }
+
+         _idleWorkerProcesses.clear();
+      }
+
+      for ( WorkerProcess workerProcess : workerProcesses )
+      {
+         try
+         {
+            if ( workerProcess.getProcess().isAlive() )
+            {
+               workerProcess.exit();
+
+               workerProcess.getProcess().waitFor( 10,
+                                                   java.util.concurrent.TimeUnit.SECONDS );
+            }
+         }
+         catch ( java.io.IOException | InterruptedException exception )
+         {
+            Utilities.printStackTrace( exception );
+         }
+         finally
+         {
+            destroyWorkerProcess( workerProcess );
+         }
+      }
+
+      _controlServer.close();
+   }
+}
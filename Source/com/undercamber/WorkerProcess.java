@@ -0,0 +1,101 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+final class WorkerProcess
+{
+   private Process           _process;
+   private ControlConnection _controlConnection;
+   private String            _key;
+   private String            _lastTestSetName;
+
+   WorkerProcess( Process           process,
+                  ControlConnection controlConnection,
+                  String            key )
+   {
+      _process = process;
+      _controlConnection = controlConnection;
+      _key = key;
+      _lastTestSetName = null;
+   }
+
+   final Process getProcess()
+   {
+      return _process;
+   }
+
+   final String getKey()
+   {
+      return _key;
+   }
+
+   final String getLastTestSetName()
+   {
+      return _lastTestSetName;
+   }
+
+   final void run( String                 testSetName,
+                   java.util.List<String> jobArguments,
+                   java.io.File           processLogFile )
+      throws java.io.IOException
+   {
+      _lastTestSetName = testSetName;
+
+      _controlConnection.writeMessage( ControlMessage.RUN );
+      _controlConnection.writeInt( jobArguments.size() );
+      for ( String jobArgument : jobArguments )
+      {
+         _controlConnection.writeString( jobArgument );
+      }
+      if ( processLogFile == null )
+      {
+         _controlConnection.writeString( "" );
+      }
+      else
+      {
+         _controlConnection.writeString( processLogFile.getAbsolutePath() );
+      }
+      _controlConnection.flush();
+
+      if ( _controlConnection.readMessage() != ControlMessage.DONE )
+      {
+         throw new java.io.IOException( "Unexpected reply from worker process for test set " + testSetName );
+      }
+   }
+
+   final void exit()
+      throws java.io.IOException
+   {
+      _controlConnection.writeMessage( ControlMessage.EXIT );
+      _controlConnection.flush();
+   }
+
+   final void close()
+   {
+      _controlConnection.close();
+   }
+}
@@ -0,0 +1,314 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+/**
+ * Runs SkippedBranch in a nested Undercamber.  The skipped test and all of
+ * its descendants must take the skipped state, in the report and in the
+ * status file.  The configuration tree of the nested run is then used to
+ * check getSequenceEnd() and the single progress event sent for a skipped
+ * branch.  This test is in the com.undercamber package so it can reach
+ * those.
+ */
+final public class BranchStateChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAME = "SkippedBranch";
+   final private static String CLASS_NAME    = "com.undercamber.test.omnibus.branches.SkippedBranch";
+   final private static String SKIPPED       = CLASS_NAME + ".skipped()";
+
+   final private static String SKIPPED_HEADINGS[] = { SKIPPED,
+                                                      CLASS_NAME + ".child1(1)",
+                                                      CLASS_NAME + ".leaf(1.1)",
+                                                      CLASS_NAME + ".leaf(1.2)",
+                                                      CLASS_NAME + ".leaf(2)" };
+
+   private TestData _configurationTree;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR );
+
+      testManager.addSubtest( tm -> states(tm) );
+      testManager.addSubtest( tm -> sequenceEnd(tm) );
+      testManager.addSubtest( tm -> progressEvent(tm) );
+   }
+
+   final private void states( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+      TestSet                        testSet;
+      TestState                      statusFileStates[];
+      TestData                       testData;
+      String                         state;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "BranchStates",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-p",
+                                                         TEST_SET_NAME );
+         nestedRun.run();
+
+         checkState( testManager,
+                     CLASS_NAME + ".failing()",
+                     nestedRun.getResult(TEST_SET_NAME,CLASS_NAME+".failing()"),
+                     TestState.COMPLETE_FAILED );
+         checkState( testManager,
+                     CLASS_NAME + ".after()",
+                     nestedRun.getResult(TEST_SET_NAME,CLASS_NAME+".after()"),
+                     TestState.COMPLETE_SUCCEEDED );
+         for ( String heading : SKIPPED_HEADINGS )
+         {
+            checkState( testManager,
+                        heading,
+                        nestedRun.getResult(TEST_SET_NAME,heading),
+                        TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR );
+         }
+
+         testSet = createTestSet();
+
+         _configurationTree = testSet.readTestData( testSet.getTestConfigurationFile() );
+         if ( _configurationTree == null )
+         {
+            throw new Exception( "The configuration tree of the nested run could not be read" );
+         }
+
+         statusFileStates = StatusFile.read( nestedRun.getResultsDirectory(),
+                                             _configurationTree.getSequenceEnd() );
+
+         for ( String heading : SKIPPED_HEADINGS )
+         {
+            testData = find( _configurationTree,
+                             heading );
+            state = statusFileStates[ testData.getID() ].name();
+            checkState( testManager,
+                        heading + " in the status file",
+                        state,
+                        TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR );
+         }
+      }
+   }
+
+   final private void sequenceEnd( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         checkSequenceEnd( testManager,
+                           _configurationTree,
+                           _configurationTree.getID() );
+      }
+   }
+
+   // Walks the tree in preorder.  Each node must have the next ID, and its
+   // sequence end must be the ID that follows its last descendant.
+
+   final private static int checkSequenceEnd( TestManager testManager,
+                                              TestData    testData,
+                                              int         expectedID )
+   {
+      int nextID;
+
+      if ( testData.getID() != expectedID )
+      {
+         testManager.addException( new Exception(testData.getHeading() + " has ID " + testData.getID() + ", expected " + expectedID + " in preorder") );
+      }
+
+      nextID = expectedID + 1;
+      for ( TestData child : testData.getChildren() )
+      {
+         nextID = checkSequenceEnd( testManager,
+                                    child,
+                                    nextID );
+      }
+
+      if ( testData.getSequenceEnd() != nextID )
+      {
+         testManager.addException( new Exception("The sequence end of " + testData.getHeading() + " is " + testData.getSequenceEnd() + ", expected " + nextID) );
+      }
+
+      return nextID;
+   }
+
+   final private void progressEvent( TestManager testManager )
+      throws Throwable
+   {
+      boolean           verify;
+      TestSet           testSet;
+      TestData          skipped;
+      java.io.File      directory;
+      StatusFile        statusFile;
+      ProgressChannel   progressChannel;
+      ControlConnection receiver;
+      ProgressEvent     progressEvent;
+      int               sequenceIndex;
+      TestState         expectedState;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         testSet = createTestSet();
+
+         skipped = find( testSet.readTestData(testSet.getTestConfigurationFile()),
+                         SKIPPED );
+
+         directory = new java.io.File( testManager.getUserWorkingDirectory(), "BranchStates" );
+         statusFile = new StatusFile( directory,
+                                      skipped.getSequenceEnd()+1,
+                                      StatusDurability.NONE );
+
+         try ( java.net.ServerSocket serverSocket = new java.net.ServerSocket(0,1,java.net.InetAddress.getLoopbackAddress()) )
+         {
+            progressChannel = new ProgressChannel( new ControlConnection(new java.net.Socket(java.net.InetAddress.getLoopbackAddress(),
+                                                                                             serverSocket.getLocalPort())) );
+            receiver = new ControlConnection( serverSocket.accept() );
+
+            try
+            {
+               testSet.setStatusFile( statusFile );
+               testSet.setProgressChannel( progressChannel );
+
+               skipped.recordBranchState( TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR,
+                                          skipped.getSequenceEnd() );
+
+               progressChannel.testSetComplete();
+               progressChannel.close();
+
+               progressEvent = receiver.readProgressEvent();
+               if ( progressEvent != ProgressEvent.BRANCH_STATE_CHANGED )
+               {
+                  testManager.addException( new Exception("The first progress event was " + progressEvent + ", expected BRANCH_STATE_CHANGED") );
+               }
+               else
+               {
+                  if ( receiver.readInt() != skipped.getID() )
+                  {
+                     testManager.addException( new Exception("The branch event does not start at the skipped test") );
+                  }
+                  if ( receiver.readInt() != skipped.getSequenceEnd() )
+                  {
+                     testManager.addException( new Exception("The branch event does not end after the last descendant") );
+                  }
+                  if ( receiver.readInt() != TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR.ordinal() )
+                  {
+                     testManager.addException( new Exception("The branch event has the wrong state") );
+                  }
+
+                  progressEvent = receiver.readProgressEvent();
+                  if ( progressEvent != ProgressEvent.TEST_SET_COMPLETE )
+                  {
+                     testManager.addException( new Exception("The skipped branch sent " + progressEvent + " after its branch event") );
+                  }
+               }
+
+               for ( sequenceIndex=0; sequenceIndex<=skipped.getSequenceEnd(); sequenceIndex++ )
+               {
+                  if ( (sequenceIndex>=skipped.getID()) && (sequenceIndex<skipped.getSequenceEnd()) )
+                  {
+                     expectedState = TestState.SKIPPED_DUE_TO_PREREQUISITE_ERROR;
+                  }
+                  else
+                  {
+                     expectedState = TestState.NOT_RUN;
+                  }
+
+                  if ( statusFile.get(sequenceIndex) != expectedState )
+                  {
+                     testManager.addException( new Exception("Status file entry " + sequenceIndex + " is " + statusFile.get(sequenceIndex) + ", expected " + expectedState) );
+                  }
+               }
+            }
+            finally
+            {
+               receiver.close();
+               statusFile.close();
+            }
+         }
+      }
+   }
+
+   final private static TestSet createTestSet()
+   {
+      return new TestSet( null,
+                          null,
+                          null,
+                          null,
+                          "Nested",
+                          0,
+                          TEST_SET_NAME,
+                          CLASS_NAME,
+                          1,
+                          new java.util.ArrayList<String>(),
+                          null );
+   }
+
+   final private static TestData find( TestData testData,
+                                       String   heading )
+   {
+      TestData found;
+
+      if ( testData.getHeading().equals(heading) )
+      {
+         return testData;
+      }
+
+      for ( TestData child : testData.getChildren() )
+      {
+         found = find( child,
+                       heading );
+         if ( found != null )
+         {
+            return found;
+         }
+      }
+
+      return null;
+   }
+
+   final private static void checkState( TestManager testManager,
+                                         String      heading,
+                                         String      state,
+                                         TestState   expectedState )
+   {
+      if ( !(expectedState.name().equals(state)) )
+      {
+         testManager.addException( new Exception(heading + " was " + state + ", expected " + expectedState) );
+      }
+   }
+}
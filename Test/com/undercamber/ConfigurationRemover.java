@@ -0,0 +1,69 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+/**
+ * Run in the nested suite.  In the second pass, deletes the configuration
+ * tree of the test set named by TARGET_TEST_SET_NAME, so that test set
+ * starts its second pass with no first-pass results.  It must run before
+ * that test set, in a separate process.  This test is in the
+ * com.undercamber package so it can find the configuration file.
+ */
+final public class ConfigurationRemover
+   implements TestUnit
+{
+   final public static String TARGET_TEST_SET_NAME = "CriticalPathMissing";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean      verify;
+      java.io.File configurationFile;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         configurationFile = new TestSet( null,
+                                          null,
+                                          null,
+                                          null,
+                                          "Nested",
+                                          0,
+                                          TARGET_TEST_SET_NAME,
+                                          "com.undercamber.test.omnibus.criticalpath.Branches",
+                                          1,
+                                          new java.util.ArrayList<String>(),
+                                          null ).getTestConfigurationFile();
+
+         if ( !(configurationFile.delete()) )
+         {
+            throw new Exception( "Could not delete " + configurationFile.getPath() );
+         }
+      }
+   }
+}
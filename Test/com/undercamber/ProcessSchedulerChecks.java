@@ -0,0 +1,189 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+/**
+ * Checks what the ProcessScheduler does when a launch fails.  In discovery,
+ * the first failure stops the test sets that have not started.  In the
+ * second pass, the other test sets still run, including those that depend
+ * on the failed one.  A nested run with a test set whose top-level class
+ * cannot be loaded must stop after discovery.  This test is in the
+ * com.undercamber package so it can reach the ProcessScheduler.
+ */
+final public class ProcessSchedulerChecks
+   implements TestUnit
+{
+   final private static String UNLOADABLE_TEST_SET_NAME = "Unloadable";
+   final private static String OTHER_TEST_SET_NAME      = "CriticalPath";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      testManager.addSubtest( tm -> discovery(tm) );
+      testManager.addSubtest( tm -> verification(tm) );
+      testManager.addSubtest( tm -> unloadable(tm) );
+   }
+
+   final private void discovery( TestManager testManager )
+      throws Throwable
+   {
+      boolean                verify;
+      java.util.List<String> launched;
+      boolean                okay;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         launched = new java.util.ArrayList<String>();
+
+         okay = schedule( true,
+                          launched );
+
+         if ( okay )
+         {
+            testManager.addException( new Exception("The discovery schedule did not report the failure") );
+         }
+
+         if ( !(launched.equals(java.util.Arrays.asList("Failing"))) )
+         {
+            testManager.addException( new Exception("Discovery launched " + launched + " after the failure") );
+         }
+      }
+   }
+
+   final private void verification( TestManager testManager )
+      throws Throwable
+   {
+      boolean                verify;
+      java.util.List<String> launched;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         launched = new java.util.ArrayList<String>();
+
+         schedule( false,
+                   launched );
+
+         if ( !(launched.equals(java.util.Arrays.asList("Failing","Dependent","Independent"))) )
+         {
+            testManager.addException( new Exception("The second pass launched " + launched + ", not all three test sets") );
+         }
+      }
+   }
+
+   final private void unloadable( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "Unloadable",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-processCount",
+                                                         "1",
+                                                         "-p",
+                                                         UNLOADABLE_TEST_SET_NAME,
+                                                         "-p",
+                                                         OTHER_TEST_SET_NAME );
+         nestedRun.run();
+
+         if ( !(nestedRun.outputContains("Could not discover the test structure of test set " + UNLOADABLE_TEST_SET_NAME)) )
+         {
+            testManager.addException( new Exception("The nested run did not report the failed discovery") );
+         }
+
+         if ( new java.io.File(nestedRun.getResultsDirectory(),"TestReport.xml").exists() )
+         {
+            testManager.addException( new Exception("The nested run ran its second pass after the failed discovery") );
+         }
+      }
+   }
+
+   /**
+    * Runs three test sets, one at a time.  Failing throws, Dependent depends
+    * on Failing, and Independent depends on nothing.
+    */
+   final private static boolean schedule( boolean                stopOnFailure,
+                                          java.util.List<String> launched )
+      throws Throwable
+   {
+      ProcessScheduler processScheduler;
+      TestSet          failing;
+      TestSet          dependent;
+      TestSet          independent;
+
+      failing = createTestSet( "Failing" );
+      dependent = createTestSet( "Dependent" );
+      independent = createTestSet( "Independent" );
+
+      processScheduler = new ProcessScheduler( 1,
+                                               stopOnFailure );
+
+      processScheduler.addTestSet( failing,
+                                   new java.util.HashSet<TestSet>() );
+      processScheduler.addTestSet( dependent,
+                                   java.util.Collections.singleton(failing) );
+      processScheduler.addTestSet( independent,
+                                   new java.util.HashSet<TestSet>() );
+
+      return processScheduler.run( testSet ->
+                                   {
+                                      launched.add( testSet.getTestSetName() );
+
+                                      if ( testSet == failing )
+                                      {
+                                         throw new Exception( "Intentional launch failure" );
+                                      }
+                                   } );
+   }
+
+   final private static TestSet createTestSet( String testSetName )
+      throws Throwable
+   {
+      return new TestSet( null,
+                          null,
+                          null,
+                          null,
+                          "Nested",
+                          0,
+                          testSetName,
+                          "com.undercamber.test.omnibus.criticalpath.Branches",
+                          1,
+                          new java.util.ArrayList<String>(),
+                          null );
+   }
+}
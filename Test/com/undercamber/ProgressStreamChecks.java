@@ -0,0 +1,170 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+/**
+ * Sends progress events with out-of-range ordinals to a ProgressReceiver
+ * over a loopback socket.  Each must raise an IOException, so Undercamber
+ * falls back to the results on disk.  An unchecked ordinal would raise
+ * ArrayIndexOutOfBoundsException instead.  This test is in the
+ * com.undercamber package so it can reach the ProgressReceiver.
+ */
+final public class ProgressStreamChecks
+   implements TestUnit
+{
+   final private static int BAD_ORDINAL = 1000;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      testManager.addSubtest( tm -> stateChanged(tm) );
+      testManager.addSubtest( tm -> branchStateChanged(tm) );
+      testManager.addSubtest( tm -> progressEvent(tm) );
+   }
+
+   final private void stateChanged( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         checkRejected( testManager,
+                        dataOutputStream ->
+                        {
+                           dataOutputStream.writeByte( ProgressEvent.STATE_CHANGED.ordinal() );
+                           dataOutputStream.writeInt( 0 );
+                           dataOutputStream.writeInt( BAD_ORDINAL );
+                        } );
+      }
+   }
+
+   final private void branchStateChanged( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         checkRejected( testManager,
+                        dataOutputStream ->
+                        {
+                           dataOutputStream.writeByte( ProgressEvent.BRANCH_STATE_CHANGED.ordinal() );
+                           dataOutputStream.writeInt( 0 );
+                           dataOutputStream.writeInt( 1 );
+                           dataOutputStream.writeInt( -1 );
+                        } );
+      }
+   }
+
+   final private void progressEvent( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         checkRejected( testManager,
+                        dataOutputStream ->
+                        {
+                           dataOutputStream.writeByte( 255 );
+                           dataOutputStream.writeInt( 0 );
+                        } );
+      }
+   }
+
+   final private static void checkRejected( TestManager testManager,
+                                            EventWriter eventWriter )
+      throws Throwable
+   {
+      ProgressReceiver progressReceiver;
+      boolean          rejected;
+
+      progressReceiver = new ProgressReceiver( new TestSet(null,
+                                                           null,
+                                                           null,
+                                                           null,
+                                                           "Nested",
+                                                           0,
+                                                           "ProgressStream",
+                                                           "com.undercamber.test.omnibus.criticalpath.Branches",
+                                                           1,
+                                                           new java.util.ArrayList<String>(),
+                                                           null),
+                                               new TestData[0],
+                                               10,
+                                               new java.io.PrintStream(new java.io.ByteArrayOutputStream()) );
+
+      try ( java.net.ServerSocket serverSocket = new java.net.ServerSocket(0,
+                                                                           1,
+                                                                           java.net.InetAddress.getLoopbackAddress()) )
+      {
+         try ( java.net.Socket socket = new java.net.Socket(java.net.InetAddress.getLoopbackAddress(),
+                                                            serverSocket.getLocalPort()) )
+         {
+            try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(socket.getOutputStream()) )
+            {
+               eventWriter.write( dataOutputStream );
+               dataOutputStream.flush();
+
+               try ( java.net.Socket acceptedSocket = serverSocket.accept() )
+               {
+                  try
+                  {
+                     progressReceiver.receive( new ControlConnection(acceptedSocket) );
+
+                     rejected = false;
+                  }
+                  catch ( java.io.IOException ioException )
+                  {
+                     rejected = true;
+                  }
+
+                  if ( !rejected )
+                  {
+                     testManager.addException( new Exception("The progress receiver accepted an out-of-range ordinal") );
+                  }
+               }
+            }
+         }
+      }
+   }
+
+   private static interface EventWriter
+   {
+      void write( java.io.DataOutputStream dataOutputStream )
+         throws java.io.IOException;
+   }
+}
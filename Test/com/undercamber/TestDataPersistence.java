@@ -0,0 +1,656 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber;
+
+/**
+ * Round trips of the compact test data format, and a version 2 tree read
+ * through the legacy reader and written again in the current format.  This
+ * test is in the com.undercamber package so it can reach the streams and
+ * TestData's persistence methods.
+ */
+final public class TestDataPersistence
+   implements TestUnit
+{
+   final private static int    LEGACY_VERSION = 2;
+   final private static String BRANCH         = "";
+   final private static String CLASS_NAME     = "com.example.Outer";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+      testManager.addSubtest( tm -> varInts(tm) );
+      testManager.addSubtest( tm -> stringTable(tm) );
+      testManager.addSubtest( tm -> lineNumbers(tm) );
+      testManager.addSubtest( tm -> throwables(tm) );
+      testManager.addSubtest( tm -> legacyTree(tm) );
+   }
+
+   final private void varInts( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+      int     values[];
+      int     sizes[];
+      int     index;
+      byte    bytes[];
+      int     value;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         values = new int[] { 0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1 };
+         sizes = new int[]  { 1, 1, 1,   2,   2,     3,     5,                 5  };
+
+         for ( index=0; index<values.length; index++ )
+         {
+            try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+            {
+               try ( CompactOutputStream compactOutputStream = new CompactOutputStream(byteArrayOutputStream) )
+               {
+                  compactOutputStream.writeVarInt( values[index] );
+               }
+
+               bytes = byteArrayOutputStream.toByteArray();
+            }
+
+            if ( bytes.length != sizes[index] )
+            {
+               testManager.addException( new Exception(values[index] + " was written in " + bytes.length + " bytes, expected " + sizes[index]) );
+            }
+
+            try ( CompactInputStream compactInputStream = new CompactInputStream(new java.io.ByteArrayInputStream(bytes)) )
+            {
+               value = compactInputStream.readVarInt();
+            }
+
+            if ( value != values[index] )
+            {
+               testManager.addException( new Exception(values[index] + " was read back as " + value) );
+            }
+         }
+      }
+   }
+
+   final private void stringTable( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+      byte    bytes[];
+      int     firstSize;
+      int     secondSize;
+      String  strings[];
+      int     index;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+         {
+            try ( CompactOutputStream compactOutputStream = new CompactOutputStream(byteArrayOutputStream) )
+            {
+               compactOutputStream.writeString( CLASS_NAME );
+               firstSize = compactOutputStream.size();
+               compactOutputStream.writeString( CLASS_NAME );
+               secondSize = compactOutputStream.size() - firstSize;
+               compactOutputStream.writeString( null );
+               compactOutputStream.writeString( "" );
+               compactOutputStream.writeString( "" );
+               compactOutputStream.writeString( CLASS_NAME );
+            }
+
+            bytes = byteArrayOutputStream.toByteArray();
+         }
+
+         if ( firstSize != (2+CLASS_NAME.length()) )
+         {
+            testManager.addException( new Exception("The first use of a string took " + firstSize + " bytes, expected " + (2+CLASS_NAME.length())) );
+         }
+
+         if ( secondSize != 1 )
+         {
+            testManager.addException( new Exception("A repeated string took " + secondSize + " bytes, expected 1") );
+         }
+
+         strings = new String[ 6 ];
+         try ( CompactInputStream compactInputStream = new CompactInputStream(new java.io.ByteArrayInputStream(bytes)) )
+         {
+            for ( index=0; index<strings.length; index++ )
+            {
+               strings[ index ] = compactInputStream.readString();
+            }
+         }
+
+         if ( !(java.util.Arrays.equals(strings,new String[]{CLASS_NAME,CLASS_NAME,null,"","",CLASS_NAME})) )
+         {
+            testManager.addException( new Exception("The strings were read back as " + java.util.Arrays.toString(strings)) );
+         }
+      }
+   }
+
+   final private void lineNumbers( TestManager testManager )
+      throws Throwable
+   {
+      boolean           verify;
+      int               lineNumbers[];
+      StackTraceElement written[];
+      StackTraceElement read[];
+      byte              bytes[];
+      int               index;
+      int               repeatedSize;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         lineNumbers = new int[] { 42, 0, -1, -2, Integer.MAX_VALUE, Integer.MIN_VALUE };
+
+         written = new StackTraceElement[ lineNumbers.length ];
+         for ( index=0; index<written.length; index++ )
+         {
+            written[ index ] = new StackTraceElement( CLASS_NAME,
+                                                      "run",
+                                                      (index==1) ? null : "Outer.java",
+                                                      lineNumbers[index] );
+         }
+
+         try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+         {
+            try ( CompactOutputStream compactOutputStream = new CompactOutputStream(byteArrayOutputStream) )
+            {
+               for ( StackTraceElement stackTraceElement : written )
+               {
+                  compactOutputStream.writeStackTraceElement( stackTraceElement );
+               }
+
+               repeatedSize = compactOutputStream.size();
+               compactOutputStream.writeStackTraceElement( written[3] );
+               repeatedSize = compactOutputStream.size() - repeatedSize;
+
+               compactOutputStream.writeStackTraceElement( null );
+            }
+
+            bytes = byteArrayOutputStream.toByteArray();
+         }
+
+         // Three string table references and a one-byte line number
+
+         if ( repeatedSize != 4 )
+         {
+            testManager.addException( new Exception("A native method frame took " + repeatedSize + " bytes, expected 4") );
+         }
+
+         read = new StackTraceElement[ written.length+2 ];
+         try ( CompactInputStream compactInputStream = new CompactInputStream(new java.io.ByteArrayInputStream(bytes)) )
+         {
+            for ( index=0; index<read.length; index++ )
+            {
+               read[ index ] = compactInputStream.readStackTraceElement();
+            }
+         }
+
+         for ( index=0; index<written.length; index++ )
+         {
+            if ( !(written[index].equals(read[index])) )
+            {
+               testManager.addException( new Exception(written[index] + " was read back as " + read[index]) );
+            }
+         }
+
+         if ( !(written[3].equals(read[written.length])) || (read[written.length+1]!=null) )
+         {
+            testManager.addException( new Exception("The repeated and null frames were read back as " + read[written.length] + " and " + read[written.length+1]) );
+         }
+      }
+   }
+
+   final private void throwables( TestManager testManager )
+      throws Throwable
+   {
+      boolean   verify;
+      Throwable written[];
+      Throwable read[];
+      byte      bytes[];
+      int       index;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         written = new Throwable[] { createException(),
+                                     new Message("First line",
+                                                 "",
+                                                 "Third line") };
+
+         try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+         {
+            try ( CompactOutputStream compactOutputStream = new CompactOutputStream(byteArrayOutputStream) )
+            {
+               for ( Throwable throwable : written )
+               {
+                  compactOutputStream.writeThrowable( throwable );
+               }
+            }
+
+            bytes = byteArrayOutputStream.toByteArray();
+         }
+
+         read = new Throwable[ written.length ];
+         try ( CompactInputStream compactInputStream = new CompactInputStream(new java.io.ByteArrayInputStream(bytes)) )
+         {
+            for ( index=0; index<read.length; index++ )
+            {
+               read[ index ] = compactInputStream.readThrowable();
+            }
+         }
+
+         for ( index=0; index<written.length; index++ )
+         {
+            compare( testManager,
+                     "Exception " + index,
+                     written[index],
+                     read[index] );
+         }
+
+         if ( !(read[0].toString().startsWith("java.lang.IllegalStateException: ")) )
+         {
+            testManager.addException( new Exception("A recorded exception reports itself as " + read[0]) );
+         }
+      }
+   }
+
+   final private void legacyTree( TestManager testManager )
+      throws Throwable
+   {
+      boolean  verify;
+      byte     legacyBytes[];
+      TestData legacyTree;
+      byte     currentBytes[];
+      TestData currentTree;
+      byte     rewrittenBytes[];
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+         {
+            try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(byteArrayOutputStream) )
+            {
+               writeLegacyNode( dataOutputStream,
+                                new StackTraceElement(CLASS_NAME,"runTest","Outer.java",12),
+                                null,
+                                SubtestSequencingMode.CONCURRENT,
+                                TestState.COMPLETE_FAILED,
+                                0,
+                                new Throwable[] { createException(),
+                                                  new Message("A message") },
+                                1 );
+               writeLegacyNode( dataOutputStream,
+                                new StackTraceElement(CLASS_NAME,"child","Outer.java",30),
+                                "1",
+                                null,
+                                TestState.COMPLETE_SUCCEEDED,
+                                1,
+                                new Throwable[ 0 ],
+                                0 );
+            }
+
+            legacyBytes = byteArrayOutputStream.toByteArray();
+         }
+
+         try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(new java.io.ByteArrayInputStream(legacyBytes)) )
+         {
+            legacyTree = new TestData( dataInputStream,
+                                       null,
+                                       null );
+         }
+
+         if ( !(legacyTree.getExceptions()[0] instanceof IllegalStateException) )
+         {
+            testManager.addException( new Exception("The legacy reader did not restore the exception type:  " + legacyTree.getExceptions()[0].getClass().getName()) );
+         }
+
+         try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+         {
+            try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(byteArrayOutputStream) )
+            {
+               legacyTree.write( dataOutputStream );
+            }
+
+            currentBytes = byteArrayOutputStream.toByteArray();
+         }
+
+         try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(new java.io.ByteArrayInputStream(currentBytes)) )
+         {
+            if ( dataInputStream.readInt() <= LEGACY_VERSION )
+            {
+               testManager.addException( new Exception("The tree was written in the legacy format") );
+            }
+         }
+
+         try ( java.io.DataInputStream dataInputStream = new java.io.DataInputStream(new java.io.ByteArrayInputStream(currentBytes)) )
+         {
+            currentTree = new TestData( dataInputStream,
+                                        null,
+                                        null );
+         }
+
+         compare( testManager,
+                  legacyTree,
+                  currentTree );
+
+         // Everything else, such as the prerequisite indices, has no accessor; a
+         // second write must give the same bytes
+
+         try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+         {
+            try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(byteArrayOutputStream) )
+            {
+               currentTree.write( dataOutputStream );
+            }
+
+            rewrittenBytes = byteArrayOutputStream.toByteArray();
+         }
+
+         if ( !(java.util.Arrays.equals(currentBytes,rewrittenBytes)) )
+         {
+            testManager.addException( new Exception("A tree read in the current format was written back differently") );
+         }
+      }
+   }
+
+   final private static Throwable createException()
+   {
+      java.io.IOException   deepest;
+      AssertionError        inner;
+      IllegalStateException outer;
+
+      deepest = new java.io.IOException( "Deepest" );
+      deepest.setStackTrace( new StackTraceElement[] { new StackTraceElement("com.example.Inner","read",null,-2),
+                                                       new StackTraceElement("com.example.Inner","load","Inner.java",-1) } );
+
+      inner = new AssertionError( "Inner",
+                                  deepest );
+      inner.setStackTrace( new StackTraceElement[] { new StackTraceElement("com.example.Inner","check","Inner.java",7),
+                                                     new StackTraceElement(CLASS_NAME,"run","Outer.java",40) } );
+
+      outer = new IllegalStateException( "Outer",
+                                         inner );
+      outer.setStackTrace( new StackTraceElement[] { new StackTraceElement(CLASS_NAME,"run","Outer.java",41),
+                                                     new StackTraceElement(CLASS_NAME,"runTest","Outer.java",12) } );
+      outer.addSuppressed( new RuntimeException("Suppressed") );
+
+      return outer;
+   }
+
+   final private static void writeLegacyNode( java.io.DataOutputStream dataOutputStream,
+                                              StackTraceElement        callingStackTraceElement,
+                                              String                   arguments,
+                                              SubtestSequencingMode    subtestSequencingMode,
+                                              TestState                testState,
+                                              int                      sequenceIndex,
+                                              Throwable                exceptions[],
+                                              int                      childCount )
+      throws java.io.IOException
+   {
+      int index;
+
+      dataOutputStream.writeInt( LEGACY_VERSION );
+      dataOutputStream.writeUTF( BRANCH );
+
+      writeSerializedObject( dataOutputStream,
+                             callingStackTraceElement );
+
+      dataOutputStream.writeBoolean( arguments != null );
+      if ( arguments != null )
+      {
+         dataOutputStream.writeUTF( arguments );
+      }
+
+      // No prerequisites; fixed prerequisite index 0 on the child only;
+      // no other prerequisite or dependent indices
+
+      dataOutputStream.writeBoolean( false );
+      dataOutputStream.writeBoolean( sequenceIndex > 0 );
+      if ( sequenceIndex > 0 )
+      {
+         dataOutputStream.writeInt( 1 );
+         dataOutputStream.writeInt( 0 );
+      }
+      for ( index=0; index<5; index++ )
+      {
+         dataOutputStream.writeBoolean( false );
+      }
+
+      dataOutputStream.writeBoolean( subtestSequencingMode != null );
+      if ( subtestSequencingMode != null )
+      {
+         dataOutputStream.writeInt( subtestSequencingMode.ordinal() );
+      }
+
+      dataOutputStream.writeBoolean( false );
+
+      dataOutputStream.writeInt( testState.ordinal() );
+
+      dataOutputStream.writeBoolean( false );
+
+      dataOutputStream.writeInt( 0 );
+
+      dataOutputStream.writeLong( 1000L*(sequenceIndex+1) );
+      dataOutputStream.writeLong( 5000L*(sequenceIndex+1) );
+
+      dataOutputStream.writeBoolean( true );
+      dataOutputStream.writeBoolean( false );
+      dataOutputStream.writeInt( sequenceIndex );
+      dataOutputStream.writeBoolean( true );
+      dataOutputStream.writeBoolean( false );
+
+      dataOutputStream.writeInt( exceptions.length );
+      for ( Throwable throwable : exceptions )
+      {
+         writeSerializedObject( dataOutputStream,
+                                throwable );
+      }
+
+      dataOutputStream.writeLong( 100L+sequenceIndex );
+      dataOutputStream.writeLong( 200L+sequenceIndex );
+      dataOutputStream.writeLong( -1L );
+      dataOutputStream.writeLong( -1L );
+
+      dataOutputStream.writeInt( 0 );
+
+      dataOutputStream.writeInt( childCount );
+   }
+
+   final private static void writeSerializedObject( java.io.DataOutputStream dataOutputStream,
+                                                    Object                   object )
+      throws java.io.IOException
+   {
+      byte serializedObject[];
+
+      try ( java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream() )
+      {
+         try ( java.io.ObjectOutputStream objectOutputStream = new java.io.ObjectOutputStream(byteArrayOutputStream) )
+         {
+            objectOutputStream.writeObject( object );
+         }
+
+         serializedObject = byteArrayOutputStream.toByteArray();
+      }
+
+      dataOutputStream.writeInt( serializedObject.length );
+      dataOutputStream.write( serializedObject );
+   }
+
+   final private static void compare( TestManager testManager,
+                                      TestData    expected,
+                                      TestData    actual )
+   {
+      String    name;
+      Throwable expectedExceptions[];
+      Throwable actualExceptions[];
+      int       index;
+
+      name = "Test " + expected.getID();
+
+      if ( !(java.util.Objects.equals(expected.getCallingClassName(),actual.getCallingClassName()))
+           || !(java.util.Objects.equals(expected.getCallingMethodName(),actual.getCallingMethodName()))
+           || !(java.util.Objects.equals(expected.getArguments(),actual.getArguments())) )
+      {
+         testManager.addException( new Exception(name + " is " + actual.getCallingClassName() + "." + actual.getCallingMethodName() + "(" + actual.getArguments() + "), expected " + expected.getCallingClassName() + "." + expected.getCallingMethodName() + "(" + expected.getArguments() + ")") );
+      }
+
+      if ( (expected.getSubtestSequencingMode()!=actual.getSubtestSequencingMode()) || (expected.getTestState()!=actual.getTestState()) )
+      {
+         testManager.addException( new Exception(name + " has " + actual.getSubtestSequencingMode() + " and " + actual.getTestState() + ", expected " + expected.getSubtestSequencingMode() + " and " + expected.getTestState()) );
+      }
+
+      if ( (expected.getID()!=actual.getID())
+           || (expected.getTestTimeout()!=actual.getTestTimeout())
+           || (expected.getSubtreeTimeout()!=actual.getSubtreeTimeout())
+           || (expected.getElapsedTime()!=actual.getElapsedTime()) )
+      {
+         testManager.addException( new Exception(name + " has a different sequence index, timeout, or run time") );
+      }
+
+      expectedExceptions = expected.getExceptions();
+      actualExceptions = actual.getExceptions();
+      if ( expectedExceptions.length == actualExceptions.length )
+      {
+         for ( index=0; index<expectedExceptions.length; index++ )
+         {
+            compare( testManager,
+                     name + " exception " + index,
+                     expectedExceptions[index],
+                     actualExceptions[index] );
+         }
+      }
+      else
+      {
+         testManager.addException( new Exception(name + " has " + actualExceptions.length + " exceptions, expected " + expectedExceptions.length) );
+      }
+
+      if ( expected.getChildCount() == actual.getChildCount() )
+      {
+         for ( index=0; index<expected.getChildCount(); index++ )
+         {
+            compare( testManager,
+                     expected.getChild(index),
+                     actual.getChild(index) );
+         }
+      }
+      else
+      {
+         testManager.addException( new Exception(name + " has " + actual.getChildCount() + " children, expected " + expected.getChildCount()) );
+      }
+   }
+
+   // Module and class loader names are not recorded, so compare the rest
+
+   final private static boolean sameFrames( StackTraceElement expected[],
+                                            StackTraceElement actual[] )
+   {
+      int index;
+
+      if ( expected.length != actual.length )
+      {
+         return false;
+      }
+
+      for ( index=0; index<expected.length; index++ )
+      {
+         if ( !(expected[index].getClassName().equals(actual[index].getClassName()))
+              || !(expected[index].getMethodName().equals(actual[index].getMethodName()))
+              || !(java.util.Objects.equals(expected[index].getFileName(),actual[index].getFileName()))
+              || (expected[index].getLineNumber()!=actual[index].getLineNumber()) )
+         {
+            return false;
+         }
+      }
+
+      return true;
+   }
+
+   final private static void compare( TestManager testManager,
+                                      String      name,
+                                      Throwable   expected,
+                                      Throwable   actual )
+   {
+      int index;
+
+      if ( (expected==null) || (actual==null) )
+      {
+         if ( expected != actual )
+         {
+            testManager.addException( new Exception(name + " is " + actual + ", expected " + expected) );
+         }
+      }
+      else if ( expected instanceof Message )
+      {
+         if ( !(actual instanceof Message) || !(java.util.Arrays.equals(((Message)expected).getLines(),((Message)actual).getLines())) )
+         {
+            testManager.addException( new Exception(name + " is " + actual + ", expected the message " + java.util.Arrays.toString(((Message)expected).getLines())) );
+         }
+      }
+      else
+      {
+         if ( !(Utilities.getClassName(expected).equals(Utilities.getClassName(actual))) || !(java.util.Objects.equals(expected.getMessage(),actual.getMessage())) )
+         {
+            testManager.addException( new Exception(name + " is " + actual + ", expected " + expected) );
+         }
+
+         if ( !(sameFrames(expected.getStackTrace(),actual.getStackTrace())) )
+         {
+            testManager.addException( new Exception(name + " has the stack trace " + java.util.Arrays.toString(actual.getStackTrace()) + ", expected " + java.util.Arrays.toString(expected.getStackTrace())) );
+         }
+
+         compare( testManager,
+                  name + " cause",
+                  expected.getCause(),
+                  actual.getCause() );
+
+         if ( expected.getSuppressed().length == actual.getSuppressed().length )
+         {
+            for ( index=0; index<expected.getSuppressed().length; index++ )
+            {
+               compare( testManager,
+                        name + " suppressed " + index,
+                        expected.getSuppressed()[index],
+                        actual.getSuppressed()[index] );
+            }
+         }
+         else
+         {
+            testManager.addException( new Exception(name + " has " + actual.getSuppressed().length + " suppressed exceptions, expected " + expected.getSuppressed().length) );
+         }
+      }
+   }
+}
@@ -0,0 +1,193 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test;
+
+/**
+ * The suite run by {@link NestedRun} for the omnibus checks that need a
+ * separate Undercamber run.  Each test parameter given with -p names a test
+ * set to create; suite options are given as ordinary command-line flags.
+ * Test parameters that name no test set, such as the values given with
+ * -pp, are ignored.
+ */
+final public class NestedConfigurationCallback
+   implements com.undercamber.ConfigurationCallback
+{
+   final public void configure( com.undercamber.Configurator configurator )
+      throws Throwable
+   {
+      com.undercamber.TestSetBuilder testSetBuilder;
+      com.undercamber.Path           path;
+      com.undercamber.Path           cachedClassPath;
+
+      configurator.setSuiteName( "Nested" );
+      configurator.setResultsRootDirectoryName( "${UNDERCAMBER_TEST_RESULTS_DIRECTORY}" );
+
+      path = new com.undercamber.Path();
+      path.addEntries( "${UNDERCAMBER_PROJECT_ROOT}/Source",
+                       "${UNDERCAMBER_PROJECT_ROOT}/Test" );
+
+      for ( String testSetName : configurator.getCommandLineParameters() )
+      {
+         testSetBuilder = configurator.getEmptyTestSetBuilder();
+
+         testSetBuilder.appendJavaParameterPair( "-cp",
+                                                 path.toString() );
+
+         testSetBuilder.setJVMDirectoryName( "${JAVA_HOME}" );
+
+         switch ( testSetName )
+         {
+            case "TestTimeouts":
+            {
+               testSetBuilder.setPass2ThreadCount( 4 );
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.timeouts.TestTimeouts" );
+               break;
+            }
+            case "HardKill":
+            {
+               testSetBuilder.setTestSetTimeout( com.undercamber.test.omnibus.timeouts.HardKill.TEST_SET_TIMEOUT );
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.timeouts.HardKill" );
+               break;
+            }
+            case "Siblings":
+            {
+               testSetBuilder.setPass2ThreadCount( com.undercamber.test.omnibus.speculative.Siblings.SIBLING_COUNT );
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.speculative.Siblings" );
+               break;
+            }
+            case "Resumable":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.resume.Resumable" );
+               break;
+            }
+            case "Crashing":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.crash.Crashing" );
+               break;
+            }
+            case "Halting":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.crash.Halting" );
+               break;
+            }
+            case "RaceCondition":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.prerequisites.PrerequisiteOrder2" );
+               break;
+            }
+            case "SkippedBranch":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.branches.SkippedBranch" );
+               break;
+            }
+            case "Probe1":
+            case "Probe2":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.Probe" );
+               break;
+            }
+            case "ProbeDependent":
+            {
+               testSetBuilder.appendTestParameterPair( com.undercamber.test.Probe.PREREQUISITE_PARAMETER,
+                                                       "Probe1" );
+               testSetBuilder.setClassName( "com.undercamber.test.Probe" );
+               break;
+            }
+            case "ProbeForked":
+            {
+               testSetBuilder.appendJavaParameter( "-Dundercamber.probe=forked" );
+               testSetBuilder.setClassName( "com.undercamber.test.Probe" );
+               break;
+            }
+            case "ProbeCached":
+            {
+               cachedClassPath = new com.undercamber.Path();
+               cachedClassPath.addEntries( "${UNDERCAMBER_PROJECT_ROOT}/Source",
+                                           "${UNDERCAMBER_PROJECT_ROOT}/Test",
+                                           "${UNDERCAMBER_TEST_RESULTS_DIRECTORY}/" + com.undercamber.test.omnibus.discovery.DiscoveryCacheChecks.CLASS_PATH_ENTRY );
+               testSetBuilder.clearJavaParameters();
+               testSetBuilder.appendJavaParameterPair( "-cp",
+                                                       cachedClassPath.toString() );
+               testSetBuilder.setClassName( "com.undercamber.test.Probe" );
+               break;
+            }
+            case "CriticalPath":
+            case "CriticalPathMissing":
+            {
+               testSetBuilder.setPass2ThreadCount( 1 );
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.criticalpath.Branches" );
+               break;
+            }
+            case "Processes1":
+            case "Processes2":
+            case "Processes3":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.processes.Processes" );
+               break;
+            }
+            case "Adaptive":
+            {
+               testSetBuilder.setPass2ThreadCount( 1 );
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.adaptive.Adaptive" );
+               break;
+            }
+            case "Unloadable":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.Unloadable" );
+               break;
+            }
+            case "ConfigurationRemover":
+            {
+               testSetBuilder.setClassName( "com.undercamber.ConfigurationRemover" );
+               break;
+            }
+            case "FailFast":
+            case "FailFastLater":
+            {
+               testSetBuilder.setPass2ThreadCount( 2 );
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.failfast.FailFast" );
+               break;
+            }
+            case "Fused1":
+            case "Fused2":
+            case "Fused3":
+            {
+               testSetBuilder.setClassName( "com.undercamber.test.omnibus.fusion.Fused" );
+               break;
+            }
+            default:
+            {
+               continue;
+            }
+         }
+
+         testSetBuilder.setTestSetName( testSetName );
+
+         testSetBuilder.createTestSet();
+      }
+   }
+}
@@ -0,0 +1,371 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test;
+
+/**
+ * Runs a separate Undercamber suite from inside a test, for behavior that
+ * can only be seen from outside a test set process:  errors reported after
+ * the first pass, processes that are terminated, and command-line options
+ * such as -resume.  <p>
+ *
+ * The nested Undercamber runs headless with the Java command and class path
+ * of the current test set process, and with the environment of the current
+ * process, so JavaFX must be available to it in the same way.  Its results
+ * root directory is a directory under the test's work directory, passed
+ * through UNDERCAMBER_TEST_RESULTS_DIRECTORY.
+ */
+final public class NestedRun
+{
+   final private static long TIMEOUT = 300000L;
+
+   private java.io.File                 _resultsRootDirectory;
+   private String                       _resultsSubdirectoryName;
+   private java.util.List<String>       _command;
+   private Process                      _process;
+   private StringBuffer                 _output;
+   private Thread                       _outputThread;
+   private volatile boolean             _killed;
+   private java.util.Map<String,String> _results;
+
+   public NestedRun( com.undercamber.TestManager testManager,
+                     String                      resultsSubdirectoryName,
+                     String                      configurationClassName,
+                     String...                   arguments )
+   {
+      _resultsRootDirectory = new java.io.File( testManager.getUserWorkingDirectory(), "nested" );
+      _resultsSubdirectoryName = resultsSubdirectoryName;
+
+      _command = new java.util.ArrayList<String>();
+      _command.add( testManager.getJVMCommand() );
+      _command.add( "-cp" );
+      _command.add( System.getProperty("java.class.path") );
+      _command.add( "com.undercamber.Undercamber" );
+      _command.add( "-config" );
+      _command.add( configurationClassName );
+      _command.add( "-a" );
+      _command.add( "-resultWindow" );
+      _command.add( "false" );
+      _command.add( "-subdirectory" );
+      _command.add( resultsSubdirectoryName );
+      _command.addAll( java.util.Arrays.asList(arguments) );
+
+      _output = new StringBuffer();
+      _killed = false;
+      _results = null;
+   }
+
+   /**
+    * Start the nested run.
+    *
+    * @throws java.io.IOException
+    *         If the process could not be started.
+    */
+   final public void start()
+      throws java.io.IOException
+   {
+      ProcessBuilder processBuilder;
+
+      _resultsRootDirectory.mkdirs();
+
+      processBuilder = new ProcessBuilder( _command );
+      processBuilder.environment().put( "UNDERCAMBER_TEST_RESULTS_DIRECTORY", _resultsRootDirectory.getAbsolutePath() );
+      processBuilder.redirectErrorStream( true );
+
+      _process = processBuilder.start();
+
+      _outputThread = new Thread( () -> readOutput() );
+      _outputThread.setDaemon( true );
+      _outputThread.start();
+   }
+
+   final private void readOutput()
+   {
+      String line;
+
+      try ( java.io.BufferedReader bufferedReader = new java.io.BufferedReader(new java.io.InputStreamReader(_process.getInputStream())) )
+      {
+         while ( (line=bufferedReader.readLine()) != null )
+         {
+            synchronized ( _output )
+            {
+               _output.append( line ).append( System.lineSeparator() );
+               _output.notifyAll();
+            }
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         if ( !_killed )
+         {
+            ioException.printStackTrace();
+         }
+      }
+   }
+
+   /**
+    * Run the nested suite to completion.
+    *
+    * @return The exit code of the nested Undercamber.
+    *
+    * @throws java.io.IOException
+    *         If the process could not be started or did not finish.
+    *
+    * @throws InterruptedException
+    *         If the test was interrupted while waiting.
+    */
+   final public int run()
+      throws java.io.IOException,
+             InterruptedException
+   {
+      start();
+
+      return waitFor();
+   }
+
+   /**
+    * Wait for the nested run to finish.
+    *
+    * @return The exit code of the nested Undercamber.
+    *
+    * @throws java.io.IOException
+    *         If the process did not finish in time.
+    *
+    * @throws InterruptedException
+    *         If the test was interrupted while waiting.
+    */
+   final public int waitFor()
+      throws java.io.IOException,
+             InterruptedException
+   {
+      if ( !(_process.waitFor(TIMEOUT,java.util.concurrent.TimeUnit.MILLISECONDS)) )
+      {
+         kill();
+         throw new java.io.IOException( "Nested run " + _resultsSubdirectoryName + " did not finish in " + TIMEOUT + " ms" );
+      }
+
+      _outputThread.join();
+
+      return _process.exitValue();
+   }
+
+   /**
+    * Wait until the nested run prints a line containing the text.
+    *
+    * @param text
+    *        The text to wait for.
+    *
+    * @throws java.io.IOException
+    *         If the run finished or timed out without printing the text.
+    *
+    * @throws InterruptedException
+    *         If the test was interrupted while waiting.
+    */
+   final public void waitForOutput( String text )
+      throws java.io.IOException,
+             InterruptedException
+   {
+      long deadline;
+
+      deadline = System.currentTimeMillis() + TIMEOUT;
+
+      synchronized ( _output )
+      {
+         while ( _output.indexOf(text) < 0 )
+         {
+            if ( !(_outputThread.isAlive()) || (System.currentTimeMillis()>deadline) )
+            {
+               throw new java.io.IOException( "Nested run " + _resultsSubdirectoryName + " did not print \"" + text + "\"" );
+            }
+
+            _output.wait( 100L );
+         }
+      }
+   }
+
+   /**
+    * Terminate the nested Undercamber process.  Test set processes that it
+    * started are not terminated; the nested suite has to stop them itself.
+    * They may still hold the output of the nested run, so output printed
+    * after this point may be lost.
+    *
+    * @throws InterruptedException
+    *         If the test was interrupted while waiting.
+    */
+   final public void kill()
+      throws InterruptedException
+   {
+      _killed = true;
+      _process.destroyForcibly();
+      _process.waitFor();
+   }
+
+   /**
+    * Get the ID of the nested Undercamber process.
+    *
+    * @return The process ID.
+    */
+   final public long getProcessID()
+   {
+      return _process.pid();
+   }
+
+   /**
+    * Get everything the nested run printed.
+    *
+    * @return The output.
+    */
+   final public String getOutput()
+   {
+      synchronized ( _output )
+      {
+         return _output.toString();
+      }
+   }
+
+   /**
+    * Does the output of the nested run contain the text?
+    *
+    * @param text
+    *        The text to look for.
+    *
+    * @return True if the text was printed.
+    */
+   final public boolean outputContains( String text )
+   {
+      return getOutput().contains( text );
+   }
+
+   /**
+    * Get the results directory of the nested run.
+    *
+    * @return The directory.
+    */
+   final public java.io.File getResultsDirectory()
+   {
+      return new java.io.File( _resultsRootDirectory, _resultsSubdirectoryName );
+   }
+
+   /**
+    * Get the recorded state of a test from the TestReport.xml of the
+    * nested run.
+    *
+    * @param testSetName
+    *        The test set.
+    *
+    * @param heading
+    *        The test heading, as in the reports, for example
+    *        com.example.Tests.runTest().
+    *
+    * @return The state name, for example COMPLETE_SUCCEEDED, or null if the
+    *         test is not in the report.
+    *
+    * @throws Exception
+    *         If the report could not be read.
+    */
+   final public String getResult( String testSetName,
+                                  String heading )
+      throws Exception
+   {
+      if ( _results == null )
+      {
+         _results = readResults( new java.io.File(getResultsDirectory(),"TestReport.xml") );
+      }
+
+      return _results.get( testSetName + "/" + heading );
+   }
+
+   final private static java.util.Map<String,String> readResults( java.io.File reportFile )
+      throws Exception
+   {
+      java.util.Map<String,String>     results;
+      javax.xml.stream.XMLStreamReader reader;
+      int                              depth;
+      String                           testSetName;
+      String                           heading;
+
+      results = new java.util.HashMap<String,String>();
+
+      try ( java.io.FileInputStream fileInputStream = new java.io.FileInputStream(reportFile) )
+      {
+         reader = javax.xml.stream.XMLInputFactory.newInstance().createXMLStreamReader( fileInputStream );
+
+         try
+         {
+            depth = 0;
+            testSetName = null;
+            heading = null;
+
+            while ( reader.hasNext() )
+            {
+               switch ( reader.next() )
+               {
+                  case javax.xml.stream.XMLStreamConstants.START_ELEMENT:
+                  {
+                     depth++;
+
+                     if ( reader.getLocalName().equals("name") )
+                     {
+                        if ( depth == 3 )
+                        {
+                           testSetName = reader.getElementText().trim();
+                        }
+                        else
+                        {
+                           heading = reader.getElementText().trim();
+                        }
+                        depth--;
+                     }
+                     else if ( reader.getLocalName().equals("result") && (heading!=null) )
+                     {
+                        results.put( testSetName + "/" + heading,
+                                     reader.getElementText().trim() );
+                        heading = null;
+                        depth--;
+                     }
+                     break;
+                  }
+                  case javax.xml.stream.XMLStreamConstants.END_ELEMENT:
+                  {
+                     depth--;
+                     break;
+                  }
+                  default:
+                  {
+                     break;
+                  }
+               }
+            }
+         }
+         finally
+         {
+            reader.close();
+         }
+      }
+
+      return results;
+   }
+}
@@ -0,0 +1,209 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test;
+
+/**
+ * A test unit for the omnibus checks that look at where, when, and how
+ * tests run.  The root test has LEAF_COUNT SEQUENTIAL_CONTINUE_ON_ERROR
+ * subtests.  In both passes, each test appends a {@link ProbeRecord} to a
+ * file named after its test set in the work directory.  <p>
+ *
+ * "-pp probeSleep milliseconds" makes the root test sleep in both passes,
+ * so the checks can see which test set processes overlap.  The test
+ * parameter pair "probeFailLeaf index" makes that leaf fail.  The test
+ * parameter pair "probePrerequisite testSetName" makes the root test
+ * require the first leaf of the named test set.
+ */
+final public class Probe
+   implements com.undercamber.TestUnit
+{
+   final public static int    LEAF_COUNT             = 4;
+   final public static String SLEEP_PARAMETER        = "probeSleep";
+   final public static String FAIL_PARAMETER         = "probeFailLeaf";
+   final public static String PREREQUISITE_PARAMETER = "probePrerequisite";
+   final public static String ROOT_HEADING           = "com.undercamber.test.Probe.runTest()";
+
+   final private static String FILE_EXTENSION = ".probe";
+
+   final public void runTest( com.undercamber.TestManager testManager )
+      throws Throwable
+   {
+      long startTime;
+
+      startTime = System.currentTimeMillis();
+
+      if ( testManager.containsParameter(PREREQUISITE_PARAMETER) )
+      {
+         testManager.initialize( com.undercamber.SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR,
+                                 new com.undercamber.Prerequisite("com.undercamber.test.Probe",
+                                                                  "leaf",
+                                                                  "1",
+                                                                  testManager.getFollowingParameterAsString(PREREQUISITE_PARAMETER)) );
+      }
+      else
+      {
+         testManager.initialize( com.undercamber.SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+      }
+
+      if ( testManager.containsParameter(SLEEP_PARAMETER) )
+      {
+         Thread.sleep( testManager.getFollowingParameterAsLong(SLEEP_PARAMETER) );
+      }
+
+      testManager.addSubtest( tm -> leaf(tm,1) );
+      testManager.addSubtest( tm -> leaf(tm,2) );
+      testManager.addSubtest( tm -> leaf(tm,3) );
+      testManager.addSubtest( tm -> leaf(tm,4) );
+
+      record( testManager,
+              "runTest",
+              startTime );
+   }
+
+   final private void leaf( com.undercamber.TestManager testManager,
+                            int                         index )
+      throws Throwable
+   {
+      long    startTime;
+      boolean verify;
+
+      startTime = System.currentTimeMillis();
+
+      verify = testManager.initialize( Integer.toString(index) );
+
+      if ( verify && testManager.containsParameter(FAIL_PARAMETER) && (testManager.getFollowingParameterAsInteger(FAIL_PARAMETER)==index) )
+      {
+         testManager.addException( new Exception("Leaf " + index + " fails") );
+      }
+
+      record( testManager,
+              "leaf(" + index + ")",
+              startTime );
+   }
+
+   final private static void record( com.undercamber.TestManager testManager,
+                                     String                      name,
+                                     long                        startTime )
+      throws java.io.IOException
+   {
+      ProbeRecord probeRecord;
+
+      probeRecord = new ProbeRecord( testManager.isDiscoveryPass() ? 1 : 2,
+                                     name,
+                                     ProcessHandle.current().pid(),
+                                     isVirtual(Thread.currentThread()),
+                                     startTime,
+                                     System.currentTimeMillis() );
+
+      synchronized ( Probe.class )
+      {
+         testManager.getUserWorkingDirectory().mkdirs();
+
+         try ( java.io.PrintStream printStream = new java.io.PrintStream(new java.io.FileOutputStream(getFile(testManager.getUserWorkingDirectory(),testManager.getTestSetName()),
+                                                                                                      true)) )
+         {
+            printStream.println( probeRecord );
+         }
+      }
+   }
+
+   // Thread.isVirtual() only exists on Java 21 and later
+
+   final private static boolean isVirtual( Thread thread )
+   {
+      try
+      {
+         return (Boolean)Thread.class.getMethod( "isVirtual" ).invoke( thread );
+      }
+      catch ( ReflectiveOperationException reflectiveOperationException )
+      {
+         return false;
+      }
+   }
+
+   final private static java.io.File getFile( java.io.File workingDirectory,
+                                              String       testSetName )
+   {
+      return new java.io.File( workingDirectory,
+                               testSetName + FILE_EXTENSION );
+   }
+
+   /**
+    * Get the heading of a leaf, as in the reports.
+    *
+    * @param index
+    *        The leaf, from 1 to LEAF_COUNT.
+    *
+    * @return The heading.
+    */
+   final public static String getLeafHeading( int index )
+   {
+      return "com.undercamber.test.Probe.leaf(" + index + ")";
+   }
+
+   /**
+    * Read the records that a test set of a nested run wrote.
+    *
+    * @param nestedRun
+    *        The nested run.
+    *
+    * @param testSetName
+    *        The test set.
+    *
+    * @return The records, in the order they were written.  The list is
+    *         empty if the test set wrote none.
+    *
+    * @throws java.io.IOException
+    *         If the records could not be read.
+    */
+   final public static java.util.List<ProbeRecord> read( NestedRun nestedRun,
+                                                         String    testSetName )
+      throws java.io.IOException
+   {
+      java.util.List<ProbeRecord> probeRecords;
+      java.io.File                file;
+      String                      line;
+
+      probeRecords = new java.util.ArrayList<ProbeRecord>();
+
+      file = getFile( new java.io.File(nestedRun.getResultsDirectory(),"work"),
+                      testSetName );
+
+      if ( file.isFile() )
+      {
+         try ( java.io.BufferedReader bufferedReader = new java.io.BufferedReader(new java.io.FileReader(file)) )
+         {
+            while ( (line=bufferedReader.readLine()) != null )
+            {
+               probeRecords.add( ProbeRecord.parse(line) );
+            }
+         }
+      }
+
+      return probeRecords;
+   }
+}
@@ -0,0 +1,134 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test;
+
+/**
+ * One test run recorded by {@link Probe}.
+ */
+final public class ProbeRecord
+{
+   private int     _pass;
+   private String  _name;
+   private long    _processID;
+   private boolean _virtual;
+   private long    _startTime;
+   private long    _stopTime;
+
+   ProbeRecord( int     pass,
+                String  name,
+                long    processID,
+                boolean virtual,
+                long    startTime,
+                long    stopTime )
+   {
+      _pass = pass;
+      _name = name;
+      _processID = processID;
+      _virtual = virtual;
+      _startTime = startTime;
+      _stopTime = stopTime;
+   }
+
+   final static ProbeRecord parse( String line )
+   {
+      String fields[];
+
+      fields = line.split( " " );
+
+      return new ProbeRecord( Integer.parseInt(fields[0]),
+                              fields[1],
+                              Long.parseLong(fields[2]),
+                              Boolean.parseBoolean(fields[3]),
+                              Long.parseLong(fields[4]),
+                              Long.parseLong(fields[5]) );
+   }
+
+   /**
+    * Get the pass.
+    *
+    * @return 1 for the discovery pass, 2 for the verification pass.
+    */
+   final public int getPass()
+   {
+      return _pass;
+   }
+
+   /**
+    * Get the test.
+    *
+    * @return "runTest" for the root test, or "leaf(n)".
+    */
+   final public String getName()
+   {
+      return _name;
+   }
+
+   /**
+    * Get the process that ran the test.
+    *
+    * @return The process ID.
+    */
+   final public long getProcessID()
+   {
+      return _processID;
+   }
+
+   /**
+    * Did the test run on a virtual thread?
+    *
+    * @return True for a virtual thread.
+    */
+   final public boolean isVirtual()
+   {
+      return _virtual;
+   }
+
+   /**
+    * Get the time the test started.
+    *
+    * @return The time, as from System.currentTimeMillis().
+    */
+   final public long getStartTime()
+   {
+      return _startTime;
+   }
+
+   /**
+    * Get the time the test returned.
+    *
+    * @return The time, as from System.currentTimeMillis().
+    */
+   final public long getStopTime()
+   {
+      return _stopTime;
+   }
+
+   final public String toString()
+   {
+      return _pass + " " + _name + " " + _processID + " " + _virtual + " " + _startTime + " " + _stopTime;
+   }
+}
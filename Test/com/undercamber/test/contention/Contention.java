@@ -0,0 +1,177 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.contention;
+
+import com.undercamber.*;
+
+/**
+ * Many short tests, run concurrently, to measure how much time Undercamber
+ * spends coordinating tests rather than running them.  Each leaf test does no
+ * work except record a message, so the tests per second reported when the
+ * test set completes is bounded by test submission, completion, and status
+ * recording.  <p>
+ *
+ * The suite runs the same tests twice:  first in the SingleThread test set
+ * with one second-pass thread, then in the Contention test set with 32.  The
+ * Contention test set reports its speedup over the single-thread run.  A
+ * speedup below 1 means the threads spend more time waiting for each other
+ * than running tests.  The numbers vary from run to run and from machine to
+ * machine, so compare them only between runs on the same machine.  <p>
+ *
+ * To compare with an older version, such as Undercamber 0.3 with its single
+ * shared test lock, run this suite with UNDERCAMBER_PROJECT_ROOT set to a
+ * tree holding that version's Source directory and this Test directory.
+ */
+final public class Contention
+   implements TestUnit
+{
+   final static String SINGLE_THREAD_TEST_SET_NAME = "SingleThread";
+
+   final private static int    GROUP_COUNT        = 32;
+   final private static int    GROUP_TEST_COUNT   = 64;
+   final private static String BASELINE_FILE_NAME = "ContentionBaseline.txt";
+
+   private long _startTime;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+      int     groupIndex;
+
+      if ( testManager.getTestSetName().equals(SINGLE_THREAD_TEST_SET_NAME) )
+      {
+         verify = testManager.initialize( SubtestSequencingMode.CONCURRENT );
+      }
+      else
+      {
+         verify = testManager.initialize( SubtestSequencingMode.CONCURRENT,
+                                          TestManager.toArray(new Prerequisite("com.undercamber.test.contention.Contention",
+                                                                               "runTest",
+                                                                               null,
+                                                                               Prerequisite.IncludeSubtests.INCLUDE_SUBTESTS,
+                                                                               Prerequisite.Type.FIXED,
+                                                                               Prerequisite.PrerequisiteMatchMultiplicity.INCLUDE_FIRST_MATCHING_METHOD,
+                                                                               SINGLE_THREAD_TEST_SET_NAME)) );
+      }
+
+      if ( verify )
+      {
+         _startTime = System.nanoTime();
+
+         testManager.addCompletionCallback( testDataRoot -> report(testManager) );
+      }
+
+      for ( groupIndex=0; groupIndex<GROUP_COUNT; groupIndex++ )
+      {
+         final int index = groupIndex;
+
+         testManager.addSubtest( tm -> group(tm,
+                                             index) );
+      }
+   }
+
+   final private void group( TestManager testManager,
+                             int         groupIndex )
+      throws Throwable
+   {
+      int testIndex;
+
+      testManager.initialize( SubtestSequencingMode.CONCURRENT,
+                              Integer.toString(groupIndex),
+                              null,
+                              null,
+                              null,
+                              new Requirement[0] );
+
+      for ( testIndex=0; testIndex<GROUP_TEST_COUNT; testIndex++ )
+      {
+         final int index = testIndex;
+
+         testManager.addSubtest( tm -> test(tm,
+                                            groupIndex,
+                                            index) );
+      }
+   }
+
+   final private void test( TestManager testManager,
+                            int         groupIndex,
+                            int         testIndex )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( groupIndex + "," + testIndex );
+
+      if ( verify )
+      {
+         testManager.addMessage( "Test " + groupIndex + "," + testIndex );
+      }
+   }
+
+   final private void report( TestManager testManager )
+   {
+      long         elapsedTime;
+      int          testCount;
+      java.io.File baselineFile;
+      long         baselineTime;
+
+      elapsedTime = ( System.nanoTime() - _startTime ) / 1000000L;
+
+      testCount = 1 + GROUP_COUNT + ( GROUP_COUNT * GROUP_TEST_COUNT );
+
+      System.out.println( "Contention benchmark (" + testManager.getTestSetName() + ", " + testManager.getThreadCount() + " thread" + ((testManager.getThreadCount()==1)?"":"s") + "):  " + testCount + " tests in " + elapsedTime + " ms (" + ((testCount*1000L)/Math.max(1L,elapsedTime)) + " tests per second)." );
+
+      baselineFile = new java.io.File( testManager.getUserWorkingDirectory(), BASELINE_FILE_NAME );
+
+      try
+      {
+         if ( testManager.getTestSetName().equals(SINGLE_THREAD_TEST_SET_NAME) )
+         {
+            baselineFile.getParentFile().mkdirs();
+
+            try ( java.io.PrintStream printStream = new java.io.PrintStream(baselineFile) )
+            {
+               printStream.println( elapsedTime );
+            }
+         }
+         else if ( baselineFile.isFile() )
+         {
+            try ( java.io.BufferedReader bufferedReader = new java.io.BufferedReader(new java.io.FileReader(baselineFile)) )
+            {
+               baselineTime = Long.parseLong( bufferedReader.readLine().trim() );
+            }
+
+            System.out.println( "Contention benchmark:  " + String.format("%.2f",((double)baselineTime)/Math.max(1L,elapsedTime)) + " times the single-thread rate (" + baselineTime + " ms on 1 thread, " + elapsedTime + " ms on " + testManager.getThreadCount() + ")." );
+         }
+      }
+      catch ( java.io.IOException ioException )
+      {
+         ioException.printStackTrace();
+      }
+   }
+}
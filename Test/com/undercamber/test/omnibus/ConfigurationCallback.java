@@ -75,5 +75,201 @@ final public class ConfigurationCallback
       testSetBuilder.setClassName( "com.undercamber.test.omnibus.constructor.Constructor1" );
 
       testSetBuilder.createTestSet();
+
+      // Test Set 5
+
+      testSetBuilder.setPass2ThreadCount( 4 );
+      testSetBuilder.setTestSetName( "PrerequisiteOrder" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.prerequisites.PrerequisiteOrder1" );
+
+      testSetBuilder.createTestSet();
+
+      testSetBuilder.setPass2ThreadCount( null );
+
+      // Test Set 6
+
+      testSetBuilder.setTestSetName( "RaceCondition" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.prerequisites.RaceCondition1" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 7
+
+      testSetBuilder.setPass2ThreadCount( 4 );
+      testSetBuilder.setOrderConcurrentPrerequisites( true );
+      testSetBuilder.setTestSetName( "OrderPrerequisites" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.prerequisites.PrerequisiteOrder2" );
+
+      testSetBuilder.createTestSet();
+
+      testSetBuilder.setPass2ThreadCount( null );
+      testSetBuilder.setOrderConcurrentPrerequisites( false );
+
+      // Test Set 8
+
+      testSetBuilder.setTestSetName( "Timeouts" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.timeouts.TimeoutChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 9
+
+      testSetBuilder.setTestSetName( "Speculative" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.speculative.SpeculativeChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 10
+
+      testSetBuilder.setTestSetName( "Resume" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.resume.ResumeChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 11
+
+      testSetBuilder.setTestSetName( "Crash" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.crash.CrashChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 12
+
+      testSetBuilder.setTestSetName( "Fusion" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.fusion.FusionChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 13
+
+      testSetBuilder.setPass2ThreadCount( 16 );
+      testSetBuilder.setTestSetName( "ChildCompletion" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.concurrency.ChildCompletion" );
+
+      testSetBuilder.createTestSet();
+
+      testSetBuilder.setPass2ThreadCount( null );
+
+      // Test Set 14
+
+      testSetBuilder.setTestSetName( "TestDataPersistence" );
+      testSetBuilder.setClassName( "com.undercamber.TestDataPersistence" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 15
+
+      testSetBuilder.setTestSetName( "BranchStates" );
+      testSetBuilder.setClassName( "com.undercamber.BranchStateChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 16
+
+      testSetBuilder.setTestSetName( "WorkerPool" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.workers.WorkerPoolChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 17
+
+      testSetBuilder.setTestSetName( "InProcess" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.inprocess.InProcessChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 18
+
+      testSetBuilder.setTestSetName( "DiscoveryCache" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.discovery.DiscoveryCacheChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 19
+
+      testSetBuilder.setTestSetName( "Shard" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.shard.ShardChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 20
+
+      testSetBuilder.setTestSetName( "Merge" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.merge.MergeChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 21
+
+      testSetBuilder.setTestSetName( "ProgressEvents" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.progress.ProgressEventChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 22
+
+      testSetBuilder.setTestSetName( "VirtualThreads" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.virtual.VirtualThreadChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 23
+
+      testSetBuilder.setTestSetName( "CriticalPath" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.criticalpath.CriticalPathChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 24
+
+      testSetBuilder.setTestSetName( "MissingConfiguration" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.criticalpath.MissingConfigurationChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 25
+
+      testSetBuilder.setTestSetName( "FailFast" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.failfast.FailFastChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 26
+
+      testSetBuilder.setTestSetName( "ProcessScheduler" );
+      testSetBuilder.setClassName( "com.undercamber.ProcessSchedulerChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 27
+
+      testSetBuilder.setTestSetName( "Processes" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.processes.ProcessChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 28
+
+      testSetBuilder.setTestSetName( "ProgressStream" );
+      testSetBuilder.setClassName( "com.undercamber.ProgressStreamChecks" );
+
+      testSetBuilder.createTestSet();
+
+      // Test Set 29
+
+      testSetBuilder.setPass2ThreadCount( 2 );
+      testSetBuilder.setTestSetName( "WorkStealing" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.concurrency.WorkStealing" );
+
+      testSetBuilder.createTestSet();
+
+      testSetBuilder.setPass2ThreadCount( null );
+
+      // Test Set 30
+
+      testSetBuilder.setTestSetName( "AdaptiveThreads" );
+      testSetBuilder.setClassName( "com.undercamber.test.omnibus.adaptive.AdaptiveChecks" );
+
+      testSetBuilder.createTestSet();
    }
 }
\ No newline at end of file
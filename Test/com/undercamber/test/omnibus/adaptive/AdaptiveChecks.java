@@ -0,0 +1,124 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.adaptive;
+
+import com.undercamber.*;
+
+/**
+ * Runs the Adaptive test set twice in a nested Undercamber with
+ * -adaptiveThreads true and a configured thread count of 1.  The first run
+ * has slow leaves and the thread bounds 2 and 3, so the pool starts at the
+ * minimum and grows to the maximum.  The second run has fast leaves and
+ * the thread bounds 1 and 4, so it finishes before the pool is resized.  It
+ * must start from, and record, the thread count of the first run.
+ */
+final public class AdaptiveChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAME        = "Adaptive";
+   final private static int    FIRST_MINIMUM        = 2;
+   final private static int    FIRST_MAXIMUM        = 3;
+   final private static int    SECOND_MINIMUM       = 1;
+   final private static int    SECOND_MAXIMUM       = 4;
+   final private static String LEAF_SLEEP           = "200";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun firstRun;
+      com.undercamber.test.NestedRun secondRun;
+      Integer                        firstThreadCount;
+      Integer                        secondThreadCount;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         firstRun = new com.undercamber.test.NestedRun( testManager,
+                                                        "AdaptiveFirst",
+                                                        "com.undercamber.test.NestedConfigurationCallback",
+                                                        "-adaptiveThreads",
+                                                        "true",
+                                                        "-minimumThreads",
+                                                        Integer.toString(FIRST_MINIMUM),
+                                                        "-maximumThreads",
+                                                        Integer.toString(FIRST_MAXIMUM),
+                                                        "-p",
+                                                        TEST_SET_NAME,
+                                                        "-pp",
+                                                        Adaptive.SLEEP_PARAMETER,
+                                                        LEAF_SLEEP );
+         firstRun.run();
+
+         firstThreadCount = readAdaptiveThreadCount( firstRun );
+         if ( (firstThreadCount==null) || (firstThreadCount<FIRST_MINIMUM) || (firstThreadCount>FIRST_MAXIMUM) )
+         {
+            testManager.addException( new Exception("The first run recorded an adaptive thread count of " + firstThreadCount + ", outside " + FIRST_MINIMUM + " to " + FIRST_MAXIMUM) );
+         }
+         else if ( firstThreadCount != FIRST_MAXIMUM )
+         {
+            testManager.addException( new Exception("The first run did not grow its thread pool to " + FIRST_MAXIMUM + ":  " + firstThreadCount) );
+         }
+
+         secondRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "AdaptiveSecond",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-adaptiveThreads",
+                                                         "true",
+                                                         "-minimumThreads",
+                                                         Integer.toString(SECOND_MINIMUM),
+                                                         "-maximumThreads",
+                                                         Integer.toString(SECOND_MAXIMUM),
+                                                         "-p",
+                                                         TEST_SET_NAME );
+         secondRun.run();
+
+         secondThreadCount = readAdaptiveThreadCount( secondRun );
+         if ( (secondThreadCount==null) || !(secondThreadCount.equals(firstThreadCount)) )
+         {
+            testManager.addException( new Exception("The second run recorded an adaptive thread count of " + secondThreadCount + ", not the " + firstThreadCount + " recorded by the first run") );
+         }
+      }
+   }
+
+   final private static Integer readAdaptiveThreadCount( com.undercamber.test.NestedRun nestedRun )
+      throws java.io.IOException
+   {
+      java.util.regex.Matcher matcher;
+
+      matcher = java.util.regex.Pattern.compile( "<adaptiveThreadCount>\\s*(\\d+)\\s*</adaptiveThreadCount>" ).matcher( new String(java.nio.file.Files.readAllBytes(new java.io.File(nestedRun.getResultsDirectory(),"TestReport.xml").toPath()),
+                                                                                                                                      java.nio.charset.StandardCharsets.UTF_8) );
+
+      if ( matcher.find() )
+      {
+         return Integer.valueOf( matcher.group(1) );
+      }
+
+      return null;
+   }
+}
@@ -0,0 +1,95 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.branches;
+
+import com.undercamber.*;
+
+/**
+ * A SEQUENTIAL_CONTINUE_ON_ERROR sequence in which the middle step has a
+ * failed prerequisite.  The skipped step has two children, and its first
+ * child has two children of its own, so the whole branch is recorded with
+ * one branch state.
+ */
+final public class SkippedBranch
+   implements TestUnit
+{
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+      testManager.addSubtest( tm -> failing(tm) );
+      testManager.addSubtest( tm -> skipped(tm) );
+      testManager.addSubtest( tm -> after(tm) );
+   }
+
+   final private void failing( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         testManager.addException( new Exception("Fails so that skipped() is skipped") );
+      }
+   }
+
+   final private void skipped( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR,
+                              TestManager.toArray(new Prerequisite("com.undercamber.test.omnibus.branches.SkippedBranch",
+                                                                   "failing")) );
+
+      testManager.addSubtest( tm -> child1(tm) );
+      testManager.addSubtest( tm -> leaf(tm,"2") );
+   }
+
+   final private void child1( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( "1" );
+
+      testManager.addSubtest( tm -> leaf(tm,"1.1") );
+      testManager.addSubtest( tm -> leaf(tm,"1.2") );
+   }
+
+   final private void leaf( TestManager testManager,
+                            String      name )
+      throws Throwable
+   {
+      testManager.initialize( name );
+   }
+
+   final private void after( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+   }
+}
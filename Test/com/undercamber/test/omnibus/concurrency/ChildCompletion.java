@@ -0,0 +1,193 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.concurrency;
+
+import com.undercamber.*;
+
+/**
+ * Many concurrent children that finish at nearly the same time.  The last
+ * child to finish must finish its parent exactly once, so each test that
+ * follows a concurrent test in a sequence must run exactly once.
+ */
+final public class ChildCompletion
+   implements TestUnit
+{
+   final private static int GROUP_COUNT = 16;
+   final private static int LEAF_COUNT  = 32;
+
+   private java.util.concurrent.atomic.AtomicInteger _leafRunCount;
+   private java.util.concurrent.atomic.AtomicInteger _markerRunCounts[];
+   private java.util.concurrent.atomic.AtomicInteger _afterFanOutRunCount;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      int index;
+
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+      _leafRunCount = new java.util.concurrent.atomic.AtomicInteger( 0 );
+      _markerRunCounts = new java.util.concurrent.atomic.AtomicInteger[ GROUP_COUNT ];
+      for ( index=0; index<GROUP_COUNT; index++ )
+      {
+         _markerRunCounts[ index ] = new java.util.concurrent.atomic.AtomicInteger( 0 );
+      }
+      _afterFanOutRunCount = new java.util.concurrent.atomic.AtomicInteger( 0 );
+
+      testManager.addSubtest( tm -> fanOut(tm) );
+      testManager.addSubtest( tm -> afterFanOut(tm) );
+      testManager.addSubtest( tm -> check(tm) );
+   }
+
+   final private void fanOut( TestManager testManager )
+      throws Throwable
+   {
+      int groupIndex;
+
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      for ( groupIndex=0; groupIndex<GROUP_COUNT; groupIndex++ )
+      {
+         final int index = groupIndex;
+
+         testManager.addSubtest( tm -> group(tm,
+                                             index) );
+      }
+   }
+
+   final private void group( TestManager testManager,
+                             int         groupIndex )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR,
+                              Integer.toString(groupIndex),
+                              null,
+                              null,
+                              null,
+                              new Requirement[0] );
+
+      testManager.addSubtest( tm -> leaves(tm,
+                                           groupIndex) );
+      testManager.addSubtest( tm -> marker(tm,
+                                           groupIndex) );
+   }
+
+   final private void leaves( TestManager testManager,
+                              int         groupIndex )
+      throws Throwable
+   {
+      int leafIndex;
+
+      testManager.initialize( SubtestSequencingMode.CONCURRENT,
+                              Integer.toString(groupIndex),
+                              null,
+                              null,
+                              null,
+                              new Requirement[0] );
+
+      for ( leafIndex=0; leafIndex<LEAF_COUNT; leafIndex++ )
+      {
+         final int index = leafIndex;
+
+         testManager.addSubtest( tm -> leaf(tm,
+                                            groupIndex,
+                                            index) );
+      }
+   }
+
+   final private void leaf( TestManager testManager,
+                            int         groupIndex,
+                            int         leafIndex )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( groupIndex + "," + leafIndex );
+
+      if ( verify )
+      {
+         _leafRunCount.incrementAndGet();
+      }
+   }
+
+   final private void marker( TestManager testManager,
+                              int         groupIndex )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( Integer.toString(groupIndex) );
+
+      if ( verify )
+      {
+         _markerRunCounts[ groupIndex ].incrementAndGet();
+      }
+   }
+
+   final private void afterFanOut( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         _afterFanOutRunCount.incrementAndGet();
+      }
+   }
+
+   final private void check( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+      int     index;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         if ( _leafRunCount.get() != (GROUP_COUNT*LEAF_COUNT) )
+         {
+            testManager.addException( new Exception(_leafRunCount.get() + " leaves ran, expected " + (GROUP_COUNT*LEAF_COUNT)) );
+         }
+
+         for ( index=0; index<GROUP_COUNT; index++ )
+         {
+            if ( _markerRunCounts[index].get() != 1 )
+            {
+               testManager.addException( new Exception("The marker of group " + index + " ran " + _markerRunCounts[index].get() + " times, expected once") );
+            }
+         }
+
+         if ( _afterFanOutRunCount.get() != 1 )
+         {
+            testManager.addException( new Exception("afterFanOut() ran " + _afterFanOutRunCount.get() + " times, expected once") );
+         }
+      }
+   }
+}
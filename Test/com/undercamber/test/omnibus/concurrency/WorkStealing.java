@@ -0,0 +1,143 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.concurrency;
+
+import com.undercamber.*;
+
+/**
+ * A concurrent tree run on two threads.  The tree launches left and right,
+ * and each of them launches two slow leaves.  One thread must take left
+ * from the other, and each leaf must run on the same thread as its parent,
+ * because a thread works the subtree it launched before anything else.  A
+ * thread takes its own work last in, first out, so the second leaf of each
+ * branch must start before the first.
+ */
+final public class WorkStealing
+   implements TestUnit
+{
+   final private static long LEAF_DURATION = 500L;
+
+   private java.util.Map<String,String>              _threadNames;
+   private java.util.Map<String,Integer>             _startOrder;
+   private java.util.concurrent.atomic.AtomicInteger _startCount;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+      _threadNames = new java.util.concurrent.ConcurrentHashMap<String,String>();
+      _startOrder = new java.util.concurrent.ConcurrentHashMap<String,Integer>();
+      _startCount = new java.util.concurrent.atomic.AtomicInteger( 0 );
+
+      testManager.addSubtest( tm -> tree(tm) );
+      testManager.addSubtest( tm -> check(tm) );
+   }
+
+   final private void tree( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      testManager.addSubtest( tm -> branch(tm,"left") );
+      testManager.addSubtest( tm -> branch(tm,"right") );
+   }
+
+   final private void branch( TestManager testManager,
+                              String      name )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( SubtestSequencingMode.CONCURRENT,
+                                       name,
+                                       null,
+                                       null,
+                                       null,
+                                       new Requirement[0] );
+
+      if ( verify )
+      {
+         _threadNames.put( name,
+                           Thread.currentThread().getName() );
+      }
+
+      testManager.addSubtest( tm -> leaf(tm,name+".1") );
+      testManager.addSubtest( tm -> leaf(tm,name+".2") );
+   }
+
+   final private void leaf( TestManager testManager,
+                            String      name )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( name );
+
+      if ( verify )
+      {
+         _threadNames.put( name,
+                           Thread.currentThread().getName() );
+         _startOrder.put( name,
+                          _startCount.getAndIncrement() );
+
+         Thread.sleep( LEAF_DURATION );
+      }
+   }
+
+   final private void check( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         if ( _threadNames.get("left").equals(_threadNames.get("right")) )
+         {
+            testManager.addException( new Exception("left and right both ran on " + _threadNames.get("left") + ", so no work was stolen") );
+         }
+
+         for ( String branch : new String[] { "left", "right" } )
+         {
+            for ( String leaf : new String[] { branch+".1", branch+".2" } )
+            {
+               if ( !(_threadNames.get(leaf).equals(_threadNames.get(branch))) )
+               {
+                  testManager.addException( new Exception(leaf + " ran on " + _threadNames.get(leaf) + ", not on " + _threadNames.get(branch) + " with its parent") );
+               }
+            }
+
+            if ( _startOrder.get(branch+".1") < _startOrder.get(branch+".2") )
+            {
+               testManager.addException( new Exception(branch + ".1 started before " + branch + ".2, so the subtests were not taken last in, first out") );
+            }
+         }
+      }
+   }
+}
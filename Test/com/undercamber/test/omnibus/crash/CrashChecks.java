@@ -0,0 +1,183 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.crash;
+
+import com.undercamber.*;
+
+/**
+ * Runs Crashing in a nested Undercamber, once for each status durability.
+ * Step 2 must be recorded as CRASHED, the test set must be relaunched, and
+ * the other steps must run once each and succeed.  The relaunch only skips
+ * step 1 if its state survived the halted JVM in the status file.  <p>
+ *
+ * Also runs Halting in a nested Undercamber, once in test set processes
+ * and once with -workerPool.  Its JVM halts before any second-pass test
+ * starts, so its root test must be recorded as CRASHED, with the exit code
+ * of the halted JVM, and its subtest must be skipped.
+ */
+final public class CrashChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAME         = "Crashing";
+   final private static String CLASS_NAME            = "com.undercamber.test.omnibus.crash.Crashing";
+   final private static String HALTING_TEST_SET_NAME = "Halting";
+   final private static String HALTING_RESULTS[][]   = { { "com.undercamber.test.omnibus.crash.Halting.runTest()", "CRASHED" },
+                                                         { "com.undercamber.test.omnibus.crash.Halting.leaf()",    "SKIPPED_DUE_TO_PARENT_ERROR" } };
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+      testManager.addSubtest( tm -> crash(tm,"none") );
+      testManager.addSubtest( tm -> crash(tm,"periodic") );
+      testManager.addSubtest( tm -> crash(tm,"testSetEnd") );
+      testManager.addSubtest( tm -> halt(tm,false) );
+      testManager.addSubtest( tm -> halt(tm,true) );
+   }
+
+   final private void crash( TestManager testManager,
+                             String      statusDurability )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+      java.io.File                   directory;
+      int                            runCounts[];
+      String                         line;
+      int                            index;
+      String                         state;
+      String                         expectedState;
+
+      verify = testManager.initialize( statusDurability );
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "Crash-" + statusDurability,
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-statusDurability",
+                                                         statusDurability,
+                                                         "-p",
+                                                         TEST_SET_NAME );
+         directory = Crashing.getDirectory( nestedRun.getResultsDirectory().getParentFile() );
+         if ( directory.isDirectory() )
+         {
+            for ( java.io.File file : directory.listFiles() )
+            {
+               file.delete();
+            }
+         }
+
+         nestedRun.run();
+
+         if ( !(nestedRun.outputContains("1 running test was recorded as crashed.  Relaunching the remaining tests.")) )
+         {
+            testManager.addException( new Exception("The test set was not relaunched after the crash") );
+            testManager.addMessage( nestedRun.getOutput() );
+         }
+
+         for ( index=1; index<=Crashing.STEP_COUNT; index++ )
+         {
+            expectedState = (index==Crashing.CRASHING_STEP) ? "CRASHED" : "COMPLETE_SUCCEEDED";
+
+            state = nestedRun.getResult( TEST_SET_NAME,
+                                         CLASS_NAME + ".step(" + index + ")" );
+            if ( !(expectedState.equals(state)) )
+            {
+               testManager.addException( new Exception("step(" + index + ") is " + state + ", expected " + expectedState) );
+            }
+         }
+
+         runCounts = new int[ Crashing.STEP_COUNT + 1 ];
+         try ( java.io.BufferedReader bufferedReader = new java.io.BufferedReader(new java.io.FileReader(new java.io.File(directory,Crashing.RUN_LOG))) )
+         {
+            while ( (line=bufferedReader.readLine()) != null )
+            {
+               runCounts[ Integer.parseInt(line.trim()) ]++;
+            }
+         }
+
+         for ( index=1; index<=Crashing.STEP_COUNT; index++ )
+         {
+            if ( runCounts[index] != 1 )
+            {
+               testManager.addException( new Exception("step(" + index + ") ran " + runCounts[index] + " times, expected once") );
+            }
+         }
+      }
+   }
+
+   final private void halt( TestManager testManager,
+                            boolean     useWorkerPool )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+      java.io.File                   directory;
+      String                         state;
+
+      verify = testManager.initialize( useWorkerPool ? "workerPool" : "processes" );
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         useWorkerPool ? "HaltWorkerPool" : "Halt",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-workerPool",
+                                                         Boolean.toString(useWorkerPool),
+                                                         "-p",
+                                                         HALTING_TEST_SET_NAME );
+         directory = Halting.getDirectory( nestedRun.getResultsDirectory().getParentFile() );
+         if ( directory.isDirectory() )
+         {
+            for ( java.io.File file : directory.listFiles() )
+            {
+               file.delete();
+            }
+         }
+
+         nestedRun.run();
+
+         if ( !(nestedRun.outputContains("The test JVM for test set " + HALTING_TEST_SET_NAME + " terminated abnormally (exit code " + Halting.EXIT_CODE + ").")) )
+         {
+            testManager.addException( new Exception("The halted JVM was not reported with its exit code") );
+            testManager.addMessage( nestedRun.getOutput() );
+         }
+
+         for ( String haltingResult[] : HALTING_RESULTS )
+         {
+            state = nestedRun.getResult( HALTING_TEST_SET_NAME,
+                                         haltingResult[0] );
+            if ( !(haltingResult[1].equals(state)) )
+            {
+               testManager.addException( new Exception(haltingResult[0] + " is " + state + ", expected " + haltingResult[1]) );
+            }
+         }
+      }
+   }
+}
@@ -0,0 +1,85 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.crash;
+
+import com.undercamber.*;
+
+/**
+ * Four SEQUENTIAL_CONTINUE_ON_ERROR steps.  Each step logs that it ran.
+ * The first time step 2 runs, it halts its JVM.
+ */
+final public class Crashing
+   implements TestUnit
+{
+   final static int    STEP_COUNT    = 4;
+   final static int    CRASHING_STEP = 2;
+   final static String CRASHED       = "Crashed";
+   final static String RUN_LOG       = "Runs.txt";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+      testManager.addSubtest( tm -> step(tm,1) );
+      testManager.addSubtest( tm -> step(tm,2) );
+      testManager.addSubtest( tm -> step(tm,3) );
+      testManager.addSubtest( tm -> step(tm,4) );
+   }
+
+   final private void step( TestManager testManager,
+                            int         index )
+      throws Throwable
+   {
+      boolean      verify;
+      java.io.File directory;
+
+      verify = testManager.initialize( Integer.toString(index) );
+
+      if ( verify )
+      {
+         directory = getDirectory( new java.io.File(System.getenv("UNDERCAMBER_TEST_RESULTS_DIRECTORY")) );
+         directory.mkdirs();
+
+         try ( java.io.PrintStream printStream = new java.io.PrintStream(new java.io.FileOutputStream(new java.io.File(directory,RUN_LOG),true)) )
+         {
+            printStream.println( index );
+         }
+
+         if ( (index==CRASHING_STEP) && new java.io.File(directory,CRASHED).createNewFile() )
+         {
+            Runtime.getRuntime().halt( 1 );
+         }
+      }
+   }
+
+   final static java.io.File getDirectory( java.io.File resultsRootDirectory )
+   {
+      return new java.io.File( resultsRootDirectory,
+                               "CrashFiles" );
+   }
+}
@@ -0,0 +1,82 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.crash;
+
+import com.undercamber.*;
+
+/**
+ * A root test with one subtest.  The discovery pass leaves a marker file,
+ * and the next time the test unit is constructed, in the second pass, it
+ * halts its JVM before any test starts.
+ */
+final public class Halting
+   implements TestUnit
+{
+   final static int EXIT_CODE = 3;
+
+   final private static String DISCOVERED = "Discovered";
+
+   public Halting()
+   {
+      if ( new java.io.File(getDirectory(),DISCOVERED).delete() )
+      {
+         Runtime.getRuntime().halt( EXIT_CODE );
+      }
+   }
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+
+      if ( testManager.isDiscoveryPass() )
+      {
+         getDirectory().mkdirs();
+
+         new java.io.File( getDirectory(), DISCOVERED ).createNewFile();
+      }
+
+      testManager.addSubtest( tm -> leaf(tm) );
+   }
+
+   final private void leaf( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+   }
+
+   final private static java.io.File getDirectory()
+   {
+      return getDirectory( new java.io.File(System.getenv("UNDERCAMBER_TEST_RESULTS_DIRECTORY")) );
+   }
+
+   final static java.io.File getDirectory( java.io.File resultsRootDirectory )
+   {
+      return new java.io.File( resultsRootDirectory,
+                               "HaltFiles" );
+   }
+}
@@ -0,0 +1,91 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.criticalpath;
+
+import com.undercamber.*;
+
+/**
+ * Four CONCURRENT branches, each a chain of as many tests as its number.
+ * They are added neither longest first nor shortest first, nor in the
+ * reverse of either.  In the second pass, each branch logs its number when
+ * it starts.
+ */
+final public class Branches
+   implements TestUnit
+{
+   final static String START_LOG = "Starts.txt";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      testManager.addSubtest( tm -> branch(tm,2) );
+      testManager.addSubtest( tm -> branch(tm,4) );
+      testManager.addSubtest( tm -> branch(tm,1) );
+      testManager.addSubtest( tm -> branch(tm,3) );
+   }
+
+   final private void branch( TestManager testManager,
+                              int         length )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( Integer.toString(length) );
+
+      if ( verify )
+      {
+         synchronized ( Branches.class )
+         {
+            testManager.getUserWorkingDirectory().mkdirs();
+
+            try ( java.io.PrintStream printStream = new java.io.PrintStream(new java.io.FileOutputStream(new java.io.File(testManager.getUserWorkingDirectory(),START_LOG),true)) )
+            {
+               printStream.println( length );
+            }
+         }
+      }
+
+      if ( length > 1 )
+      {
+         testManager.addSubtest( tm -> chain(tm,length-1) );
+      }
+   }
+
+   final private void chain( TestManager testManager,
+                             int         length )
+      throws Throwable
+   {
+      testManager.initialize( Integer.toString(length) );
+
+      if ( length > 1 )
+      {
+         testManager.addSubtest( tm -> chain(tm,length-1) );
+      }
+   }
+}
@@ -0,0 +1,79 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.criticalpath;
+
+import com.undercamber.*;
+
+/**
+ * Runs the Branches test set on one thread in a nested Undercamber with
+ * -criticalPathFirst.  With no earlier run times, the branches are
+ * estimated by the number of tests in them, so they must start longest
+ * first, and every test must succeed.
+ */
+final public class CriticalPathChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAME = "CriticalPath";
+   final private static String ROOT_HEADING  = "com.undercamber.test.omnibus.criticalpath.Branches.runTest()";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+      java.util.List<String>         starts;
+      String                         state;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "CriticalPath",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-criticalPathFirst",
+                                                         "true",
+                                                         "-p",
+                                                         TEST_SET_NAME );
+         nestedRun.run();
+
+         state = nestedRun.getResult( TEST_SET_NAME,
+                                      ROOT_HEADING );
+         if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+         {
+            testManager.addException( new Exception(TEST_SET_NAME + " is " + state) );
+         }
+
+         starts = java.nio.file.Files.readAllLines( new java.io.File(new java.io.File(nestedRun.getResultsDirectory(),"work"),Branches.START_LOG).toPath() );
+
+         if ( !(starts.equals(java.util.Arrays.asList("4","3","2","1"))) )
+         {
+            testManager.addException( new Exception("The branches started in the order " + starts + ", expected [4, 3, 2, 1]") );
+         }
+      }
+   }
+}
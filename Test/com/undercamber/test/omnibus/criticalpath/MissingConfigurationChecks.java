@@ -0,0 +1,87 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.criticalpath;
+
+import com.undercamber.*;
+
+/**
+ * Runs the Branches test set with -criticalPathFirst in a nested Undercamber
+ * after a ConfigurationRemover test set, in one process at a time, so
+ * Branches starts its second pass with no configuration tree and no
+ * previous results.  The test set must report that its first-pass results
+ * are missing, instead of failing to queue its tests, and the remover must
+ * succeed.
+ */
+final public class MissingConfigurationChecks
+   implements TestUnit
+{
+   final private static String REMOVER_TEST_SET_NAME = "ConfigurationRemover";
+   final private static String REMOVER_HEADING       = "com.undercamber.ConfigurationRemover.runTest()";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+      String                         state;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "MissingConfiguration",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-criticalPathFirst",
+                                                         "true",
+                                                         "-processCount",
+                                                         "1",
+                                                         "-p",
+                                                         REMOVER_TEST_SET_NAME,
+                                                         "-p",
+                                                         ConfigurationRemover.TARGET_TEST_SET_NAME );
+         nestedRun.run();
+
+         state = nestedRun.getResult( REMOVER_TEST_SET_NAME,
+                                      REMOVER_HEADING );
+         if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+         {
+            testManager.addException( new Exception(REMOVER_TEST_SET_NAME + " is " + state) );
+         }
+
+         if ( !(nestedRun.outputContains("Could not read the first-pass results of test set " + ConfigurationRemover.TARGET_TEST_SET_NAME)) )
+         {
+            testManager.addException( new Exception("The nested run did not report the missing configuration tree") );
+         }
+
+         if ( nestedRun.outputContains("ClassCastException") )
+         {
+            testManager.addException( new Exception("The nested run could not queue a test without a configuration tree") );
+         }
+      }
+   }
+}
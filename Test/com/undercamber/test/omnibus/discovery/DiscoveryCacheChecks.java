@@ -0,0 +1,120 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.discovery;
+
+import com.undercamber.*;
+
+/**
+ * Runs the ProbeCached test set in three nested Undercambers with
+ * -discoveryCache.  Its class path includes a directory that this test
+ * writes.  The first run must discover the test set, the second must take
+ * it from the cache, and the third, after a file in that directory has
+ * changed, must discover it again.  Every run must run the second pass.
+ */
+final public class DiscoveryCacheChecks
+   implements TestUnit
+{
+   final public static String CLASS_PATH_ENTRY = "ClassPathEntry";
+
+   final private static String TEST_SET_NAME = "ProbeCached";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR );
+
+      testManager.addSubtest( tm -> run(tm,"First","1",true) );
+      testManager.addSubtest( tm -> run(tm,"Unchanged",null,false) );
+      testManager.addSubtest( tm -> run(tm,"Changed","22",true) );
+   }
+
+   final private void run( TestManager testManager,
+                           String      name,
+                           String      classPathFileContent,
+                           boolean     expectDiscovery )
+      throws Throwable
+   {
+      boolean                                          verify;
+      com.undercamber.test.NestedRun                   nestedRun;
+      java.io.File                                     classPathEntry;
+      java.util.List<com.undercamber.test.ProbeRecord> probeRecords;
+      int                                              passCounts[];
+      String                                           state;
+
+      verify = testManager.initialize( name );
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "DiscoveryCache" + name,
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-discoveryCache",
+                                                         "true",
+                                                         "-p",
+                                                         TEST_SET_NAME );
+
+         if ( classPathFileContent != null )
+         {
+            classPathEntry = new java.io.File( nestedRun.getResultsDirectory().getParentFile(), CLASS_PATH_ENTRY );
+            classPathEntry.mkdirs();
+
+            try ( java.io.PrintStream printStream = new java.io.PrintStream(new java.io.File(classPathEntry,"Entry.txt")) )
+            {
+               printStream.print( classPathFileContent );
+            }
+         }
+
+         nestedRun.run();
+
+         state = nestedRun.getResult( TEST_SET_NAME,
+                                      com.undercamber.test.Probe.ROOT_HEADING );
+         if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+         {
+            testManager.addException( new Exception(TEST_SET_NAME + " is " + state) );
+         }
+
+         probeRecords = com.undercamber.test.Probe.read( nestedRun,
+                                                         TEST_SET_NAME );
+
+         passCounts = new int[ 3 ];
+         for ( com.undercamber.test.ProbeRecord probeRecord : probeRecords )
+         {
+            passCounts[ probeRecord.getPass() ]++;
+         }
+
+         if ( (passCounts[1]>0) != expectDiscovery )
+         {
+            testManager.addException( new Exception("The test set was " + ((passCounts[1]>0) ? "" : "not ") + "discovered") );
+         }
+
+         if ( passCounts[2] != (com.undercamber.test.Probe.LEAF_COUNT+1) )
+         {
+            testManager.addException( new Exception(passCounts[2] + " second-pass tests ran, expected " + (com.undercamber.test.Probe.LEAF_COUNT+1)) );
+         }
+      }
+   }
+}
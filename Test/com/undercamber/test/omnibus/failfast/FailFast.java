@@ -0,0 +1,186 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.failfast;
+
+import com.undercamber.*;
+
+/**
+ * Run in the nested suite on two threads.  In the FailFast test set, the
+ * root runs a CONCURRENT group and then a later branch, in sequence.  In
+ * the group, failing fails while running is still running, and running
+ * finishes after the failure.  In the FailFastLater test set, the root has
+ * one subtest.  In the second pass, each test logs its name when it runs.
+ */
+final public class FailFast
+   implements TestUnit
+{
+   final static String RUN_LOG                = "Runs.txt";
+   final static String LATER_TEST_SET_NAME    = "FailFastLater";
+
+   final private static long RENDEZVOUS_TIMEOUT = 10000L;
+   final private static long FINISH_DELAY       = 2000L;
+
+   final private static java.util.concurrent.CountDownLatch _runningStarted = new java.util.concurrent.CountDownLatch( 1 );
+   final private static java.util.concurrent.CountDownLatch _failingStarted = new java.util.concurrent.CountDownLatch( 1 );
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      if ( testManager.getTestSetName().equals(LATER_TEST_SET_NAME) )
+      {
+         verify = testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+         log( testManager,
+              verify,
+              "laterRoot" );
+
+         testManager.addSubtest( tm -> leaf(tm,"laterLeaf") );
+      }
+      else
+      {
+         verify = testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+         log( testManager,
+              verify,
+              "root" );
+
+         testManager.addSubtest( tm -> group(tm) );
+         testManager.addSubtest( tm -> later(tm) );
+      }
+   }
+
+   final private void group( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      log( testManager,
+           verify,
+           "group" );
+
+      testManager.addSubtest( tm -> running(tm) );
+      testManager.addSubtest( tm -> failing(tm) );
+   }
+
+   final private void running( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      log( testManager,
+           verify,
+           "running" );
+
+      if ( verify )
+      {
+         _runningStarted.countDown();
+
+         if ( !(_failingStarted.await(RENDEZVOUS_TIMEOUT,java.util.concurrent.TimeUnit.MILLISECONDS)) )
+         {
+            testManager.addException( new Exception("running did not run at the same time as failing") );
+         }
+
+         Thread.sleep( FINISH_DELAY );
+      }
+   }
+
+   final private void failing( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      log( testManager,
+           verify,
+           "failing" );
+
+      if ( verify )
+      {
+         _failingStarted.countDown();
+
+         if ( !(_runningStarted.await(RENDEZVOUS_TIMEOUT,java.util.concurrent.TimeUnit.MILLISECONDS)) )
+         {
+            testManager.addException( new Exception("failing did not run at the same time as running") );
+         }
+
+         testManager.addException( new Exception("Intentional failure") );
+      }
+   }
+
+   final private void later( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      log( testManager,
+           verify,
+           "later" );
+
+      testManager.addSubtest( tm -> leaf(tm,"laterChild") );
+   }
+
+   final private void leaf( TestManager testManager,
+                            String      name )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( name );
+
+      log( testManager,
+           verify,
+           name );
+   }
+
+   final private static void log( TestManager testManager,
+                                  boolean     verify,
+                                  String      name )
+      throws java.io.IOException
+   {
+      if ( verify )
+      {
+         synchronized ( FailFast.class )
+         {
+            testManager.getUserWorkingDirectory().mkdirs();
+
+            try ( java.io.PrintStream printStream = new java.io.PrintStream(new java.io.FileOutputStream(new java.io.File(testManager.getUserWorkingDirectory(),RUN_LOG),true)) )
+            {
+               printStream.println( name );
+            }
+         }
+      }
+   }
+}
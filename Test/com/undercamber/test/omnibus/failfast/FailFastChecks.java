@@ -0,0 +1,103 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.failfast;
+
+import com.undercamber.*;
+
+/**
+ * Runs the FailFast and FailFastLater test sets in a nested Undercamber with
+ * -failFast true, one process at a time.  When failing fails, running must
+ * still finish and succeed.  The later branch of FailFast, and all of
+ * FailFastLater, must be recorded as SKIPPED_DUE_TO_FAIL_FAST, and they must
+ * not run.
+ */
+final public class FailFastChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAME = "FailFast";
+   final private static String CLASS_NAME    = "com.undercamber.test.omnibus.failfast.FailFast";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                          verify;
+      com.undercamber.test.NestedRun   nestedRun;
+      String                           expectedStates[][];
+      java.util.List<String>           runs;
+      String                           state;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "FailFast",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-failFast",
+                                                         "true",
+                                                         "-processCount",
+                                                         "1",
+                                                         "-p",
+                                                         TEST_SET_NAME,
+                                                         "-p",
+                                                         FailFast.LATER_TEST_SET_NAME );
+         nestedRun.run();
+
+         expectedStates = new String[][] { { TEST_SET_NAME,                CLASS_NAME + ".running()",         "COMPLETE_SUCCEEDED" },
+                                           { TEST_SET_NAME,                CLASS_NAME + ".failing()",         "COMPLETE_FAILED" },
+                                           { TEST_SET_NAME,                CLASS_NAME + ".later()",           "SKIPPED_DUE_TO_FAIL_FAST" },
+                                           { TEST_SET_NAME,                CLASS_NAME + ".leaf(laterChild)",  "SKIPPED_DUE_TO_FAIL_FAST" },
+                                           { FailFast.LATER_TEST_SET_NAME, CLASS_NAME + ".runTest()",         "SKIPPED_DUE_TO_FAIL_FAST" },
+                                           { FailFast.LATER_TEST_SET_NAME, CLASS_NAME + ".leaf(laterLeaf)",   "SKIPPED_DUE_TO_FAIL_FAST" } };
+
+         for ( String expectedState[] : expectedStates )
+         {
+            state = nestedRun.getResult( expectedState[0],
+                                         expectedState[1] );
+            if ( !(expectedState[2].equals(state)) )
+            {
+               testManager.addException( new Exception(expectedState[0] + "/" + expectedState[1] + " is " + state + ", not " + expectedState[2]) );
+            }
+         }
+
+         runs = java.nio.file.Files.readAllLines( new java.io.File(new java.io.File(nestedRun.getResultsDirectory(),"work"),FailFast.RUN_LOG).toPath() );
+
+         if ( !(runs.contains("running")) || !(runs.contains("failing")) )
+         {
+            testManager.addException( new Exception("The concurrent tests did not run:  " + runs) );
+         }
+
+         for ( String name : new String[] { "later", "laterChild", "laterRoot", "laterLeaf" } )
+         {
+            if ( runs.contains(name) )
+            {
+               testManager.addException( new Exception(name + " ran after the fail-fast failure") );
+            }
+         }
+      }
+   }
+}
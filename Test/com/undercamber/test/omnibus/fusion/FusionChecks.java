@@ -0,0 +1,123 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.fusion;
+
+import com.undercamber.*;
+
+/**
+ * Runs three Fused test sets in a nested Undercamber with -fusePasses and
+ * room for two resident processes.  The first two test sets must run both
+ * passes in one process each, and the third must be discovered and run in
+ * separate processes with a warning.
+ */
+final public class FusionChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAMES[]       = { "Fused1", "Fused2", "Fused3" };
+   final private static int    RESIDENT_PROCESS_COUNT = 2;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+      java.io.File                   workingDirectory;
+      int                            index;
+      String                         state;
+      String                         pass1ProcessID;
+      String                         pass2ProcessID;
+      boolean                        fused;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "Fusion",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-processCount",
+                                                         "1",
+                                                         "-fusePasses",
+                                                         "true",
+                                                         "-residentProcesses",
+                                                         Integer.toString(RESIDENT_PROCESS_COUNT),
+                                                         "-p",
+                                                         TEST_SET_NAMES[0],
+                                                         "-p",
+                                                         TEST_SET_NAMES[1],
+                                                         "-p",
+                                                         TEST_SET_NAMES[2] );
+         nestedRun.run();
+
+         workingDirectory = new java.io.File( nestedRun.getResultsDirectory(), "work" );
+
+         for ( index=0; index<TEST_SET_NAMES.length; index++ )
+         {
+            state = nestedRun.getResult( TEST_SET_NAMES[index],
+                                         "com.undercamber.test.omnibus.fusion.Fused.runTest()" );
+            if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+            {
+               testManager.addException( new Exception(TEST_SET_NAMES[index] + " is " + state) );
+            }
+
+            pass1ProcessID = readProcessID( Fused.getProcessIDFile(workingDirectory,
+                                                                   TEST_SET_NAMES[index],
+                                                                   false) );
+            pass2ProcessID = readProcessID( Fused.getProcessIDFile(workingDirectory,
+                                                                   TEST_SET_NAMES[index],
+                                                                   true) );
+
+            fused = (pass1ProcessID!=null) && pass1ProcessID.equals( pass2ProcessID );
+
+            if ( fused != (index<RESIDENT_PROCESS_COUNT) )
+            {
+               testManager.addException( new Exception(TEST_SET_NAMES[index] + " ran its passes in processes " + pass1ProcessID + " and " + pass2ProcessID) );
+            }
+         }
+
+         if ( !(nestedRun.outputContains("Warning:  All " + RESIDENT_PROCESS_COUNT + " resident processes are in use.  Test set " + TEST_SET_NAMES[2] + " is discovered and run in separate processes.")) )
+         {
+            testManager.addException( new Exception("No warning was printed when " + TEST_SET_NAMES[2] + " could not be fused") );
+            testManager.addMessage( nestedRun.getOutput() );
+         }
+      }
+   }
+
+   final private static String readProcessID( java.io.File file )
+      throws java.io.IOException
+   {
+      if ( !(file.isFile()) )
+      {
+         return null;
+      }
+
+      try ( java.io.BufferedReader bufferedReader = new java.io.BufferedReader(new java.io.FileReader(file)) )
+      {
+         return bufferedReader.readLine();
+      }
+   }
+}
@@ -0,0 +1,124 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.inprocess;
+
+import com.undercamber.*;
+
+/**
+ * Runs two Probe test sets in a nested Undercamber with -inProcess and one
+ * process.  Probe1 has the class path and JVM of the nested Undercamber, so
+ * both of its passes must run in the Undercamber process.  ProbeForked has
+ * an extra JVM parameter, so it must run in test set processes.  Every test
+ * must succeed.
+ */
+final public class InProcessChecks
+   implements TestUnit
+{
+   final private static String IN_PROCESS_TEST_SET_NAME = "Probe1";
+   final private static String FORKED_TEST_SET_NAME     = "ProbeForked";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "InProcess",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-processCount",
+                                                         "1",
+                                                         "-inProcess",
+                                                         "true",
+                                                         "-p",
+                                                         IN_PROCESS_TEST_SET_NAME,
+                                                         "-p",
+                                                         FORKED_TEST_SET_NAME );
+         nestedRun.run();
+
+         check( testManager,
+                nestedRun,
+                IN_PROCESS_TEST_SET_NAME,
+                true );
+         check( testManager,
+                nestedRun,
+                FORKED_TEST_SET_NAME,
+                false );
+      }
+   }
+
+   final private static void check( TestManager                    testManager,
+                                    com.undercamber.test.NestedRun nestedRun,
+                                    String                         testSetName,
+                                    boolean                        inProcess )
+      throws Throwable
+   {
+      java.util.List<com.undercamber.test.ProbeRecord> probeRecords;
+      int                                              passCounts[];
+      int                                              index;
+      String                                           state;
+
+      state = nestedRun.getResult( testSetName,
+                                   com.undercamber.test.Probe.ROOT_HEADING );
+      if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+      {
+         testManager.addException( new Exception(testSetName + " is " + state) );
+      }
+      for ( index=1; index<=com.undercamber.test.Probe.LEAF_COUNT; index++ )
+      {
+         state = nestedRun.getResult( testSetName,
+                                      com.undercamber.test.Probe.getLeafHeading(index) );
+         if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+         {
+            testManager.addException( new Exception(testSetName + " leaf " + index + " is " + state) );
+         }
+      }
+
+      probeRecords = com.undercamber.test.Probe.read( nestedRun,
+                                                      testSetName );
+
+      passCounts = new int[ 3 ];
+      for ( com.undercamber.test.ProbeRecord probeRecord : probeRecords )
+      {
+         passCounts[ probeRecord.getPass() ]++;
+
+         if ( (probeRecord.getProcessID()==nestedRun.getProcessID()) != inProcess )
+         {
+            testManager.addException( new Exception(testSetName + " ran " + probeRecord.getName() + " in pass " + probeRecord.getPass() + (inProcess ? " outside" : " inside") + " the Undercamber process") );
+         }
+      }
+
+      if ( (passCounts[1]==0) || (passCounts[2]==0) )
+      {
+         testManager.addException( new Exception(testSetName + " recorded " + passCounts[1] + " first-pass and " + passCounts[2] + " second-pass tests") );
+      }
+   }
+}
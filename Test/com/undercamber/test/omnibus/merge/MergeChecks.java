@@ -0,0 +1,167 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.merge;
+
+import com.undercamber.*;
+
+/**
+ * Runs two Probe test sets as two shards and once more with leaf 2
+ * failing, then merges the results in further nested Undercambers.
+ * Merging the shards must give every test the state from the shard in
+ * which it ran.  Merging the failing run as well must make leaf 2 fail,
+ * since a failure takes precedence over a success.
+ */
+final public class MergeChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAMES[] = { "Probe1", "Probe2" };
+   final private static int    FAILING_LEAF     = 2;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun shard1Run;
+      com.undercamber.test.NestedRun shard2Run;
+      com.undercamber.test.NestedRun failingRun;
+      com.undercamber.test.NestedRun mergedRun;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         shard1Run = new com.undercamber.test.NestedRun( testManager,
+                                                         "MergeShard1",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-shard",
+                                                         "1/2",
+                                                         "-p",
+                                                         TEST_SET_NAMES[0],
+                                                         "-p",
+                                                         TEST_SET_NAMES[1] );
+         shard1Run.run();
+
+         shard2Run = new com.undercamber.test.NestedRun( testManager,
+                                                         "MergeShard2",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-shard",
+                                                         "2/2",
+                                                         "-p",
+                                                         TEST_SET_NAMES[0],
+                                                         "-p",
+                                                         TEST_SET_NAMES[1] );
+         shard2Run.run();
+
+         failingRun = new com.undercamber.test.NestedRun( testManager,
+                                                          "MergeFailing",
+                                                          "com.undercamber.test.NestedConfigurationCallback",
+                                                          "-p",
+                                                          TEST_SET_NAMES[0],
+                                                          "-p",
+                                                          TEST_SET_NAMES[1],
+                                                          "-pp",
+                                                          com.undercamber.test.Probe.FAIL_PARAMETER,
+                                                          Integer.toString(FAILING_LEAF) );
+         failingRun.run();
+
+         mergedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "MergedShards",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-p",
+                                                         TEST_SET_NAMES[0],
+                                                         "-p",
+                                                         TEST_SET_NAMES[1],
+                                                         "-merge",
+                                                         shard1Run.getResultsDirectory().getAbsolutePath(),
+                                                         "-merge",
+                                                         shard2Run.getResultsDirectory().getAbsolutePath() );
+         mergedRun.run();
+
+         checkMerge( testManager,
+                     mergedRun,
+                     "COMPLETE_SUCCEEDED" );
+
+         mergedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "MergedFailure",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-p",
+                                                         TEST_SET_NAMES[0],
+                                                         "-p",
+                                                         TEST_SET_NAMES[1],
+                                                         "-merge",
+                                                         shard1Run.getResultsDirectory().getAbsolutePath(),
+                                                         "-merge",
+                                                         shard2Run.getResultsDirectory().getAbsolutePath(),
+                                                         "-merge",
+                                                         failingRun.getResultsDirectory().getAbsolutePath() );
+         mergedRun.run();
+
+         checkMerge( testManager,
+                     mergedRun,
+                     "COMPLETE_FAILED" );
+      }
+   }
+
+   // Every test of the merged run must have succeeded, except that the
+   // failing leaves must have the given state
+
+   final private static void checkMerge( TestManager                    testManager,
+                                         com.undercamber.test.NestedRun mergedRun,
+                                         String                         expectedFailingLeafState )
+      throws Exception
+   {
+      int    index;
+      String expectedState;
+      String state;
+
+      if ( !(mergedRun.outputContains("Merging results from")) )
+      {
+         testManager.addException( new Exception("The nested run did not merge") );
+      }
+
+      for ( String testSetName : TEST_SET_NAMES )
+      {
+         state = mergedRun.getResult( testSetName,
+                                      com.undercamber.test.Probe.ROOT_HEADING );
+         if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+         {
+            testManager.addException( new Exception(testSetName + " is " + state) );
+         }
+
+         for ( index=1; index<=com.undercamber.test.Probe.LEAF_COUNT; index++ )
+         {
+            expectedState = ( (index==FAILING_LEAF) ? expectedFailingLeafState : "COMPLETE_SUCCEEDED" );
+            state = mergedRun.getResult( testSetName,
+                                         com.undercamber.test.Probe.getLeafHeading(index) );
+            if ( !(expectedState.equals(state)) )
+            {
+               testManager.addException( new Exception(testSetName + " leaf " + index + " is " + state + ", expected " + expectedState) );
+            }
+         }
+      }
+   }
+}
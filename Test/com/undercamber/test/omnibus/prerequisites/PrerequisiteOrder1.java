@@ -0,0 +1,107 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.prerequisites;
+
+import com.undercamber.*;
+
+/**
+ * Five subtests run with CONCURRENT_IN_PREREQUISITE_ORDER.  B and C require
+ * A, D requires B and C, and E has no prerequisites.  Each subtest checks
+ * that its prerequisites finished before it started, and A with E and B
+ * with C check that they ran at the same time.
+ */
+final public class PrerequisiteOrder1
+   implements TestUnit
+{
+   final private static long RENDEZVOUS_TIMEOUT = 10000L;
+
+   final private static java.util.Set<String>                                     _finishedSteps = java.util.concurrent.ConcurrentHashMap.newKeySet();
+   final private static java.util.Map<String,java.util.concurrent.CountDownLatch> _startLatches  = new java.util.concurrent.ConcurrentHashMap<String,java.util.concurrent.CountDownLatch>();
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.CONCURRENT_IN_PREREQUISITE_ORDER );
+
+      testManager.addSubtest( tm -> step(tm,"A","E") );
+      testManager.addSubtest( tm -> step(tm,"B","C","A") );
+      testManager.addSubtest( tm -> step(tm,"C","B","A") );
+      testManager.addSubtest( tm -> step(tm,"D",null,"B","C") );
+      testManager.addSubtest( tm -> step(tm,"E","A") );
+   }
+
+   final private void step( TestManager testManager,
+                            String      name,
+                            String      concurrentStep,
+                            String...   prerequisiteSteps )
+      throws Throwable
+   {
+      Prerequisite prerequisites[];
+      int          index;
+      boolean      verify;
+
+      prerequisites = new Prerequisite[ prerequisiteSteps.length ];
+      for ( index=0; index<prerequisites.length; index++ )
+      {
+         prerequisites[ index ] = new Prerequisite( "com.undercamber.test.omnibus.prerequisites.PrerequisiteOrder1",
+                                                    "step",
+                                                    prerequisiteSteps[index] );
+      }
+
+      verify = testManager.initialize( name,
+                                       prerequisites );
+
+      if ( verify )
+      {
+         for ( String prerequisiteStep : prerequisiteSteps )
+         {
+            if ( !(_finishedSteps.contains(prerequisiteStep)) )
+            {
+               testManager.addException( new Exception("Step " + name + " started before its prerequisite " + prerequisiteStep + " finished") );
+            }
+         }
+
+         if ( concurrentStep != null )
+         {
+            getStartLatch( name ).countDown();
+
+            if ( !(getStartLatch(concurrentStep).await(RENDEZVOUS_TIMEOUT,java.util.concurrent.TimeUnit.MILLISECONDS)) )
+            {
+               testManager.addException( new Exception("Step " + name + " did not run at the same time as step " + concurrentStep) );
+            }
+         }
+
+         _finishedSteps.add( name );
+      }
+   }
+
+   final private static java.util.concurrent.CountDownLatch getStartLatch( String name )
+   {
+      return _startLatches.computeIfAbsent( name,
+                                            key -> new java.util.concurrent.CountDownLatch(1) );
+   }
+}
@@ -0,0 +1,125 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.prerequisites;
+
+import com.undercamber.*;
+
+/**
+ * A CONCURRENT test whose branches are linked by a prerequisite:  rightLeaf
+ * requires leftLeaf.  With ordered prerequisites, right runs after left
+ * finishes, and other runs at the same time as left.  Without them, the
+ * first pass reports a race condition.
+ */
+final public class PrerequisiteOrder2
+   implements TestUnit
+{
+   final private static long RENDEZVOUS_TIMEOUT = 10000L;
+
+   final private static java.util.concurrent.atomic.AtomicBoolean _leftLeafFinished = new java.util.concurrent.atomic.AtomicBoolean();
+   final private static java.util.concurrent.CountDownLatch       _leftLeafStarted  = new java.util.concurrent.CountDownLatch( 1 );
+   final private static java.util.concurrent.CountDownLatch       _otherStarted     = new java.util.concurrent.CountDownLatch( 1 );
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      testManager.addSubtest( tm -> left(tm) );
+      testManager.addSubtest( tm -> right(tm) );
+      testManager.addSubtest( tm -> other(tm) );
+   }
+
+   final private void left( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+
+      testManager.addSubtest( tm -> leftLeaf(tm) );
+   }
+
+   final private void leftLeaf( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         _leftLeafStarted.countDown();
+
+         if ( !(_otherStarted.await(RENDEZVOUS_TIMEOUT,java.util.concurrent.TimeUnit.MILLISECONDS)) )
+         {
+            testManager.addException( new Exception("leftLeaf did not run at the same time as other") );
+         }
+
+         _leftLeafFinished.set( true );
+      }
+   }
+
+   final private void right( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+
+      testManager.addSubtest( tm -> rightLeaf(tm) );
+   }
+
+   final private void rightLeaf( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( TestManager.toArray(new Prerequisite("com.undercamber.test.omnibus.prerequisites.PrerequisiteOrder2","leftLeaf")) );
+
+      if ( verify )
+      {
+         if ( !(_leftLeafFinished.get()) )
+         {
+            testManager.addException( new Exception("rightLeaf started before its prerequisite leftLeaf finished") );
+         }
+      }
+   }
+
+   final private void other( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         _otherStarted.countDown();
+
+         if ( !(_leftLeafStarted.await(RENDEZVOUS_TIMEOUT,java.util.concurrent.TimeUnit.MILLISECONDS)) )
+         {
+            testManager.addException( new Exception("other did not run at the same time as leftLeaf") );
+         }
+      }
+   }
+}
@@ -0,0 +1,118 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.processes;
+
+import com.undercamber.*;
+
+/**
+ * Runs the Processes test sets in a nested Undercamber with -processCount 2.
+ * Processes2 is configured before Processes3, but its prerequisite is in
+ * Processes1, so it must wait for Processes1 while Processes3 takes the
+ * second process.  Processes1 and Processes3 run at the same time, but the
+ * console output of each test set must be printed as one block, in order,
+ * without lines from the other test sets.
+ */
+final public class ProcessChecks
+   implements TestUnit
+{
+   final private static String CLASS_NAME = "com.undercamber.test.omnibus.processes.Processes";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+      String                         state;
+      java.util.List<String>         blocks;
+      String                         testSetName;
+      int                            lineIndex;
+      int                            tagIndex;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "Processes",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-processCount",
+                                                         "2",
+                                                         "-p",
+                                                         Processes.PROVIDER_TEST_SET_NAME,
+                                                         "-p",
+                                                         Processes.DEPENDENT_TEST_SET_NAME,
+                                                         "-p",
+                                                         Processes.CONCURRENT_TEST_SET_NAME );
+         nestedRun.run();
+
+         for ( String name : new String[] { Processes.PROVIDER_TEST_SET_NAME, Processes.DEPENDENT_TEST_SET_NAME, Processes.CONCURRENT_TEST_SET_NAME } )
+         {
+            state = nestedRun.getResult( name,
+                                         CLASS_NAME + ".runTest()" );
+            if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+            {
+               testManager.addException( new Exception(name + " is " + state) );
+            }
+         }
+
+         blocks = new java.util.ArrayList<String>();
+         lineIndex = 0;
+
+         for ( String line : nestedRun.getOutput().split("\\r?\\n") )
+         {
+            tagIndex = line.indexOf( Processes.LINE_TAG );
+            if ( tagIndex >= 0 )
+            {
+               testSetName = line.substring( 0, tagIndex );
+
+               if ( lineIndex == 0 )
+               {
+                  blocks.add( testSetName );
+               }
+               else if ( !(testSetName.equals(blocks.get(blocks.size()-1))) )
+               {
+                  testManager.addException( new Exception("The output of " + testSetName + " is mixed with the output of " + blocks.get(blocks.size()-1)) );
+                  return;
+               }
+
+               if ( !(line.equals(testSetName+Processes.LINE_TAG+lineIndex)) )
+               {
+                  testManager.addException( new Exception("Output line " + lineIndex + " of " + testSetName + " is \"" + line + "\"") );
+                  return;
+               }
+
+               lineIndex = ( lineIndex + 1 ) % Processes.LINE_COUNT;
+            }
+         }
+
+         if ( (blocks.size()!=3) || (blocks.indexOf(Processes.PROVIDER_TEST_SET_NAME)>blocks.indexOf(Processes.DEPENDENT_TEST_SET_NAME)) )
+         {
+            testManager.addException( new Exception("The test set output is in the order " + blocks + ", with " + Processes.DEPENDENT_TEST_SET_NAME + " after " + Processes.PROVIDER_TEST_SET_NAME + " expected") );
+         }
+      }
+   }
+}
@@ -0,0 +1,186 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.processes;
+
+import com.undercamber.*;
+
+/**
+ * Run in the nested suite, with one process for each of two test sets at a
+ * time.  In Processes1, provider waits for Processes3 to start, so the two
+ * test set processes run at the same time.  In Processes2, dependent
+ * requires provider, so its process must not start until Processes1 has
+ * finished.  Each test prints LINE_COUNT lines tagged with its test set
+ * name, so the checks can find lines from different processes that are
+ * mixed together.
+ */
+final public class Processes
+   implements TestUnit
+{
+   final static String PROVIDER_TEST_SET_NAME    = "Processes1";
+   final static String DEPENDENT_TEST_SET_NAME   = "Processes2";
+   final static String CONCURRENT_TEST_SET_NAME  = "Processes3";
+   final static String LINE_TAG                  = " output line ";
+   final static int    LINE_COUNT                = 50;
+
+   final private static long RENDEZVOUS_TIMEOUT = 30000L;
+   final private static long POLL_INTERVAL      = 10L;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_CONTINUE_ON_ERROR );
+
+      switch ( testManager.getTestSetName() )
+      {
+         case PROVIDER_TEST_SET_NAME:
+         {
+            testManager.addSubtest( tm -> provider(tm) );
+            break;
+         }
+         case DEPENDENT_TEST_SET_NAME:
+         {
+            testManager.addSubtest( tm -> dependent(tm) );
+            break;
+         }
+         default:
+         {
+            testManager.addSubtest( tm -> concurrent(tm) );
+            break;
+         }
+      }
+   }
+
+   final private void provider( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         rendezvous( testManager,
+                     CONCURRENT_TEST_SET_NAME );
+
+         printLines( testManager );
+
+         getMarkerFile( testManager,
+                        "finished" ).createNewFile();
+      }
+   }
+
+   final private void dependent( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( TestManager.toArray(new Prerequisite("com.undercamber.test.omnibus.processes.Processes",
+                                                                            "provider",
+                                                                            Prerequisite.IncludeSubtests.DONT_INCLUDE_SUBTESTS,
+                                                                            PROVIDER_TEST_SET_NAME)) );
+
+      if ( verify )
+      {
+         if ( !(new java.io.File(testManager.getUserWorkingDirectory(),PROVIDER_TEST_SET_NAME+".finished").exists()) )
+         {
+            testManager.addException( new Exception(DEPENDENT_TEST_SET_NAME + " started before " + PROVIDER_TEST_SET_NAME + " finished") );
+         }
+
+         printLines( testManager );
+      }
+   }
+
+   final private void concurrent( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         rendezvous( testManager,
+                     PROVIDER_TEST_SET_NAME );
+
+         printLines( testManager );
+      }
+   }
+
+   /**
+    * Marks this test set as started, and waits until the other test set has
+    * started too.
+    */
+   final private static void rendezvous( TestManager testManager,
+                                         String      otherTestSetName )
+      throws Throwable
+   {
+      java.io.File otherStarted;
+      long         deadline;
+
+      testManager.getUserWorkingDirectory().mkdirs();
+
+      getMarkerFile( testManager,
+                     "started" ).createNewFile();
+
+      otherStarted = new java.io.File( testManager.getUserWorkingDirectory(),
+                                       otherTestSetName + ".started" );
+
+      deadline = System.currentTimeMillis() + RENDEZVOUS_TIMEOUT;
+
+      while ( !(otherStarted.exists()) )
+      {
+         if ( System.currentTimeMillis() > deadline )
+         {
+            testManager.addException( new Exception(testManager.getTestSetName() + " did not run at the same time as " + otherTestSetName) );
+            return;
+         }
+
+         Thread.sleep( POLL_INTERVAL );
+      }
+   }
+
+   final private static void printLines( TestManager testManager )
+      throws Throwable
+   {
+      int index;
+
+      for ( index=0; index<LINE_COUNT; index++ )
+      {
+         System.out.println( testManager.getTestSetName() + LINE_TAG + index );
+         System.out.flush();
+
+         Thread.sleep( POLL_INTERVAL );
+      }
+   }
+
+   final private static java.io.File getMarkerFile( TestManager testManager,
+                                                    String      event )
+   {
+      return new java.io.File( testManager.getUserWorkingDirectory(),
+                               testManager.getTestSetName() + "." + event );
+   }
+}
@@ -0,0 +1,145 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.progress;
+
+import com.undercamber.*;
+
+/**
+ * Runs a Probe test set with a failing leaf in a nested Undercamber with
+ * -progressEvents, and again without it.  With the events, the states in
+ * the report, the exception message, and the progress lines printed for
+ * each test must be the same as when the results are read from disk.
+ */
+final public class ProgressEventChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAME = "Probe1";
+   final private static int    FAILING_LEAF  = 3;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun eventRun;
+      com.undercamber.test.NestedRun fileRun;
+      java.util.List<String>         eventProgressLines;
+      java.util.List<String>         fileProgressLines;
+      int                            index;
+      String                         expectedState;
+      String                         state;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         eventRun = new com.undercamber.test.NestedRun( testManager,
+                                                        "ProgressEvents",
+                                                        "com.undercamber.test.NestedConfigurationCallback",
+                                                        "-progressEvents",
+                                                        "true",
+                                                        "-p",
+                                                        TEST_SET_NAME,
+                                                        "-pp",
+                                                        com.undercamber.test.Probe.FAIL_PARAMETER,
+                                                        Integer.toString(FAILING_LEAF) );
+         eventRun.run();
+
+         fileRun = new com.undercamber.test.NestedRun( testManager,
+                                                       "ProgressFiles",
+                                                       "com.undercamber.test.NestedConfigurationCallback",
+                                                       "-progressEvents",
+                                                       "false",
+                                                       "-p",
+                                                       TEST_SET_NAME,
+                                                       "-pp",
+                                                       com.undercamber.test.Probe.FAIL_PARAMETER,
+                                                       Integer.toString(FAILING_LEAF) );
+         fileRun.run();
+
+         state = eventRun.getResult( TEST_SET_NAME,
+                                     com.undercamber.test.Probe.ROOT_HEADING );
+         if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+         {
+            testManager.addException( new Exception(TEST_SET_NAME + " is " + state) );
+         }
+
+         for ( index=1; index<=com.undercamber.test.Probe.LEAF_COUNT; index++ )
+         {
+            expectedState = ( (index==FAILING_LEAF) ? "COMPLETE_FAILED" : "COMPLETE_SUCCEEDED" );
+            state = eventRun.getResult( TEST_SET_NAME,
+                                        com.undercamber.test.Probe.getLeafHeading(index) );
+            if ( !(expectedState.equals(state)) )
+            {
+               testManager.addException( new Exception("Leaf " + index + " is " + state + ", expected " + expectedState) );
+            }
+            state = fileRun.getResult( TEST_SET_NAME,
+                                       com.undercamber.test.Probe.getLeafHeading(index) );
+            if ( !(expectedState.equals(state)) )
+            {
+               testManager.addException( new Exception("Leaf " + index + " is " + state + " without progress events") );
+            }
+         }
+
+         if ( !(eventRun.outputContains("Leaf " + FAILING_LEAF + " fails")) )
+         {
+            testManager.addException( new Exception("The exception message is missing from the output") );
+         }
+
+         eventProgressLines = getProgressLines( eventRun );
+         fileProgressLines = getProgressLines( fileRun );
+
+         if ( eventProgressLines.size() != (com.undercamber.test.Probe.LEAF_COUNT+1) )
+         {
+            testManager.addException( new Exception("Expected a progress line for each test:  " + eventProgressLines) );
+         }
+
+         if ( !(eventProgressLines.equals(fileProgressLines)) )
+         {
+            testManager.addException( new Exception("The progress lines differ:  " + eventProgressLines + " with progress events and " + fileProgressLines + " without") );
+         }
+      }
+   }
+
+   // The lines that report a test passing or failing, in order
+
+   final private static java.util.List<String> getProgressLines( com.undercamber.test.NestedRun nestedRun )
+   {
+      java.util.List<String> progressLines;
+
+      progressLines = new java.util.ArrayList<String>();
+
+      for ( String line : nestedRun.getOutput().split("\\R") )
+      {
+         if ( line.trim().startsWith("com.undercamber.test.Probe.") && (line.endsWith(" passed")||line.endsWith(" failed")) )
+         {
+            progressLines.add( line.trim() );
+         }
+      }
+
+      return progressLines;
+   }
+}
@@ -0,0 +1,189 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.resume;
+
+import com.undercamber.*;
+
+/**
+ * Interrupts a nested run of Resumable while step 2 is running, adds a
+ * partial record to the end of its results journal, and resumes it.  Step 1
+ * must not run again, and the resumed run must report every step as
+ * complete.  Resuming with a changed test structure must be refused.
+ */
+final public class ResumeChecks
+   implements TestUnit
+{
+   final private static long   WAIT_TIMEOUT  = 60000L;
+   final private static long   POLL_INTERVAL = 100L;
+   final private static String TEST_SET_NAME = "Resumable";
+   final private static String CLASS_NAME    = "com.undercamber.test.omnibus.resume.Resumable";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun interruptedRun;
+      com.undercamber.test.NestedRun changedRun;
+      com.undercamber.test.NestedRun resumedRun;
+      java.io.File                   directory;
+      java.io.File                   journalFile;
+      int                            runCounts[];
+      String                         line;
+      int                            index;
+      String                         state;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         interruptedRun = new com.undercamber.test.NestedRun( testManager,
+                                                              "Interrupted",
+                                                              "com.undercamber.test.NestedConfigurationCallback",
+                                                              "-p",
+                                                              TEST_SET_NAME );
+         directory = Resumable.getDirectory( interruptedRun.getResultsDirectory().getParentFile() );
+         if ( directory.isDirectory() )
+         {
+            for ( java.io.File file : directory.listFiles() )
+            {
+               file.delete();
+            }
+         }
+
+         // Interrupt the run while step 2 is running
+
+         interruptedRun.start();
+         waitForFile( new java.io.File(directory,Resumable.STEP_2_STARTED) );
+         interruptedRun.kill();
+         new java.io.File( directory, Resumable.HALT ).createNewFile();
+         waitForFile( new java.io.File(directory,Resumable.HALTING) );
+
+         // A record cut off while it was being written
+
+         journalFile = new java.io.File( interruptedRun.getResultsDirectory(), "UndercamberWorkingDirectory" );
+         journalFile = new java.io.File( journalFile, "tests" );
+         journalFile = new java.io.File( journalFile, "Resumable.journal" );
+         if ( journalFile.isFile() )
+         {
+            try ( java.io.DataOutputStream dataOutputStream = new java.io.DataOutputStream(new java.io.FileOutputStream(journalFile,true)) )
+            {
+               dataOutputStream.writeInt( 2 );
+               dataOutputStream.writeInt( 1000 );
+               dataOutputStream.write( new byte[10] );
+            }
+         }
+         else
+         {
+            testManager.addException( new Exception("The interrupted run did not write " + journalFile.getPath()) );
+         }
+
+         // A changed test structure
+
+         changedRun = new com.undercamber.test.NestedRun( testManager,
+                                                          "Changed",
+                                                          "com.undercamber.test.NestedConfigurationCallback",
+                                                          "-p",
+                                                          TEST_SET_NAME,
+                                                          "-p",
+                                                          "extraStep",
+                                                          "-resume",
+                                                          "Interrupted" );
+         changedRun.run();
+
+         if ( !(changedRun.outputContains("Error:  Cannot resume")) )
+         {
+            testManager.addException( new Exception("Resuming with a changed test structure was not refused") );
+            testManager.addMessage( changedRun.getOutput() );
+         }
+
+         // Resume
+
+         resumedRun = new com.undercamber.test.NestedRun( testManager,
+                                                          "Resumed",
+                                                          "com.undercamber.test.NestedConfigurationCallback",
+                                                          "-p",
+                                                          TEST_SET_NAME,
+                                                          "-resume",
+                                                          "Interrupted" );
+         resumedRun.run();
+
+         if ( !(resumedRun.outputContains("1 test completed earlier and will not run again")) )
+         {
+            testManager.addException( new Exception("Step 1 was not resumed") );
+            testManager.addMessage( resumedRun.getOutput() );
+         }
+
+         state = resumedRun.getResult( TEST_SET_NAME,
+                                       CLASS_NAME + ".runTest()" );
+         if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+         {
+            testManager.addException( new Exception("runTest() is " + state + " in the resumed run") );
+         }
+
+         for ( index=1; index<=3; index++ )
+         {
+            state = resumedRun.getResult( TEST_SET_NAME,
+                                          CLASS_NAME + ".step(" + index + ")" );
+            if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+            {
+               testManager.addException( new Exception("step(" + index + ") is " + state + " in the resumed run") );
+            }
+         }
+
+         runCounts = new int[ 5 ];
+         try ( java.io.BufferedReader bufferedReader = new java.io.BufferedReader(new java.io.FileReader(new java.io.File(directory,Resumable.RUN_LOG))) )
+         {
+            while ( (line=bufferedReader.readLine()) != null )
+            {
+               runCounts[ Integer.parseInt(line.trim()) ]++;
+            }
+         }
+
+         if ( (runCounts[1]!=1) || (runCounts[2]!=2) || (runCounts[3]!=1) )
+         {
+            testManager.addException( new Exception("Steps 1, 2 and 3 ran " + runCounts[1] + ", " + runCounts[2] + " and " + runCounts[3] + " times, expected 1, 2 and 1") );
+         }
+      }
+   }
+
+   final private static void waitForFile( java.io.File file )
+      throws Exception
+   {
+      long deadline;
+
+      deadline = System.currentTimeMillis() + WAIT_TIMEOUT;
+      while ( !(file.isFile()) )
+      {
+         if ( System.currentTimeMillis() > deadline )
+         {
+            throw new Exception( file.getPath() + " was not created" );
+         }
+
+         Thread.sleep( POLL_INTERVAL );
+      }
+   }
+}
@@ -0,0 +1,189 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.shard;
+
+import com.undercamber.*;
+
+/**
+ * Runs pairs of Probe test sets as two shards of nested Undercambers.  The
+ * leaves of the Probe test sets are the units that are shared out, so
+ * every leaf must run in exactly one shard, every leaf that runs must
+ * succeed, and the leaves of the other shard must be skipped by the user.
+ * A test set with no leaves in a shard does not run there at all.  <p>
+ *
+ * With Probe1 and Probe2, each shard must run half of the leaves.  With
+ * Probe1 and ProbeDependent, the root of ProbeDependent requires the first
+ * leaf of Probe1, so every leaf of ProbeDependent must run in the shard
+ * that runs that leaf.
+ */
+final public class ShardChecks
+   implements TestUnit
+{
+   final private static String INDEPENDENT_TEST_SET_NAMES[] = { "Probe1", "Probe2" };
+   final private static String DEPENDENT_TEST_SET_NAMES[]   = { "Probe1", "ProbeDependent" };
+   final private static int    SHARD_COUNT                  = 2;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                       verify;
+      java.util.Map<String,Integer> leafShards;
+      int                           shardLeafCounts[];
+      String                        prerequisite;
+      String                        leaf;
+      int                           index;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         leafShards = runShards( testManager,
+                                 "Shard",
+                                 INDEPENDENT_TEST_SET_NAMES );
+
+         shardLeafCounts = new int[ SHARD_COUNT+1 ];
+         for ( int shard : leafShards.values() )
+         {
+            shardLeafCounts[ shard ]++;
+         }
+
+         for ( index=1; index<=SHARD_COUNT; index++ )
+         {
+            if ( shardLeafCounts[index] != ((INDEPENDENT_TEST_SET_NAMES.length*com.undercamber.test.Probe.LEAF_COUNT)/SHARD_COUNT) )
+            {
+               testManager.addException( new Exception("Shard " + index + " ran " + shardLeafCounts[index] + " leaves") );
+            }
+         }
+
+         leafShards = runShards( testManager,
+                                 "DependentShard",
+                                 DEPENDENT_TEST_SET_NAMES );
+
+         prerequisite = DEPENDENT_TEST_SET_NAMES[0] + " leaf(1)";
+
+         for ( index=1; index<=com.undercamber.test.Probe.LEAF_COUNT; index++ )
+         {
+            leaf = DEPENDENT_TEST_SET_NAMES[1] + " leaf(" + index + ")";
+            if ( leafShards.containsKey(leaf) && leafShards.containsKey(prerequisite) && !(leafShards.get(leaf).equals(leafShards.get(prerequisite))) )
+            {
+               testManager.addException( new Exception(leaf + " ran in shard " + leafShards.get(leaf) + ", but its prerequisite " + prerequisite + " ran in shard " + leafShards.get(prerequisite)) );
+            }
+         }
+      }
+   }
+
+   final private static java.util.Map<String,Integer> runShards( TestManager testManager,
+                                                                 String      resultsSubdirectoryPrefix,
+                                                                 String      testSetNames[] )
+      throws Throwable
+   {
+      com.undercamber.test.NestedRun                   nestedRun;
+      java.util.List<com.undercamber.test.ProbeRecord> probeRecords;
+      java.util.Map<String,Integer>                    leafShards;
+      String                                           leaf;
+      boolean                                          testSetRuns;
+      int                                              shard;
+      int                                              index;
+      String                                           expectedState;
+      String                                           state;
+
+      leafShards = new java.util.TreeMap<String,Integer>();
+
+      for ( shard=1; shard<=SHARD_COUNT; shard++ )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         resultsSubdirectoryPrefix + shard,
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-shard",
+                                                         shard + "/" + SHARD_COUNT,
+                                                         "-p",
+                                                         testSetNames[0],
+                                                         "-p",
+                                                         testSetNames[1] );
+         nestedRun.run();
+
+         for ( String testSetName : testSetNames )
+         {
+            probeRecords = com.undercamber.test.Probe.read( nestedRun,
+                                                            testSetName );
+
+            testSetRuns = false;
+
+            for ( com.undercamber.test.ProbeRecord probeRecord : probeRecords )
+            {
+               if ( (probeRecord.getPass()==2) && probeRecord.getName().startsWith("leaf(") )
+               {
+                  leaf = testSetName + " " + probeRecord.getName();
+                  if ( leafShards.containsKey(leaf) )
+                  {
+                     testManager.addException( new Exception(leaf + " ran in shards " + leafShards.get(leaf) + " and " + shard) );
+                  }
+                  leafShards.put( leaf, shard );
+                  testSetRuns = true;
+               }
+            }
+
+            for ( index=1; index<=com.undercamber.test.Probe.LEAF_COUNT; index++ )
+            {
+               leaf = testSetName + " leaf(" + index + ")";
+               if ( leafShards.containsKey(leaf) && (leafShards.get(leaf)==shard) )
+               {
+                  expectedState = "COMPLETE_SUCCEEDED";
+               }
+               else if ( testSetRuns )
+               {
+                  expectedState = "SKIPPED_BY_USER";
+               }
+               else
+               {
+                  expectedState = "NOT_RUN";
+               }
+               state = nestedRun.getResult( testSetName,
+                                            com.undercamber.test.Probe.getLeafHeading(index) );
+               if ( !(expectedState.equals(state)) )
+               {
+                  testManager.addException( new Exception(leaf + " is " + state + " in shard " + shard + ", expected " + expectedState) );
+               }
+            }
+         }
+      }
+
+      for ( String testSetName : testSetNames )
+      {
+         for ( index=1; index<=com.undercamber.test.Probe.LEAF_COUNT; index++ )
+         {
+            leaf = testSetName + " leaf(" + index + ")";
+            if ( !(leafShards.containsKey(leaf)) )
+            {
+               testManager.addException( new Exception(leaf + " ran in no shard") );
+            }
+         }
+      }
+
+      return leafShards;
+   }
+}
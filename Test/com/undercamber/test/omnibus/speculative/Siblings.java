@@ -0,0 +1,111 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.speculative;
+
+import com.undercamber.*;
+
+/**
+ * Four SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR subtests, each with a child that
+ * has a child of its own.  The second subtest fails, so the third and
+ * fourth, and their descendants, are skipped in a sequential run and
+ * discarded in a speculative run.  Each subtest records when it ran in the
+ * working directory.
+ */
+final public class Siblings
+   implements TestUnit
+{
+   final public static int SIBLING_COUNT = 4;
+
+   final private static long DURATION     = 1000L;
+   final private static int  FAILED_INDEX = 2;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR );
+
+      testManager.addSubtest( tm -> sibling(tm,1) );
+      testManager.addSubtest( tm -> sibling(tm,2) );
+      testManager.addSubtest( tm -> sibling(tm,3) );
+      testManager.addSubtest( tm -> sibling(tm,4) );
+   }
+
+   final private void sibling( TestManager testManager,
+                               int         index )
+      throws Throwable
+   {
+      boolean verify;
+      long    startTime;
+
+      verify = testManager.initialize( Integer.toString(index) );
+
+      if ( verify )
+      {
+         startTime = System.currentTimeMillis();
+
+         Thread.sleep( DURATION );
+
+         try ( java.io.PrintStream printStream = new java.io.PrintStream(getIntervalFile(testManager.getUserWorkingDirectory(),index)) )
+         {
+            printStream.println( startTime );
+            printStream.println( System.currentTimeMillis() );
+         }
+
+         if ( index == FAILED_INDEX )
+         {
+            testManager.addException( new Exception("Sibling " + index + " failed") );
+         }
+      }
+
+      testManager.addSubtest( tm -> siblingChild(tm,
+                                                 index) );
+   }
+
+   final private void siblingChild( TestManager testManager,
+                                    int         index )
+      throws Throwable
+   {
+      testManager.initialize( Integer.toString(index) );
+
+      testManager.addSubtest( tm -> siblingGrandchild(tm,
+                                                      index) );
+   }
+
+   final private void siblingGrandchild( TestManager testManager,
+                                         int         index )
+      throws Throwable
+   {
+      testManager.initialize( Integer.toString(index) );
+   }
+
+   final static java.io.File getIntervalFile( java.io.File workingDirectory,
+                                              int          index )
+   {
+      return new java.io.File( workingDirectory,
+                               "Sibling" + index + ".txt" );
+   }
+}
@@ -0,0 +1,145 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.speculative;
+
+import com.undercamber.*;
+
+/**
+ * Runs Siblings in a nested Undercamber sequentially and then
+ * speculatively.  The speculative run must record the same state for every
+ * test as the sequential run, including the descendants of the siblings it
+ * ran and then discarded.  The siblings after the failed one must be
+ * skipped in both runs, and the four siblings must run at the same time in
+ * the speculative run.
+ */
+final public class SpeculativeChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAME = "Siblings";
+   final private static String CLASS_NAME    = "com.undercamber.test.omnibus.speculative.Siblings";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun sequentialRun;
+      com.undercamber.test.NestedRun speculativeRun;
+      java.util.List<String>         headings;
+      int                            index;
+      String                         sequentialState;
+      String                         speculativeState;
+      long                           latestStartTime;
+      long                           earliestStopTime;
+      java.io.File                   intervalFile;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         sequentialRun = new com.undercamber.test.NestedRun( testManager,
+                                                             "Sequential",
+                                                             "com.undercamber.test.NestedConfigurationCallback",
+                                                             "-p",
+                                                             TEST_SET_NAME,
+                                                             "-speculativeSiblings",
+                                                             "false" );
+         sequentialRun.run();
+
+         speculativeRun = new com.undercamber.test.NestedRun( testManager,
+                                                              "Speculative",
+                                                              "com.undercamber.test.NestedConfigurationCallback",
+                                                              "-p",
+                                                              TEST_SET_NAME,
+                                                              "-speculativeSiblings",
+                                                              "true" );
+         speculativeRun.run();
+
+         headings = new java.util.ArrayList<String>();
+         headings.add( CLASS_NAME + ".runTest()" );
+         for ( index=1; index<=Siblings.SIBLING_COUNT; index++ )
+         {
+            headings.add( CLASS_NAME + ".sibling(" + index + ")" );
+            headings.add( CLASS_NAME + ".siblingChild(" + index + ")" );
+            headings.add( CLASS_NAME + ".siblingGrandchild(" + index + ")" );
+         }
+
+         for ( String heading : headings )
+         {
+            sequentialState = sequentialRun.getResult( TEST_SET_NAME,
+                                                       heading );
+            speculativeState = speculativeRun.getResult( TEST_SET_NAME,
+                                                         heading );
+
+            if ( (sequentialState==null) || !(sequentialState.equals(speculativeState)) )
+            {
+               testManager.addException( new Exception(heading + " is " + speculativeState + " in the speculative run and " + sequentialState + " in the sequential run") );
+            }
+         }
+
+         for ( index=3; index<=Siblings.SIBLING_COUNT; index++ )
+         {
+            if ( !("SKIPPED_DUE_TO_SIBLING_ERROR".equals(sequentialRun.getResult(TEST_SET_NAME,CLASS_NAME+".sibling("+index+")"))) )
+            {
+               testManager.addException( new Exception("Sibling " + index + " was not skipped in the sequential run") );
+            }
+
+            if ( !("SKIPPED_DUE_TO_SIBLING_ERROR".equals(speculativeRun.getResult(TEST_SET_NAME,CLASS_NAME+".sibling("+index+")"))) )
+            {
+               testManager.addException( new Exception("Sibling " + index + " was not skipped in the speculative run") );
+            }
+         }
+
+         latestStartTime = Long.MIN_VALUE;
+         earliestStopTime = Long.MAX_VALUE;
+         for ( index=1; index<=Siblings.SIBLING_COUNT; index++ )
+         {
+            intervalFile = Siblings.getIntervalFile( new java.io.File(speculativeRun.getResultsDirectory(),"work"),
+                                                     index );
+
+            if ( intervalFile.isFile() )
+            {
+               try ( java.io.BufferedReader bufferedReader = new java.io.BufferedReader(new java.io.FileReader(intervalFile)) )
+               {
+                  latestStartTime = Math.max( latestStartTime,
+                                              Long.parseLong(bufferedReader.readLine().trim()) );
+                  earliestStopTime = Math.min( earliestStopTime,
+                                               Long.parseLong(bufferedReader.readLine().trim()) );
+               }
+            }
+            else
+            {
+               testManager.addException( new Exception("Sibling " + index + " did not run in the speculative run") );
+            }
+         }
+
+         if ( latestStartTime >= earliestStopTime )
+         {
+            testManager.addException( new Exception("The siblings did not run at the same time in the speculative run") );
+         }
+      }
+   }
+}
@@ -0,0 +1,83 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.timeouts;
+
+import com.undercamber.*;
+
+/**
+ * stubborn ignores the interrupt when the test set times out, so the
+ * process is terminated before neverStarted runs.
+ */
+final public class HardKill
+   implements TestUnit
+{
+   final public static long TEST_SET_TIMEOUT = 1000L;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+
+      testManager.addSubtest( tm -> quick(tm) );
+      testManager.addSubtest( tm -> stubborn(tm) );
+      testManager.addSubtest( tm -> neverStarted(tm) );
+   }
+
+   final private void quick( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+   }
+
+   final private void stubborn( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         while ( true )
+         {
+            try
+            {
+               Thread.sleep( 100L );
+            }
+            catch ( InterruptedException ignore )
+            {
+            }
+         }
+      }
+   }
+
+   final private void neverStarted( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+   }
+}
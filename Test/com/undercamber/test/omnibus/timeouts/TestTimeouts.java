@@ -0,0 +1,140 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.timeouts;
+
+import com.undercamber.*;
+
+/**
+ * slowTest exceeds its own timeout, fastTest finishes within its timeout,
+ * and subtree exceeds a subtree timeout while its second step is running.
+ */
+final public class TestTimeouts
+   implements TestUnit
+{
+   final private static long SHORT_TIME = 100L;
+   final private static long LONG_TIME  = 30000L;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      testManager.addSubtest( tm -> slowTest(tm) );
+      testManager.addSubtest( tm -> fastTest(tm) );
+      testManager.addSubtest( tm -> subtree(tm) );
+   }
+
+   final private void slowTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( null,
+                                       null,
+                                       null,
+                                       null,
+                                       null,
+                                       null,
+                                       new TestTimeout(500L) );
+
+      if ( verify )
+      {
+         try
+         {
+            Thread.sleep( LONG_TIME );
+         }
+         catch ( InterruptedException interruptedException )
+         {
+         }
+      }
+
+      testManager.addSubtest( tm -> slowTestChild(tm) );
+   }
+
+   final private void slowTestChild( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+   }
+
+   final private void fastTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( null,
+                                       null,
+                                       null,
+                                       null,
+                                       null,
+                                       null,
+                                       new TestTimeout(10000L) );
+
+      if ( verify )
+      {
+         Thread.sleep( SHORT_TIME );
+      }
+   }
+
+   final private void subtree( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.SEQUENTIAL_ABORT_SEQUENCE_ON_ERROR,
+                              null,
+                              null,
+                              null,
+                              null,
+                              null,
+                              new TestTimeout(0L,
+                                              1000L) );
+
+      testManager.addSubtest( tm -> step(tm,
+                                         1,
+                                         SHORT_TIME) );
+      testManager.addSubtest( tm -> step(tm,
+                                         2,
+                                         LONG_TIME) );
+      testManager.addSubtest( tm -> step(tm,
+                                         3,
+                                         SHORT_TIME) );
+   }
+
+   final private void step( TestManager testManager,
+                            int         stepIndex,
+                            long        duration )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize( Integer.toString(stepIndex) );
+
+      if ( verify )
+      {
+         Thread.sleep( duration );
+      }
+   }
+}
@@ -0,0 +1,108 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.timeouts;
+
+import com.undercamber.*;
+
+/**
+ * Runs the TestTimeouts and HardKill test sets in a nested Undercamber, once
+ * in test set processes and once with -workerPool, and checks the state
+ * recorded for each of their tests.
+ */
+final public class TimeoutChecks
+   implements TestUnit
+{
+   final private static String EXPECTED_RESULTS[][] = { { "TestTimeouts", "TestTimeouts.slowTest()",      "TIMED_OUT" },
+                                                        { "TestTimeouts", "TestTimeouts.slowTestChild()", "SKIPPED_DUE_TO_PARENT_ERROR" },
+                                                        { "TestTimeouts", "TestTimeouts.fastTest()",      "COMPLETE_SUCCEEDED" },
+                                                        { "TestTimeouts", "TestTimeouts.subtree()",       "TIMED_OUT" },
+                                                        { "TestTimeouts", "TestTimeouts.step(1)",         "COMPLETE_SUCCEEDED" },
+                                                        { "TestTimeouts", "TestTimeouts.step(2)",         "TIMED_OUT" },
+                                                        { "TestTimeouts", "TestTimeouts.step(3)",         "SKIPPED_DUE_TO_SIBLING_ERROR" },
+                                                        { "HardKill",     "HardKill.runTest()",           "TIMED_OUT" },
+                                                        { "HardKill",     "HardKill.quick()",             "COMPLETE_SUCCEEDED" },
+                                                        { "HardKill",     "HardKill.stubborn()",          "SKIPPED_DUE_TO_PARENT_ERROR" },
+                                                        { "HardKill",     "HardKill.neverStarted()",      "SKIPPED_DUE_TO_PARENT_ERROR" } };
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         check( testManager,
+                "Timeouts",
+                "false" );
+
+         check( testManager,
+                "TimeoutsWorkerPool",
+                "true" );
+      }
+   }
+
+   final private static void check( TestManager testManager,
+                                    String      resultsSubdirectoryName,
+                                    String      useWorkerPool )
+      throws Throwable
+   {
+      com.undercamber.test.NestedRun nestedRun;
+      String                         state;
+
+      nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                      resultsSubdirectoryName,
+                                                      "com.undercamber.test.NestedConfigurationCallback",
+                                                      "-processCount",
+                                                      "2",
+                                                      "-workerPool",
+                                                      useWorkerPool,
+                                                      "-p",
+                                                      "TestTimeouts",
+                                                      "-p",
+                                                      "HardKill" );
+      nestedRun.run();
+
+      for ( String expectedResult[] : EXPECTED_RESULTS )
+      {
+         state = nestedRun.getResult( expectedResult[0],
+                                      "com.undercamber.test.omnibus.timeouts." + expectedResult[1] );
+
+         if ( !(expectedResult[2].equals(state)) )
+         {
+            testManager.addException( new Exception(expectedResult[1] + " is " + state + " in " + resultsSubdirectoryName + ", expected " + expectedResult[2]) );
+         }
+      }
+
+      if ( !(nestedRun.outputContains("Test set HardKill was still running")) )
+      {
+         testManager.addException( new Exception("The HardKill process was not reported as terminated in " + resultsSubdirectoryName) );
+         testManager.addMessage( nestedRun.getOutput() );
+      }
+   }
+}
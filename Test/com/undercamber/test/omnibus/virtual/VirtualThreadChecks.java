@@ -0,0 +1,125 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.virtual;
+
+import com.undercamber.*;
+
+/**
+ * Runs a Probe test set in a nested Undercamber with -virtualThreads.  On
+ * Java 21 or later, every second-pass test must run on a virtual thread,
+ * every first-pass test on a platform thread, and every test must succeed.
+ * On older versions, the test set must report that virtual threads are not
+ * available, and no second-pass test may run.
+ */
+final public class VirtualThreadChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAME = "Probe1";
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                                          verify;
+      boolean                                          virtualThreadsAvailable;
+      com.undercamber.test.NestedRun                   nestedRun;
+      java.util.List<com.undercamber.test.ProbeRecord> probeRecords;
+      int                                              passCounts[];
+      int                                              index;
+      String                                           state;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         virtualThreadsAvailable = ( Runtime.version().feature() >= 21 );
+
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "VirtualThreads",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-virtualThreads",
+                                                         "true",
+                                                         "-p",
+                                                         TEST_SET_NAME );
+         nestedRun.run();
+
+         probeRecords = com.undercamber.test.Probe.read( nestedRun,
+                                                         TEST_SET_NAME );
+
+         passCounts = new int[ 3 ];
+         for ( com.undercamber.test.ProbeRecord probeRecord : probeRecords )
+         {
+            passCounts[ probeRecord.getPass() ]++;
+
+            if ( probeRecord.isVirtual() != (probeRecord.getPass()==2) )
+            {
+               testManager.addException( new Exception(probeRecord.getName() + " ran on a " + (probeRecord.isVirtual() ? "virtual" : "platform") + " thread in pass " + probeRecord.getPass()) );
+            }
+         }
+
+         if ( passCounts[1] != (com.undercamber.test.Probe.LEAF_COUNT+1) )
+         {
+            testManager.addException( new Exception(passCounts[1] + " first-pass tests ran, expected " + (com.undercamber.test.Probe.LEAF_COUNT+1)) );
+         }
+
+         if ( virtualThreadsAvailable )
+         {
+            if ( passCounts[2] != (com.undercamber.test.Probe.LEAF_COUNT+1) )
+            {
+               testManager.addException( new Exception(passCounts[2] + " second-pass tests ran, expected " + (com.undercamber.test.Probe.LEAF_COUNT+1)) );
+            }
+
+            state = nestedRun.getResult( TEST_SET_NAME,
+                                         com.undercamber.test.Probe.ROOT_HEADING );
+            if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+            {
+               testManager.addException( new Exception(TEST_SET_NAME + " is " + state) );
+            }
+            for ( index=1; index<=com.undercamber.test.Probe.LEAF_COUNT; index++ )
+            {
+               state = nestedRun.getResult( TEST_SET_NAME,
+                                            com.undercamber.test.Probe.getLeafHeading(index) );
+               if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+               {
+                  testManager.addException( new Exception("Leaf " + index + " is " + state) );
+               }
+            }
+         }
+         else
+         {
+            if ( passCounts[2] != 0 )
+            {
+               testManager.addException( new Exception(passCounts[2] + " second-pass tests ran on Java " + Runtime.version().feature()) );
+            }
+
+            if ( !(nestedRun.outputContains("Virtual threads require Java 21 or later")) )
+            {
+               testManager.addException( new Exception("The nested run did not report that virtual threads require Java 21") );
+            }
+         }
+      }
+   }
+}
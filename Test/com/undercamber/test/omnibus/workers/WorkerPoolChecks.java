@@ -0,0 +1,116 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.omnibus.workers;
+
+import com.undercamber.*;
+
+/**
+ * Runs two Probe test sets in a nested Undercamber with -workerPool and one
+ * process.  Both passes of both test sets must run in the same worker
+ * process, which is not the Undercamber process, and every test must
+ * succeed.
+ */
+final public class WorkerPoolChecks
+   implements TestUnit
+{
+   final private static String TEST_SET_NAMES[] = { "Probe1", "Probe2" };
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      boolean                                          verify;
+      com.undercamber.test.NestedRun                   nestedRun;
+      java.util.List<com.undercamber.test.ProbeRecord> probeRecords;
+      java.util.Set<Long>                              processIDs;
+      int                                              passCounts[];
+      int                                              index;
+      String                                           state;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "WorkerPool",
+                                                         "com.undercamber.test.NestedConfigurationCallback",
+                                                         "-processCount",
+                                                         "1",
+                                                         "-workerPool",
+                                                         "true",
+                                                         "-p",
+                                                         TEST_SET_NAMES[0],
+                                                         "-p",
+                                                         TEST_SET_NAMES[1] );
+         nestedRun.run();
+
+         processIDs = new java.util.TreeSet<Long>();
+
+         for ( String testSetName : TEST_SET_NAMES )
+         {
+            state = nestedRun.getResult( testSetName,
+                                         com.undercamber.test.Probe.ROOT_HEADING );
+            if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+            {
+               testManager.addException( new Exception(testSetName + " is " + state) );
+            }
+            for ( index=1; index<=com.undercamber.test.Probe.LEAF_COUNT; index++ )
+            {
+               state = nestedRun.getResult( testSetName,
+                                            com.undercamber.test.Probe.getLeafHeading(index) );
+               if ( !("COMPLETE_SUCCEEDED".equals(state)) )
+               {
+                  testManager.addException( new Exception(testSetName + " leaf " + index + " is " + state) );
+               }
+            }
+
+            probeRecords = com.undercamber.test.Probe.read( nestedRun,
+                                                            testSetName );
+
+            passCounts = new int[ 3 ];
+            for ( com.undercamber.test.ProbeRecord probeRecord : probeRecords )
+            {
+               passCounts[ probeRecord.getPass() ]++;
+               processIDs.add( probeRecord.getProcessID() );
+            }
+
+            if ( (passCounts[1]==0) || (passCounts[2]==0) )
+            {
+               testManager.addException( new Exception(testSetName + " recorded " + passCounts[1] + " first-pass and " + passCounts[2] + " second-pass tests") );
+            }
+         }
+
+         if ( processIDs.size() != 1 )
+         {
+            testManager.addException( new Exception("The test sets ran in processes " + processIDs + ", expected one worker") );
+         }
+         else if ( processIDs.contains(nestedRun.getProcessID()) )
+         {
+            testManager.addException( new Exception("The test sets ran in the Undercamber process instead of a worker") );
+         }
+      }
+   }
+}
@@ -0,0 +1,142 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.resources;
+
+import com.undercamber.*;
+
+/**
+ * The errors reported for illegal claims:  a test that claims the same
+ * resource twice, an illegal capacity, and claims on one resource with
+ * different capacities, which is reported after the first pass of a nested
+ * run of MismatchConfigurationCallback.
+ */
+final public class ClaimErrors
+   implements TestUnit
+{
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      testManager.addSubtest( tm -> duplicateClaim(tm) );
+      testManager.addSubtest( tm -> illegalCapacity(tm) );
+      testManager.addSubtest( tm -> capacityMismatch(tm) );
+   }
+
+   final private void duplicateClaim( TestManager testManager )
+      throws Throwable
+   {
+      UserError userError;
+      boolean   verify;
+
+      try
+      {
+         testManager.initialize( null,
+                                 null,
+                                 null,
+                                 null,
+                                 null,
+                                 new ResourceClaim[] { new ResourceClaim("Database",2),
+                                                       new ResourceClaim("Database",2) },
+                                 new Requirement[0] );
+         userError = null;
+      }
+      catch ( UserError caughtUserError )
+      {
+         userError = caughtUserError;
+      }
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         if ( userError == null )
+         {
+            testManager.addException( new Exception("Claiming a resource twice in one test was accepted") );
+         }
+         else if ( !(userError.getMessage().contains("claimed more than once")) )
+         {
+            testManager.addException( new Exception("Unexpected error for a duplicate claim",
+                                                    userError) );
+         }
+      }
+   }
+
+   final private void illegalCapacity( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         try
+         {
+            new ResourceClaim( "Database",
+                               0 );
+            testManager.addException( new Exception("A capacity of 0 was accepted") );
+         }
+         catch ( UserError userError )
+         {
+            if ( !(userError.getMessage().contains("The capacity must be at least 1")) )
+            {
+               testManager.addException( new Exception("Unexpected error for a capacity of 0",
+                                                       userError) );
+            }
+         }
+      }
+   }
+
+   final private void capacityMismatch( TestManager testManager )
+      throws Throwable
+   {
+      boolean                        verify;
+      com.undercamber.test.NestedRun nestedRun;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         nestedRun = new com.undercamber.test.NestedRun( testManager,
+                                                         "CapacityMismatch",
+                                                         "com.undercamber.test.resources.MismatchConfigurationCallback" );
+         nestedRun.run();
+
+         if ( !(nestedRun.outputContains("Resource \"Database\" is claimed with capacity 1 and with capacity 2")) )
+         {
+            testManager.addException( new Exception("Claims with different capacities were not reported") );
+            testManager.addMessage( nestedRun.getOutput() );
+         }
+
+         if ( new java.io.File(nestedRun.getResultsDirectory(),"TestReport.xml").isFile() )
+         {
+            testManager.addException( new Exception("The second pass ran after claims with different capacities") );
+         }
+      }
+   }
+}
@@ -0,0 +1,80 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.resources;
+
+final public class ConfigurationCallback
+   implements com.undercamber.ConfigurationCallback
+{
+   final public void configure( com.undercamber.Configurator configurator )
+      throws Throwable
+   {
+      com.undercamber.TestSetBuilder testSetBuilder;
+      com.undercamber.Path           path;
+
+      configurator.setSuiteName( "ResourceClaimTest" );
+      configurator.setResultsRootDirectoryName( "${UNDERCAMBER_TEST_RESULTS_DIRECTORY}" );
+      configurator.setProcessCount( 2 );
+
+      testSetBuilder = configurator.getEmptyTestSetBuilder();
+
+      path = new com.undercamber.Path();
+      path.addEntries( "${UNDERCAMBER_PROJECT_ROOT}/Source",
+                       "${UNDERCAMBER_PROJECT_ROOT}/Test" );
+      testSetBuilder.appendJavaParameterPair( "-cp",
+                                              path.toString() );
+
+      testSetBuilder.setJVMDirectoryName( "${JAVA_HOME}" );
+
+      // Claims within one process
+
+      testSetBuilder.setPass2ThreadCount( 8 );
+      testSetBuilder.setTestSetName( "WithinProcess" );
+      testSetBuilder.setClassName( "com.undercamber.test.resources.WithinProcess" );
+      testSetBuilder.createTestSet();
+
+      // Claims shared by two processes
+
+      testSetBuilder.setPass2ThreadCount( 4 );
+      testSetBuilder.setClassName( "com.undercamber.test.resources.CrossProcess" );
+
+      testSetBuilder.setTestSetName( CrossProcess.TEST_SET_NAMES[0] );
+      testSetBuilder.createTestSet();
+
+      testSetBuilder.setTestSetName( CrossProcess.TEST_SET_NAMES[1] );
+      testSetBuilder.createTestSet();
+
+      testSetBuilder.setTestSetName( "CrossProcessCheck" );
+      testSetBuilder.setClassName( "com.undercamber.test.resources.CrossProcessCheck" );
+      testSetBuilder.createTestSet();
+
+      // Errors
+
+      testSetBuilder.setTestSetName( "ClaimErrors" );
+      testSetBuilder.setClassName( "com.undercamber.test.resources.ClaimErrors" );
+      testSetBuilder.createTestSet();
+   }
+}
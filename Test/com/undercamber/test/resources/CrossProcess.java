@@ -0,0 +1,102 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.resources;
+
+import com.undercamber.*;
+
+/**
+ * Run by two test sets in separate processes at the same time.  Every test
+ * claims the same resource with capacity 1 and records when it held the
+ * resource.  CrossProcessCheck checks the recorded intervals afterwards.
+ */
+final public class CrossProcess
+   implements TestUnit
+{
+   final static String TEST_SET_NAMES[] = { "ProcessA", "ProcessB" };
+   final static int    TEST_COUNT       = 4;
+
+   final private static long HOLD_TIME = 300L;
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      int testIndex;
+
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      for ( testIndex=0; testIndex<TEST_COUNT; testIndex++ )
+      {
+         final int index = testIndex;
+
+         testManager.addSubtest( tm -> claim(tm,
+                                             index) );
+      }
+   }
+
+   final private void claim( TestManager testManager,
+                             int         testIndex )
+      throws Throwable
+   {
+      boolean verify;
+      long    startTime;
+      long    stopTime;
+
+      verify = testManager.initialize( null,
+                                       Integer.toString(testIndex),
+                                       null,
+                                       null,
+                                       null,
+                                       new ResourceClaim[] { new ResourceClaim("License") },
+                                       new Requirement[0] );
+
+      if ( verify )
+      {
+         startTime = System.currentTimeMillis();
+         Thread.sleep( HOLD_TIME );
+         stopTime = System.currentTimeMillis();
+
+         getIntervalFile( testManager.getUserWorkingDirectory(),
+                          testManager.getTestSetName(),
+                          testIndex ).getParentFile().mkdirs();
+
+         try ( java.io.PrintStream printStream = new java.io.PrintStream(getIntervalFile(testManager.getUserWorkingDirectory(),
+                                                                                          testManager.getTestSetName(),
+                                                                                          testIndex)) )
+         {
+            printStream.println( startTime );
+            printStream.println( stopTime );
+         }
+      }
+   }
+
+   final static java.io.File getIntervalFile( java.io.File workDirectory,
+                                              String       testSetName,
+                                              int          testIndex )
+   {
+      return new java.io.File( workDirectory, "License-" + testSetName + "-" + testIndex + ".txt" );
+   }
+}
@@ -0,0 +1,105 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.resources;
+
+import com.undercamber.*;
+
+/**
+ * Runs after both CrossProcess test sets and checks that no two of their
+ * tests held the capacity-1 resource at the same time.
+ */
+final public class CrossProcessCheck
+   implements TestUnit
+{
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      Prerequisite           prerequisites[];
+      int                    index;
+      boolean                verify;
+      java.util.List<long[]> intervals;
+      java.util.List<String> names;
+      java.io.File           intervalFile;
+      int                    firstIndex;
+      int                    secondIndex;
+
+      prerequisites = new Prerequisite[ CrossProcess.TEST_SET_NAMES.length ];
+      for ( index=0; index<prerequisites.length; index++ )
+      {
+         prerequisites[ index ] = new Prerequisite( "com.undercamber.test.resources.CrossProcess",
+                                                    "runTest",
+                                                    null,
+                                                    Prerequisite.IncludeSubtests.INCLUDE_SUBTESTS,
+                                                    Prerequisite.Type.FIXED,
+                                                    Prerequisite.PrerequisiteMatchMultiplicity.INCLUDE_FIRST_MATCHING_METHOD,
+                                                    CrossProcess.TEST_SET_NAMES[index] );
+      }
+
+      verify = testManager.initialize( prerequisites );
+
+      if ( verify )
+      {
+         intervals = new java.util.ArrayList<long[]>();
+         names = new java.util.ArrayList<String>();
+
+         for ( String testSetName : CrossProcess.TEST_SET_NAMES )
+         {
+            for ( index=0; index<CrossProcess.TEST_COUNT; index++ )
+            {
+               intervalFile = CrossProcess.getIntervalFile( testManager.getUserWorkingDirectory(),
+                                                            testSetName,
+                                                            index );
+
+               if ( intervalFile.isFile() )
+               {
+                  try ( java.io.BufferedReader bufferedReader = new java.io.BufferedReader(new java.io.FileReader(intervalFile)) )
+                  {
+                     intervals.add( new long[] { Long.parseLong(bufferedReader.readLine().trim()),
+                                                 Long.parseLong(bufferedReader.readLine().trim()) } );
+                     names.add( testSetName + " " + index );
+                  }
+               }
+               else
+               {
+                  testManager.addException( new Exception("Test " + index + " of " + testSetName + " did not record when it held the resource") );
+               }
+            }
+         }
+
+         for ( firstIndex=0; firstIndex<intervals.size(); firstIndex++ )
+         {
+            for ( secondIndex=firstIndex+1; secondIndex<intervals.size(); secondIndex++ )
+            {
+               if ( (intervals.get(firstIndex)[0]<intervals.get(secondIndex)[1]) && (intervals.get(secondIndex)[0]<intervals.get(firstIndex)[1]) )
+               {
+                  testManager.addException( new Exception("Tests " + names.get(firstIndex) + " and " + names.get(secondIndex) + " held the resource at the same time") );
+               }
+            }
+         }
+      }
+   }
+}
@@ -0,0 +1,162 @@
+// Copyright 2018 Rygaard Technologies, LLC
+//
+// Redistribution and use in source and binary forms, with or without modification, are permitted
+// provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this list of
+//    conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+//    conditions and the following disclaimer in the documentation and/or other materials provided
+//    with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+//    endorse or promote products derived from this software without specific prior written
+//    permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+// IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+// FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+// CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE,  DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+// OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package com.undercamber.test.resources;
+
+import com.undercamber.*;
+
+/**
+ * Eight concurrent tests on eight threads claim a resource with capacity 2,
+ * and every other test also claims a resource with capacity 1.  A final
+ * sequential test checks that the capacities were reached and never
+ * exceeded.
+ */
+final public class WithinProcess
+   implements TestUnit
+{
+   final private static int  TEST_COUNT         = 8;
+   final private static int  DATABASE_CAPACITY  = 2;
+   final private static int  EXCLUSIVE_CAPACITY = 1;
+   final private static long HOLD_TIME          = 200L;
+
+   private java.util.concurrent.atomic.AtomicInteger _databaseCount;
+   private java.util.concurrent.atomic.AtomicInteger _maximumDatabaseCount;
+   private java.util.concurrent.atomic.AtomicInteger _exclusiveCount;
+   private java.util.concurrent.atomic.AtomicInteger _maximumExclusiveCount;
+
+   public WithinProcess()
+   {
+      _databaseCount = new java.util.concurrent.atomic.AtomicInteger();
+      _maximumDatabaseCount = new java.util.concurrent.atomic.AtomicInteger();
+      _exclusiveCount = new java.util.concurrent.atomic.AtomicInteger();
+      _maximumExclusiveCount = new java.util.concurrent.atomic.AtomicInteger();
+   }
+
+   final public void runTest( TestManager testManager )
+      throws Throwable
+   {
+      testManager.initialize();
+
+      testManager.addSubtest( tm -> claims(tm) );
+      testManager.addSubtest( tm -> check(tm) );
+   }
+
+   final private void claims( TestManager testManager )
+      throws Throwable
+   {
+      int testIndex;
+
+      testManager.initialize( SubtestSequencingMode.CONCURRENT );
+
+      for ( testIndex=0; testIndex<TEST_COUNT; testIndex++ )
+      {
+         final int index = testIndex;
+
+         testManager.addSubtest( tm -> claim(tm,
+                                             index) );
+      }
+   }
+
+   final private void claim( TestManager testManager,
+                             int         testIndex )
+      throws Throwable
+   {
+      ResourceClaim resourceClaims[];
+      boolean       verify;
+      boolean       exclusive;
+
+      exclusive = ( testIndex%2 ) == 0;
+
+      if ( exclusive )
+      {
+         resourceClaims = new ResourceClaim[] { new ResourceClaim("Database",DATABASE_CAPACITY),
+                                                new ResourceClaim("Exclusive",EXCLUSIVE_CAPACITY) };
+      }
+      else
+      {
+         resourceClaims = new ResourceClaim[] { new ResourceClaim("Database",DATABASE_CAPACITY) };
+      }
+
+      verify = testManager.initialize( null,
+                                       Integer.toString(testIndex),
+                                       null,
+                                       null,
+                                       null,
+                                       resourceClaims,
+                                       new Requirement[0] );
+
+      if ( verify )
+      {
+         enter( _databaseCount,
+                _maximumDatabaseCount );
+         if ( exclusive )
+         {
+            enter( _exclusiveCount,
+                   _maximumExclusiveCount );
+         }
+
+         Thread.sleep( HOLD_TIME );
+
+         if ( exclusive )
+         {
+            _exclusiveCount.decrementAndGet();
+         }
+         _databaseCount.decrementAndGet();
+      }
+   }
+
+   final private static void enter( java.util.concurrent.atomic.AtomicInteger count,
+                                    java.util.concurrent.atomic.AtomicInteger maximumCount )
+   {
+      int activeCount;
+
+      activeCount = count.incrementAndGet();
+
+      maximumCount.accumulateAndGet( activeCount,
+                                     Math::max );
+   }
+
+   final private void check( TestManager testManager )
+      throws Throwable
+   {
+      boolean verify;
+
+      verify = testManager.initialize();
+
+      if ( verify )
+      {
+         if ( _maximumDatabaseCount.get() != DATABASE_CAPACITY )
+         {
+            testManager.addException( new Exception("Database was used by " + _maximumDatabaseCount.get() + " tests at once; expected " + DATABASE_CAPACITY) );
+         }
+
+         if ( _maximumExclusiveCount.get() != EXCLUSIVE_CAPACITY )
+         {
+            testManager.addException( new Exception("Exclusive was used by " + _maximumExclusiveCount.get() + " tests at once; expected " + EXCLUSIVE_CAPACITY) );
+         }
+      }
+   }
+}